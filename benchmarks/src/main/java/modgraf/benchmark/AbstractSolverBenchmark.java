@@ -0,0 +1,97 @@
+package modgraf.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import modgraf.algorithm.solver.SolverParameters;
+import modgraf.batch.BatchAlgorithm;
+import modgraf.io.GraphData;
+import modgraf.jgrapht.Vertex;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Wspólna część testów wydajności algorytmów. <br>
+ * Graf jest generowany raz na całą serię pomiarów, a każde wywołanie tworzy
+ * nowy obiekt rozwiązujący problem, aby pamięć podręczna poprzedniego
+ * wywołania (np. macierz odległości) nie zaniżała wyników.
+ *
+ * @see BatchAlgorithm
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public abstract class AbstractSolverBenchmark
+{
+	/**
+	 * Ziarno generatora grafów - wszystkie przebiegi mierzą te same grafy.
+	 */
+	protected static final long SEED = 20160501L;
+
+	private BatchAlgorithm batchAlgorithm;
+	private GraphData graphData;
+	private SolverParameters parameters;
+
+	/**
+	 * @return nazwa algorytmu w trybie wsadowym (parametr testu)
+	 */
+	protected abstract String getAlgorithmName();
+
+	/**
+	 * @return graf, dla którego mierzony jest czas obliczeń
+	 */
+	protected abstract GraphData createGraph();
+
+	@Setup
+	public void setUp()
+	{
+		batchAlgorithm = BatchAlgorithm.forName(getAlgorithmName());
+		if (batchAlgorithm == null)
+			throw new IllegalArgumentException("Unknown algorithm: " + getAlgorithmName());
+		graphData = createGraph();
+		parameters = createParameters(graphData);
+	}
+
+	/**
+	 * Tworzy parametry algorytmu. Wierzchołkiem startowym jest pierwszy,
+	 * a końcowym ostatni wygenerowany wierzchołek.
+	 *
+	 * @param graphData graf wraz z położeniami wierzchołków
+	 * @return parametry algorytmu
+	 */
+	protected SolverParameters createParameters(GraphData graphData)
+	{
+		SolverParameters parameters = new SolverParameters();
+		Vertex first = null;
+		Vertex last = null;
+		for (Vertex vertex : graphData.getPositions().keySet())
+		{
+			if (first == null)
+				first = vertex;
+			last = vertex;
+		}
+		parameters.setStartVertex(first);
+		parameters.setEndVertex(last);
+		parameters.setExpectedFlow(1);
+		parameters.setThreads(Runtime.getRuntime().availableProcessors());
+		parameters.setPositions(graphData.getPositions());
+		return parameters;
+	}
+
+	@Benchmark
+	public Object solve()
+	{
+		return batchAlgorithm.createSolver().solve(graphData.getGraph(), parameters);
+	}
+}
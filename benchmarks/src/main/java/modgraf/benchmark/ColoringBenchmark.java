@@ -0,0 +1,32 @@
+package modgraf.benchmark;
+
+import modgraf.io.GraphData;
+
+import org.openjdk.jmh.annotations.Param;
+
+/**
+ * Czas heurystycznego kolorowania wierzchołków i krawędzi.
+ */
+public class ColoringBenchmark extends AbstractSolverBenchmark
+{
+	@Param({"chromatic-number-greedy", "chromatic-number-dsatur", "edge-coloring-approximate"})
+	public String algorithm;
+
+	@Param({"Sparse", "Grid", "Complete"})
+	public GraphFamily family;
+
+	@Param({"100", "200"})
+	public int vertices;
+
+	@Override
+	protected String getAlgorithmName()
+	{
+		return algorithm;
+	}
+
+	@Override
+	protected GraphData createGraph()
+	{
+		return family.generate(vertices, false, 0, SEED);
+	}
+}
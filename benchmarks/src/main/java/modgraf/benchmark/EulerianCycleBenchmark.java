@@ -0,0 +1,33 @@
+package modgraf.benchmark;
+
+import modgraf.io.GraphData;
+
+import org.openjdk.jmh.annotations.Param;
+
+/**
+ * Czas wyznaczania cyklu Eulera. Siatka na torusie i graf pełny o nieparzystej
+ * liczbie wierzchołków mają cykl Eulera.
+ */
+public class EulerianCycleBenchmark extends AbstractSolverBenchmark
+{
+	@Param({"eulerian-cycle-h"})
+	public String algorithm;
+
+	@Param({"Torus", "Complete"})
+	public GraphFamily family;
+
+	@Param({"101", "201"})
+	public int vertices;
+
+	@Override
+	protected String getAlgorithmName()
+	{
+		return algorithm;
+	}
+
+	@Override
+	protected GraphData createGraph()
+	{
+		return family.generate(vertices, false, 0, SEED);
+	}
+}
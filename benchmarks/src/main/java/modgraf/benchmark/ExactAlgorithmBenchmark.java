@@ -0,0 +1,50 @@
+package modgraf.benchmark;
+
+import modgraf.algorithm.solver.SolverParameters;
+import modgraf.io.GraphData;
+
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Czas algorytmów o wykładniczej złożoności oraz przeszukiwania lokalnego
+ * TSP, porównywanych na małych grafach pełnych. <br>
+ * Limit czasu jest większy od oczekiwanego czasu obliczeń, więc mierzony
+ * jest czas znalezienia wyniku, a nie długość limitu.
+ */
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+public class ExactAlgorithmBenchmark extends AbstractSolverBenchmark
+{
+	private static final long TIME_BUDGET_MILLIS = 60000;
+
+	@Param({"chromatic-number-exact", "tsp-approximate", "tsp-local-search", "tsp-exact"})
+	public String algorithm;
+
+	@Param({"Complete", "Sparse"})
+	public GraphFamily family;
+
+	@Param({"12", "16"})
+	public int vertices;
+
+	@Override
+	protected String getAlgorithmName()
+	{
+		return algorithm;
+	}
+
+	@Override
+	protected GraphData createGraph()
+	{
+		return family.generate(vertices, false, 1, SEED);
+	}
+
+	@Override
+	protected SolverParameters createParameters(GraphData graphData)
+	{
+		SolverParameters parameters = super.createParameters(graphData);
+		parameters.setTimeBudgetMillis(TIME_BUDGET_MILLIS);
+		return parameters;
+	}
+}
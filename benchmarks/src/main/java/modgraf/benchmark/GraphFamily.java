@@ -0,0 +1,200 @@
+package modgraf.benchmark;
+
+import java.awt.geom.Point2D;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Random;
+
+import modgraf.io.GraphData;
+import modgraf.jgrapht.GraphFactory;
+import modgraf.jgrapht.Vertex;
+import modgraf.jgrapht.edge.DoubleWeightedEdge;
+import modgraf.jgrapht.edge.ModgrafEdge;
+import modgraf.jgrapht.edge.WeightedEdge;
+import modgraf.view.properties.DefaultProperties;
+
+import org.jgrapht.Graph;
+
+/**
+ * Rodziny grafów generowanych na potrzeby testów wydajności. <br>
+ * Wierzchołki mają położenia na płaszczyźnie, a wagi krawędzi nie są
+ * mniejsze od odległości między końcami, więc heurystyka A* jest
+ * dopuszczalna. Dla tego samego ziarna generator zwraca zawsze ten sam graf.
+ */
+public enum GraphFamily
+{
+	/**
+	 * Losowy graf rzadki o średnim stopniu wierzchołka około
+	 * {@value #SPARSE_DEGREE}, zawierający cykl przez wszystkie wierzchołki
+	 * (jest spójny).
+	 */
+	Sparse
+	{
+		@Override
+		protected void addEdges(Graph<Vertex, ModgrafEdge> graph, List<Vertex> vertices,
+				Map<Vertex, Point2D> positions, Random random)
+		{
+			int n = vertices.size();
+			for (int i = 0; i < n; ++i)
+				connect(graph, vertices.get(i), vertices.get((i + 1) % n), positions, random);
+			long edges = (long) n * SPARSE_DEGREE / 2;
+			for (long i = n; i < edges; ++i)
+				connect(graph, vertices.get(random.nextInt(n)), vertices.get(random.nextInt(n)), positions, random);
+		}
+	},
+	/**
+	 * Kwadratowa siatka z krawędziami do prawego i dolnego sąsiada.
+	 */
+	Grid
+	{
+		@Override
+		protected void addEdges(Graph<Vertex, ModgrafEdge> graph, List<Vertex> vertices,
+				Map<Vertex, Point2D> positions, Random random)
+		{
+			addGridEdges(graph, vertices, positions, random, false);
+		}
+
+		@Override
+		protected Point2D createPosition(int index, int vertexCount, Random random)
+		{
+			return createGridPosition(index, vertexCount);
+		}
+	},
+	/**
+	 * Siatka zawinięta na torusie - każdy wierzchołek ma stopień 4, więc
+	 * graf nieskierowany ma cykl Eulera.
+	 */
+	Torus
+	{
+		@Override
+		protected void addEdges(Graph<Vertex, ModgrafEdge> graph, List<Vertex> vertices,
+				Map<Vertex, Point2D> positions, Random random)
+		{
+			addGridEdges(graph, vertices, positions, random, true);
+		}
+
+		@Override
+		protected Point2D createPosition(int index, int vertexCount, Random random)
+		{
+			return createGridPosition(index, vertexCount);
+		}
+	},
+	/**
+	 * Graf pełny.
+	 */
+	Complete
+	{
+		@Override
+		protected void addEdges(Graph<Vertex, ModgrafEdge> graph, List<Vertex> vertices,
+				Map<Vertex, Point2D> positions, Random random)
+		{
+			for (int i = 0; i < vertices.size(); ++i)
+				for (int j = i + 1; j < vertices.size(); ++j)
+					connect(graph, vertices.get(i), vertices.get(j), positions, random);
+		}
+	};
+
+	private static final int SPARSE_DEGREE = 8;
+	private static final int FIRST_CELL_ID = 2;
+	private static final double GRID_SPACING = 100;
+	private static final double AREA_SIZE = 1000;
+	private static final double MAX_EXTRA_WEIGHT = 50;
+	private static final double MAX_CAPACITY = 100;
+
+	/**
+	 * Generuje graf z tej rodziny. Na siatce liczba wierzchołków jest
+	 * zaokrąglana w górę do kwadratu liczby naturalnej.
+	 *
+	 * @param vertexCount liczba wierzchołków
+	 * @param directed <code>true</code> jeśli graf ma być skierowany
+	 * @param edgeWeightDegree liczba parametrów krawędzi (0, 1 lub 2)
+	 * @param seed ziarno generatora liczb losowych
+	 * @return graf wraz z położeniami wierzchołków
+	 */
+	public GraphData generate(int vertexCount, boolean directed, int edgeWeightDegree, long seed)
+	{
+		Properties prop = DefaultProperties.createDefaultProperties();
+		Graph<Vertex, ModgrafEdge> graph = GraphFactory.createGraph(directed, edgeWeightDegree, prop);
+		Random random = new Random(seed);
+		int n = this == Grid || this == Torus ? square(getGridSide(vertexCount)) : vertexCount;
+		List<Vertex> vertices = new ArrayList<>(n);
+		Map<Vertex, Point2D> positions = new LinkedHashMap<>();
+		for (int i = 0; i < n; ++i)
+		{
+			Vertex vertex = new Vertex(Integer.toString(FIRST_CELL_ID + i), Integer.toString(i));
+			graph.addVertex(vertex);
+			vertices.add(vertex);
+			positions.put(vertex, createPosition(i, n, random));
+		}
+		addEdges(graph, vertices, positions, random);
+		int nextId = FIRST_CELL_ID + n;
+		for (ModgrafEdge edge : graph.edgeSet())
+			edge.setId(Integer.toString(nextId++));
+		return new GraphData(graph, positions, n);
+	}
+
+	protected abstract void addEdges(Graph<Vertex, ModgrafEdge> graph, List<Vertex> vertices,
+			Map<Vertex, Point2D> positions, Random random);
+
+	protected Point2D createPosition(int index, int vertexCount, Random random)
+	{
+		return new Point2D.Double(random.nextDouble() * AREA_SIZE, random.nextDouble() * AREA_SIZE);
+	}
+
+	/**
+	 * Dodaje krawędź z wagą nie mniejszą od odległości między końcami.
+	 * Pętle i krawędzie wielokrotne są pomijane.
+	 */
+	private static void connect(Graph<Vertex, ModgrafEdge> graph, Vertex source, Vertex target,
+			Map<Vertex, Point2D> positions, Random random)
+	{
+		if (source.equals(target) || graph.containsEdge(source, target))
+			return;
+		ModgrafEdge edge = graph.addEdge(source, target);
+		double weight = Math.ceil(positions.get(source).distance(positions.get(target)))
+				+ Math.floor(random.nextDouble() * MAX_EXTRA_WEIGHT);
+		if (edge instanceof WeightedEdge)
+			((WeightedEdge) edge).setWeight(weight);
+		if (edge instanceof DoubleWeightedEdge)
+		{
+			DoubleWeightedEdge dwe = (DoubleWeightedEdge) edge;
+			dwe.setCapacity(1 + Math.floor(random.nextDouble() * MAX_CAPACITY));
+			dwe.setCost(weight);
+		}
+	}
+
+	private static void addGridEdges(Graph<Vertex, ModgrafEdge> graph, List<Vertex> vertices,
+			Map<Vertex, Point2D> positions, Random random, boolean wrap)
+	{
+		int side = getGridSide(vertices.size());
+		for (int row = 0; row < side; ++row)
+			for (int column = 0; column < side; ++column)
+			{
+				Vertex vertex = vertices.get(row * side + column);
+				if (column + 1 < side || wrap)
+					connect(graph, vertex, vertices.get(row * side + (column + 1) % side), positions, random);
+				if (row + 1 < side || wrap)
+					connect(graph, vertex, vertices.get((row + 1) % side * side + column), positions, random);
+			}
+	}
+
+	private static Point2D createGridPosition(int index, int vertexCount)
+	{
+		int side = getGridSide(vertexCount);
+		return new Point2D.Double(index % side * GRID_SPACING, index / side * GRID_SPACING);
+	}
+
+	private static int getGridSide(int vertexCount)
+	{
+		int side = (int) Math.ceil(Math.sqrt(vertexCount));
+		return Math.max(side, 3);
+	}
+
+	private static int square(int value)
+	{
+		return value * value;
+	}
+}
@@ -0,0 +1,245 @@
+package modgraf.benchmark;
+
+import java.awt.geom.Point2D;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import modgraf.action.ActionSaveAs;
+import modgraf.io.EdgeListGraphReader;
+import modgraf.io.GraphData;
+import modgraf.io.GrfGraphReader;
+import modgraf.io.MgbGraphReader;
+import modgraf.io.MgbGraphWriter;
+import modgraf.io.XmlGraphReader;
+import modgraf.io.XmlStreamGraphReader;
+import modgraf.jgrapht.Vertex;
+import modgraf.jgrapht.edge.DoubleWeightedEdge;
+import modgraf.jgrapht.edge.ModgrafEdge;
+import modgraf.jgrapht.edge.WeightedEdge;
+import modgraf.memento.Caretaker;
+import modgraf.memento.Memento;
+import modgraf.view.properties.DefaultProperties;
+
+import org.jgrapht.DirectedGraph;
+import org.jgrapht.Graph;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.w3c.dom.Document;
+
+import com.mxgraph.model.mxGraphModel;
+import com.mxgraph.util.mxXmlUtils;
+import com.mxgraph.view.mxGraph;
+
+/**
+ * Czas wczytywania i zapisywania plików z grafami oraz tworzenia pamiątki
+ * dla operacji undo. <br>
+ * Mierzone są części niezależne od okna programu, z których korzystają
+ * akcje edytora: {@link XmlStreamGraphReader} (<code>ActionOpen.openXml</code>,
+ * porównywany z wczytywaniem przez drzewo DOM w {@link XmlGraphReader}),
+ * {@link GrfGraphReader} (wczytywanie plików grf, porównywane z równoległym
+ * {@link EdgeListGraphReader} używanym w trybie wsadowym),
+ * {@link MgbGraphReader} i {@link MgbGraphWriter} (binarny format mgb),
+ * {@link ActionSaveAs#buildXml(mxGraph, Graph, int)} oraz zapamiętanie stanu
+ * tak jak w <code>Originator.setState</code>.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GraphFileBenchmark
+{
+	private static final long SEED = 20160501L;
+	private static final double VERTEX_SIZE = 50;
+
+	@Param({"Sparse", "Grid"})
+	public GraphFamily family;
+
+	@Param({"100", "1000", "10000"})
+	public int vertices;
+
+	@Param({"0", "1", "2"})
+	public int edgeWeightDegree;
+
+	private Properties prop;
+	private GraphData graphData;
+	private mxGraph graph;
+	private String xml;
+	private String grf;
+	private File grfFile;
+	private File mgbFile;
+	private Caretaker caretaker;
+	private int mementoNumber;
+
+	@Setup
+	public void setUp() throws IOException
+	{
+		prop = DefaultProperties.createDefaultProperties();
+		graphData = family.generate(vertices, edgeWeightDegree > 0, edgeWeightDegree, SEED);
+		graph = createMxGraph(graphData);
+		xml = ActionSaveAs.buildXml(graph, graphData.getGraph(), graphData.getVertexCounter());
+		grf = createGrf(graphData);
+		grfFile = File.createTempFile("modgraf-benchmark", ".grf");
+		grfFile.deleteOnExit();
+		Files.write(grfFile.toPath(), grf.getBytes(StandardCharsets.UTF_8));
+		mgbFile = File.createTempFile("modgraf-benchmark", ".mgb");
+		mgbFile.deleteOnExit();
+		try (OutputStream out = new FileOutputStream(mgbFile))
+		{
+			new MgbGraphWriter(graphData.getGraph(), graphData.getPositions(), graphData.getVertexCounter()).write(out);
+		}
+		caretaker = new Caretaker();
+	}
+
+	@Benchmark
+	public GraphData readXml()
+	{
+		Document document = mxXmlUtils.parseXml(xml);
+		document.getDocumentElement().normalize();
+		return new XmlGraphReader(prop).read(document);
+	}
+
+	@Benchmark
+	public GraphData readXmlStream() throws IOException
+	{
+		return new XmlStreamGraphReader(prop).read(new StringReader(xml));
+	}
+
+	@Benchmark
+	public GraphData readGrf()
+	{
+		return new GrfGraphReader(prop).read(grf);
+	}
+
+	@Benchmark
+	public GraphData readGrfEdgeList() throws IOException
+	{
+		return new EdgeListGraphReader(prop, true).read(grfFile);
+	}
+
+	@Benchmark
+	public GraphData readMgb() throws IOException
+	{
+		return new MgbGraphReader(prop).read(mgbFile);
+	}
+
+	@Benchmark
+	public byte[] writeMgb() throws IOException
+	{
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		new MgbGraphWriter(graphData.getGraph(), graphData.getPositions(), graphData.getVertexCounter()).write(out);
+		return out.toByteArray();
+	}
+
+	@Benchmark
+	public String buildXml()
+	{
+		return ActionSaveAs.buildXml(graph, graphData.getGraph(), graphData.getVertexCounter());
+	}
+
+	/**
+	 * Po dodaniu pamiątki wykonywane jest undo, więc kolejna pamiątka
+	 * zastępuje poprzednią i lista nie rośnie w trakcie pomiarów.
+	 */
+	@Benchmark
+	public Memento createMemento()
+	{
+		String state = ActionSaveAs.buildXml(graph, graphData.getGraph(), graphData.getVertexCounter());
+		Memento memento = new Memento(++mementoNumber, state, "benchmark");
+		caretaker.addMemento(memento);
+		caretaker.undo();
+		return memento;
+	}
+
+	/**
+	 * Tworzy graf warstwy wizualnej o identyfikatorach komórek zgodnych
+	 * z identyfikatorami wierzchołków i krawędzi warstwy matematycznej.
+	 */
+	private static mxGraph createMxGraph(GraphData graphData)
+	{
+		mxGraph graph = new mxGraph();
+		mxGraphModel model = (mxGraphModel) graph.getModel();
+		Object parent = graph.getDefaultParent();
+		Map<Vertex, Object> cells = new HashMap<>();
+		model.beginUpdate();
+		try
+		{
+			for (Map.Entry<Vertex, Point2D> entry : graphData.getPositions().entrySet())
+			{
+				Vertex vertex = entry.getKey();
+				Point2D center = entry.getValue();
+				cells.put(vertex, graph.insertVertex(parent, vertex.getId(), vertex.getName(),
+						center.getX() - VERTEX_SIZE / 2, center.getY() - VERTEX_SIZE / 2,
+						VERTEX_SIZE, VERTEX_SIZE, "vertexStyle"));
+			}
+			for (ModgrafEdge edge : graphData.getGraph().edgeSet())
+				graph.insertEdge(parent, edge.getId(), getEdgeValue(edge),
+						cells.get(edge.getSource()), cells.get(edge.getTarget()));
+		}
+		finally
+		{
+			model.endUpdate();
+		}
+		return graph;
+	}
+
+	private static String getEdgeValue(ModgrafEdge edge)
+	{
+		if (edge instanceof WeightedEdge)
+			return Double.toString(((WeightedEdge) edge).getWeight());
+		if (edge instanceof DoubleWeightedEdge)
+		{
+			DoubleWeightedEdge dwe = (DoubleWeightedEdge) edge;
+			return dwe.getCapacity() + "/" + dwe.getCost();
+		}
+		return null;
+	}
+
+	/**
+	 * Tworzy zawartość pliku grf w postaci zwracanej przez
+	 * {@link modgraf.io.GraphReaders#readFile(java.io.File, String)}.
+	 */
+	private static String createGrf(GraphData graphData)
+	{
+		Graph<Vertex, ModgrafEdge> graphT = graphData.getGraph();
+		StringBuilder grf = new StringBuilder("benchmark\n\n");
+		grf.append(graphT instanceof DirectedGraph ? "skierowany" : "nieskierowany").append("\n\n");
+		for (ModgrafEdge edge : graphT.edgeSet())
+		{
+			grf.append(edge.getSource().getName()).append('\t').append(edge.getTarget().getName());
+			String value = getEdgeValue(edge);
+			if (value != null)
+				grf.append('\t').append(value.replace('/', '\t'));
+			grf.append('\n');
+		}
+		grf.append('\n');
+		for (Map.Entry<Vertex, Point2D> entry : graphData.getPositions().entrySet())
+		{
+			Point2D center = entry.getValue();
+			grf.append(entry.getKey().getName()).append('\t')
+					.append(center.getY() - VERTEX_SIZE / 2).append('\t')
+					.append(center.getX() - VERTEX_SIZE / 2).append('\n');
+		}
+		return grf.toString();
+	}
+}
@@ -0,0 +1,32 @@
+package modgraf.benchmark;
+
+import modgraf.io.GraphData;
+
+import org.openjdk.jmh.annotations.Param;
+
+/**
+ * Czas wyznaczania maksymalnego i najtańszego przepływu w sieci.
+ */
+public class MaximumFlowBenchmark extends AbstractSolverBenchmark
+{
+	@Param({"maximum-flow-ek", "maximum-flow-pr", "maximum-flow-ppr", "maximum-flow-d", "cheapest-flow-bg"})
+	public String algorithm;
+
+	@Param({"Sparse", "Grid"})
+	public GraphFamily family;
+
+	@Param({"100", "1000", "10000"})
+	public int vertices;
+
+	@Override
+	protected String getAlgorithmName()
+	{
+		return algorithm;
+	}
+
+	@Override
+	protected GraphData createGraph()
+	{
+		return family.generate(vertices, true, 2, SEED);
+	}
+}
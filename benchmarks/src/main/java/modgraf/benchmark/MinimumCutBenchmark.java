@@ -0,0 +1,32 @@
+package modgraf.benchmark;
+
+import modgraf.io.GraphData;
+
+import org.openjdk.jmh.annotations.Param;
+
+/**
+ * Czas budowy drzewa Gomory'ego-Hu i wyznaczania minimalnego przekroju.
+ */
+public class MinimumCutBenchmark extends AbstractSolverBenchmark
+{
+	@Param({"maximum-flow-gh"})
+	public String algorithm;
+
+	@Param({"Sparse", "Grid"})
+	public GraphFamily family;
+
+	@Param({"100", "500"})
+	public int vertices;
+
+	@Override
+	protected String getAlgorithmName()
+	{
+		return algorithm;
+	}
+
+	@Override
+	protected GraphData createGraph()
+	{
+		return family.generate(vertices, false, 1, SEED);
+	}
+}
@@ -0,0 +1,32 @@
+package modgraf.benchmark;
+
+import modgraf.io.GraphData;
+
+import org.openjdk.jmh.annotations.Param;
+
+/**
+ * Czas wyszukiwania najkrótszej ścieżki w grafie skierowanym z wagami.
+ */
+public class ShortestPathBenchmark extends AbstractSolverBenchmark
+{
+	@Param({"shortest-path-bf", "shortest-path-d", "shortest-path-fw", "shortest-path-bd", "shortest-path-astar"})
+	public String algorithm;
+
+	@Param({"Sparse", "Grid"})
+	public GraphFamily family;
+
+	@Param({"100", "1000"})
+	public int vertices;
+
+	@Override
+	protected String getAlgorithmName()
+	{
+		return algorithm;
+	}
+
+	@Override
+	protected GraphData createGraph()
+	{
+		return family.generate(vertices, true, 1, SEED);
+	}
+}
@@ -0,0 +1,32 @@
+package modgraf.benchmark;
+
+import modgraf.io.GraphData;
+
+import org.openjdk.jmh.annotations.Param;
+
+/**
+ * Czas wyznaczania minimalnego drzewa rozpinającego.
+ */
+public class SpanningTreeBenchmark extends AbstractSolverBenchmark
+{
+	@Param({"spanning-tree-k", "spanning-tree-p", "spanning-tree-b", "spanning-tree-pk"})
+	public String algorithm;
+
+	@Param({"Sparse", "Grid", "Complete"})
+	public GraphFamily family;
+
+	@Param({"100", "200"})
+	public int vertices;
+
+	@Override
+	protected String getAlgorithmName()
+	{
+		return algorithm;
+	}
+
+	@Override
+	protected GraphData createGraph()
+	{
+		return family.generate(vertices, false, 1, SEED);
+	}
+}
@@ -1,15 +1,20 @@
 package modgraf;
 
+import java.util.Arrays;
+
 import javax.swing.JOptionPane;
 import javax.swing.UIManager;
 
 import modgraf.action.ActionNewGraph;
+import modgraf.batch.BatchSolver;
 import modgraf.view.Editor;
 import modgraf.memento.Originator;
 import modgraf.memento.Caretaker;
 
 /**
- * Klasa startowa. Tworzy instancję klasy Editor i główne okno programu.
+ * Klasa startowa. Tworzy instancję klasy Editor i główne okno programu. <br>
+ * Uruchomienie z przełącznikiem <code>--batch</code> włącza tryb wsadowy
+ * ({@link BatchSolver}), który nie tworzy okna programu.
  * 
  * @author Daniel Pogrebniak
  *
@@ -18,6 +23,11 @@ public class Main
 {
 	public static void main(String[] args)
 	{
+		if (args.length > 0 && args[0].equals(BatchSolver.OPTION))
+		{
+			System.exit(BatchSolver.run(Arrays.copyOfRange(args, 1, args.length)));
+			return;
+		}
 		try
 		{
 			UIManager.setLookAndFeel(UIManager.getSystemLookAndFeelClassName());
@@ -11,20 +11,15 @@ import javax.swing.JFileChooser;
 import javax.swing.JOptionPane;
 import javax.swing.filechooser.FileNameExtensionFilter;
 
+import modgraf.io.GraphReaders;
+import modgraf.io.XmlGraphData;
+import modgraf.io.XmlStreamGraphReader;
 import modgraf.jgrapht.Vertex;
-import modgraf.jgrapht.edge.DoubleWeightedEdge;
 import modgraf.jgrapht.edge.ModgrafEdge;
-import modgraf.jgrapht.edge.WeightedEdge;
 import modgraf.view.Editor;
 
 import org.jgrapht.Graph;
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
-import org.w3c.dom.Node;
-import org.w3c.dom.NodeList;
 
-import com.mxgraph.io.mxCodec;
-import com.mxgraph.util.mxXmlUtils;
 import com.mxgraph.util.png.mxPngTextDecoder;
 import com.mxgraph.view.mxGraph;
 
@@ -114,14 +109,16 @@ public class ActionOpen implements ActionListener
 		JFileChooser chooser = new JFileChooser(".");
 		chooser.setDialogType(JFileChooser.OPEN_DIALOG);
 		FileNameExtensionFilter filterAllSupported = new FileNameExtensionFilter(
-				lang.getProperty("files-all"), "xml", "grf", "png");
+				lang.getProperty("files-all"), "xml", "grf", "png", "mgb");
 		FileNameExtensionFilter filterGrf = new FileNameExtensionFilter(lang.getProperty("files-grf"), "grf");
 		FileNameExtensionFilter filterXml = new FileNameExtensionFilter(lang.getProperty("files-xml"), "xml");
 		FileNameExtensionFilter filterPng = new FileNameExtensionFilter(lang.getProperty("files-png"), "png");
+		FileNameExtensionFilter filterMgb = new FileNameExtensionFilter(lang.getProperty("files-mgb"), "mgb");
 		chooser.addChoosableFileFilter(filterAllSupported);
 		chooser.addChoosableFileFilter(filterXml);
 		chooser.addChoosableFileFilter(filterGrf);
 	    chooser.addChoosableFileFilter(filterPng);
+	    chooser.addChoosableFileFilter(filterMgb);
 	    chooser.setFileFilter(filterAllSupported);
 		return chooser;
 	}
@@ -139,6 +136,8 @@ public class ActionOpen implements ActionListener
 			new ActionOpenGrf(editor).openGrf(chooser.getSelectedFile());
 		else if (fileName.endsWith(".png") || fileName.endsWith(".PNG"))
 			openPng(chooser);
+		else if (fileName.endsWith(".mgb") || fileName.endsWith(".MGB"))
+			new ActionOpenGrf(editor).openMgb(chooser.getSelectedFile());
 		else
 			JOptionPane.showMessageDialog(editor.getGraphComponent(),
 					lang.getProperty("error-not-supported-extension"),
@@ -147,145 +146,63 @@ public class ActionOpen implements ActionListener
 
 	private void openXml(File selectedFile) throws IOException
 	{
-		Document xmlDocument = buildXmlDocument(selectedFile);
-		createGraphTFromXmlDocument(xmlDocument);
-		setmxGraph(xmlDocument);
+		setGraph(new XmlStreamGraphReader(prop).read(selectedFile));
 	}
 
-	private Document buildXmlDocument(File selectedFile) throws IOException
-	{
-		String file = readFile(selectedFile);
-		Document document = mxXmlUtils.parseXml(file);
-		document.getDocumentElement().normalize();
-		return document;
-	}
-
-	public Document buildXmlDocument(String xml)
+	/**
+	 * Metoda wczytuje graf z napisu zawierającego dokument xml w formacie
+	 * zapisywanym przez program (używana przy cofaniu zmian i wczytywaniu
+	 * plików png).
+	 * 
+	 * @see XmlStreamGraphReader
+	 */
+	public void openXml(String xml)
 	{
-		Document document = mxXmlUtils.parseXml(xml);
-		document.getDocumentElement().normalize();
-		return document;
+		try
+		{
+			setGraph(new XmlStreamGraphReader(prop).read(new StringReader(xml)));
+		}
+		catch (IOException e)
+		{
+			throw new IllegalStateException(e);
+		}
 	}
 
 	public String readFile(File selectedFile) throws IOException
 	{
-		BufferedReader br = new BufferedReader(new InputStreamReader(
-				new FileInputStream(selectedFile), prop.getProperty("file-encoding")));
-		StringBuilder sb = new StringBuilder();
-        String line = br.readLine();
-        while (line != null) {
-            sb.append(line);
-            sb.append("\n");
-            line = br.readLine();
-        }
-        br.close();
-		return sb.toString();
+		return GraphReaders.readFile(selectedFile, prop.getProperty("file-encoding"));
 	}
 	
-	public void createGraphTFromXmlDocument(Document document)
-	{
-		NodeList mxGraphModelList = document.getElementsByTagName("mxGraphModel");
-		if (mxGraphModelList != null)
-		{
-			Element graphModel = (Element)mxGraphModelList.item(0);
-			boolean directed = graphModel.getAttribute("type").equals("directed");
-			int edgeWeightDegree = Integer.parseInt(graphModel.getAttribute("weighted"));
-			int vertexCounter = Integer.parseInt(graphModel.getAttribute("vertexCounter"));
-			Graph<Vertex, ModgrafEdge> graphT = editor.createNewGraphT(directed, edgeWeightDegree);
-			NodeList mxCellList = document.getElementsByTagName("mxCell");
-			for (int i = 0; i < mxCellList.getLength(); ++i)
-			{
-				Node nodeCell = mxCellList.item(i);
-				if (nodeCell.getNodeType() == Node.ELEMENT_NODE)
-				{
-					Element elementCell = (Element)nodeCell;
-					addVertex(graphT, elementCell);
-				}
-			}
-			for (int i = 0; i < mxCellList.getLength(); ++i)
-			{
-				Node nodeCell = mxCellList.item(i);
-				if (nodeCell.getNodeType() == Node.ELEMENT_NODE)
-				{
-					Element elementCell = (Element)nodeCell;
-					addEdge(graphT, elementCell, edgeWeightDegree);
-				}
-			}
-			editor.setVertexCounter(vertexCounter);
-			editor.setGraphT(graphT);
-			if (!memento)
-			editor.setTextAboutNewGraph(directed, edgeWeightDegree, true);
-		}
-	}
-
-	private void addVertex(Graph<Vertex, ModgrafEdge> graphT, Element elementCell)
+	/**
+	 * Metoda ustawia w edytorze graf warstwy matematycznej, uzupełnia 
+	 * odwzorowania identyfikatorów, a następnie podmienia komórki i style
+	 * warstwy wizualnej na wczytane z pliku.
+	 */
+	private void setGraph(XmlGraphData graphData)
 	{
-		String vertex = elementCell.getAttribute("vertex");
-		String id = elementCell.getAttribute("id");
-		String name = elementCell.getAttribute("value");
-		if (vertex != null && vertex.equals("1"))
+		Graph<Vertex, ModgrafEdge> graphT = graphData.getGraph();
+		for (Vertex v : graphT.vertexSet())
 		{
-			Vertex v = new Vertex(id, name);
-			editor.setVertexId(name, id);
-			graphT.addVertex(v);
-			editor.getVertices().put(id, v);
+			editor.setVertexId(v.getName(), v.getId());
+			editor.getVertices().put(v.getId(), v);
 		}
-	}
-	
-	private void addEdge(Graph<Vertex, ModgrafEdge> graphT, Element elementCell, int edgeWeightDegree) 
-	{
-		String edge = elementCell.getAttribute("edge");
-		String id = elementCell.getAttribute("id");
-		if (edge != null && edge.equals("1"))
+		for (ModgrafEdge e : graphT.edgeSet())
 		{
-			String source = elementCell.getAttribute("source");
-			String target = elementCell.getAttribute("target");
-			Map<String, Vertex> vertices = editor.getVertices();
-			editor.setEdgeId(source, target, id);
-			ModgrafEdge e = graphT.addEdge(vertices.get(source), vertices.get(target));
-			e.setId(id);
-			editor.getEdges().put(id, e);
-			if (edgeWeightDegree == 1)
-				setWeightedEdgeValue(elementCell, (WeightedEdge) e);
-			if (edgeWeightDegree == 2)
-				setDoubleWeightedEdgeValue(elementCell, (DoubleWeightedEdge) e);
+			editor.setEdgeId(e.getSource().getId(), e.getTarget().getId(), e.getId());
+			editor.getEdges().put(e.getId(), e);
 		}
-	}
-
-	private void setWeightedEdgeValue(Element elementCell, WeightedEdge e)
-	{
-		double weight = Double.parseDouble(elementCell.getAttribute("value"));
-		e.setWeight(weight);
-	}
-
-	private void setDoubleWeightedEdgeValue(Element elementCell, DoubleWeightedEdge e)
-	{
-		String value = elementCell.getAttribute("value");
-		String[] values = value.split("/");
-		double capacity = Double.parseDouble(values[0]);
-		double cost = Double.parseDouble(values[1]);
-		e.setCapacity(capacity);
-		e.setCost(cost);
-	}
-
-	public void setmxGraph(Document document)
-	{
-		mxCodec codec = new mxCodec(document);
+		editor.setVertexCounter(graphData.getVertexCounter());
+		editor.setGraphT(graphT);
+		if (!memento)
+			editor.setTextAboutNewGraph(graphData.isDirected(), graphData.getEdgeWeightDegree(), true);
 		mxGraph graf = editor.getGraphComponent().getGraph();
-		NodeList mxGraphModelList = document.getElementsByTagName("mxGraphModel");
-		NodeList mxStylesheetList = document.getElementsByTagName("mxStylesheet");
-		if (mxStylesheetList != null)
-			codec.decode(mxStylesheetList.item(0), graf.getStylesheet());
-		else
+		if (graphData.getStyles().isEmpty() && !memento)
 			JOptionPane.showMessageDialog(editor.getGraphComponent(),
 				    lang.getProperty("warning-missing-style-definition"),
 				    lang.getProperty("warning"), JOptionPane.WARNING_MESSAGE);
-		if (mxGraphModelList != null)
-			codec.decode(mxGraphModelList.item(0), graf.getModel());
-		else
-			JOptionPane.showMessageDialog(editor.getGraphComponent(),
-					lang.getProperty("warning-missing-graph-definition"),
-				    lang.getProperty("warning"), JOptionPane.WARNING_MESSAGE);
+		for (Map.Entry<String, Map<String, Object>> style : graphData.getStyles().entrySet())
+			graf.getStylesheet().putCellStyle(style.getKey(), style.getValue());
+		graf.getModel().setRoot(graphData.getRoot());
 	}
 
 	private void openPng(JFileChooser chooser) throws IOException
@@ -298,10 +215,7 @@ public class ActionOpen implements ActionListener
 			String value = text.get("mxGraphModel");
 			if (value != null)
 			{
-				String xml = URLDecoder.decode(value, "UTF-8");
-				Document document = mxXmlUtils.parseXml(xml);
-				createGraphTFromXmlDocument(document);
-				setmxGraph(document);
+				openXml(URLDecoder.decode(value, "UTF-8"));
 			}
 			else
 				JOptionPane.showMessageDialog(editor.getGraphComponent(), 
@@ -1,31 +1,41 @@
 package modgraf.action;
 
 import com.mxgraph.model.mxCell;
+import com.mxgraph.model.mxGeometry;
 import com.mxgraph.model.mxGraphModel;
 import com.mxgraph.view.mxGraph;
+import modgraf.io.GraphData;
+import modgraf.io.GrfGraphReader;
+import modgraf.io.MgbGraphReader;
+import modgraf.jgrapht.DoubleWeightedGraph;
 import modgraf.jgrapht.Vertex;
+import modgraf.jgrapht.edge.DoubleWeightedEdge;
 import modgraf.jgrapht.edge.ModgrafEdge;
+import modgraf.jgrapht.edge.WeightedEdge;
 import modgraf.view.Editor;
+import org.jgrapht.DirectedGraph;
 import org.jgrapht.Graph;
+import org.jgrapht.WeightedGraph;
 
 import java.awt.*;
+import java.awt.geom.Point2D;
 import java.io.File;
 import java.io.IOException;
-import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Set;
-import java.util.StringTokenizer;
-
-import static java.lang.Double.parseDouble;
 
 /**
- * Klasa odpowiada za wczytanie grafu z pliku grf.
+ * Klasa odpowiada za wczytanie grafu z pliku grf lub mgb - plików
+ * zawierających tylko warstwę matematyczną i położenia wierzchołków.
  *
  * @author Daniel Pogrebniak
  */
 public class ActionOpenGrf 
 {
+	private static final double VERTEX_SIZE = 50;
+
 	private Editor editor;
-    private int linesWithComment = 0;
 
     public ActionOpenGrf(Editor e)
 	{
@@ -38,111 +48,22 @@ public class ActionOpenGrf
 	 */
 	public void openGrf(File file) throws IOException
 	{
-		String grfFile = new ActionOpen(editor).readFile(file);
-		grfFileValidationTesting(grfFile);
-		createGraphFromGrfFile(grfFile);
-		if (existInformationAboutLocation(grfFile))
-			setMxGeometryFromGrfFile(grfFile);
-		else
+		GraphData graphData = new GrfGraphReader(editor.getProperties()).read(file);
+		createGraph(graphData);
+		if (graphData.getPositions().isEmpty())
 			setMxGeometryOnCircle();
 	}
 
 	/**
-	 * Metoda sprawdza poprawność pliku grf.
-	 * @param grfFile - zawartość pliku grf
-	 * @throws IllegalArgumentException
-	 */
-	private void grfFileValidationTesting(String grfFile) throws IllegalArgumentException
-	{
-		String[] lines = grfFile.split("\n");
-		if (lines.length < 5)
-			throw new IllegalArgumentException("Not enough lines in the file!");
-		boolean directed = lines[2].startsWith("s") || lines[2].startsWith("S");
-		StringTokenizer st = new StringTokenizer(lines[4]);
-		int edgeWeightDegree = st.countTokens() - 2;
-		if (edgeWeightDegree < 0 || edgeWeightDegree > 2)
-			throw new IllegalArgumentException("Incorrect number of the edge parameters!");
-		int i = 4;
-		ArrayList<String> vertexNameList = new ArrayList<>();
-		ArrayList<String> edgeList = new ArrayList<>();
-		while (i < lines.length && !lines[i].isEmpty())
-		{
-			if (!lines[i].startsWith("#"))
-                grfValidationEdge(lines[i], edgeWeightDegree, directed, vertexNameList, edgeList);
-			++i;
-		}
-		int edgeCounter = edgeList.size();
-		int vertexCounter = vertexNameList.size();
-		boolean existsGeometry = (edgeCounter + vertexCounter + 5) <= lines.length;
-		if (existsGeometry)
-		{
-			++i;
-			int validVertexCounter = 0;
-			while (i < lines.length && !lines[i].isEmpty())
-			{
-                if (!lines[i].startsWith("#"))
-                    validVertexCounter = grfValidationVertexGeometry(lines[i], vertexNameList, validVertexCounter);
-				++i;
-			}
-			if (validVertexCounter != vertexNameList.size())
-				throw new IllegalArgumentException("Invalid number of vertices positions!");
-		}
-	}
-
-	/**
-	 * Metoda sprawdza poprawność fragmentu pliku grf zawierającego definicje krawędzi.
-	 * @throws IllegalArgumentException
+	 * Metoda wczytuje pliki w binarnym formacie mgb.
+	 * @throws IOException
 	 */
-	private void grfValidationEdge(String line, int edgeWeightDegree, boolean directed,
-			ArrayList<String> vertexNameList, ArrayList<String> edgeList) throws IllegalArgumentException
+	public void openMgb(File file) throws IOException
 	{
-		StringTokenizer st = new StringTokenizer(line);
-		if (st.countTokens() != edgeWeightDegree + 2)
-			throw new IllegalArgumentException("The edges have a different number of parameters!");
-		String source = st.nextToken();
-		if (!vertexNameList.contains(source))
-			vertexNameList.add(source);
-		String target = st.nextToken();
-		if (!vertexNameList.contains(target))
-			vertexNameList.add(target);
-		if (directed)
-		{
-			if (!edgeList.contains(source+" "+target))
-				edgeList.add(source+" "+target);
-			else
-				throw new IllegalArgumentException("Borders can not be repeated!");
-		}
-		else
-		{
-			if (!edgeList.contains(source+" "+target) && !edgeList.contains(target+" "+source))
-				edgeList.add(source+" "+target);
-			else
-				throw new IllegalArgumentException("Borders can not be repeated!");
-		}
-		if (edgeWeightDegree == 1)
-			parseDouble(st.nextToken());
-		if (edgeWeightDegree == 2)
-		{
-			parseDouble(st.nextToken());
-			parseDouble(st.nextToken());
-		}
-	}
-
-	/**
-	 * Metoda sprawdza poprawność fragmentu pliku grf zawierającego położenia wierzchołków.
-	 * @return ++validVertexCounter
-	 * @throws IllegalArgumentException
-	 */
-	private int grfValidationVertexGeometry(String line,ArrayList<String> vertexNameList, Integer validVertexCounter)
-            throws IllegalArgumentException {
-		StringTokenizer st = new StringTokenizer(line);
-		if (st.countTokens() != 3)
-			throw new IllegalArgumentException("Invalid number of vertex positions!");
-		if (!vertexNameList.contains(st.nextToken()))
-			throw new IllegalArgumentException("Invalid vertex name!");
-		parseDouble(st.nextToken());
-		parseDouble(st.nextToken());
-		return ++validVertexCounter;
+		GraphData graphData = new MgbGraphReader(editor.getProperties()).read(file);
+		createGraph(graphData);
+		if (graphData.getPositions().isEmpty())
+			setMxGeometryOnCircle();
 	}
 
 	/**
@@ -151,88 +72,95 @@ public class ActionOpenGrf
 	 */
 	public void createGraphFromGrfFile(String grfFile)
 	{
-		String[] lines = grfFile.split("\n");
-		boolean directed = lines[2].startsWith("s") || lines[2].startsWith("S");
-		StringTokenizer st = new StringTokenizer(lines[4]);
-		int edgeWeightDegree = st.countTokens() - 2;
-		int i = 4;
-		editor.setGraphT(editor.createNewGraphT(directed, edgeWeightDegree));
-		editor.getGraphComponent().setGraph(editor.createNewMxGraph());
-		while (i < lines.length && !lines[i].isEmpty())
-		{
-            if (!lines[i].startsWith("#"))
-                createGrfEdge(lines[i], edgeWeightDegree);
-            else
-                ++linesWithComment;
-			++i;
-		}
-		editor.setTextAboutNewGraph(directed, edgeWeightDegree, true);
+		createGraph(new GrfGraphReader(editor.getProperties()).read(grfFile));
 	}
 
-	private void createGrfEdge(String line, int edgeWeightDegree)
+	/**
+	 * Metoda ustawia w edytorze wczytany graf warstwy matematycznej i tworzy 
+	 * komórki warstwy wizualnej o tych samych identyfikatorach. Komórki są 
+	 * dodawane bezpośrednio do modelu w jednej transakcji, więc nie są 
+	 * wywoływane zdarzenia dodawania komórek (ani zapisywane pamiątki) 
+	 * dla każdej krawędzi osobno. Kolejność komórek jest taka sama jak 
+	 * w pliku: źródło, cel i krawędź, a na końcu wierzchołki izolowane
+	 * (tylko z pliku mgb).
+	 */
+	private void createGraph(GraphData graphData)
 	{
-		StringTokenizer st = new StringTokenizer(line);
-		String sourceName = st.nextToken();
+		Graph<Vertex, ModgrafEdge> graphT = graphData.getGraph();
+		boolean directed = graphT instanceof DirectedGraph;
+		int edgeWeightDegree = 0;
+		if (graphT instanceof WeightedGraph)
+			edgeWeightDegree = 1;
+		if (graphT instanceof DoubleWeightedGraph)
+			edgeWeightDegree = 2;
+		editor.getGraphComponent().setGraph(editor.createNewMxGraph());
+		editor.setGraphT(graphT);
 		mxGraph graph = editor.getGraphComponent().getGraph();
 		Object parent = graph.getDefaultParent();
 		mxGraphModel model = (mxGraphModel) graph.getModel();
-		mxCell mxSource;
-		mxCell mxTarget;
-		if (!editor.getVertexValuesSet().contains(sourceName))
-			mxSource = (mxCell) graph.insertVertex(parent, null, sourceName, 0, 0, 50, 50, "vertexStyle");
-		else
-			mxSource = (mxCell) model.getCell(editor.getVertexId(sourceName));
-		String target = st.nextToken();
-		if (!editor.getVertexValuesSet().contains(target))
-			mxTarget = (mxCell) graph.insertVertex(parent, null, target, 0, 0, 50, 50, "vertexStyle");
-		else
-			mxTarget = (mxCell) model.getCell(editor.getVertexId(target));
-		if (edgeWeightDegree == 0)
-			graph.insertEdge(parent, null, null, mxSource, mxTarget);
-		if (edgeWeightDegree == 1)
+		Map<Vertex, mxCell> cells = new HashMap<>();
+		model.beginUpdate();
+		try
 		{
-			double weight = parseDouble(st.nextToken());
-			graph.insertEdge(parent, null, Double.toString(weight), mxSource, mxTarget);
+			for (ModgrafEdge edge : graphT.edgeSet())
+			{
+				mxCell mxSource = getVertexCell(model, parent, edge.getSource(), graphData, cells);
+				mxCell mxTarget = getVertexCell(model, parent, edge.getTarget(), graphData, cells);
+				mxGeometry geometry = new mxGeometry();
+				geometry.setRelative(true);
+				mxCell mxEdge = new mxCell(getEdgeValue(edge), geometry, null);
+				mxEdge.setId(edge.getId());
+				mxEdge.setEdge(true);
+				mxEdge.setSource(mxSource);
+				mxEdge.setTarget(mxTarget);
+				model.add(parent, mxEdge, model.getChildCount(parent));
+				editor.setEdgeId(mxSource.getId(), mxTarget.getId(), mxEdge.getId());
+				if (!directed)
+					editor.setEdgeId(mxTarget.getId(), mxSource.getId(), mxEdge.getId());
+				editor.getEdges().put(edge.getId(), edge);
+			}
+			for (Vertex vertex : graphT.vertexSet())
+				getVertexCell(model, parent, vertex, graphData, cells);
 		}
-		if (edgeWeightDegree == 2)
+		finally
 		{
-			double capacity = parseDouble(st.nextToken());
-			double cost = parseDouble(st.nextToken());
-			String value = capacity+"/"+cost;
-			graph.insertEdge(parent, null, value, mxSource, mxTarget);
+			model.endUpdate();
 		}
+		editor.setVertexCounter(graphData.getVertexCounter());
+		editor.setTextAboutNewGraph(directed, edgeWeightDegree, true);
+		editor.getGraphComponent().refresh();
 	}
 
-	private boolean existInformationAboutLocation(String grfFile)
+	private mxCell getVertexCell(mxGraphModel model, Object parent, Vertex vertex, 
+			GraphData graphData, Map<Vertex, mxCell> cells)
 	{
-		Graph<Vertex, ModgrafEdge> graphT = editor.getGraphT();
-		String[] lines = grfFile.split("\n");
-		int edgeCounter = graphT.edgeSet().size();
-		int vertexCounter = graphT.vertexSet().size();
-		return (edgeCounter + vertexCounter + 5) <= lines.length;
+		mxCell cell = cells.get(vertex);
+		if (cell != null)
+			return cell;
+		Point2D center = graphData.getPositions().get(vertex);
+		double x = center != null ? center.getX() - VERTEX_SIZE / 2 : 0;
+		double y = center != null ? center.getY() - VERTEX_SIZE / 2 : 0;
+		cell = new mxCell(vertex.getName(), new mxGeometry(x, y, VERTEX_SIZE, VERTEX_SIZE), "vertexStyle");
+		cell.setId(vertex.getId());
+		cell.setVertex(true);
+		cell.setConnectable(true);
+		model.add(parent, cell, model.getChildCount(parent));
+		cells.put(vertex, cell);
+		editor.setVertexId(vertex.getName(), vertex.getId());
+		editor.getVertices().put(vertex.getId(), vertex);
+		return cell;
 	}
 
-	private void setMxGeometryFromGrfFile(String grfFile)
+	private static String getEdgeValue(ModgrafEdge edge)
 	{
-		Graph<Vertex, ModgrafEdge> graphT = editor.getGraphT();
-		mxGraph graph = editor.getGraphComponent().getGraph();
-		mxGraphModel model = (mxGraphModel) graph.getModel();
-		String[] lines = grfFile.split("\n");
-		int edgeCounter = graphT.edgeSet().size();
-		int vertexCounter = graphT.vertexSet().size();
-		for (int i = edgeCounter + 5 + linesWithComment; i < lines.length && !lines[i].isEmpty(); ++i)
+		if (edge instanceof WeightedEdge)
+			return Double.toString(((WeightedEdge) edge).getWeight());
+		if (edge instanceof DoubleWeightedEdge)
 		{
-            if (lines[i].startsWith("#"))
-                continue;
-            StringTokenizer st = new StringTokenizer(lines[i]);
-			mxCell cell = (mxCell) model.getCell(editor.getVertexId(st.nextToken()));
-			model.beginUpdate();
-			cell.getGeometry().setY(parseDouble(st.nextToken()));
-			cell.getGeometry().setX(parseDouble(st.nextToken()));
-			model.endUpdate();
+			DoubleWeightedEdge dwe = (DoubleWeightedEdge) edge;
+			return dwe.getCapacity() + "/" + dwe.getCost();
 		}
-		editor.setVertexCounter(vertexCounter);
-		editor.getGraphComponent().refresh();
+		return null;
 	}
 
 	public void setMxGeometryOnCircle()
@@ -3,11 +3,18 @@ package modgraf.action;
 import java.awt.Color;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.awt.geom.Point2D;
 import java.awt.image.BufferedImage;
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.net.URLEncoder;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
@@ -16,7 +23,8 @@ import javax.swing.JFileChooser;
 import javax.swing.JOptionPane;
 import javax.swing.filechooser.FileNameExtensionFilter;
 
-import modgraf.jgrapht.DoubleWeightedGraph;
+import modgraf.io.MgbGraphWriter;
+import modgraf.io.XmlGraphWriter;
 import modgraf.jgrapht.Vertex;
 import modgraf.jgrapht.edge.DoubleWeightedEdge;
 import modgraf.jgrapht.edge.ModgrafEdge;
@@ -26,19 +34,13 @@ import modgraf.view.Editor;
 import org.jgrapht.DirectedGraph;
 import org.jgrapht.Graph;
 import org.jgrapht.UndirectedGraph;
-import org.jgrapht.WeightedGraph;
-import org.w3c.dom.Element;
-import org.w3c.dom.Node;
-import org.w3c.dom.NodeList;
 
-import com.mxgraph.io.mxCodec;
 import com.mxgraph.model.mxCell;
 import com.mxgraph.model.mxGeometry;
 import com.mxgraph.model.mxGraphModel;
 import com.mxgraph.swing.mxGraphComponent;
 import com.mxgraph.util.mxCellRenderer;
 import com.mxgraph.util.mxUtils;
-import com.mxgraph.util.mxXmlUtils;
 import com.mxgraph.util.png.mxPngEncodeParam;
 import com.mxgraph.util.png.mxPngImageEncoder;
 import com.mxgraph.view.mxGraph;
@@ -106,6 +108,8 @@ public class ActionSaveAs implements ActionListener
 			file = savePng(fileName, graphComponent, graphT);	
 		if (fileName.endsWith(".grf"))
 			file = saveGrf(fileName, null);
+		if (fileName.endsWith(".mgb"))
+			file = saveMgb(fileName, graphComponent, graphT);
 		editor.setCurrentFile(file);
 		editor.setModified(false);
 		editor.setText(lang.getProperty("message-save-file")+file);
@@ -119,9 +123,11 @@ public class ActionSaveAs implements ActionListener
 		FileNameExtensionFilter filterGrf = new FileNameExtensionFilter(lang.getProperty("files-grf"), "grf");
 		FileNameExtensionFilter filterXml = new FileNameExtensionFilter(lang.getProperty("files-xml"), "xml");
 		FileNameExtensionFilter filterPng = new FileNameExtensionFilter(lang.getProperty("files-png"), "png");
+		FileNameExtensionFilter filterMgb = new FileNameExtensionFilter(lang.getProperty("files-mgb"), "mgb");
 	    chooser.addChoosableFileFilter(filterXml);
 		chooser.addChoosableFileFilter(filterGrf);
 	    chooser.addChoosableFileFilter(filterPng);
+	    chooser.addChoosableFileFilter(filterMgb);
 	    chooser.setFileFilter(filterXml);
 		return chooser;
 	}
@@ -139,51 +145,47 @@ public class ActionSaveAs implements ActionListener
 	private File saveXml(String fileName, mxGraphComponent graphComponent,
 			Graph<Vertex, ModgrafEdge> graphT)
 	{
-		String xml = buildXml(graphComponent.getGraph(), graphT);
-		return writeTextFile(fileName, xml);
-	}
-	
-	public String buildXml(mxGraph graph, Graph<Vertex, ModgrafEdge> graphT)
-	{
-		String type = null;
-		String weighted = "0";
-		String vertexCounter = Integer.toString(editor.getVertexCounter());
-		if (graphT instanceof DirectedGraph)
-			type = "directed";
-		if (graphT instanceof UndirectedGraph)
-			type = "undirected";
-		if (graphT instanceof WeightedGraph)
-			weighted = "1";
-		if (graphT instanceof DoubleWeightedGraph)
-			weighted = "2";
-		mxCodec codec = new mxCodec();
-		Element graphModel = (Element)codec.encode(graph.getModel());
-		Element stylesheet = (Element)codec.encode(graph.getStylesheet());
-		NodeList list = stylesheet.getElementsByTagName("add");
-		for (int i = 0; i < list.getLength(); ++i)
+		XmlGraphWriter xmlWriter = new XmlGraphWriter(graphComponent.getGraph(), graphT, 
+				editor.getVertexCounter());
+		try
 		{
-			Node addNode = list.item(i);
-			if (addNode.getNodeType() == Node.ELEMENT_NODE)
+			Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(fileName), 
+					editor.getProperties().getProperty("file-encoding")));
+			try
+			{
+				xmlWriter.write(writer);
+			}
+			finally
 			{
-				Element addElement = (Element)addNode;
-				if (addElement.hasAttribute("as"))
-				{
-					if (addElement.getAttribute("as").equals("defaultVertex"))
-					{
-						stylesheet.removeChild(addElement);
-						i = list.getLength(); //exit from loop
-					}
-				}
+				writer.close();
 			}
+			return new File(fileName);
 		}
-		graphModel.setAttribute("type", type);
-		graphModel.setAttribute("weighted", weighted);
-		graphModel.setAttribute("vertexCounter", vertexCounter);
-		String model = mxXmlUtils.getXml(graphModel);
-		String style = mxXmlUtils.getXml(stylesheet);
-		String xml = "<Modgraf>"+model+style+"</Modgraf>";
-		xml = xml.replace("><", ">\r\n<");
-		return xml;
+		catch (IOException e)
+		{
+			JOptionPane.showMessageDialog(editor.getGraphComponent(),
+					lang.getProperty("error-not-save-file"),
+				    lang.getProperty("error"), JOptionPane.ERROR_MESSAGE);
+		}
+		return null;
+	}
+	
+	public String buildXml(mxGraph graph, Graph<Vertex, ModgrafEdge> graphT)
+	{
+		return buildXml(graph, graphT, editor.getVertexCounter());
+	}
+
+	/**
+	 * Tworzy zawartość pliku xml bez udziału edytora.
+	 *
+	 * @param graph graf z warstwy wizualnej
+	 * @param graphT graf z warstwy matematycznej
+	 * @param counter licznik wierzchołków zapisywany w pliku
+	 * @return zawartość pliku xml
+	 */
+	public static String buildXml(mxGraph graph, Graph<Vertex, ModgrafEdge> graphT, int counter)
+	{
+		return new XmlGraphWriter(graph, graphT, counter).toXml();
 	}
 
 	private File writeTextFile(String fileName, String contents)
@@ -285,6 +287,44 @@ public class ActionSaveAs implements ActionListener
 		}
 	}
 
+	/**
+	 * Zapisuje graf w binarnym formacie mgb wraz z położeniami środków
+	 * wierzchołków.
+	 *
+	 * @see MgbGraphWriter
+	 */
+	private File saveMgb(String fileName, mxGraphComponent graphComponent, Graph<Vertex, ModgrafEdge> graphT)
+	{
+		mxGraphModel model = (mxGraphModel)graphComponent.getGraph().getModel();
+		Map<Vertex, Point2D> positions = new LinkedHashMap<>();
+		for (Vertex vertex : graphT.vertexSet())
+		{
+			mxGeometry geometry = model.getGeometry(model.getCell(vertex.getId()));
+			if (geometry != null)
+				positions.put(vertex, new Point2D.Double(geometry.getCenterX(), geometry.getCenterY()));
+		}
+		try
+		{
+			OutputStream outputStream = new BufferedOutputStream(new FileOutputStream(fileName));
+			try
+			{
+				new MgbGraphWriter(graphT, positions, editor.getVertexCounter()).write(outputStream);
+			}
+			finally
+			{
+				outputStream.close();
+			}
+			return new File(fileName);
+		}
+		catch (IOException e)
+		{
+			JOptionPane.showMessageDialog(editor.getGraphComponent(),
+					lang.getProperty("error-not-save-file"),
+				    lang.getProperty("error"), JOptionPane.ERROR_MESSAGE);
+		}
+		return null;
+	}
+
 	private File savePng(String fileName, mxGraphComponent graphComponent, Graph<Vertex, ModgrafEdge> graphT)
 	{
 		Color backgroundColor = null;
@@ -907,7 +907,10 @@ public class ActionShowProperties implements ActionListener
             }
         }
 
-        if(changed) editor.saveState(lang.getProperty("memento-change"));
+        if(changed) {
+            editor.incrementGraphVersion();
+            editor.saveState(lang.getProperty("memento-change"));
+        }
         editor.getGraphComponent().refresh();
 
     }
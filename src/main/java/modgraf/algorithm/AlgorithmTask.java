@@ -0,0 +1,297 @@
+package modgraf.algorithm;
+
+import java.awt.BorderLayout;
+import java.awt.Dialog;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.util.Properties;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import javax.swing.BorderFactory;
+import javax.swing.JButton;
+import javax.swing.JDialog;
+import javax.swing.JLabel;
+import javax.swing.JOptionPane;
+import javax.swing.JPanel;
+import javax.swing.JProgressBar;
+import javax.swing.SwingUtilities;
+import javax.swing.SwingWorker;
+import javax.swing.Timer;
+
+import modgraf.algorithm.engine.AlgorithmMetrics;
+import modgraf.algorithm.engine.AlgorithmMetrics.Phase;
+import modgraf.algorithm.engine.AlgorithmMetrics.Status;
+import modgraf.algorithm.engine.AlgorithmMonitor;
+import modgraf.view.Editor;
+
+/**
+ * Uruchomienie algorytmu poza wątkiem EDT. <br>
+ * Faza obliczeń ({@link ModgrafAbstractAlgorithm#findResult()}) jest
+ * wykonywana w wątku roboczym {@link SwingWorker}, a faza prezentacji
+ * ({@link ModgrafAbstractAlgorithm#showResult()}) i zapis stanu do historii
+ * zmian - z powrotem w wątku EDT. Jeśli obliczenia nie skończą się w ciągu
+ * {@value #DIALOG_DELAY_MS} ms, wyświetlane jest modalne okno z paskiem
+ * postępu i przyciskiem przerywającym obliczenia (okno blokuje też edycję
+ * grafu w trakcie obliczeń). <br>
+ * Przerwanie i limit czasu (właściwość <code>algorithm-timeout-s</code>)
+ * działają przez {@link AlgorithmMonitor}: silniki kończą pracę przy
+ * najbliższym wywołaniu {@link AlgorithmMonitor#checkpoint()}. Algorytmy
+ * z biblioteki JGraphT nie sprawdzają monitora - po przerwaniu ich wynik
+ * jest odrzucany, a ponowne uruchomienie tego samego algorytmu jest możliwe
+ * dopiero po zakończeniu obliczeń w tle. <br>
+ * Czasy faz, przybliżona liczba zaalokowanych bajtów i liczniki silników
+ * są zbierane w {@link AlgorithmMetrics} i po zakończeniu zapisywane
+ * w dzienniku {@link Editor#getMetricsLog()}.
+ */
+public final class AlgorithmTask extends SwingWorker<Void, Void>
+{
+	private static final int DIALOG_DELAY_MS = 250;
+	private static final int REFRESH_INTERVAL_MS = 200;
+	private static final int PROGRESS_SCALE = 1000;
+
+	private final ModgrafAbstractAlgorithm algorithm;
+	private final Editor editor;
+	private final Properties lang;
+	private final AlgorithmMonitor monitor;
+	private final AlgorithmMetrics metrics;
+	private volatile boolean computing;
+	private boolean timedOut;
+	private JDialog dialog;
+	private JProgressBar progressBar;
+	private JLabel timeLabel;
+	private Timer refreshTimer;
+
+	/**
+	 * @param algorithm algorytm z wybranymi już parametrami
+	 */
+	public AlgorithmTask(ModgrafAbstractAlgorithm algorithm)
+	{
+		this.algorithm = algorithm;
+		editor = algorithm.editor;
+		lang = algorithm.lang;
+		monitor = new AlgorithmMonitor(readTimeoutMillis(algorithm.prop));
+		metrics = new AlgorithmMetrics(algorithm.getName(),
+				editor.getGraphT().vertexSet().size(), editor.getGraphT().edgeSet().size());
+	}
+
+	private static long readTimeoutMillis(Properties prop)
+	{
+		try
+		{
+			return (long) (Double.parseDouble(prop.getProperty("algorithm-timeout-s", "0")) * 1000);
+		}
+		catch (NumberFormatException e)
+		{
+			return 0;
+		}
+	}
+
+	/**
+	 * Uruchamia obliczenia. Metoda musi być wywołana w wątku EDT i wraca
+	 * po zamknięciu okna postępu (jeśli zostało wyświetlone).
+	 */
+	public void start()
+	{
+		if (algorithm.task != null && algorithm.task.computing)
+		{
+			JOptionPane.showMessageDialog(editor.getGraphComponent(),
+					lang.getProperty("alg-task-busy"),
+					lang.getProperty("information"), JOptionPane.INFORMATION_MESSAGE);
+			return;
+		}
+		algorithm.task = this;
+		computing = true;
+		execute();
+		try
+		{
+			get(DIALOG_DELAY_MS, TimeUnit.MILLISECONDS);
+		}
+		catch (TimeoutException e)
+		{
+			showDialog();
+		}
+		catch (InterruptedException | ExecutionException | CancellationException e)
+		{
+			// wynik obsługuje metoda done()
+		}
+	}
+
+	@Override
+	protected Void doInBackground()
+	{
+		monitor.activate();
+		metrics.activate();
+		long allocatedBefore = AlgorithmMetrics.readAllocatedBytes();
+		long start = System.nanoTime();
+		try
+		{
+			algorithm.findResult();
+		}
+		finally
+		{
+			long elapsed = System.nanoTime() - start;
+			metrics.addPhaseTime(Phase.Compute, elapsed - metrics.getPhaseNanos(Phase.Snapshot));
+			long allocatedAfter = AlgorithmMetrics.readAllocatedBytes();
+			if (allocatedBefore >= 0 && allocatedAfter >= allocatedBefore)
+				metrics.setAllocatedBytes(allocatedAfter - allocatedBefore);
+			metrics.deactivate();
+			monitor.deactivate();
+			computing = false;
+		}
+		return null;
+	}
+
+	@Override
+	protected void done()
+	{
+		if (refreshTimer != null)
+			refreshTimer.stop();
+		if (dialog != null)
+			dialog.dispose();
+		if (isCancelled())
+		{
+			finishMetrics(Status.Cancelled);
+			showMessage(timedOut ? "alg-task-timeout" : "alg-task-cancelled");
+			return;
+		}
+		try
+		{
+			get();
+		}
+		catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+			return;
+		}
+		catch (ExecutionException e)
+		{
+			Throwable cause = e.getCause();
+			if (cause instanceof CancellationException)
+			{
+				finishMetrics(Status.Cancelled);
+				showMessage(monitor.isCancelled() ? "alg-task-cancelled" : "alg-task-timeout");
+			}
+			else
+			{
+				finishMetrics(Status.Failed);
+				algorithm.showFailure(cause);
+			}
+			return;
+		}
+		long start = System.nanoTime();
+		algorithm.showResult();
+		long highlighted = System.nanoTime();
+		editor.saveState(lang.getProperty("memento-algorithm"));
+		metrics.addPhaseTime(Phase.Highlighting, highlighted - start);
+		metrics.addPhaseTime(Phase.Memento, System.nanoTime() - highlighted);
+		finishMetrics(Status.Finished);
+	}
+
+	/**
+	 * Zapisuje pomiary w dzienniku. Po przerwaniu obliczeń algorytmu, który
+	 * nie sprawdza monitora, czas obliczeń jest uzupełniany dopiero po ich
+	 * faktycznym zakończeniu w tle.
+	 */
+	private void finishMetrics(Status status)
+	{
+		metrics.setStatus(status);
+		editor.getMetricsLog().add(metrics);
+	}
+
+	/**
+	 * Przerywa obliczenia na żądanie użytkownika lub po przekroczeniu
+	 * limitu czasu.
+	 */
+	private void stop(boolean timeout)
+	{
+		timedOut = timeout;
+		monitor.cancel();
+		cancel(true);
+	}
+
+	private void showMessage(String key)
+	{
+		String message = lang.getProperty(key);
+		if ("alg-task-timeout".equals(key))
+			message = String.format(message, algorithm.prop.getProperty("algorithm-timeout-s"));
+		JOptionPane.showMessageDialog(editor.getGraphComponent(), message,
+				lang.getProperty("information"), JOptionPane.INFORMATION_MESSAGE);
+	}
+
+	private void showDialog()
+	{
+		dialog = new JDialog(SwingUtilities.getWindowAncestor(editor.getGraphComponent()),
+				lang.getProperty("alg-task-title"), Dialog.ModalityType.APPLICATION_MODAL);
+		dialog.setDefaultCloseOperation(JDialog.DO_NOTHING_ON_CLOSE);
+		dialog.addWindowListener(new WindowAdapter()
+		{
+			@Override
+			public void windowClosing(WindowEvent e)
+			{
+				stop(false);
+			}
+		});
+		JPanel panel = new JPanel(new BorderLayout(0, 8));
+		panel.setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
+		panel.add(new JLabel(lang.getProperty("alg-task-running") + algorithm.getName()), BorderLayout.NORTH);
+		progressBar = new JProgressBar(0, PROGRESS_SCALE);
+		progressBar.setIndeterminate(true);
+		panel.add(progressBar, BorderLayout.CENTER);
+		timeLabel = new JLabel();
+		panel.add(timeLabel, BorderLayout.SOUTH);
+		JPanel buttonPanel = new JPanel();
+		JButton cancel = new JButton(lang.getProperty("button-cancel"));
+		cancel.addActionListener(new ActionListener()
+		{
+			@Override
+			public void actionPerformed(ActionEvent e)
+			{
+				stop(false);
+			}
+		});
+		buttonPanel.add(cancel);
+		dialog.add(panel, BorderLayout.CENTER);
+		dialog.add(buttonPanel, BorderLayout.SOUTH);
+		dialog.pack();
+		dialog.setLocationRelativeTo(editor.getGraphComponent());
+		refreshTimer = new Timer(REFRESH_INTERVAL_MS, new ActionListener()
+		{
+			@Override
+			public void actionPerformed(ActionEvent e)
+			{
+				refreshDialog();
+			}
+		});
+		refreshDialog();
+		refreshTimer.start();
+		if (!isDone())
+			dialog.setVisible(true);
+	}
+
+	/**
+	 * Odświeża pasek postępu i czas obliczeń, a po przekroczeniu limitu
+	 * czasu przerywa obliczenia (także te, które nie sprawdzają monitora).
+	 */
+	private void refreshDialog()
+	{
+		if (isDone())
+			return;
+		if (monitor.isTimedOut())
+		{
+			stop(true);
+			return;
+		}
+		double progress = monitor.getProgress();
+		if (progress >= 0)
+		{
+			progressBar.setIndeterminate(false);
+			progressBar.setValue((int) (progress * PROGRESS_SCALE));
+		}
+		timeLabel.setText(lang.getProperty("alg-task-time") + monitor.getElapsedMillis() / 1000 + " s");
+	}
+}
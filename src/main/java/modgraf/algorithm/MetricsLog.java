@@ -0,0 +1,255 @@
+package modgraf.algorithm;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.swing.event.ChangeEvent;
+import javax.swing.event.ChangeListener;
+
+import modgraf.algorithm.engine.AlgorithmMetrics;
+import modgraf.algorithm.engine.AlgorithmMetrics.Phase;
+
+/**
+ * Dziennik pomiarów ostatnich uruchomień algorytmów. <br>
+ * Pomiary zapisuje {@link AlgorithmTask} (oraz okno trybu krokowego),
+ * a wyświetla je okno {@link modgraf.view.MetricsWindow}. Dziennik jest też
+ * dostępny przez JMX ({@link MetricsLogMBean}) i może być wyeksportowany
+ * do pliku csv, w którym każdy licznik ma własną kolumnę.
+ */
+public class MetricsLog implements MetricsLogMBean
+{
+	/**
+	 * Nazwa, pod którą dziennik jest rejestrowany w serwerze JMX.
+	 */
+	public static final String OBJECT_NAME = "modgraf:type=AlgorithmMetrics";
+	/**
+	 * Liczba zapamiętywanych uruchomień - starsze są usuwane.
+	 */
+	public static final int MAX_RUNS = 500;
+
+	private final List<AlgorithmMetrics> runs = new ArrayList<>();
+	private final List<ChangeListener> listeners = new CopyOnWriteArrayList<>();
+
+	/**
+	 * Rejestruje dziennik w serwerze JMX maszyny wirtualnej. Błąd rejestracji
+	 * (np. drugi edytor w tej samej maszynie) nie przeszkadza w działaniu
+	 * programu, więc jest pomijany.
+	 */
+	public void registerMBean()
+	{
+		try
+		{
+			MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+			ObjectName name = new ObjectName(OBJECT_NAME);
+			if (!server.isRegistered(name))
+				server.registerMBean(this, name);
+		}
+		catch (JMException | SecurityException e)
+		{
+			// pomiary są nadal dostępne w oknie programu
+		}
+	}
+
+	/**
+	 * Zapisuje pomiary zakończonego uruchomienia.
+	 *
+	 * @param metrics pomiary
+	 */
+	public void add(AlgorithmMetrics metrics)
+	{
+		synchronized (runs)
+		{
+			runs.add(metrics);
+			if (runs.size() > MAX_RUNS)
+				runs.remove(0);
+		}
+		fireChanged();
+	}
+
+	/**
+	 * @return kopia listy pomiarów od najstarszego
+	 */
+	public List<AlgorithmMetrics> getRuns()
+	{
+		synchronized (runs)
+		{
+			return new ArrayList<>(runs);
+		}
+	}
+
+	@Override
+	public void clear()
+	{
+		synchronized (runs)
+		{
+			runs.clear();
+		}
+		fireChanged();
+	}
+
+	public void addChangeListener(ChangeListener listener)
+	{
+		listeners.add(listener);
+	}
+
+	public void removeChangeListener(ChangeListener listener)
+	{
+		listeners.remove(listener);
+	}
+
+	private void fireChanged()
+	{
+		ChangeEvent event = new ChangeEvent(this);
+		for (ChangeListener listener : listeners)
+			listener.stateChanged(event);
+	}
+
+	/**
+	 * @return nazwy liczników występujących w zapamiętanych pomiarach,
+	 * 			w kolejności alfabetycznej
+	 */
+	public Set<String> getCounterNames()
+	{
+		Set<String> names = new TreeSet<>();
+		for (AlgorithmMetrics metrics : getRuns())
+			names.addAll(metrics.getCounters().keySet());
+		return names;
+	}
+
+	/**
+	 * Zapisuje pomiary w formacie csv.
+	 *
+	 * @param writer strumień wyjściowy
+	 * @throws IOException gdy zapis się nie powiódł
+	 */
+	public void writeCsv(Writer writer) throws IOException
+	{
+		List<AlgorithmMetrics> snapshot = getRuns();
+		Set<String> counterNames = getCounterNames();
+		StringBuilder sb = new StringBuilder("time,algorithm,status,vertices,edges");
+		for (Phase phase : Phase.values())
+			sb.append(',').append(phase.name().toLowerCase()).append("Millis");
+		sb.append(",allocatedBytes");
+		for (String name : counterNames)
+			sb.append(',').append(name);
+		writer.write(sb.append("\r\n").toString());
+		SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss.SSS");
+		for (AlgorithmMetrics metrics : snapshot)
+		{
+			sb.setLength(0);
+			sb.append(dateFormat.format(new Date(metrics.getStartTimeMillis())));
+			sb.append(',').append(quoteCsv(metrics.getAlgorithm()));
+			sb.append(',').append(metrics.getStatus());
+			sb.append(',').append(metrics.getVertexCount());
+			sb.append(',').append(metrics.getEdgeCount());
+			for (Phase phase : Phase.values())
+				sb.append(',').append(String.format(Locale.ROOT, "%.3f", metrics.getPhaseMillis(phase)));
+			sb.append(',');
+			if (metrics.getAllocatedBytes() >= 0)
+				sb.append(metrics.getAllocatedBytes());
+			Map<String, Long> counters = metrics.getCounters();
+			for (String name : counterNames)
+			{
+				sb.append(',');
+				if (counters.containsKey(name))
+					sb.append(counters.get(name));
+			}
+			writer.write(sb.append("\r\n").toString());
+		}
+	}
+
+	private static String quoteCsv(String text)
+	{
+		if (text.indexOf(',') < 0 && text.indexOf('"') < 0)
+			return text;
+		return "\"" + text.replace("\"", "\"\"") + "\"";
+	}
+
+	private AlgorithmMetrics getLastRun()
+	{
+		synchronized (runs)
+		{
+			return runs.isEmpty() ? null : runs.get(runs.size() - 1);
+		}
+	}
+
+	@Override
+	public int getRunCount()
+	{
+		synchronized (runs)
+		{
+			return runs.size();
+		}
+	}
+
+	@Override
+	public String getLastAlgorithm()
+	{
+		AlgorithmMetrics last = getLastRun();
+		return last != null ? last.getAlgorithm() : null;
+	}
+
+	@Override
+	public String getLastStatus()
+	{
+		AlgorithmMetrics last = getLastRun();
+		return last != null ? last.getStatus().name() : null;
+	}
+
+	@Override
+	public double getLastComputeMillis()
+	{
+		AlgorithmMetrics last = getLastRun();
+		return last != null ? last.getPhaseMillis(Phase.Compute) : 0;
+	}
+
+	@Override
+	public double getLastTotalMillis()
+	{
+		AlgorithmMetrics last = getLastRun();
+		return last != null ? last.getTotalMillis() : 0;
+	}
+
+	@Override
+	public long getLastAllocatedBytes()
+	{
+		AlgorithmMetrics last = getLastRun();
+		return last != null ? last.getAllocatedBytes() : -1;
+	}
+
+	@Override
+	public String getLastCounters()
+	{
+		AlgorithmMetrics last = getLastRun();
+		return last != null ? last.getCounters().toString() : null;
+	}
+
+	@Override
+	public String exportCsv()
+	{
+		StringWriter writer = new StringWriter();
+		try
+		{
+			writeCsv(writer);
+		}
+		catch (IOException e)
+		{
+			throw new IllegalStateException(e);
+		}
+		return writer.toString();
+	}
+}
@@ -0,0 +1,55 @@
+package modgraf.algorithm;
+
+/**
+ * Interfejs JMX dziennika pomiarów algorytmów. Pomiary można podglądać
+ * w programach JConsole i Java Mission Control pod nazwą
+ * {@value MetricsLog#OBJECT_NAME}.
+ */
+public interface MetricsLogMBean
+{
+	/**
+	 * @return liczba zapamiętanych uruchomień
+	 */
+	int getRunCount();
+
+	/**
+	 * @return nazwa ostatnio uruchomionego algorytmu
+	 */
+	String getLastAlgorithm();
+
+	/**
+	 * @return stan zakończenia ostatniego uruchomienia
+	 */
+	String getLastStatus();
+
+	/**
+	 * @return czas obliczeń ostatniego uruchomienia w milisekundach
+	 */
+	double getLastComputeMillis();
+
+	/**
+	 * @return łączny czas ostatniego uruchomienia w milisekundach
+	 */
+	double getLastTotalMillis();
+
+	/**
+	 * @return liczba bajtów zaalokowanych w czasie ostatnich obliczeń
+	 */
+	long getLastAllocatedBytes();
+
+	/**
+	 * @return liczniki ostatniego uruchomienia w postaci
+	 * 			<code>nazwa=wartość</code>
+	 */
+	String getLastCounters();
+
+	/**
+	 * @return wszystkie pomiary w formacie csv
+	 */
+	String exportCsv();
+
+	/**
+	 * Usuwa wszystkie pomiary.
+	 */
+	void clear();
+}
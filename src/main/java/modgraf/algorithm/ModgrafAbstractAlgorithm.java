@@ -3,6 +3,11 @@ package modgraf.algorithm;
 import com.mxgraph.model.mxGraphModel;
 import com.mxgraph.view.mxGraph;
 import layout.TableLayout;
+import modgraf.algorithm.engine.AlgorithmMetrics;
+import modgraf.algorithm.engine.AlgorithmMonitor;
+import modgraf.algorithm.solver.Solver;
+import modgraf.algorithm.solver.SolverParameters;
+import modgraf.jgrapht.CompactGraph;
 import modgraf.jgrapht.Vertex;
 import modgraf.jgrapht.edge.ModgrafEdge;
 import modgraf.view.Editor;
@@ -62,6 +67,10 @@ public abstract class ModgrafAbstractAlgorithm implements ActionListener {
      * Mapa z ustawieniami
      */
 	protected Properties prop;
+	/**
+	 * Ostatnie uruchomienie algorytmu w tle.
+	 */
+	AlgorithmTask task;
 
     /**
      * Konstruktor
@@ -107,9 +116,43 @@ public abstract class ModgrafAbstractAlgorithm implements ActionListener {
 		if (isEdgeExists()) {
 			clearBoldLines();
 			editor.getGraphComponent().refresh();
-			findAndShowResult();
-			editor.saveState(lang.getProperty("memento-algorithm"));
+			new AlgorithmTask(this).start();
+		}
+	}
+
+	/**
+	 * Pyta użytkownika o limit czasu algorytmu. Domyślną wartością jest
+	 * liczba sekund zapisana we właściwości <code>propertyName</code>,
+	 * a podana wartość jest w niej zapamiętywana.
+	 *
+	 * @param propertyName nazwa właściwości z limitem czasu w sekundach
+	 * @return false jeśli użytkownik zrezygnował lub podał niepoprawną wartość
+	 */
+	protected boolean askForTimeBudget(String propertyName) {
+		String value = (String) JOptionPane.showInputDialog(editor.getGraphComponent(),
+				lang.getProperty("alg-time-budget"), getName(), JOptionPane.QUESTION_MESSAGE,
+				null, null, prop.getProperty(propertyName));
+		if (value == null)
+			return false;
+		try {
+			if (Double.parseDouble(value.trim()) <= 0)
+				throw new NumberFormatException();
+		} catch (NumberFormatException e) {
+			JOptionPane.showMessageDialog(editor.getGraphComponent(),
+					lang.getProperty("warning-not-number"),
+					lang.getProperty("warning"), JOptionPane.WARNING_MESSAGE);
+			return false;
 		}
+		prop.setProperty(propertyName, value.trim());
+		return true;
+	}
+
+	/**
+	 * @param propertyName nazwa właściwości z limitem czasu w sekundach
+	 * @return limit czasu w milisekundach
+	 */
+	protected long getTimeBudgetMillis(String propertyName) {
+		return (long) (Double.parseDouble(prop.getProperty(propertyName)) * 1000);
 	}
 
 	/**
@@ -126,6 +169,54 @@ public abstract class ModgrafAbstractAlgorithm implements ActionListener {
 			return true;
 	}
 
+	/**
+	 * Tworzy zwartą migawkę aktualnego grafu z warstwy matematycznej, na
+	 * której algorytm może pracować zamiast na obiektach JGraphT.
+	 *
+	 * @return migawka grafu w postaci CSR
+	 */
+	protected CompactGraph createCompactGraph() {
+		return new CompactGraph(editor.getGraphT());
+	}
+
+	/**
+	 * Tworzy parametry dla algorytmów z pakietu
+	 * {@link modgraf.algorithm.solver} na podstawie wybranych wierzchołków
+	 * i ustawień programu.
+	 *
+	 * @return parametry algorytmu
+	 */
+	protected SolverParameters createSolverParameters() {
+		SolverParameters parameters = new SolverParameters();
+		parameters.setStartVertex(startVertex);
+		parameters.setEndVertex(endVertex);
+		parameters.setThreads(Integer.parseInt(prop.getProperty("algorithm-threads")));
+		parameters.setParallelThreshold(Integer.parseInt(prop.getProperty("algorithm-parallel-flow-threshold")));
+		return parameters;
+	}
+
+	/**
+	 * Uruchamia algorytm na grafie z warstwy matematycznej, korzystając
+	 * z wyniku zapamiętanego w {@link ResultCache}, jeśli graf nie zmienił
+	 * się od poprzedniego uruchomienia z tymi samymi parametrami.
+	 *
+	 * @param solver algorytm
+	 * @param parameters parametry algorytmu
+	 * @return wynik algorytmu
+	 */
+	@SuppressWarnings("unchecked")
+	protected <R> R solve(Solver<R> solver, SolverParameters parameters) {
+		ResultCache cache = editor.getResultCache();
+		ResultCache.Key key = ResultCache.createKey(editor.getGraphVersion(), this, parameters);
+		if (cache.contains(key)) {
+			AlgorithmMetrics.count(AlgorithmMetrics.CACHE_HITS, 1);
+			return (R) cache.get(key);
+		}
+		R result = solver.solve(editor.getGraphT(), parameters);
+		cache.put(key, result);
+		return result;
+	}
+
 	/**
 	 * Metoda ustawia domyślną grubość dla wszystkich krawędzi.
 	 */
@@ -265,7 +356,9 @@ public abstract class ModgrafAbstractAlgorithm implements ActionListener {
 
 	/**
 	 * Metoda inicjuje pola <code>startVertex</code> i <code>endVertex</code>, a
-	 * następnie wywołuje <code>findAndShowResult()</code>.
+	 * następnie uruchamia algorytm w tle.
+	 *
+	 * @see AlgorithmTask
 	 */
 	protected void startActionButton() {
 		startVertex = (Vertex) startVertexComboBox.getSelectedItem();
@@ -278,15 +371,51 @@ public abstract class ModgrafAbstractAlgorithm implements ActionListener {
 			return;
 		}
 		frame.dispose();
+		new AlgorithmTask(this).start();
+	}
+
+	/**
+	 * Faza obliczeń: metoda znajduje rozwiązanie i zapamiętuje je w polach
+	 * algorytmu. Jest wywoływana poza wątkiem EDT, więc nie może zmieniać
+	 * komponentów Swing ani grafu. Długie obliczenia powinny wywoływać
+	 * {@link AlgorithmMonitor#checkpoint()}, aby dało się je przerwać.
+	 * Domyślnie metoda nic nie robi.
+	 */
+	protected void findResult() {
+	}
+
+	/**
+	 * Faza prezentacji: metoda powinna prezentować rozwiązanie znalezione
+	 * przez {@link #findResult()} zarówno graficznie jak i tekstowo. Jest
+	 * wywoływana w wątku EDT. Domyślnie wywołuje
+	 * {@link #findAndShowResult()}, dzięki czemu algorytmy dodawane z plików
+	 * jar napisane dla wcześniejszych wersji programu nadal działają.
+	 */
+	protected void showResult() {
 		findAndShowResult();
-		editor.saveState(lang.getProperty("memento-algorithm"));
 	}
 
 	/**
-	 * Metoda abstrakcyjna, która powinna znajdować rozwiązanie i prezentować je
-	 * zarówno graficznie jak i tekstowo.
+	 * Metoda, która powinna znajdować rozwiązanie i prezentować je zarówno
+	 * graficznie jak i tekstowo w wątku EDT.
+	 *
+	 * @deprecated zastąpiona przez {@link #findResult()}
+	 * 			i {@link #showResult()}
 	 */
-	protected abstract void findAndShowResult();
+	@Deprecated
+	protected void findAndShowResult() {
+	}
+
+	/**
+	 * Informuje użytkownika o błędzie zgłoszonym w fazie obliczeń.
+	 *
+	 * @param cause wyjątek zgłoszony przez {@link #findResult()}
+	 */
+	protected void showFailure(Throwable cause) {
+		JOptionPane.showMessageDialog(editor.getGraphComponent(),
+				lang.getProperty("alg-task-error") + cause,
+				lang.getProperty("error"), JOptionPane.ERROR_MESSAGE);
+	}
 
 	/**
 	 * @return nazwa widoczna w menu <i>Algorytmy</i>.
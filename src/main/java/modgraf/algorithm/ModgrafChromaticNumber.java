@@ -8,52 +8,64 @@ import java.util.Set;
 
 import javax.swing.JOptionPane;
 
+import modgraf.algorithm.solver.ColoringResult;
+import modgraf.algorithm.solver.SolverParameters;
+import modgraf.algorithm.solver.VertexColoringSolver;
+import modgraf.algorithm.solver.VertexColoringSolver.Algorithm;
 import modgraf.jgrapht.Vertex;
-import modgraf.jgrapht.edge.ModgrafEdge;
 import modgraf.view.Editor;
 
-import org.jgrapht.DirectedGraph;
-import org.jgrapht.UndirectedGraph;
-import org.jgrapht.alg.ChromaticNumber;
-
-import org.jgrapht.graph.AsUndirectedGraph;
-
 /**
  * Klasa rozwiązuje problem kolorowania wierzchołków.
  * 
  * @author Daniel Pogrebniak
  *
  * @see ModgrafAbstractAlgorithm
- * @see ChromaticNumber
+ * @see VertexColoringSolver
  * 
  */
 public class ModgrafChromaticNumber extends ModgrafAbstractAlgorithm
 {
+	private Algorithm algorithm;
+	private VertexColoringSolver solver;
+	private ColoringResult<Vertex> result;
 
 	public ModgrafChromaticNumber(Editor e)
+	{
+		this(e, Algorithm.Greedy);
+	}
+
+	public ModgrafChromaticNumber(Editor e, Algorithm alg)
 	{
 		super(e);
+		algorithm = alg;
+		solver = new VertexColoringSolver(alg);
 	}
 
 	@Override
 	public void actionPerformed(ActionEvent arg0)
 	{
+		if (algorithm == Algorithm.Exact && !askForTimeBudget("algorithm-coloring-budget-s"))
+			return;
         startAlgorithmWithoutParams();
 	}
 
 	@Override
-	protected void findAndShowResult()
+	protected void findResult()
+	{
+		SolverParameters parameters = createSolverParameters();
+		if (algorithm == Algorithm.Exact)
+			parameters.setTimeBudgetMillis(getTimeBudgetMillis("algorithm-coloring-budget-s"));
+		result = solve(solver, parameters);
+	}
+
+	@Override
+	protected void showResult()
 	{
-        UndirectedGraph<Vertex, ModgrafEdge> undirectedGraph;
-        if (editor.getGraphT() instanceof UndirectedGraph)
-            undirectedGraph = (UndirectedGraph<Vertex, ModgrafEdge>) editor.getGraphT();
-        else
-            undirectedGraph = new AsUndirectedGraph<>((DirectedGraph<Vertex, ModgrafEdge>) editor.getGraphT());
-        Map<Integer, Set<Vertex>> result = ChromaticNumber.findGreedyColoredGroups(undirectedGraph);
 		if (result != null)
 		{
 			createTextResult(result);
-			createGraphicalResult(result);
+			createGraphicalResult(result.getGroups());
 		}
 		else
 		{
@@ -76,8 +88,9 @@ public class ModgrafChromaticNumber extends ModgrafAbstractAlgorithm
 		editor.getGraphComponent().refresh();
 	}
 
-	private void createTextResult(Map<Integer, Set<Vertex>> result)
+	private void createTextResult(ColoringResult<Vertex> coloring)
 	{
+		Map<Integer, Set<Vertex>> result = coloring.getGroups();
 		StringBuilder sb = new StringBuilder();
 		String newLine = "\n";
 		sb.append(lang.getProperty("alg-cn-message-1"));
@@ -96,6 +109,8 @@ public class ModgrafChromaticNumber extends ModgrafAbstractAlgorithm
 			sb.deleteCharAt(sb.length()-2);
 			sb.append(newLine);
 		}
+		if (algorithm == Algorithm.Exact && !coloring.isOptimal())
+			sb.append(lang.getProperty("alg-cn-message-3")).append(coloring.getLowerBound());
 		editor.setText(sb.toString());
 	}
 
@@ -8,23 +8,23 @@ import java.util.Set;
 
 import javax.swing.JOptionPane;
 
-import modgraf.jgrapht.Vertex;
+import modgraf.algorithm.solver.ColoringResult;
+import modgraf.algorithm.solver.EdgeColoringSolver;
 import modgraf.jgrapht.edge.ModgrafEdge;
 import modgraf.view.Editor;
 
-import org.jgrapht.DirectedGraph;
-import org.jgrapht.UndirectedGraph;
-
 import com.mxgraph.util.mxConstants;
-import org.jgrapht.graph.AsUndirectedGraph;
 
 /**
- * Klasa prezentuje rozwiązanie problemu kolorowania krawędzi. Do obliczeń wykorzystuje klasę {@link EdgeColoring}.
+ * Klasa prezentuje rozwiązanie problemu kolorowania krawędzi. Do obliczeń wykorzystuje klasę {@link EdgeColoringSolver}.
  *
  * @author Daniel Pogrebniak
  */
 public class ModgrafEdgeColoring extends ModgrafAbstractAlgorithm 
 {
+	private EdgeColoringSolver solver = new EdgeColoringSolver();
+	private ColoringResult<ModgrafEdge> result;
+
 	public ModgrafEdgeColoring(Editor e) 
 	{
 		super(e);
@@ -42,19 +42,18 @@ public class ModgrafEdgeColoring extends ModgrafAbstractAlgorithm
 	}
 
 	@Override
-	protected void findAndShowResult() 
+	protected void findResult()
+	{
+		result = solve(solver, createSolverParameters());
+	}
+
+	@Override
+	protected void showResult() 
 	{
-		EdgeColoring edgeColoring = new EdgeColoring();
-        UndirectedGraph<Vertex, ModgrafEdge> undirectedGraph;
-        if (editor.getGraphT() instanceof UndirectedGraph)
-            undirectedGraph = (UndirectedGraph<Vertex, ModgrafEdge>) editor.getGraphT();
-        else
-            undirectedGraph = new AsUndirectedGraph<>((DirectedGraph<Vertex, ModgrafEdge>) editor.getGraphT());
-		Map<Integer, Set<ModgrafEdge>> result = edgeColoring.findColoredEgdeGroups(undirectedGraph);
 		if (result != null)
 		{
-			createTextResult(result);
-			createGraphicalResult(result);
+			createTextResult(result.getGroups(), result.getLowerBound());
+			createGraphicalResult(result.getGroups());
 		}
 		else
 		{
@@ -64,12 +63,14 @@ public class ModgrafEdgeColoring extends ModgrafAbstractAlgorithm
 		}
 	}
 
-	private void createTextResult(Map<Integer, Set<ModgrafEdge>> result)
+	private void createTextResult(Map<Integer, Set<ModgrafEdge>> result, int maxVertexDegree)
 	{
 		StringBuilder sb = new StringBuilder();
 		String newLine = "\n";
 		sb.append(lang.getProperty("alg-ec-message-1"));
 		sb.append(result.keySet().size());
+		sb.append(lang.getProperty("alg-ec-message-3"));
+		sb.append(maxVertexDegree);
 		sb.append(lang.getProperty("alg-ec-message-2"));
 		for (Integer colorInt : result.keySet())
 		{
@@ -6,6 +6,10 @@ import java.util.Map.Entry;
 
 import javax.swing.JOptionPane;
 
+import modgraf.algorithm.engine.MaximumFlowEngine;
+import modgraf.algorithm.solver.FlowResult;
+import modgraf.algorithm.solver.MaximumFlowSolver;
+import modgraf.algorithm.solver.MaximumFlowSolver.Algorithm;
 import modgraf.jgrapht.DoubleWeightedGraph;
 import modgraf.jgrapht.Vertex;
 import modgraf.jgrapht.edge.ModgrafEdge;
@@ -14,7 +18,6 @@ import modgraf.view.Editor;
 import org.jgrapht.DirectedGraph;
 import org.jgrapht.Graph;
 import org.jgrapht.WeightedGraph;
-import org.jgrapht.alg.EdmondsKarpMaximumFlow;
 
 /**
  * Klasa rozwiązuje problem maksymalnego przepływu.
@@ -22,15 +25,23 @@ import org.jgrapht.alg.EdmondsKarpMaximumFlow;
  * @author Daniel Pogrebniak
  *
  * @see ModgrafAbstractAlgorithm
- * @see EdmondsKarpMaximumFlow
+ * @see MaximumFlowSolver
  * 
  */
 public class ModgrafEdmondsKarpMaximumFlow extends ModgrafAbstractAlgorithm
 {
+	private MaximumFlowSolver solver;
+	private FlowResult result;
 
 	public ModgrafEdmondsKarpMaximumFlow(Editor e)
+	{
+		this(e, Algorithm.EdmondsKarp);
+	}
+
+	public ModgrafEdmondsKarpMaximumFlow(Editor e, Algorithm alg)
 	{
 		super(e);
+		solver = new MaximumFlowSolver(alg);
 	}
 
 	@Override
@@ -51,17 +62,16 @@ public class ModgrafEdmondsKarpMaximumFlow extends ModgrafAbstractAlgorithm
 		return lang.getProperty("menu-algorithm-maximum-flow");
 	}
 
-	private void createTextResult(EdmondsKarpMaximumFlow<Vertex,ModgrafEdge> ekmf)
+	private void createTextResult(double maximumFlowValue, Map<ModgrafEdge, Double> resultMap)
 	{
 		StringBuilder sb = new StringBuilder();
 		String newLine = "\n";
 		sb.append(lang.getProperty("alg-mf-message-1"));
-		sb.append(ekmf.getMaximumFlowValue());
+		sb.append(maximumFlowValue);
 		sb.append(newLine);
 		sb.append(lang.getProperty("alg-mf-message-2"));
 		sb.append(newLine);
 		Graph<Vertex, ModgrafEdge> graphT = editor.getGraphT();
-		Map<ModgrafEdge, Double> resultMap = ekmf.getMaximumFlow();
 		for (Entry<ModgrafEdge, Double> entry : resultMap.entrySet())
 		{
 			double flow = entry.getValue();
@@ -84,14 +94,13 @@ public class ModgrafEdmondsKarpMaximumFlow extends ModgrafAbstractAlgorithm
 		editor.setText(sb.toString());
 	}
 
-	private void createGraphicalResult(EdmondsKarpMaximumFlow<Vertex,ModgrafEdge> ekmf)
+	private void createGraphicalResult(Map<ModgrafEdge, Double> resultMap)
 	{
 		int width = 4;
 		int halfWidth = 2;
 		Graph<Vertex, ModgrafEdge> graphT = editor.getGraphT();
 		changeVertexStrokeWidth(startVertex, width);
 		changeVertexStrokeWidth(endVertex, width);
-		Map<ModgrafEdge, Double> resultMap = ekmf.getMaximumFlow();
 		for (Entry<ModgrafEdge, Double> entry : resultMap.entrySet())
 		{
 			double flow = entry.getValue();
@@ -113,24 +122,34 @@ public class ModgrafEdmondsKarpMaximumFlow extends ModgrafAbstractAlgorithm
 	}
 
 	@Override
-	protected void findAndShowResult()
+	protected void findResult()
 	{
-		if (editor.getGraphT() instanceof DoubleWeightedGraph){
-			EdmondsKarpMaximumFlow<Vertex, ModgrafEdge> ekmf =
-					new EdmondsKarpMaximumFlow<>((DirectedGraph<Vertex, ModgrafEdge>) editor.getGraphT());
-		}
-		EdmondsKarpMaximumFlow<Vertex, ModgrafEdge> ekmf = 
-				new EdmondsKarpMaximumFlow<>((DirectedGraph<Vertex, ModgrafEdge>) editor.getGraphT());
-		ekmf.calculateMaximumFlow(startVertex, endVertex);
-		if (ekmf.getMaximumFlowValue() > 0)
+		result = solve(solver, createSolverParameters());
+	}
+
+	@Override
+	protected void showFailure(Throwable cause)
+	{
+		if (cause instanceof IllegalArgumentException
+				&& MaximumFlowEngine.NEGATIVE_CAPACITIES_MESSAGE.equals(cause.getMessage()))
+			JOptionPane.showMessageDialog(editor.getGraphComponent(),
+					lang.getProperty("warning-negative-capacities"),
+					lang.getProperty("warning"), JOptionPane.WARNING_MESSAGE);
+		else
+			super.showFailure(cause);
+	}
+
+	@Override
+	protected void showResult()
+	{
+		if (result.getValue() > 0)
 		{
-			createTextResult(ekmf);
-			createGraphicalResult(ekmf);
+			createTextResult(result.getValue(), result.getFlows());
+			createGraphicalResult(result.getFlows());
 		}
 		else
 			JOptionPane.showMessageDialog(editor.getGraphComponent(),
 					lang.getProperty("message-no-solution"),
 					lang.getProperty("information"), JOptionPane.INFORMATION_MESSAGE);
 	}
-
 }
@@ -1,38 +1,35 @@
 package modgraf.algorithm;
 
+import modgraf.algorithm.solver.EulerianTrailSolver;
+import modgraf.algorithm.solver.TrailResult;
 import modgraf.jgrapht.Vertex;
 import modgraf.jgrapht.edge.ModgrafEdge;
 import modgraf.view.Editor;
-import org.jgrapht.UndirectedGraph;
-import org.jgrapht.alg.EulerianCircuit;
 
 import javax.swing.*;
 import java.awt.event.ActionEvent;
-import java.util.List;
 
 /**
- * Klasa szuka w grafie cyklu Eulera.
+ * Klasa szuka w grafie cyklu Eulera, a jeśli graf go nie zawiera - ścieżki
+ * Eulera. Działa dla grafów skierowanych i nieskierowanych.
  *
  * @author Daniel Pogrebniak
  *
  * @see ModgrafAbstractAlgorithm
- * @see EulerianCircuit
+ * @see EulerianTrailSolver
  */
 public class ModgrafEulerianCycle extends ModgrafAbstractAlgorithm {
 
+    private EulerianTrailSolver solver = new EulerianTrailSolver();
+    private TrailResult result;
+
     public ModgrafEulerianCycle(Editor e) {
         super(e);
     }
 
     @Override
     public void actionPerformed(ActionEvent e) {
-        if (editor.getGraphT() instanceof UndirectedGraph)
-            startAlgorithmWithoutParams();
-        else
-            JOptionPane.showMessageDialog(editor.getGraphComponent(),
-                    lang.getProperty("warning-wrong-graph-type")+
-                            lang.getProperty("alg-ec-graph-type"),
-                    lang.getProperty("warning"), JOptionPane.WARNING_MESSAGE);
+        startAlgorithmWithoutParams();
     }
 
     @Override
@@ -41,9 +38,12 @@ public class ModgrafEulerianCycle extends ModgrafAbstractAlgorithm {
     }
 
     @Override
-    protected void findAndShowResult() {
-        List<Vertex> result = EulerianCircuit.getEulerianCircuitVertices(
-                (UndirectedGraph<Vertex, ModgrafEdge>) editor.getGraphT());
+    protected void findResult() {
+        result = solve(solver, createSolverParameters());
+    }
+
+    @Override
+    protected void showResult() {
         if (result != null) {
             createTextResult(result);
             createGraphicalResult(result);
@@ -54,20 +54,20 @@ public class ModgrafEulerianCycle extends ModgrafAbstractAlgorithm {
         }
     }
 
-    private void createGraphicalResult(List<Vertex> result) {
+    private void createGraphicalResult(TrailResult trail) {
         int width = 4;
-        for (int i = 0; i < result.size()-1; ++i){
-            changeVertexStrokeWidth(result.get(i), width);
-            changeEdgeStrokeWidth(result.get(i), result.get(i+1), width);
-        }
+        for (Vertex vertex : trail.getVertices())
+            changeVertexStrokeWidth(vertex, width);
+        for (ModgrafEdge edge : trail.getEdges())
+            changeEdgeStrokeWidth(edge, width);
         editor.getGraphComponent().refresh();
     }
 
-    private void createTextResult(List<Vertex> result) {
+    private void createTextResult(TrailResult trail) {
         StringBuilder sb = new StringBuilder()
-                .append(lang.getProperty("menu-algorithm-eulerian-cycle"))
+                .append(lang.getProperty(trail.isCircuit() ? "menu-algorithm-eulerian-cycle" : "alg-eu-path"))
                 .append(":\n");
-        for (Vertex vertex : result) {
+        for (Vertex vertex : trail.getVertices()) {
             sb.append(vertex.getName());
             sb.append(", ");
         }
@@ -0,0 +1,114 @@
+package modgraf.algorithm;
+
+import java.awt.event.ActionEvent;
+import java.util.Map.Entry;
+
+import javax.swing.JOptionPane;
+
+import modgraf.algorithm.engine.MaximumFlowEngine;
+import modgraf.algorithm.solver.CutResult;
+import modgraf.algorithm.solver.MinimumCutSolver;
+import modgraf.jgrapht.Vertex;
+import modgraf.jgrapht.edge.ModgrafEdge;
+import modgraf.view.Editor;
+
+import org.jgrapht.DirectedGraph;
+
+/**
+ * Klasa wyznacza drzewo Gomory'ego-Hu, czyli minimalne przekroje między
+ * wszystkimi parami wierzchołków grafu nieskierowanego. <br>
+ * Drzewo jest zachowywane i wykorzystywane ponownie dla kolejnych par
+ * wierzchołków, dopóki graf się nie zmieni. Dla wybranej pary wyświetlana
+ * jest wartość przekroju, a krawędzie przekroju są pogrubiane.
+ *
+ * @see ModgrafAbstractAlgorithm
+ * @see MinimumCutSolver
+ */
+public class ModgrafGomoryHuTree extends ModgrafAbstractAlgorithm
+{
+	private MinimumCutSolver solver = new MinimumCutSolver();
+	private CutResult result;
+
+	public ModgrafGomoryHuTree(Editor e)
+	{
+		super(e);
+	}
+
+	@Override
+	public void actionPerformed(ActionEvent arg0)
+	{
+		if (!(editor.getGraphT() instanceof DirectedGraph))
+			openParamsWindow();
+		else
+			JOptionPane.showMessageDialog(editor.getGraphComponent(),
+					lang.getProperty("warning-wrong-graph-type")+
+				    lang.getProperty("alg-gh-graph-type"),
+				    lang.getProperty("warning"), JOptionPane.WARNING_MESSAGE);
+	}
+
+	@Override
+	public String getName()
+	{
+		return lang.getProperty("menu-algorithm-gomory-hu");
+	}
+
+	@Override
+	protected void findResult()
+	{
+		result = solve(solver, createSolverParameters());
+	}
+
+	@Override
+	protected void showFailure(Throwable cause)
+	{
+		if (cause instanceof IllegalArgumentException
+				&& MaximumFlowEngine.NEGATIVE_CAPACITIES_MESSAGE.equals(cause.getMessage()))
+			JOptionPane.showMessageDialog(editor.getGraphComponent(),
+					lang.getProperty("warning-negative-capacities"),
+					lang.getProperty("warning"), JOptionPane.WARNING_MESSAGE);
+		else
+			super.showFailure(cause);
+	}
+
+	@Override
+	protected void showResult()
+	{
+		createTextResult(result);
+		createGraphicalResult(result);
+	}
+
+	private void createTextResult(CutResult result)
+	{
+		StringBuilder sb = new StringBuilder();
+		String newLine = "\n";
+		sb.append(lang.getProperty("alg-gh-message-1"));
+		sb.append(startVertex.getName());
+		sb.append(lang.getProperty("alg-gh-message-2"));
+		sb.append(endVertex.getName());
+		sb.append(lang.getProperty("alg-gh-message-3"));
+		sb.append(result.getMinimumCut());
+		sb.append(newLine);
+		sb.append(lang.getProperty("alg-gh-message-4"));
+		sb.append(newLine);
+		for (Entry<Vertex, Vertex> entry : result.getTreeParents().entrySet())
+		{
+			sb.append(entry.getKey().getName());
+			sb.append(" - ");
+			sb.append(entry.getValue().getName());
+			sb.append(" : ");
+			sb.append(result.getTreeCutValues().get(entry.getKey()));
+			sb.append(newLine);
+		}
+		editor.setText(sb.toString());
+	}
+
+	private void createGraphicalResult(CutResult result)
+	{
+		int width = 4;
+		changeVertexStrokeWidth(startVertex, width);
+		changeVertexStrokeWidth(endVertex, width);
+		for (ModgrafEdge edge : result.getCutEdges())
+			changeEdgeStrokeWidth(edge, width);
+		editor.getGraphComponent().refresh();
+	}
+}
@@ -5,11 +5,14 @@ import java.util.List;
 
 import javax.swing.JOptionPane;
 
+import modgraf.algorithm.engine.HeldKarpTsp;
+import modgraf.algorithm.solver.CycleResult;
+import modgraf.algorithm.solver.SolverParameters;
+import modgraf.algorithm.solver.TspSolver;
+import modgraf.algorithm.solver.TspSolver.Algorithm;
 import modgraf.jgrapht.Vertex;
-import modgraf.jgrapht.edge.ModgrafEdge;
 import modgraf.view.Editor;
 
-import org.jgrapht.alg.HamiltonianCycle;
 import org.jgrapht.graph.SimpleWeightedGraph;
 
 import com.mxgraph.model.mxCell;
@@ -21,14 +24,25 @@ import com.mxgraph.model.mxGraphModel;
  * @author Daniel Pogrebniak
  *
  * @see ModgrafAbstractAlgorithm
- * @see HamiltonianCycle
+ * @see TspSolver
  * 
  */
 public class ModgrafHamiltonianCycle extends ModgrafAbstractAlgorithm
 {
+	private Algorithm algorithm;
+	private TspSolver solver;
+	private CycleResult result;
+
 	public ModgrafHamiltonianCycle(Editor e)
+	{
+		this(e, Algorithm.Approximate);
+	}
+
+	public ModgrafHamiltonianCycle(Editor e, Algorithm alg)
 	{
 		super(e);
+		algorithm = alg;
+		solver = new TspSolver(alg);
 	}
 
 	@Override
@@ -36,6 +50,16 @@ public class ModgrafHamiltonianCycle extends ModgrafAbstractAlgorithm
 	{
 		if (editor.getGraphT() instanceof SimpleWeightedGraph)
 		{
+			if (algorithm == Algorithm.LocalSearch && !askForTimeBudget("algorithm-tsp-budget-s"))
+				return;
+			if (algorithm == Algorithm.Exact
+					&& editor.getGraphT().vertexSet().size() > HeldKarpTsp.MAX_VERTICES)
+			{
+				JOptionPane.showMessageDialog(editor.getGraphComponent(),
+						String.format(lang.getProperty("alg-hc-message-3"), HeldKarpTsp.MAX_VERTICES),
+						lang.getProperty("information"), JOptionPane.INFORMATION_MESSAGE);
+				return;
+			}
 			startAlgorithmWithoutParams();
 		}
 		else
@@ -58,7 +82,7 @@ public class ModgrafHamiltonianCycle extends ModgrafAbstractAlgorithm
 		editor.getGraphComponent().refresh();
 	}
 
-	private void createTextResult(List<Vertex> result)
+	private void createTextResult(List<Vertex> result, double tourLength)
 	{
 		StringBuilder sb = new StringBuilder();
 		mxGraphModel model = (mxGraphModel)editor.getGraphComponent().getGraph().getModel();
@@ -74,6 +98,8 @@ public class ModgrafHamiltonianCycle extends ModgrafAbstractAlgorithm
 			sb.append(vertex.getValue().toString());
 		}
 		sb.append(".");
+		sb.append(lang.getProperty("alg-hc-message-2"));
+		sb.append(tourLength);
 		editor.setText(sb.toString());
 	}
 
@@ -84,14 +110,21 @@ public class ModgrafHamiltonianCycle extends ModgrafAbstractAlgorithm
 	}
 
 	@Override
-	protected void findAndShowResult()
+	protected void findResult()
+	{
+		SolverParameters parameters = createSolverParameters();
+		if (algorithm == Algorithm.LocalSearch)
+			parameters.setTimeBudgetMillis(getTimeBudgetMillis("algorithm-tsp-budget-s"));
+		result = solve(solver, parameters);
+	}
+
+	@Override
+	protected void showResult()
 	{
-		List<Vertex> result = HamiltonianCycle.getApproximateOptimalForCompleteGraph(
-				(SimpleWeightedGraph<Vertex, ModgrafEdge>)editor.getGraphT());
 		if (result != null)
 		{
-			createTextResult(result);
-			createGraphicalResult(result);
+			createTextResult(result.getVertices(), result.getLength());
+			createGraphicalResult(result.getVertices());
 		}
 		else
 		{
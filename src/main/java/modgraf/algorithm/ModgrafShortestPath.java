@@ -1,20 +1,29 @@
 package modgraf.algorithm;
 
 import java.awt.event.ActionEvent;
+import java.awt.geom.Point2D;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import javax.swing.JOptionPane;
 
+import modgraf.algorithm.engine.BlockedFloydWarshall;
+import modgraf.algorithm.engine.PointToPointShortestPath;
+import modgraf.algorithm.solver.PathResult;
+import modgraf.algorithm.solver.ShortestPathSolver;
+import modgraf.algorithm.solver.ShortestPathSolver.Algorithm;
+import modgraf.algorithm.solver.SolverParameters;
 import modgraf.jgrapht.Vertex;
 import modgraf.jgrapht.edge.ModgrafEdge;
 import modgraf.view.Editor;
 
-import org.jgrapht.GraphPath;
 import org.jgrapht.WeightedGraph;
-import org.jgrapht.alg.BellmanFordShortestPath;
-import org.jgrapht.alg.DijkstraShortestPath;
-import org.jgrapht.alg.FloydWarshallShortestPaths;
+
+import com.mxgraph.model.mxCell;
+import com.mxgraph.model.mxGeometry;
+import com.mxgraph.model.mxGraphModel;
 
 /**
  * Klasa rozwiązuje problem najkrótsza ścieżka.
@@ -22,31 +31,35 @@ import org.jgrapht.alg.FloydWarshallShortestPaths;
  * @author Daniel Pogrebniak
  *
  * @see ModgrafAbstractAlgorithm
- * @see BellmanFordShortestPath
+ * @see ShortestPathSolver
  * 
  */
 public class ModgrafShortestPath extends ModgrafAbstractAlgorithm
 {
-	public enum Algorithm
-	{
-		BellmanFord,
-		Dijkstra,
-		FloydWarshall
-	}
-	
 	private Algorithm algorithm;
+	private ShortestPathSolver solver;
+	private PathResult result;
 	
 	public ModgrafShortestPath(Editor e, Algorithm alg)
 	{
 		super(e);
 		algorithm = alg;
+		solver = new ShortestPathSolver(alg);
 	}
 
 	@Override
 	public void actionPerformed(ActionEvent arg0)
 	{
 		if (editor.getGraphT() instanceof WeightedGraph)
-			openParamsWindow();
+		{
+			if (algorithm == Algorithm.FloydWarshall
+					&& !BlockedFloydWarshall.fitsInMemory(editor.getGraphT().vertexSet().size()))
+				JOptionPane.showMessageDialog(editor.getGraphComponent(),
+						lang.getProperty("alg-sp-message-9"),
+						lang.getProperty("information"), JOptionPane.INFORMATION_MESSAGE);
+			else
+				openParamsWindow();
+		}
 		else
 			JOptionPane.showMessageDialog(editor.getGraphComponent(),
 					lang.getProperty("warning-wrong-graph-type")+
@@ -106,13 +119,39 @@ public class ModgrafShortestPath extends ModgrafAbstractAlgorithm
 	}
 
 	@Override
-	protected void findAndShowResult()
+	protected void findResult()
+	{
+		SolverParameters parameters = createSolverParameters();
+		if (algorithm == Algorithm.AStar)
+			parameters.setPositions(createPositions());
+		result = solve(solver, parameters);
+	}
+
+	/**
+	 * Ostrzeżenie o ujemnych wagach jest wyświetlane tylko dla wyjątku
+	 * zgłoszonego z tego powodu przez algorytm Dijkstry (z JGraphT lub
+	 * silnika {@link PointToPointShortestPath}), pozostałe błędy - tak jak
+	 * w innych algorytmach.
+	 */
+	@Override
+	protected void showFailure(Throwable cause)
+	{
+		if (cause instanceof IllegalArgumentException
+				&& PointToPointShortestPath.NEGATIVE_WEIGHTS_MESSAGE.equals(cause.getMessage()))
+			JOptionPane.showMessageDialog(editor.getGraphComponent(),
+					lang.getProperty("warning-negative-weights"),
+					lang.getProperty("warning"), JOptionPane.WARNING_MESSAGE);
+		else
+			super.showFailure(cause);
+	}
+
+	@Override
+	protected void showResult()
 	{
-		List<ModgrafEdge> result = createResult();
 		if (result != null)
 		{
-			createTextResult(result);
-			createGraphicalResult(result);
+			createTextResult(result.getEdges());
+			createGraphicalResult(result.getEdges());
 		}
 		else
 			JOptionPane.showMessageDialog(editor.getGraphComponent(),
@@ -120,22 +159,21 @@ public class ModgrafShortestPath extends ModgrafAbstractAlgorithm
 					lang.getProperty("information"), JOptionPane.INFORMATION_MESSAGE);
 	}
 
-	private List<ModgrafEdge> createResult()
+	/**
+	 * @return środki geometrii komórek wierzchołków z warstwy wizualnej
+	 * 			(heurystyka algorytmu A*)
+	 */
+	private Map<Vertex, Point2D> createPositions()
 	{
-		List<ModgrafEdge> result = null;
-		if (algorithm == Algorithm.BellmanFord)
-			result = BellmanFordShortestPath.findPathBetween(
-					editor.getGraphT(), startVertex, endVertex);
-		if (algorithm == Algorithm.Dijkstra)
-			result = DijkstraShortestPath.findPathBetween(
-					editor.getGraphT(), startVertex, endVertex);
-		if (algorithm == Algorithm.FloydWarshall)
+		mxGraphModel model = (mxGraphModel) editor.getGraphComponent().getGraph().getModel();
+		Map<Vertex, Point2D> positions = new HashMap<>();
+		for (Vertex vertex : editor.getGraphT().vertexSet())
 		{
-			FloydWarshallShortestPaths<Vertex, ModgrafEdge> fwsp = 
-					new FloydWarshallShortestPaths<>(editor.getGraphT());
-			GraphPath<Vertex, ModgrafEdge> path = fwsp.getShortestPath(startVertex, endVertex);
-			result = path.getEdgeList();
+			mxCell cell = (mxCell) model.getCell(vertex.getId());
+			mxGeometry geometry = cell != null ? cell.getGeometry() : null;
+			if (geometry != null)
+				positions.put(vertex, new Point2D.Double(geometry.getCenterX(), geometry.getCenterY()));
 		}
-		return result;
+		return positions;
 	}
 }
@@ -1,12 +1,11 @@
 package modgraf.algorithm;
 
-import modgraf.jgrapht.Vertex;
+import modgraf.algorithm.solver.SpanningTreeSolver;
+import modgraf.algorithm.solver.SpanningTreeSolver.Algorithm;
+import modgraf.algorithm.solver.TreeResult;
 import modgraf.jgrapht.edge.ModgrafEdge;
 import modgraf.view.Editor;
 import org.jgrapht.WeightedGraph;
-import org.jgrapht.alg.KruskalMinimumSpanningTree;
-import org.jgrapht.alg.PrimMinimumSpanningTree;
-import org.jgrapht.alg.interfaces.MinimumSpanningTree;
 
 import java.awt.event.ActionEvent;
 import java.util.Set;
@@ -17,21 +16,15 @@ import java.util.Set;
  * @author Daniel Pogrebniak
  *
  * @see ModgrafAbstractAlgorithm
- * @see MinimumSpanningTree
- * @see KruskalMinimumSpanningTree
- * @see PrimMinimumSpanningTree
+ * @see SpanningTreeSolver
  */
 public class ModgrafSpanningTree extends ModgrafAbstractAlgorithm{
-    public enum Algorithm{
-        Kruskal,
-        Prim
-    }
-
-    private Algorithm algorithm;
+    private SpanningTreeSolver solver;
+    private TreeResult result;
 
     public ModgrafSpanningTree(Editor e, Algorithm alg) {
         super(e);
-        algorithm = alg;
+        solver = new SpanningTreeSolver(alg);
     }
 
     @Override
@@ -45,17 +38,14 @@ public class ModgrafSpanningTree extends ModgrafAbstractAlgorithm{
     }
 
     @Override
-    protected void findAndShowResult() {
-        MinimumSpanningTree<Vertex, ModgrafEdge> minimumSpanningTree;
-        if (algorithm == Algorithm.Kruskal) {
-            minimumSpanningTree = new KruskalMinimumSpanningTree<>(editor.getGraphT());
-        } else {//if (algorithm == Algorithm.Prim) {
-            minimumSpanningTree = new PrimMinimumSpanningTree<>(editor.getGraphT());
-        }
-        Set<ModgrafEdge> edges = minimumSpanningTree.getMinimumSpanningTreeEdgeSet();
-        double totalWeight = minimumSpanningTree.getMinimumSpanningTreeTotalWeight();
-        createTextResult(edges, totalWeight);
-        createGraphicalResult(edges);
+    protected void findResult() {
+        result = solve(solver, createSolverParameters());
+    }
+
+    @Override
+    protected void showResult() {
+        createTextResult(result.getEdges(), result.getTotalWeight());
+        createGraphicalResult(result.getEdges());
     }
 
     private void createTextResult(Set<ModgrafEdge> edges, double totalWeight) {
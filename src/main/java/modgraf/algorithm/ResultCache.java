@@ -0,0 +1,152 @@
+package modgraf.algorithm;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import modgraf.algorithm.solver.SolverParameters;
+import modgraf.jgrapht.Vertex;
+
+/**
+ * Pamięć podręczna wyników algorytmów z usuwaniem najdawniej używanych
+ * wpisów (LRU). <br>
+ * Kluczem jest wersja grafu ({@link modgraf.view.Editor#getGraphVersion()}),
+ * algorytm (pozycja menu, czyli instancja {@link ModgrafAbstractAlgorithm}
+ * z wybranym wariantem obliczeń) oraz parametry wpływające na wynik:
+ * wierzchołek startowy i końcowy, oczekiwany przepływ i limit czasu.
+ * Liczba wątków i próg zrównoleglenia nie zmieniają wyniku, więc nie są
+ * częścią klucza. Ponieważ cofnięcie i ponowienie zmian przywraca wersję
+ * grafu zapisaną w pamiątce, powrót do grafu, dla którego algorytm był już
+ * uruchamiany, nie wymaga ponownych obliczeń. <br>
+ * Zapamiętywane są także wyniki <code>null</code> (brak rozwiązania),
+ * natomiast obliczenia zakończone wyjątkiem lub przerwane - nie.
+ */
+public class ResultCache
+{
+	private final Map<Key, Object> entries;
+
+	/**
+	 * @param capacity największa liczba zapamiętanych wyników
+	 * 			(0 wyłącza pamięć podręczną)
+	 */
+	public ResultCache(final int capacity)
+	{
+		entries = new LinkedHashMap<Key, Object>(16, 0.75f, true)
+		{
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Key, Object> eldest)
+			{
+				return size() > capacity;
+			}
+		};
+	}
+
+	/**
+	 * Tworzy klucz wyniku.
+	 *
+	 * @param graphVersion wersja grafu
+	 * @param algorithm algorytm
+	 * @param parameters parametry algorytmu
+	 * @return klucz
+	 */
+	public static Key createKey(long graphVersion, Object algorithm, SolverParameters parameters)
+	{
+		return new Key(graphVersion, algorithm, getId(parameters.getStartVertex()),
+				getId(parameters.getEndVertex()), parameters.getExpectedFlow(),
+				parameters.getTimeBudgetMillis());
+	}
+
+	private static String getId(Vertex vertex)
+	{
+		return vertex != null ? vertex.getId() : null;
+	}
+
+	/**
+	 * @param key klucz
+	 * @return <code>true</code> jeśli wynik jest zapamiętany
+	 */
+	public synchronized boolean contains(Key key)
+	{
+		return entries.containsKey(key);
+	}
+
+	/**
+	 * @param key klucz
+	 * @return zapamiętany wynik (może być <code>null</code>)
+	 */
+	public synchronized Object get(Key key)
+	{
+		return entries.get(key);
+	}
+
+	/**
+	 * @param key klucz
+	 * @param result wynik
+	 */
+	public synchronized void put(Key key, Object result)
+	{
+		entries.put(key, result);
+	}
+
+	/**
+	 * Usuwa wszystkie zapamiętane wyniki.
+	 */
+	public synchronized void clear()
+	{
+		entries.clear();
+	}
+
+	/**
+	 * @return liczba zapamiętanych wyników
+	 */
+	public synchronized int size()
+	{
+		return entries.size();
+	}
+
+	/**
+	 * Klucz wyniku. Algorytm jest porównywany przez tożsamość obiektu.
+	 */
+	public static final class Key
+	{
+		private final long graphVersion;
+		private final Object algorithm;
+		private final String startVertexId;
+		private final String endVertexId;
+		private final double expectedFlow;
+		private final long timeBudgetMillis;
+
+		private Key(long graphVersion, Object algorithm, String startVertexId, String endVertexId,
+				double expectedFlow, long timeBudgetMillis)
+		{
+			this.graphVersion = graphVersion;
+			this.algorithm = algorithm;
+			this.startVertexId = startVertexId;
+			this.endVertexId = endVertexId;
+			this.expectedFlow = expectedFlow;
+			this.timeBudgetMillis = timeBudgetMillis;
+		}
+
+		@Override
+		public boolean equals(Object obj)
+		{
+			if (!(obj instanceof Key))
+				return false;
+			Key other = (Key) obj;
+			return graphVersion == other.graphVersion && algorithm == other.algorithm
+					&& Objects.equals(startVertexId, other.startVertexId)
+					&& Objects.equals(endVertexId, other.endVertexId)
+					&& Double.compare(expectedFlow, other.expectedFlow) == 0
+					&& timeBudgetMillis == other.timeBudgetMillis;
+		}
+
+		@Override
+		public int hashCode()
+		{
+			return Objects.hash(graphVersion, System.identityHashCode(algorithm), startVertexId,
+					endVertexId, expectedFlow, timeBudgetMillis);
+		}
+	}
+}
@@ -0,0 +1,120 @@
+package modgraf.algorithm.engine;
+
+import java.util.Arrays;
+
+import modgraf.jgrapht.CompactGraph;
+
+/**
+ * Algorytm A* z heurystyką opartą na położeniu wierzchołków na płaszczyźnie. <br>
+ * Heurystyka to odległość euklidesowa do wierzchołka końcowego pomnożona
+ * przez najmniejszy w grafie stosunek wagi krawędzi do długości odcinka
+ * łączącego jej końce. Dzięki temu heurystyka nigdy nie przekracza wagi
+ * krawędzi (jest spójna), więc każdy wierzchołek jest zdejmowany z kolejki
+ * co najwyżej raz, a znaleziona ścieżka jest najkrótsza.
+ */
+public class AStarShortestPath extends PointToPointShortestPath
+{
+	private final double[] x;
+	private final double[] y;
+	private final double scale;
+	private final double[] distance;
+	private final int[] previousEdge;
+	private final boolean[] closed;
+	private final IndexedHeap queue;
+
+	/**
+	 * @param graph graf o nieujemnych wagach krawędzi
+	 * @param x współrzędne poziome wierzchołków (indeksowane numerem wierzchołka)
+	 * @param y współrzędne pionowe wierzchołków (indeksowane numerem wierzchołka)
+	 */
+	public AStarShortestPath(CompactGraph graph, double[] x, double[] y)
+	{
+		super(graph);
+		this.x = x;
+		this.y = y;
+		scale = findScale();
+		int n = graph.getVertexCount();
+		distance = new double[n];
+		previousEdge = new int[n];
+		closed = new boolean[n];
+		queue = new IndexedHeap(n);
+	}
+
+	/**
+	 * @return najmniejszy stosunek wagi krawędzi do jej długości na płaszczyźnie
+	 */
+	private double findScale()
+	{
+		double min = Double.POSITIVE_INFINITY;
+		for (int e = 0; e < graph.getEdgeCount(); ++e)
+		{
+			double length = euclidean(graph.getEdgeSource(e), graph.getEdgeTarget(e));
+			if (length > 0)
+				min = Math.min(min, graph.getWeight(e) / length);
+		}
+		return Double.isInfinite(min) ? 0.0 : min;
+	}
+
+	private double euclidean(int u, int v)
+	{
+		double dx = x[u] - x[v];
+		double dy = y[u] - y[v];
+		return Math.sqrt(dx * dx + dy * dy);
+	}
+
+	/**
+	 * @return współczynnik skalujący odległość euklidesową do dolnego
+	 * 			ograniczenia długości ścieżki
+	 */
+	public double getScale()
+	{
+		return scale;
+	}
+
+	@Override
+	public int[] findPath(int source, int target)
+	{
+		Arrays.fill(distance, Double.POSITIVE_INFINITY);
+		Arrays.fill(previousEdge, -1);
+		Arrays.fill(closed, false);
+		queue.clear();
+		settledCount = 0;
+		relaxationCount = 0;
+		pathLength = Double.POSITIVE_INFINITY;
+		int[] offsets = graph.getOutOffsets();
+		int[] targets = graph.getOutTargets();
+		int[] arcEdges = graph.getOutEdges();
+		double[] weights = graph.getWeights();
+		distance[source] = 0.0;
+		queue.insert(source, scale * euclidean(source, target));
+		while (!queue.isEmpty())
+		{
+			int u = queue.poll();
+			closed[u] = true;
+			++settledCount;
+			if (u == target)
+			{
+				pathLength = distance[target];
+				reportCounters();
+				return tracePath(previousEdge, source, target);
+			}
+			for (int arc = offsets[u]; arc < offsets[u + 1]; ++arc)
+			{
+				int v = targets[arc];
+				if (closed[v])
+					continue;
+				int edge = arcEdges[arc];
+				double dv = distance[u] + weights[edge];
+				if (dv < distance[v])
+				{
+					distance[v] = dv;
+					previousEdge[v] = edge;
+					queue.insertOrDecrease(v, dv + scale * euclidean(v, target));
+					++relaxationCount;
+				}
+			}
+		}
+		reportCounters();
+		return null;
+	}
+}
@@ -0,0 +1,270 @@
+package modgraf.algorithm.engine;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Pomiary jednego uruchomienia algorytmu: czasy faz, przybliżona liczba
+ * zaalokowanych bajtów i liczniki operacji charakterystycznych dla
+ * algorytmu (relaksacje, ścieżki powiększające, przekolorowania itp.). <br>
+ * Podobnie jak {@link AlgorithmMonitor}, naraz aktywne są co najwyżej jedne
+ * pomiary, więc silniki zgłaszają liczniki statyczną metodą
+ * {@link #count(String, long)} z dowolnego wątku. Liczniki powinny być
+ * zliczane w zmiennych lokalnych i zgłaszane raz, po zakończeniu pętli -
+ * bez aktywnych pomiarów metoda nic nie robi.
+ */
+public final class AlgorithmMetrics
+{
+	/**
+	 * Fazy uruchomienia algorytmu.
+	 */
+	public enum Phase
+	{
+		/**
+		 * Budowa migawki grafu ({@link modgraf.jgrapht.CompactGraph}).
+		 */
+		Snapshot,
+		/**
+		 * Obliczenia (bez budowy migawki).
+		 */
+		Compute,
+		/**
+		 * Prezentacja wyniku: wyróżnianie krawędzi i wierzchołków, tekst
+		 * wyniku.
+		 */
+		Highlighting,
+		/**
+		 * Zapis stanu do historii zmian.
+		 */
+		Memento
+	}
+
+	/**
+	 * Stan zakończenia uruchomienia.
+	 */
+	public enum Status
+	{
+		Running,
+		Finished,
+		Cancelled,
+		Failed
+	}
+
+	public static final String RELAXATIONS = "relaxations";
+	public static final String SETTLED = "settled";
+	public static final String AUGMENTATIONS = "augmentations";
+	public static final String PHASES = "phases";
+	public static final String PUSHES = "pushes";
+	public static final String RELABELS = "relabels";
+	public static final String GLOBAL_RELABELS = "global-relabels";
+	public static final String MAXIMUM_FLOWS = "maximum-flows";
+	public static final String RECOLORINGS = "recolorings";
+	public static final String SEARCH_NODES = "search-nodes";
+	public static final String IMPROVING_MOVES = "improving-moves";
+	public static final String MERGE_ROUNDS = "merge-rounds";
+	public static final String STEPS = "steps";
+	public static final String CACHE_HITS = "cache-hits";
+
+	private static volatile AlgorithmMetrics active;
+
+	private final String algorithm;
+	private final int vertexCount;
+	private final int edgeCount;
+	private final long startTimeMillis;
+	private final AtomicLongArray phaseNanos = new AtomicLongArray(Phase.values().length);
+	private final ConcurrentMap<String, AtomicLong> counters = new ConcurrentSkipListMap<>();
+	private volatile long allocatedBytes = -1;
+	private volatile Status status = Status.Running;
+
+	/**
+	 * @param algorithm nazwa algorytmu
+	 * @param vertexCount liczba wierzchołków grafu
+	 * @param edgeCount liczba krawędzi grafu
+	 */
+	public AlgorithmMetrics(String algorithm, int vertexCount, int edgeCount)
+	{
+		this.algorithm = algorithm;
+		this.vertexCount = vertexCount;
+		this.edgeCount = edgeCount;
+		startTimeMillis = System.currentTimeMillis();
+	}
+
+	/**
+	 * Ustawia pomiary jako aktywne.
+	 */
+	public void activate()
+	{
+		active = this;
+	}
+
+	/**
+	 * Wyłącza pomiary, jeśli są aktywne.
+	 */
+	public void deactivate()
+	{
+		if (active == this)
+			active = null;
+	}
+
+	/**
+	 * Dodaje wartość do licznika aktywnych pomiarów.
+	 *
+	 * @param counter nazwa licznika
+	 * @param amount wartość
+	 */
+	public static void count(String counter, long amount)
+	{
+		AlgorithmMetrics metrics = active;
+		if (metrics != null && amount != 0)
+			metrics.addCount(counter, amount);
+	}
+
+	/**
+	 * Dodaje czas do fazy aktywnych pomiarów.
+	 *
+	 * @param phase faza
+	 * @param nanos czas w nanosekundach
+	 */
+	public static void addTime(Phase phase, long nanos)
+	{
+		AlgorithmMetrics metrics = active;
+		if (metrics != null)
+			metrics.addPhaseTime(phase, nanos);
+	}
+
+	/**
+	 * Zwraca sumę bajtów zaalokowanych dotąd przez wszystkie żyjące wątki.
+	 * Różnica dwóch odczytów jest przybliżeniem alokacji w tym czasie
+	 * (obejmuje też inne wątki programu, a pomija wątki zakończone
+	 * w międzyczasie).
+	 *
+	 * @return liczba bajtów lub -1, jeśli maszyna wirtualna nie udostępnia
+	 * 			tego pomiaru
+	 */
+	public static long readAllocatedBytes()
+	{
+		ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+		if (!(bean instanceof com.sun.management.ThreadMXBean))
+			return -1;
+		com.sun.management.ThreadMXBean allocationBean = (com.sun.management.ThreadMXBean) bean;
+		if (!allocationBean.isThreadAllocatedMemorySupported()
+				|| !allocationBean.isThreadAllocatedMemoryEnabled())
+			return -1;
+		long total = 0;
+		for (long bytes : allocationBean.getThreadAllocatedBytes(bean.getAllThreadIds()))
+			if (bytes > 0)
+				total += bytes;
+		return total;
+	}
+
+	public void addCount(String counter, long amount)
+	{
+		AtomicLong value = counters.get(counter);
+		if (value == null)
+		{
+			AtomicLong newValue = new AtomicLong();
+			value = counters.putIfAbsent(counter, newValue);
+			if (value == null)
+				value = newValue;
+		}
+		value.addAndGet(amount);
+	}
+
+	public void addPhaseTime(Phase phase, long nanos)
+	{
+		phaseNanos.addAndGet(phase.ordinal(), nanos);
+	}
+
+	/**
+	 * @param phase faza
+	 * @return czas fazy w nanosekundach
+	 */
+	public long getPhaseNanos(Phase phase)
+	{
+		return phaseNanos.get(phase.ordinal());
+	}
+
+	/**
+	 * @param phase faza
+	 * @return czas fazy w milisekundach
+	 */
+	public double getPhaseMillis(Phase phase)
+	{
+		return phaseNanos.get(phase.ordinal()) / 1e6;
+	}
+
+	/**
+	 * @return łączny czas wszystkich faz w milisekundach
+	 */
+	public double getTotalMillis()
+	{
+		double total = 0;
+		for (Phase phase : Phase.values())
+			total += getPhaseMillis(phase);
+		return total;
+	}
+
+	/**
+	 * @return liczniki w kolejności alfabetycznej nazw
+	 */
+	public Map<String, Long> getCounters()
+	{
+		Map<String, Long> values = new LinkedHashMap<>();
+		for (Map.Entry<String, AtomicLong> entry : counters.entrySet())
+			values.put(entry.getKey(), entry.getValue().get());
+		return Collections.unmodifiableMap(values);
+	}
+
+	/**
+	 * @return liczba zaalokowanych bajtów lub -1, jeśli jej nie zmierzono
+	 */
+	public long getAllocatedBytes()
+	{
+		return allocatedBytes;
+	}
+
+	public void setAllocatedBytes(long allocatedBytes)
+	{
+		this.allocatedBytes = allocatedBytes;
+	}
+
+	public Status getStatus()
+	{
+		return status;
+	}
+
+	public void setStatus(Status status)
+	{
+		this.status = status;
+	}
+
+	public String getAlgorithm()
+	{
+		return algorithm;
+	}
+
+	public int getVertexCount()
+	{
+		return vertexCount;
+	}
+
+	public int getEdgeCount()
+	{
+		return edgeCount;
+	}
+
+	/**
+	 * @return czas rozpoczęcia pomiarów (jak w {@link System#currentTimeMillis()})
+	 */
+	public long getStartTimeMillis()
+	{
+		return startTimeMillis;
+	}
+}
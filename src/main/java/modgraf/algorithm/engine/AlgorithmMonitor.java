@@ -0,0 +1,122 @@
+package modgraf.algorithm.engine;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Nadzór nad bieżącym uruchomieniem algorytmu: przerwanie na żądanie
+ * użytkownika, limit czasu i postęp obliczeń. <br>
+ * Naraz aktywny jest co najwyżej jeden monitor (algorytmy są uruchamiane
+ * pojedynczo), dlatego silniki nie muszą go dostawać w parametrach -
+ * w pętlach głównych wywołują statyczne metody {@link #checkpoint()}
+ * i {@link #reportProgress(long, long)}, które działają z dowolnego wątku,
+ * także z wątków puli {@link EnginePool}. Przerwanie jest kooperacyjne:
+ * {@link #checkpoint()} zgłasza {@link CancellationException}, które
+ * przechodzi przez <code>invoke</code> i <code>join</code> puli fork-join
+ * do wątku uruchamiającego algorytm. Bez aktywnego monitora obie metody
+ * nic nie robią.
+ */
+public final class AlgorithmMonitor
+{
+	private static volatile AlgorithmMonitor active;
+
+	private final long deadline;
+	private final long startTime;
+	private volatile boolean cancelled;
+	private volatile double progress = -1.0;
+
+	/**
+	 * @param timeoutMillis limit czasu w milisekundach (0 - bez limitu)
+	 */
+	public AlgorithmMonitor(long timeoutMillis)
+	{
+		startTime = System.nanoTime();
+		deadline = timeoutMillis > 0
+				? startTime + TimeUnit.MILLISECONDS.toNanos(timeoutMillis)
+				: Long.MAX_VALUE;
+	}
+
+	/**
+	 * Ustawia monitor jako aktywny.
+	 */
+	public void activate()
+	{
+		active = this;
+	}
+
+	/**
+	 * Wyłącza monitor, jeśli jest aktywny.
+	 */
+	public void deactivate()
+	{
+		if (active == this)
+			active = null;
+	}
+
+	/**
+	 * Zgłasza żądanie przerwania obliczeń.
+	 */
+	public void cancel()
+	{
+		cancelled = true;
+	}
+
+	/**
+	 * @return <code>true</code> jeśli przerwanie zgłosił użytkownik
+	 */
+	public boolean isCancelled()
+	{
+		return cancelled;
+	}
+
+	/**
+	 * @return <code>true</code> jeśli minął limit czasu
+	 */
+	public boolean isTimedOut()
+	{
+		return deadline != Long.MAX_VALUE && System.nanoTime() - deadline > 0;
+	}
+
+	/**
+	 * @return czas od utworzenia monitora w milisekundach
+	 */
+	public long getElapsedMillis()
+	{
+		return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+	}
+
+	/**
+	 * @return postęp z przedziału [0, 1] lub liczba ujemna, jeśli algorytm
+	 * 			go nie zgłasza
+	 */
+	public double getProgress()
+	{
+		return progress;
+	}
+
+	/**
+	 * Przerywa obliczenia, jeśli aktywny monitor został anulowany albo minął
+	 * jego limit czasu.
+	 *
+	 * @throws CancellationException gdy obliczenia należy przerwać
+	 */
+	public static void checkpoint()
+	{
+		AlgorithmMonitor monitor = active;
+		if (monitor != null && (monitor.cancelled || monitor.isTimedOut()))
+			throw new CancellationException();
+	}
+
+	/**
+	 * Zapisuje postęp obliczeń w aktywnym monitorze.
+	 *
+	 * @param done liczba wykonanych kroków
+	 * @param total liczba wszystkich kroków
+	 */
+	public static void reportProgress(long done, long total)
+	{
+		AlgorithmMonitor monitor = active;
+		if (monitor != null && total > 0)
+			monitor.progress = Math.min(1.0, (double) done / total);
+	}
+}
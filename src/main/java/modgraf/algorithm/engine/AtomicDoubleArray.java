@@ -0,0 +1,80 @@
+package modgraf.algorithm.engine;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Tablica liczb typu <code>double</code> z atomowymi operacjami. Wartości
+ * są przechowywane jako bity w {@link AtomicLongArray}, a dodawanie jest
+ * realizowane pętlą <i>compare-and-set</i>.
+ */
+public class AtomicDoubleArray
+{
+	private final AtomicLongArray bits;
+
+	/**
+	 * Tworzy tablicę z kopią podanych wartości.
+	 *
+	 * @param values wartości początkowe
+	 */
+	public AtomicDoubleArray(double[] values)
+	{
+		bits = new AtomicLongArray(values.length);
+		for (int i = 0; i < values.length; ++i)
+			bits.set(i, Double.doubleToRawLongBits(values[i]));
+	}
+
+	/**
+	 * @return długość tablicy
+	 */
+	public int length()
+	{
+		return bits.length();
+	}
+
+	/**
+	 * @param i indeks
+	 * @return aktualna wartość
+	 */
+	public double get(int i)
+	{
+		return Double.longBitsToDouble(bits.get(i));
+	}
+
+	/**
+	 * @param i indeks
+	 * @param value nowa wartość
+	 */
+	public void set(int i, double value)
+	{
+		bits.set(i, Double.doubleToRawLongBits(value));
+	}
+
+	/**
+	 * Atomowo dodaje wartość do elementu tablicy.
+	 *
+	 * @param i indeks
+	 * @param delta dodawana wartość
+	 * @return wartość po dodaniu
+	 */
+	public double addAndGet(int i, double delta)
+	{
+		while (true)
+		{
+			long current = bits.get(i);
+			double next = Double.longBitsToDouble(current) + delta;
+			if (bits.compareAndSet(i, current, Double.doubleToRawLongBits(next)))
+				return next;
+		}
+	}
+
+	/**
+	 * Kopiuje wartości do zwykłej tablicy.
+	 *
+	 * @param target tablica docelowa
+	 */
+	public void copyTo(double[] target)
+	{
+		for (int i = 0; i < target.length; ++i)
+			target[i] = get(i);
+	}
+}
@@ -0,0 +1,113 @@
+package modgraf.algorithm.engine;
+
+import java.util.Arrays;
+
+import modgraf.jgrapht.CompactGraph;
+
+/**
+ * Dwukierunkowy algorytm Dijkstry. <br>
+ * Przeszukiwanie jest prowadzone jednocześnie od wierzchołka startowego
+ * (po łukach wychodzących) i od wierzchołka końcowego (po łukach
+ * wchodzących). W każdym kroku rozwijana jest strona o mniejszym kluczu na
+ * szczycie kolejki, a algorytm kończy się, gdy suma tych kluczy nie jest
+ * mniejsza od długości najlepszej znalezionej dotąd ścieżki.
+ */
+public class BidirectionalDijkstra extends PointToPointShortestPath
+{
+	private final double[] forwardDistance;
+	private final double[] backwardDistance;
+	private final int[] forwardEdge;
+	private final int[] backwardEdge;
+	private final IndexedHeap forwardQueue;
+	private final IndexedHeap backwardQueue;
+	private int meetingVertex;
+
+	/**
+	 * @param graph graf o nieujemnych wagach krawędzi
+	 */
+	public BidirectionalDijkstra(CompactGraph graph)
+	{
+		super(graph);
+		int n = graph.getVertexCount();
+		forwardDistance = new double[n];
+		backwardDistance = new double[n];
+		forwardEdge = new int[n];
+		backwardEdge = new int[n];
+		forwardQueue = new IndexedHeap(n);
+		backwardQueue = new IndexedHeap(n);
+	}
+
+	@Override
+	public int[] findPath(int source, int target)
+	{
+		Arrays.fill(forwardDistance, Double.POSITIVE_INFINITY);
+		Arrays.fill(backwardDistance, Double.POSITIVE_INFINITY);
+		Arrays.fill(forwardEdge, -1);
+		Arrays.fill(backwardEdge, -1);
+		forwardQueue.clear();
+		backwardQueue.clear();
+		settledCount = 0;
+		relaxationCount = 0;
+		pathLength = Double.POSITIVE_INFINITY;
+		meetingVertex = -1;
+		forwardDistance[source] = 0.0;
+		backwardDistance[target] = 0.0;
+		forwardQueue.insert(source, 0.0);
+		backwardQueue.insert(target, 0.0);
+		if (source == target)
+		{
+			pathLength = 0.0;
+			return new int[0];
+		}
+		while (!forwardQueue.isEmpty() && !backwardQueue.isEmpty())
+		{
+			double forwardTop = forwardQueue.getKey(forwardQueue.peek());
+			double backwardTop = backwardQueue.getKey(backwardQueue.peek());
+			if (forwardTop + backwardTop >= pathLength)
+				break;
+			if (forwardTop <= backwardTop)
+				scan(forwardQueue, forwardDistance, forwardEdge, backwardDistance,
+						graph.getOutOffsets(), graph.getOutTargets(), graph.getOutEdges());
+			else
+				scan(backwardQueue, backwardDistance, backwardEdge, forwardDistance,
+						graph.getInOffsets(), graph.getInSources(), graph.getInEdges());
+		}
+		reportCounters();
+		if (meetingVertex < 0)
+			return null;
+		int[] head = tracePath(forwardEdge, source, meetingVertex);
+		int[] tail = tracePath(backwardEdge, target, meetingVertex);
+		int[] path = Arrays.copyOf(head, head.length + tail.length);
+		for (int i = 0; i < tail.length; ++i)
+			path[head.length + i] = tail[tail.length - 1 - i];
+		return path;
+	}
+
+	private void scan(IndexedHeap queue, double[] distance, int[] previousEdge,
+			double[] otherDistance, int[] offsets, int[] heads, int[] arcEdges)
+	{
+		int u = queue.poll();
+		++settledCount;
+		double du = distance[u];
+		double[] weights = graph.getWeights();
+		for (int arc = offsets[u]; arc < offsets[u + 1]; ++arc)
+		{
+			int v = heads[arc];
+			int edge = arcEdges[arc];
+			double dv = du + weights[edge];
+			if (dv < distance[v])
+			{
+				distance[v] = dv;
+				previousEdge[v] = edge;
+				queue.insertOrDecrease(v, dv);
+				++relaxationCount;
+				double throughV = dv + otherDistance[v];
+				if (throughV < pathLength)
+				{
+					pathLength = throughV;
+					meetingVertex = v;
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,87 @@
+package modgraf.algorithm.engine;
+
+import java.util.Arrays;
+
+import modgraf.jgrapht.CompactGraph;
+
+/**
+ * Test dwudzielności grafu przeszukiwaniem wszerz w czasie
+ * O(<i>V</i> + <i>E</i>). <br>
+ * Kierunek krawędzi nie ma znaczenia - w grafie skierowanym przeglądane są
+ * zarówno łuki wychodzące, jak i wchodzące. Każda spójna składowa jest
+ * kolorowana dwoma kolorami, a krawędź łącząca wierzchołki tego samego
+ * koloru (w tym pętla) oznacza, że graf nie jest dwudzielny.
+ */
+public class Bipartition
+{
+	private final int[] side;
+	private final boolean bipartite;
+
+	/**
+	 * @param graph badany graf
+	 */
+	public Bipartition(CompactGraph graph)
+	{
+		int n = graph.getVertexCount();
+		side = new int[n];
+		Arrays.fill(side, -1);
+		int[] queue = new int[n];
+		boolean result = true;
+		for (int root = 0; root < n && result; ++root)
+		{
+			if (side[root] >= 0)
+				continue;
+			side[root] = 0;
+			int head = 0;
+			int tail = 0;
+			queue[tail++] = root;
+			while (head < tail && result)
+			{
+				int u = queue[head++];
+				tail = visit(u, graph.getOutOffsets(), graph.getOutTargets(), queue, tail);
+				if (tail >= 0 && graph.isDirected())
+					tail = visit(u, graph.getInOffsets(), graph.getInSources(), queue, tail);
+				result = tail >= 0;
+			}
+		}
+		bipartite = result;
+	}
+
+	/**
+	 * @return nowy koniec kolejki lub -1, jeśli znaleziono krawędź między
+	 * 			wierzchołkami tego samego koloru
+	 */
+	private int visit(int u, int[] offsets, int[] heads, int[] queue, int tail)
+	{
+		for (int arc = offsets[u]; arc < offsets[u + 1]; ++arc)
+		{
+			int v = heads[arc];
+			if (side[v] < 0)
+			{
+				side[v] = 1 - side[u];
+				queue[tail++] = v;
+			}
+			else if (side[v] == side[u])
+				return -1;
+		}
+		return tail;
+	}
+
+	/**
+	 * @return <code>true</code> jeśli graf jest dwudzielny
+	 */
+	public boolean isBipartite()
+	{
+		return bipartite;
+	}
+
+	/**
+	 * @param vertex numer wierzchołka
+	 * @return strona podziału (0 lub 1), do której należy wierzchołek;
+	 * 			ma znaczenie tylko dla grafu dwudzielnego
+	 */
+	public int getSide(int vertex)
+	{
+		return side[vertex];
+	}
+}
@@ -0,0 +1,276 @@
+package modgraf.algorithm.engine;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import modgraf.jgrapht.CompactGraph;
+
+/**
+ * Algorytm Floyda-Warshalla w wersji blokowej (kafelkowej), wyznaczający
+ * najkrótsze ścieżki między wszystkimi parami wierzchołków. <br>
+ * Odległości są przechowywane w płaskiej macierzy <code>double[n*n]</code>,
+ * a dla każdej pary zapamiętywany jest numer pierwszej krawędzi ścieżki
+ * (macierz <code>int[n*n]</code>), co pozwala odtworzyć dowolną ścieżkę
+ * w czasie proporcjonalnym do jej długości. Ścieżki o równej długości
+ * są rozróżniane liczbą krawędzi (macierz <code>int[n*n]</code>) - bez tego
+ * kolejność blokowa mogłaby przy krawędziach o wadze 0 zapętlić pierwsze
+ * krawędzie ścieżek. <br>
+ * Macierz jest podzielona na bloki. W każdej rundzie najpierw liczony jest
+ * blok na przekątnej, następnie (równolegle) pozostałe bloki z jego wiersza
+ * i kolumny, a na końcu (równolegle) wszystkie pozostałe bloki.
+ */
+public class BlockedFloydWarshall
+{
+	/**
+	 * Domyślny rozmiar boku bloku.
+	 */
+	public static final int DEFAULT_BLOCK_SIZE = 64;
+	/**
+	 * Liczba bajtów przypadająca na parę wierzchołków (odległość, numer
+	 * pierwszej krawędzi ścieżki i liczba jej krawędzi).
+	 */
+	private static final int BYTES_PER_PAIR = 16;
+	/**
+	 * Największa długość tablicy bezpiecznie obsługiwana przez maszynę
+	 * wirtualną.
+	 */
+	private static final long MAX_ARRAY_LENGTH = Integer.MAX_VALUE - 8;
+
+	private final CompactGraph graph;
+	private final int n;
+	private final int blockSize;
+	private final int blockCount;
+	private final double[] distance;
+	private final int[] firstEdge;
+	private final int[] edgeCount;
+	private boolean negativeCycle;
+
+	/**
+	 * @param graph graf
+	 */
+	public BlockedFloydWarshall(CompactGraph graph)
+	{
+		this(graph, DEFAULT_BLOCK_SIZE);
+	}
+
+	/**
+	 * @param graph graf
+	 * @param blockSize rozmiar boku bloku
+	 * @throws IllegalArgumentException jeśli macierze dla grafu nie
+	 * 			zmieszczą się w pamięci (zob. {@link #fitsInMemory(int)})
+	 */
+	public BlockedFloydWarshall(CompactGraph graph, int blockSize)
+	{
+		this.graph = graph;
+		this.blockSize = blockSize;
+		n = graph.getVertexCount();
+		if (!fitsInMemory(n))
+			throw new IllegalArgumentException("too many vertices for all-pairs matrices: " + n);
+		blockCount = (n + blockSize - 1) / blockSize;
+		distance = new double[n * n];
+		firstEdge = new int[n * n];
+		edgeCount = new int[n * n];
+	}
+
+	/**
+	 * Sprawdza, czy macierze odległości, pierwszych krawędzi i liczby
+	 * krawędzi ścieżek (około 16 * n<sup>2</sup> bajtów) mieszczą się w tablicach Javy i w
+	 * maksymalnym rozmiarze sterty.
+	 *
+	 * @param vertexCount liczba wierzchołków grafu
+	 * @return <code>true</code> jeśli algorytm może zostać uruchomiony
+	 */
+	public static boolean fitsInMemory(int vertexCount)
+	{
+		long pairs = (long) vertexCount * vertexCount;
+		return pairs <= MAX_ARRAY_LENGTH
+				&& pairs * BYTES_PER_PAIR <= Runtime.getRuntime().maxMemory();
+	}
+
+	/**
+	 * Wykonuje obliczenia na podanej puli wątków.
+	 *
+	 * @param pool pula wątków
+	 */
+	public void compute(ForkJoinPool pool)
+	{
+		initialize();
+		for (int k = 0; k < blockCount; ++k)
+		{
+			AlgorithmMonitor.checkpoint();
+			AlgorithmMonitor.reportProgress(k, blockCount);
+			updateBlock(k, k, k);
+			List<BlockTask> tasks = new ArrayList<>();
+			for (int b = 0; b < blockCount; ++b)
+				if (b != k)
+				{
+					tasks.add(new BlockTask(k, b, k));
+					tasks.add(new BlockTask(b, k, k));
+				}
+			pool.invoke(new PhaseTask(tasks));
+			tasks.clear();
+			for (int i = 0; i < blockCount; ++i)
+				for (int j = 0; j < blockCount; ++j)
+					if (i != k && j != k)
+						tasks.add(new BlockTask(i, j, k));
+			pool.invoke(new PhaseTask(tasks));
+		}
+		negativeCycle = false;
+		for (int v = 0; v < n; ++v)
+			if (distance[v * n + v] < 0)
+				negativeCycle = true;
+	}
+
+	private void initialize()
+	{
+		Arrays.fill(distance, Double.POSITIVE_INFINITY);
+		Arrays.fill(firstEdge, -1);
+		Arrays.fill(edgeCount, 0);
+		for (int v = 0; v < n; ++v)
+			distance[v * n + v] = 0.0;
+		for (int e = 0; e < graph.getEdgeCount(); ++e)
+		{
+			int u = graph.getEdgeSource(e);
+			int v = graph.getEdgeTarget(e);
+			relaxEdge(u, v, e);
+			if (!graph.isDirected())
+				relaxEdge(v, u, e);
+		}
+	}
+
+	private void relaxEdge(int u, int v, int edge)
+	{
+		double weight = graph.getWeight(edge);
+		if (weight < distance[u * n + v])
+		{
+			distance[u * n + v] = weight;
+			firstEdge[u * n + v] = edge;
+			edgeCount[u * n + v] = 1;
+		}
+	}
+
+	/**
+	 * Poprawia odległości w bloku (<code>ib</code>, <code>jb</code>) przez
+	 * wierzchołki pośrednie z bloku <code>kb</code>. Przy równej odległości
+	 * wybierana jest ścieżka o mniejszej liczbie krawędzi, więc przejście
+	 * do pierwszej krawędzi zawsze zmniejsza parę (odległość, liczba krawędzi)
+	 * i odtwarzanie ścieżki się kończy.
+	 */
+	private void updateBlock(int ib, int jb, int kb)
+	{
+		int kEnd = Math.min(n, (kb + 1) * blockSize);
+		int iEnd = Math.min(n, (ib + 1) * blockSize);
+		int jStart = jb * blockSize;
+		int jEnd = Math.min(n, jStart + blockSize);
+		for (int k = kb * blockSize; k < kEnd; ++k)
+		{
+			int kRow = k * n;
+			for (int i = ib * blockSize; i < iEnd; ++i)
+			{
+				int iRow = i * n;
+				double dik = distance[iRow + k];
+				if (dik == Double.POSITIVE_INFINITY)
+					continue;
+				int edge = firstEdge[iRow + k];
+				int cik = edgeCount[iRow + k];
+				for (int j = jStart; j < jEnd; ++j)
+				{
+					double through = dik + distance[kRow + j];
+					if (through < distance[iRow + j] || (through == distance[iRow + j]
+							&& cik + edgeCount[kRow + j] < edgeCount[iRow + j]))
+					{
+						distance[iRow + j] = through;
+						firstEdge[iRow + j] = edge;
+						edgeCount[iRow + j] = cik + edgeCount[kRow + j];
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * @return <code>true</code> jeśli graf zawiera cykl o ujemnej długości
+	 */
+	public boolean hasNegativeCycle()
+	{
+		return negativeCycle;
+	}
+
+	/**
+	 * @param source numer wierzchołka startowego
+	 * @param target numer wierzchołka końcowego
+	 * @return długość najkrótszej ścieżki
+	 * 			(<code>Double.POSITIVE_INFINITY</code> jeśli jej nie ma)
+	 */
+	public double getDistance(int source, int target)
+	{
+		return distance[source * n + target];
+	}
+
+	/**
+	 * @param source numer wierzchołka startowego
+	 * @param target numer wierzchołka końcowego
+	 * @return numery kolejnych krawędzi najkrótszej ścieżki lub <code>null</code>
+	 * 			jeśli ścieżka nie istnieje albo graf zawiera cykl o ujemnej długości
+	 */
+	public int[] getPath(int source, int target)
+	{
+		if (negativeCycle || distance[source * n + target] == Double.POSITIVE_INFINITY)
+			return null;
+		int length = 0;
+		for (int v = source; v != target; v = graph.getOppositeVertex(firstEdge[v * n + target], v))
+			++length;
+		int[] path = new int[length];
+		int index = 0;
+		for (int v = source; v != target; v = graph.getOppositeVertex(firstEdge[v * n + target], v))
+			path[index++] = firstEdge[v * n + target];
+		return path;
+	}
+
+	/**
+	 * Zadanie aktualizujące jeden blok macierzy.
+	 */
+	private class BlockTask extends RecursiveAction
+	{
+		private static final long serialVersionUID = 8218365213459214781L;
+		private final int ib;
+		private final int jb;
+		private final int kb;
+
+		BlockTask(int ib, int jb, int kb)
+		{
+			this.ib = ib;
+			this.jb = jb;
+			this.kb = kb;
+		}
+
+		@Override
+		protected void compute()
+		{
+			updateBlock(ib, jb, kb);
+		}
+	}
+
+	/**
+	 * Zadanie uruchamiające równolegle niezależne bloki jednej fazy.
+	 */
+	private static class PhaseTask extends RecursiveAction
+	{
+		private static final long serialVersionUID = -2942057213380184385L;
+		private final List<BlockTask> tasks;
+
+		PhaseTask(List<BlockTask> tasks)
+		{
+			this.tasks = tasks;
+		}
+
+		@Override
+		protected void compute()
+		{
+			invokeAll(tasks);
+		}
+	}
+}
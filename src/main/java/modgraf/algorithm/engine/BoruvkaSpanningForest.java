@@ -0,0 +1,168 @@
+package modgraf.algorithm.engine;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import modgraf.jgrapht.CompactGraph;
+
+/**
+ * Równoległy algorytm Borůvki. <br>
+ * W każdej rundzie krawędzie łączące różne składowe są przeglądane
+ * równolegle (w zadaniach puli fork-join obejmujących przedziały tablicy
+ * krawędzi), a najlżejsza krawędź wychodząca z każdej składowej jest
+ * zapamiętywana w tablicy atomowej za pomocą CAS. Następnie wybrane krawędzie
+ * są równolegle dołączane do lasu przez {@link ConcurrentUnionFind}, a krawędzie
+ * wewnątrz nowych składowych są usuwane z tablicy. Liczba składowych co
+ * najmniej się połowi w każdej rundzie, więc rund jest O(log <i>V</i>).
+ */
+public class BoruvkaSpanningForest extends SpanningForestEngine
+{
+	/**
+	 * Rozmiar przedziału, poniżej którego zadanie nie jest dzielone.
+	 */
+	private static final int SEQUENTIAL_THRESHOLD = 4096;
+
+	private final ConcurrentUnionFind components;
+	private final AtomicIntegerArray cheapest;
+	private int[] edges;
+	private int edgeCount;
+
+	/**
+	 * @param graph graf nieskierowany
+	 */
+	public BoruvkaSpanningForest(CompactGraph graph)
+	{
+		super(graph);
+		int n = graph.getVertexCount();
+		components = new ConcurrentUnionFind(n);
+		cheapest = new AtomicIntegerArray(n);
+		for (int v = 0; v < n; ++v)
+			cheapest.set(v, -1);
+	}
+
+	@Override
+	public void calculateSpanningForest(ForkJoinPool pool)
+	{
+		edges = new int[graph.getEdgeCount()];
+		edgeCount = 0;
+		for (int e = 0; e < edges.length; ++e)
+			if (graph.getEdgeSource(e) != graph.getEdgeTarget(e))
+				edges[edgeCount++] = e;
+		long rounds = 0;
+		while (edgeCount > 0)
+		{
+			AlgorithmMonitor.checkpoint();
+			pool.invoke(new FindCheapestTask(0, edgeCount));
+			pool.invoke(new MergeTask(0, graph.getVertexCount()));
+			removeInnerEdges();
+			++rounds;
+		}
+		edges = null;
+		AlgorithmMetrics.count(AlgorithmMetrics.MERGE_ROUNDS, rounds);
+	}
+
+	/**
+	 * Usuwa z tablicy krawędzie, których oba końce należą już do tej samej
+	 * składowej.
+	 */
+	private void removeInnerEdges()
+	{
+		int count = 0;
+		for (int i = 0; i < edgeCount; ++i)
+		{
+			int e = edges[i];
+			if (components.find(graph.getEdgeSource(e)) != components.find(graph.getEdgeTarget(e)))
+				edges[count++] = e;
+		}
+		edgeCount = count;
+	}
+
+	private void offer(int component, int edge)
+	{
+		while (true)
+		{
+			int current = cheapest.get(component);
+			if (current >= 0 && !lighter(edge, current))
+				return;
+			if (cheapest.compareAndSet(component, current, edge))
+				return;
+		}
+	}
+
+	/**
+	 * Wyznacza najlżejszą krawędź wychodzącą z każdej składowej.
+	 */
+	private final class FindCheapestTask extends RecursiveAction
+	{
+		private static final long serialVersionUID = 1L;
+
+		private final int from;
+		private final int to;
+
+		private FindCheapestTask(int from, int to)
+		{
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected void compute()
+		{
+			if (to - from > SEQUENTIAL_THRESHOLD)
+			{
+				int middle = (from + to) >>> 1;
+				invokeAll(new FindCheapestTask(from, middle), new FindCheapestTask(middle, to));
+				return;
+			}
+			for (int i = from; i < to; ++i)
+			{
+				int e = edges[i];
+				int u = components.find(graph.getEdgeSource(e));
+				int v = components.find(graph.getEdgeTarget(e));
+				if (u != v)
+				{
+					offer(u, e);
+					offer(v, e);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Dołącza do lasu krawędzie wybrane przez składowe i zeruje ich wybór.
+	 */
+	private final class MergeTask extends RecursiveAction
+	{
+		private static final long serialVersionUID = 1L;
+
+		private final int from;
+		private final int to;
+
+		private MergeTask(int from, int to)
+		{
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected void compute()
+		{
+			if (to - from > SEQUENTIAL_THRESHOLD)
+			{
+				int middle = (from + to) >>> 1;
+				invokeAll(new MergeTask(from, middle), new MergeTask(middle, to));
+				return;
+			}
+			for (int v = from; v < to; ++v)
+			{
+				int e = cheapest.get(v);
+				if (e < 0)
+					continue;
+				cheapest.set(v, -1);
+				if (components.union(graph.getEdgeSource(e), graph.getEdgeTarget(e)))
+					inForest[e] = true;
+			}
+		}
+	}
+}
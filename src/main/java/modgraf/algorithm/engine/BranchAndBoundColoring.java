@@ -0,0 +1,416 @@
+package modgraf.algorithm.engine;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import modgraf.jgrapht.CompactGraph;
+
+/**
+ * Dokładny algorytm kolorowania wierzchołków metodą podziału i ograniczeń
+ * (DSatur z nawrotami). <br>
+ * Górnym ograniczeniem początkowym jest wynik {@link DSaturColoring},
+ * a dolnym - rozmiar kliki znalezionej zachłannie na macierzy sąsiedztwa
+ * zapisanej w postaci map bitowych (<code>long[]</code>). Wierzchołki kliki
+ * otrzymują z góry kolejne kolory, co usuwa symetrię permutacji kolorów. <br>
+ * Pierwsze poziomy drzewa przeszukiwania są rozdzielane na zadania puli
+ * fork-join, z których każde pracuje na własnej kopii stanu. Najlepsza
+ * dotąd liczba kolorów jest współdzielona, więc znalezienie lepszego
+ * kolorowania w jednym zadaniu od razu zawęża przeszukiwanie w pozostałych.
+ * Po przekroczeniu limitu czasu zadania kończą pracę, a wynikiem jest
+ * najlepsze znalezione kolorowanie (metoda {@link #isOptimal()} zwraca wtedy
+ * <code>false</code>, chyba że osiągnięto dolne ograniczenie). <br>
+ * Macierz sąsiedztwa i liczniki kolorów sąsiadów zajmują pamięć
+ * kwadratową względem liczby wierzchołków, dlatego dla grafów większych niż
+ * {@link #MAX_EXACT_VERTICES} wierzchołków (lub gdy stany zadań nie
+ * zmieściłyby się w połowie dostępnej pamięci) przeszukiwanie jest
+ * pomijane, a wynikiem jest kolorowanie DSatur z dolnym ograniczeniem
+ * wynikającym z istnienia krawędzi.
+ */
+public class BranchAndBoundColoring extends VertexColoring
+{
+	/**
+	 * Liczba zadań przypadających na jeden wątek puli.
+	 */
+	private static final int TASKS_PER_THREAD = 4;
+	/**
+	 * Co ile odwiedzonych węzłów zadanie sprawdza upływ czasu.
+	 */
+	private static final int DEADLINE_CHECK_INTERVAL = 1024;
+	/**
+	 * Liczba wierzchołków o największym stopniu, od których zaczyna się
+	 * zachłanne wyszukiwanie kliki.
+	 */
+	private static final int CLIQUE_STARTS = 64;
+	/**
+	 * Największa liczba wierzchołków, dla której wykonywane jest
+	 * przeszukiwanie dokładne.
+	 */
+	public static final int MAX_EXACT_VERTICES = 4096;
+
+	private long[][] adjacency;
+	private final AtomicInteger bestCount;
+	private volatile boolean timedOut;
+	private boolean skipped;
+	private long deadline;
+	private int[] clique;
+	private int upperBound;
+
+	/**
+	 * @param graph graf do pokolorowania
+	 */
+	public BranchAndBoundColoring(CompactGraph graph)
+	{
+		super(graph);
+		bestCount = new AtomicInteger();
+		clique = new int[0];
+	}
+
+	/**
+	 * Koloruje graf.
+	 *
+	 * @param pool pula wątków
+	 * @param timeBudgetMillis limit czasu w milisekundach
+	 */
+	public void calculateColoring(ForkJoinPool pool, long timeBudgetMillis)
+	{
+		DSaturColoring initial = new DSaturColoring(graph);
+		initial.calculateColoring();
+		colors = initial.getColors().clone();
+		colorCount = initial.getColorCount();
+		upperBound = colorCount;
+		timedOut = false;
+		skipped = !isSearchFeasible(pool);
+		if (skipped)
+		{
+			clique = findTrivialClique();
+			return;
+		}
+		buildAdjacency();
+		clique = findClique();
+		bestCount.set(colorCount);
+		deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeBudgetMillis);
+		if (clique.length < colorCount)
+		{
+			State root = new State();
+			for (int i = 0; i < clique.length; ++i)
+				root.assign(clique[i], i);
+			pool.invoke(new SearchTask(root, pool.getParallelism() * TASKS_PER_THREAD));
+		}
+	}
+
+	/**
+	 * @return <code>true</code> jeśli udowodniono, że liczba kolorów jest minimalna
+	 */
+	public boolean isOptimal()
+	{
+		return (!timedOut && !skipped) || colorCount == clique.length;
+	}
+
+	/**
+	 * @return <code>true</code> jeśli przeszukiwanie dokładne zostało
+	 * 			pominięte ze względu na rozmiar grafu
+	 */
+	public boolean isSkipped()
+	{
+		return skipped;
+	}
+
+	/**
+	 * @return dolne ograniczenie liczby chromatycznej (rozmiar znalezionej kliki)
+	 */
+	public int getLowerBound()
+	{
+		return clique.length;
+	}
+
+	/**
+	 * @return liczba kolorów znaleziona przez heurystykę DSatur
+	 */
+	public int getUpperBound()
+	{
+		return upperBound;
+	}
+
+	/**
+	 * Sprawdza, czy macierz sąsiedztwa oraz stany wszystkich zadań zmieszczą
+	 * się w pamięci.
+	 */
+	private boolean isSearchFeasible(ForkJoinPool pool)
+	{
+		if (n > MAX_EXACT_VERTICES)
+			return false;
+		long adjacencyBytes = (long) n * ((n + 63) >>> 6) * 8;
+		long stateBytes = (long) n * (upperBound + 4) * 4;
+		long tasks = (long) pool.getParallelism() * TASKS_PER_THREAD + 1;
+		return adjacencyBytes + tasks * stateBytes <= Runtime.getRuntime().maxMemory() / 2;
+	}
+
+	private void buildAdjacency()
+	{
+		adjacency = new long[n][(n + 63) >>> 6];
+		for (int v = 0; v < n; ++v)
+			for (int i = offsets[v]; i < offsets[v + 1]; ++i)
+				adjacency[v][neighbours[i] >>> 6] |= 1L << neighbours[i];
+	}
+
+	/**
+	 * @return końce dowolnej krawędzi niebędącej pętlą, pojedynczy
+	 * 			wierzchołek lub pusta tablica dla grafu pustego
+	 */
+	private int[] findTrivialClique()
+	{
+		for (int v = 0; v < n; ++v)
+			for (int i = offsets[v]; i < offsets[v + 1]; ++i)
+				if (neighbours[i] != v)
+					return new int[] {v, neighbours[i]};
+		return n > 0 ? new int[] {0} : new int[0];
+	}
+
+	/**
+	 * Zachłannie rozszerza klikę, zaczynając od wierzchołków o największym
+	 * stopniu i dokładając kandydata o największym stopniu spośród wspólnych
+	 * sąsiadów wierzchołków kliki.
+	 *
+	 * @return największa znaleziona klika
+	 */
+	private int[] findClique()
+	{
+		Integer[] order = new Integer[n];
+		for (int v = 0; v < n; ++v)
+			order[v] = v;
+		Arrays.sort(order, new Comparator<Integer>()
+		{
+			@Override
+			public int compare(Integer a, Integer b)
+			{
+				return (offsets[b + 1] - offsets[b]) - (offsets[a + 1] - offsets[a]);
+			}
+		});
+		int[] best = new int[0];
+		int[] current = new int[n];
+		for (int s = 0; s < Math.min(n, CLIQUE_STARTS); ++s)
+		{
+			int size = 0;
+			int v = order[s];
+			long[] candidates = adjacency[v].clone();
+			current[size++] = v;
+			while ((v = findMaxDegree(candidates)) >= 0)
+			{
+				current[size++] = v;
+				for (int w = 0; w < candidates.length; ++w)
+					candidates[w] &= adjacency[v][w];
+			}
+			if (size > best.length)
+				best = Arrays.copyOf(current, size);
+		}
+		return best;
+	}
+
+	private int findMaxDegree(long[] set)
+	{
+		int best = -1;
+		for (int w = 0; w < set.length; ++w)
+			for (long word = set[w]; word != 0; word &= word - 1)
+			{
+				int v = (w << 6) + Long.numberOfTrailingZeros(word);
+				if (best < 0 || offsets[v + 1] - offsets[v] > offsets[best + 1] - offsets[best])
+					best = v;
+			}
+		return best;
+	}
+
+	private synchronized void record(State state)
+	{
+		if (state.usedColors < colorCount)
+		{
+			colors = state.color.clone();
+			colorCount = state.usedColors;
+			bestCount.set(colorCount);
+		}
+	}
+
+	/**
+	 * Częściowe kolorowanie wraz z licznikami kolorów sąsiadów
+	 * każdego wierzchołka.
+	 */
+	private final class State
+	{
+		private final int[] color;
+		/**
+		 * Liczba sąsiadów wierzchołka <code>v</code> w kolorze <code>c</code>
+		 * pod indeksem <code>v * upperBound + c</code>.
+		 */
+		private final int[] neighbourColors;
+		private final int[] saturation;
+		private final int[] uncoloredDegree;
+		private int coloredCount;
+		private int usedColors;
+
+		private State()
+		{
+			color = new int[n];
+			Arrays.fill(color, -1);
+			neighbourColors = new int[n * upperBound];
+			saturation = new int[n];
+			uncoloredDegree = new int[n];
+			for (int v = 0; v < n; ++v)
+				uncoloredDegree[v] = offsets[v + 1] - offsets[v];
+		}
+
+		private State(State other)
+		{
+			color = other.color.clone();
+			neighbourColors = other.neighbourColors.clone();
+			saturation = other.saturation.clone();
+			uncoloredDegree = other.uncoloredDegree.clone();
+			coloredCount = other.coloredCount;
+			usedColors = other.usedColors;
+		}
+
+		private boolean isAllowed(int v, int c)
+		{
+			return neighbourColors[v * upperBound + c] == 0;
+		}
+
+		private void assign(int v, int c)
+		{
+			color[v] = c;
+			++coloredCount;
+			usedColors = Math.max(usedColors, c + 1);
+			for (int i = offsets[v]; i < offsets[v + 1]; ++i)
+			{
+				int w = neighbours[i];
+				--uncoloredDegree[w];
+				if (neighbourColors[w * upperBound + c]++ == 0)
+					++saturation[w];
+			}
+		}
+
+		private void unassign(int v, int c, int previousUsedColors)
+		{
+			color[v] = -1;
+			--coloredCount;
+			usedColors = previousUsedColors;
+			for (int i = offsets[v]; i < offsets[v + 1]; ++i)
+			{
+				int w = neighbours[i];
+				++uncoloredDegree[w];
+				if (--neighbourColors[w * upperBound + c] == 0)
+					--saturation[w];
+			}
+		}
+
+		/**
+		 * @return niepokolorowany wierzchołek o największym nasyceniu
+		 */
+		private int select()
+		{
+			int best = -1;
+			for (int v = 0; v < n; ++v)
+				if (color[v] < 0 && (best < 0 || saturation[v] > saturation[best]
+						|| (saturation[v] == saturation[best] && uncoloredDegree[v] > uncoloredDegree[best])))
+					best = v;
+			return best;
+		}
+	}
+
+	private final class SearchTask extends RecursiveAction
+	{
+		private static final long serialVersionUID = 1L;
+
+		private final State state;
+		/**
+		 * Liczba zadań, na które można jeszcze podzielić to poddrzewo.
+		 */
+		private final int taskBudget;
+		private int visited;
+
+		private SearchTask(State state, int taskBudget)
+		{
+			this.state = state;
+			this.taskBudget = taskBudget;
+		}
+
+		@Override
+		protected void compute()
+		{
+			try
+			{
+				search();
+			}
+			finally
+			{
+				AlgorithmMetrics.count(AlgorithmMetrics.SEARCH_NODES, visited);
+			}
+		}
+
+		private void search()
+		{
+			if (timedOut)
+				return;
+			if (++visited % DEADLINE_CHECK_INTERVAL == 0)
+			{
+				AlgorithmMonitor.checkpoint();
+				if (System.nanoTime() > deadline)
+				{
+					timedOut = true;
+					return;
+				}
+			}
+			int best = bestCount.get();
+			if (state.usedColors >= best || best <= clique.length)
+				return;
+			if (state.coloredCount == n)
+			{
+				record(state);
+				return;
+			}
+			int v = state.select();
+			int limit = Math.min(state.usedColors + 1, best - 1);
+			if (taskBudget > 1 && split(v, limit))
+				return;
+			int previousUsedColors = state.usedColors;
+			for (int c = 0; c < limit && c < bestCount.get() - 1; ++c)
+				if (state.isAllowed(v, c))
+				{
+					state.assign(v, c);
+					search();
+					state.unassign(v, c, previousUsedColors);
+					if (timedOut)
+						return;
+				}
+		}
+
+		/**
+		 * Tworzy osobne zadanie dla każdego dozwolonego koloru wierzchołka.
+		 *
+		 * @return <code>false</code> jeśli jest mniej niż dwa dozwolone kolory
+		 * 			i rozgałęzienie nie ma sensu
+		 */
+		private boolean split(int v, int limit)
+		{
+			int allowed = 0;
+			for (int c = 0; c < limit; ++c)
+				if (state.isAllowed(v, c))
+					++allowed;
+			if (allowed < 2)
+				return false;
+			List<SearchTask> tasks = new ArrayList<>(allowed);
+			for (int c = 0; c < limit; ++c)
+				if (state.isAllowed(v, c))
+				{
+					State child = new State(state);
+					child.assign(v, c);
+					tasks.add(new SearchTask(child, taskBudget / allowed));
+				}
+			invokeAll(tasks);
+			return true;
+		}
+	}
+}
@@ -0,0 +1,106 @@
+package modgraf.algorithm.engine;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Ograniczona kolejka liczb typu <code>int</code> bez blokad dla wielu
+ * producentów i wielu konsumentów (pierścień z numerami sekwencyjnymi
+ * komórek w wariancie Vyukova). Wartości są przechowywane w zwykłej
+ * tablicy, więc dodanie elementu nie tworzy obiektu. <br>
+ * Numer sekwencyjny komórki określa, czy można do niej zapisać (równy
+ * pozycji zapisu), czy z niej odczytać (równy pozycji odczytu + 1).
+ * Zapis wartości poprzedza zapis numeru (pole <code>volatile</code>), więc
+ * konsument, który odczytał numer, widzi także wartość.
+ */
+public class ConcurrentIntQueue
+{
+	/**
+	 * Wynik {@link #poll()} dla pustej kolejki.
+	 */
+	public static final int EMPTY = -1;
+
+	private final int mask;
+	private final int[] values;
+	private final AtomicLongArray sequence;
+	private final AtomicLong head = new AtomicLong();
+	private final AtomicLong tail = new AtomicLong();
+
+	/**
+	 * @param capacity najmniejsza wymagana pojemność (zaokrąglana w górę
+	 * 			do potęgi dwójki)
+	 */
+	public ConcurrentIntQueue(int capacity)
+	{
+		int size = Integer.highestOneBit(Math.max(2, capacity) - 1) << 1;
+		mask = size - 1;
+		values = new int[size];
+		sequence = new AtomicLongArray(size);
+		clear();
+	}
+
+	/**
+	 * Dodaje wartość na koniec kolejki.
+	 *
+	 * @param value wartość nieujemna
+	 * @throws IllegalStateException jeśli kolejka jest pełna
+	 */
+	public void add(int value)
+	{
+		while (true)
+		{
+			long position = tail.get();
+			int index = (int) position & mask;
+			long difference = sequence.get(index) - position;
+			if (difference == 0)
+			{
+				if (tail.compareAndSet(position, position + 1))
+				{
+					values[index] = value;
+					sequence.set(index, position + 1);
+					return;
+				}
+			}
+			else if (difference < 0)
+				throw new IllegalStateException("queue full");
+		}
+	}
+
+	/**
+	 * Pobiera wartość z początku kolejki.
+	 *
+	 * @return wartość lub {@link #EMPTY}, jeśli kolejka jest pusta
+	 */
+	public int poll()
+	{
+		while (true)
+		{
+			long position = head.get();
+			int index = (int) position & mask;
+			long difference = sequence.get(index) - (position + 1);
+			if (difference == 0)
+			{
+				if (head.compareAndSet(position, position + 1))
+				{
+					int value = values[index];
+					sequence.set(index, position + mask + 1);
+					return value;
+				}
+			}
+			else if (difference < 0)
+				return EMPTY;
+		}
+	}
+
+	/**
+	 * Usuwa wszystkie elementy. Metoda nie może być wywoływana
+	 * równocześnie z innymi operacjami.
+	 */
+	public void clear()
+	{
+		head.set(0);
+		tail.set(0);
+		for (int i = 0; i < values.length; ++i)
+			sequence.set(i, i);
+	}
+}
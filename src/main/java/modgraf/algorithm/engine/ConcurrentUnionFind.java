@@ -0,0 +1,88 @@
+package modgraf.algorithm.engine;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Struktura zbiorów rozłącznych bez blokad, bezpieczna dla wielu wątków. <br>
+ * Rodzice elementów są zapisani w tablicy <code>int</code> z dostępem
+ * atomowym ({@link AtomicIntegerArray}). Operacja <code>find</code> skraca
+ * ścieżki metodą połowienia (każdy odwiedzony element jest przepinany
+ * do dziadka za pomocą CAS), a <code>union</code> zawsze podpina korzeń
+ * o większym numerze pod korzeń o mniejszym numerze, więc współbieżne
+ * połączenia nie mogą utworzyć cyklu.
+ */
+public class ConcurrentUnionFind
+{
+	private final AtomicIntegerArray parent;
+
+	/**
+	 * Tworzy strukturę, w której każdy element jest osobnym zbiorem.
+	 *
+	 * @param size liczba elementów
+	 */
+	public ConcurrentUnionFind(int size)
+	{
+		parent = new AtomicIntegerArray(size);
+		for (int i = 0; i < size; ++i)
+			parent.set(i, i);
+	}
+
+	/**
+	 * @param element element
+	 * @return reprezentant zbioru zawierającego element
+	 */
+	public int find(int element)
+	{
+		int x = element;
+		while (true)
+		{
+			int p = parent.get(x);
+			if (p == x)
+				return x;
+			int grandparent = parent.get(p);
+			if (p != grandparent)
+				parent.compareAndSet(x, p, grandparent);
+			x = grandparent;
+		}
+	}
+
+	/**
+	 * Łączy zbiory zawierające podane elementy.
+	 *
+	 * @return <code>true</code> jeśli elementy należały do różnych zbiorów
+	 */
+	public boolean union(int first, int second)
+	{
+		while (true)
+		{
+			int a = find(first);
+			int b = find(second);
+			if (a == b)
+				return false;
+			if (a < b)
+			{
+				int t = a;
+				a = b;
+				b = t;
+			}
+			if (parent.compareAndSet(a, a, b))
+				return true;
+		}
+	}
+
+	/**
+	 * @return <code>true</code> jeśli elementy należą do tego samego zbioru
+	 */
+	public boolean sameSet(int first, int second)
+	{
+		while (true)
+		{
+			int a = find(first);
+			int b = find(second);
+			if (a == b)
+				return true;
+			if (parent.get(a) == a)
+				return false;
+		}
+	}
+}
@@ -0,0 +1,72 @@
+package modgraf.algorithm.engine;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+import modgraf.jgrapht.CompactGraph;
+
+/**
+ * Heurystyka DSatur (Brélaz) kolorowania wierzchołków. <br>
+ * W każdym kroku kolorowany jest najmniejszym dozwolonym kolorem
+ * niepokolorowany wierzchołek o największym stopniu nasycenia (liczbie
+ * różnych kolorów wśród sąsiadów), a przy remisie - o największej liczbie
+ * niepokolorowanych sąsiadów. Niepokolorowane wierzchołki są przechowywane
+ * w kopcu {@link IndexedHeap} z kluczem złożonym z obu wartości, więc wybór
+ * wierzchołka i każda zmiana nasycenia lub stopnia sąsiada zajmują czas
+ * O(log <i>n</i>), a całe kolorowanie - O((<i>n</i> + <i>m</i>) log <i>n</i>).
+ */
+public class DSaturColoring extends VertexColoring
+{
+	/**
+	 * @param graph graf do pokolorowania
+	 */
+	public DSaturColoring(CompactGraph graph)
+	{
+		super(graph);
+	}
+
+	/**
+	 * Koloruje graf.
+	 */
+	public void calculateColoring()
+	{
+		Arrays.fill(colors, -1);
+		colorCount = 0;
+		int[] saturation = new int[n];
+		int[] uncoloredDegree = new int[n];
+		BitSet[] adjacentColors = new BitSet[n];
+		int maxDegree = 0;
+		for (int v = 0; v < n; ++v)
+		{
+			uncoloredDegree[v] = offsets[v + 1] - offsets[v];
+			maxDegree = Math.max(maxDegree, uncoloredDegree[v]);
+		}
+		double base = maxDegree + 1;
+		IndexedHeap heap = new IndexedHeap(n);
+		for (int v = 0; v < n; ++v)
+			heap.insert(v, -uncoloredDegree[v]);
+		while (!heap.isEmpty())
+		{
+			int u = heap.poll();
+			int color = adjacentColors[u] == null ? 0 : adjacentColors[u].nextClearBit(0);
+			adjacentColors[u] = null;
+			colors[u] = color;
+			colorCount = Math.max(colorCount, color + 1);
+			for (int i = offsets[u]; i < offsets[u + 1]; ++i)
+			{
+				int v = neighbours[i];
+				if (colors[v] >= 0)
+					continue;
+				--uncoloredDegree[v];
+				if (adjacentColors[v] == null)
+					adjacentColors[v] = new BitSet();
+				if (!adjacentColors[v].get(color))
+				{
+					adjacentColors[v].set(color);
+					++saturation[v];
+				}
+				heap.changeKey(v, -(saturation[v] * base + uncoloredDegree[v]));
+			}
+		}
+	}
+}
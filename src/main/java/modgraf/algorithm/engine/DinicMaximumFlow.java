@@ -0,0 +1,130 @@
+package modgraf.algorithm.engine;
+
+import java.util.Arrays;
+
+/**
+ * Algorytm Dinica. <br>
+ * W każdej fazie przeszukiwanie wszerz wyznacza poziomy wierzchołków w sieci
+ * residualnej, a następnie iteracyjne przeszukiwanie w głąb (z zapamiętanym
+ * bieżącym łukiem każdego wierzchołka) wyznacza przepływ blokujący w sieci
+ * warstwowej. Po każdym powiększeniu przeszukiwanie cofa się tylko do
+ * pierwszego nasyconego łuku ścieżki.
+ */
+public class DinicMaximumFlow extends MaximumFlowEngine
+{
+	private final int[] level;
+	private final int[] currentArc;
+	private final int[] queue;
+	private final int[] path;
+	private long augmentationCount;
+
+	/**
+	 * @param network sieć residualna
+	 */
+	public DinicMaximumFlow(FlowNetwork network)
+	{
+		super(network);
+		int n = network.n;
+		level = new int[n];
+		currentArc = new int[n];
+		queue = new int[n];
+		path = new int[n];
+	}
+
+	@Override
+	public double calculateMaximumFlow(int source, int sink)
+	{
+		checkSourceAndSink(source, sink);
+		network.reset();
+		maximumFlowValue = 0.0;
+		augmentationCount = 0;
+		long phaseCount = 0;
+		while (buildLevels(source, sink))
+		{
+			AlgorithmMonitor.checkpoint();
+			System.arraycopy(network.offsets, 0, currentArc, 0, network.n);
+			maximumFlowValue += blockingFlow(source, sink);
+			++phaseCount;
+		}
+		AlgorithmMetrics.count(AlgorithmMetrics.PHASES, phaseCount);
+		AlgorithmMetrics.count(AlgorithmMetrics.AUGMENTATIONS, augmentationCount);
+		return maximumFlowValue;
+	}
+
+	private boolean buildLevels(int source, int sink)
+	{
+		Arrays.fill(level, -1);
+		level[source] = 0;
+		int first = 0;
+		int last = 0;
+		queue[last++] = source;
+		while (first < last)
+		{
+			int u = queue[first++];
+			for (int i = network.offsets[u]; i < network.offsets[u + 1]; ++i)
+			{
+				int arc = network.arcs[i];
+				int v = network.head[arc];
+				if (level[v] < 0 && network.residual[arc] > FlowNetwork.EPSILON)
+				{
+					level[v] = level[u] + 1;
+					queue[last++] = v;
+				}
+			}
+		}
+		return level[sink] >= 0;
+	}
+
+	private double blockingFlow(int source, int sink)
+	{
+		double total = 0.0;
+		int depth = 0;
+		int v = source;
+		while (true)
+		{
+			if (v == sink)
+			{
+				double delta = Double.POSITIVE_INFINITY;
+				for (int i = 0; i < depth; ++i)
+					delta = Math.min(delta, network.residual[path[i]]);
+				int saturated = depth;
+				for (int i = 0; i < depth; ++i)
+				{
+					network.push(path[i], delta);
+					if (saturated == depth && network.residual[path[i]] <= FlowNetwork.EPSILON)
+						saturated = i;
+				}
+				total += delta;
+				++augmentationCount;
+				depth = saturated;
+				v = network.tail(path[depth]);
+				continue;
+			}
+			int end = network.offsets[v + 1];
+			int i = currentArc[v];
+			while (i < end)
+			{
+				int arc = network.arcs[i];
+				if (network.residual[arc] > FlowNetwork.EPSILON
+						&& level[network.head[arc]] == level[v] + 1)
+					break;
+				++i;
+			}
+			currentArc[v] = i;
+			if (i < end)
+			{
+				int arc = network.arcs[i];
+				path[depth++] = arc;
+				v = network.head[arc];
+			}
+			else
+			{
+				level[v] = -1;
+				if (depth == 0)
+					return total;
+				v = network.tail(path[--depth]);
+				++currentArc[v];
+			}
+		}
+	}
+}
@@ -0,0 +1,307 @@
+package modgraf.algorithm.engine;
+
+import java.util.Arrays;
+
+import modgraf.jgrapht.CompactGraph;
+
+/**
+ * Klasa bazowa dla silników kolorowania krawędzi grafu {@link CompactGraph}.
+ * Kierunek krawędzi nie ma znaczenia. <br>
+ * Stan kolorowania jest przechowywany w tablicach typów prostych: każdy
+ * wierzchołek ma własny fragment tablic (przesunięcia jak w
+ * {@link CompactGraph#getOutOffsets()}) o rozmiarze będącym potęgą dwójki
+ * nie mniejszą niż dwukrotność jego stopnia. Fragment jest tablicą
+ * mieszającą z adresowaniem otwartym, odwzorowującą kolor na numer
+ * incydentnej krawędzi w tym kolorze. Pamięć jest więc liniowa względem
+ * liczby krawędzi (a nie iloczynu liczby wierzchołków i kolorów), a
+ * sprawdzenie, czy kolor jest wolny, oraz zmiana koloru krawędzi zajmują
+ * oczekiwany czas stały.
+ */
+public abstract class EdgeColoringEngine
+{
+	/**
+	 * Co ile krawędzi sprawdzane jest żądanie przerwania obliczeń (minus 1).
+	 */
+	private static final int CHECKPOINT_MASK = 1023;
+	/**
+	 * Graf, na którym wykonywane są obliczenia.
+	 */
+	protected final CompactGraph graph;
+	/**
+	 * Liczba dostępnych kolorów.
+	 */
+	protected final int colorLimit;
+	/**
+	 * Kolory krawędzi (-1 dla krawędzi niepokolorowanych).
+	 */
+	protected final int[] colors;
+	/**
+	 * Początki fragmentów tablic {@link #slotColors} i {@link #slotEdges}
+	 * należących do kolejnych wierzchołków.
+	 */
+	private final int[] slotOffsets;
+	/**
+	 * Kolory zapisane w tablicach mieszających (-1 dla pustych miejsc).
+	 */
+	private final int[] slotColors;
+	/**
+	 * Krawędzie w kolorach zapisanych pod tymi samymi indeksami w
+	 * {@link #slotColors}.
+	 */
+	private final int[] slotEdges;
+	/**
+	 * Liczba zmian koloru krawędzi pokolorowanych wcześniej.
+	 */
+	protected long recoloringCount;
+
+	/**
+	 * @param graph graf do pokolorowania
+	 * @param colorLimit liczba dostępnych kolorów
+	 */
+	protected EdgeColoringEngine(CompactGraph graph, int colorLimit)
+	{
+		this.graph = graph;
+		this.colorLimit = colorLimit;
+		colors = new int[graph.getEdgeCount()];
+		int n = graph.getVertexCount();
+		int[] degree = new int[n];
+		for (int e = 0; e < colors.length; ++e)
+		{
+			++degree[graph.getEdgeSource(e)];
+			++degree[graph.getEdgeTarget(e)];
+		}
+		slotOffsets = new int[n + 1];
+		long size = 0;
+		for (int v = 0; v < n; ++v)
+		{
+			slotOffsets[v] = (int) size;
+			size += degree[v] == 0 ? 1 : Long.highestOneBit(2L * degree[v] - 1) << 1;
+			if (size > Integer.MAX_VALUE - 8)
+				throw new IllegalArgumentException("graph is too large for edge coloring");
+		}
+		slotOffsets[n] = (int) size;
+		slotColors = new int[(int) size];
+		slotEdges = new int[(int) size];
+	}
+
+	/**
+	 * Koloruje krawędzie grafu.
+	 */
+	public void calculateColoring()
+	{
+		Arrays.fill(colors, -1);
+		Arrays.fill(slotColors, -1);
+		recoloringCount = 0;
+		for (int e = 0; e < colors.length; ++e)
+		{
+			if ((e & CHECKPOINT_MASK) == 0)
+				AlgorithmMonitor.checkpoint();
+			colorEdge(e);
+		}
+		AlgorithmMetrics.count(AlgorithmMetrics.RECOLORINGS, recoloringCount);
+	}
+
+	/**
+	 * Nadaje kolor kolejnej krawędzi, zmieniając w razie potrzeby kolory
+	 * krawędzi już pokolorowanych.
+	 *
+	 * @param edge numer niepokolorowanej krawędzi
+	 */
+	protected abstract void colorEdge(int edge);
+
+	/**
+	 * @return <code>true</code> jeśli przy wierzchołku nie ma krawędzi w danym kolorze
+	 */
+	protected boolean isFree(int vertex, int color)
+	{
+		return getEdge(vertex, color) < 0;
+	}
+
+	/**
+	 * @return najmniejszy kolor wolny przy wierzchołku lub -1, jeśli takiego nie ma
+	 */
+	protected int findFreeColor(int vertex)
+	{
+		for (int c = 0; c < colorLimit; ++c)
+			if (isFree(vertex, c))
+				return c;
+		return -1;
+	}
+
+	/**
+	 * @return krawędź w danym kolorze przy wierzchołku lub -1
+	 */
+	protected int getEdge(int vertex, int color)
+	{
+		int slot = findSlot(vertex, color);
+		return slotColors[slot] == color ? slotEdges[slot] : -1;
+	}
+
+	protected void setColor(int edge, int color)
+	{
+		colors[edge] = color;
+		putEdge(graph.getEdgeSource(edge), color, edge);
+		putEdge(graph.getEdgeTarget(edge), color, edge);
+	}
+
+	protected void clearColor(int edge)
+	{
+		int color = colors[edge];
+		colors[edge] = -1;
+		removeEdge(graph.getEdgeSource(edge), color);
+		removeEdge(graph.getEdgeTarget(edge), color);
+	}
+
+	/**
+	 * @return indeks miejsca z danym kolorem we fragmencie wierzchołka lub
+	 * 			pustego miejsca, na którym kończy się jego szukanie
+	 */
+	private int findSlot(int vertex, int color)
+	{
+		int base = slotOffsets[vertex];
+		int mask = slotOffsets[vertex + 1] - base - 1;
+		int i = color & mask;
+		while (slotColors[base + i] >= 0 && slotColors[base + i] != color)
+			i = (i + 1) & mask;
+		return base + i;
+	}
+
+	private void putEdge(int vertex, int color, int edge)
+	{
+		int slot = findSlot(vertex, color);
+		slotColors[slot] = color;
+		slotEdges[slot] = edge;
+	}
+
+	/**
+	 * Usuwa kolor z tablicy mieszającej wierzchołka, przesuwając wstecz
+	 * kolejne elementy tego samego ciągu, tak aby nie pozostawiać w nim
+	 * dziur.
+	 */
+	private void removeEdge(int vertex, int color)
+	{
+		int slot = findSlot(vertex, color);
+		if (slotColors[slot] < 0)
+			return;
+		int base = slotOffsets[vertex];
+		int mask = slotOffsets[vertex + 1] - base - 1;
+		int hole = slot - base;
+		int i = hole;
+		while (true)
+		{
+			i = (i + 1) & mask;
+			int current = slotColors[base + i];
+			if (current < 0)
+				break;
+			int home = current & mask;
+			boolean stays = hole <= i ? hole < home && home <= i : hole < home || home <= i;
+			if (!stays)
+			{
+				slotColors[base + hole] = current;
+				slotEdges[base + hole] = slotEdges[base + i];
+				hole = i;
+			}
+		}
+		slotColors[base + hole] = -1;
+	}
+
+	/**
+	 * Zamienia kolory <code>first</code> i <code>second</code> na ścieżce
+	 * naprzemiennej zaczynającej się w wierzchołku <code>start</code>
+	 * krawędzią w kolorze <code>first</code>. Kolor <code>second</code>
+	 * musi być wolny przy wierzchołku <code>start</code>.
+	 */
+	protected void invertPath(int start, int first, int second, int[] path)
+	{
+		int length = 0;
+		int vertex = start;
+		int color = first;
+		int edge;
+		while ((edge = getEdge(vertex, color)) >= 0)
+		{
+			path[length++] = edge;
+			vertex = graph.getOppositeVertex(edge, vertex);
+			color = color == first ? second : first;
+		}
+		for (int i = 0; i < length; ++i)
+			clearColor(path[i]);
+		for (int i = 0; i < length; ++i)
+			setColor(path[i], i % 2 == 0 ? second : first);
+		recoloringCount += length;
+	}
+
+	/**
+	 * @param edge numer krawędzi
+	 * @return kolor krawędzi
+	 */
+	public int getColor(int edge)
+	{
+		return colors[edge];
+	}
+
+	/**
+	 * @return kolory krawędzi indeksowane numerem krawędzi
+	 * 			(tablicy nie wolno modyfikować)
+	 */
+	public int[] getColors()
+	{
+		return colors;
+	}
+
+	/**
+	 * @return liczba użytych kolorów
+	 */
+	public int getColorCount()
+	{
+		int count = 0;
+		for (int color : colors)
+			count = Math.max(count, color + 1);
+		return count;
+	}
+
+	/**
+	 * @param graph graf
+	 * @return największy stopień wierzchołka (pętla liczona podwójnie)
+	 */
+	public static int findMaxDegree(CompactGraph graph)
+	{
+		int[] degree = new int[graph.getVertexCount()];
+		int max = 0;
+		for (int e = 0; e < graph.getEdgeCount(); ++e)
+		{
+			max = Math.max(max, ++degree[graph.getEdgeSource(e)]);
+			max = Math.max(max, ++degree[graph.getEdgeTarget(e)]);
+		}
+		return max;
+	}
+
+	/**
+	 * @param graph graf
+	 * @return <code>true</code> jeśli graf (bez względu na kierunek krawędzi)
+	 * 			nie zawiera pętli ani krawędzi wielokrotnych
+	 */
+	public static boolean isSimple(CompactGraph graph)
+	{
+		int n = graph.getVertexCount();
+		int[] stamp = new int[n];
+		for (int v = 0; v < n; ++v)
+		{
+			stamp[v] = v + 1;
+			if (!isSimple(v, graph.getOutOffsets(), graph.getOutTargets(), stamp)
+					|| (graph.isDirected() && !isSimple(v, graph.getInOffsets(), graph.getInSources(), stamp)))
+				return false;
+		}
+		return true;
+	}
+
+	private static boolean isSimple(int v, int[] offsets, int[] heads, int[] stamp)
+	{
+		for (int arc = offsets[v]; arc < offsets[v + 1]; ++arc)
+		{
+			if (stamp[heads[arc]] == v + 1)
+				return false;
+			stamp[heads[arc]] = v + 1;
+		}
+		return true;
+	}
+}
@@ -0,0 +1,27 @@
+package modgraf.algorithm.engine;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Wspólna pula wątków typu fork-join dla równoległych silników obliczeniowych.
+ * Pula jest tworzona przy pierwszym użyciu, a liczba jej wątków odpowiada
+ * liczbie dostępnych procesorów.
+ */
+public final class EnginePool
+{
+	private static ForkJoinPool pool;
+
+	private EnginePool()
+	{
+	}
+
+	/**
+	 * @return wspólna pula wątków
+	 */
+	public static synchronized ForkJoinPool getPool()
+	{
+		if (pool == null)
+			pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+		return pool;
+	}
+}
@@ -0,0 +1,184 @@
+package modgraf.algorithm.engine;
+
+import modgraf.jgrapht.CompactGraph;
+
+/**
+ * Iteracyjny algorytm Hierholzera wyznaczający cykl lub ścieżkę Eulera
+ * w grafie skierowanym albo nieskierowanym (również z krawędziami
+ * wielokrotnymi i pętlami). <br>
+ * Rekurencja jest zastąpiona jawnym stosem wierzchołków i krawędzi,
+ * którymi do nich dotarto, a usuwanie krawędzi z grafu - zbiorem bitów
+ * krawędzi już wykorzystanych i wskaźnikiem na następny nieodwiedzony łuk
+ * w liście sąsiedztwa każdego wierzchołka. Każdy łuk jest więc sprawdzany
+ * co najwyżej raz, a pamięć to kilka tablic długości liczby krawędzi.
+ */
+public class EulerianTrail
+{
+	private final CompactGraph graph;
+	private int[] vertexSequence;
+	private int[] edgeSequence;
+	private boolean circuit;
+
+	/**
+	 * @param graph graf skierowany lub nieskierowany
+	 */
+	public EulerianTrail(CompactGraph graph)
+	{
+		this.graph = graph;
+	}
+
+	/**
+	 * Wyznacza cykl Eulera, a jeśli graf go nie zawiera i
+	 * <code>allowPath</code> jest ustawione - ścieżkę Eulera.
+	 *
+	 * @param allowPath czy dopuszczalna jest ścieżka o różnych końcach
+	 * @return <code>false</code> jeśli szukana trasa nie istnieje
+	 */
+	public boolean calculateTrail(boolean allowPath)
+	{
+		vertexSequence = null;
+		edgeSequence = null;
+		int start = findStartVertex();
+		if (start < 0)
+			return false;
+		if (!circuit && !allowPath)
+			return false;
+		return traverse(start);
+	}
+
+	/**
+	 * Sprawdza stopnie wierzchołków i ustala, czy szukana jest ścieżka,
+	 * czy cykl.
+	 *
+	 * @return wierzchołek, od którego musi zaczynać się trasa, lub -1 jeśli
+	 * 			stopnie wierzchołków wykluczają jej istnienie
+	 */
+	private int findStartVertex()
+	{
+		int n = graph.getVertexCount();
+		int start = -1;
+		int startCount = 0;
+		int endCount = 0;
+		for (int v = 0; v < n; ++v)
+		{
+			int out = graph.getOutDegree(v);
+			if (graph.isDirected())
+			{
+				int balance = out - graph.getInDegree(v);
+				if (balance == 1)
+				{
+					start = v;
+					++startCount;
+				}
+				else if (balance == -1)
+					++endCount;
+				else if (balance != 0)
+					return -1;
+			}
+			else if (out % 2 == 1)
+			{
+				if (start < 0)
+					start = v;
+				++startCount;
+			}
+		}
+		if (graph.isDirected() ? startCount > 1 || startCount != endCount : startCount > 2)
+			return -1;
+		circuit = startCount == 0;
+		return circuit ? findCircuitStart() : start;
+	}
+
+	/**
+	 * @return pierwszy wierzchołek mający krawędź wychodzącą lub -1
+	 */
+	private int findCircuitStart()
+	{
+		for (int v = 0; v < graph.getVertexCount(); ++v)
+			if (graph.getOutDegree(v) > 0)
+				return v;
+		return -1;
+	}
+
+	/**
+	 * Właściwy algorytm Hierholzera. Wierzchołek zdejmowany ze stosu (gdy
+	 * nie ma już niewykorzystanych krawędzi) trafia na koniec jeszcze
+	 * niezapełnionej części wyniku, więc trasa jest składana od końca.
+	 *
+	 * @return <code>false</code> jeśli nie wszystkie krawędzie leżą
+	 * 			w składowej wierzchołka startowego
+	 */
+	private boolean traverse(int start)
+	{
+		int m = graph.getEdgeCount();
+		int[] offsets = graph.getOutOffsets();
+		int[] targets = graph.getOutTargets();
+		int[] arcEdges = graph.getOutEdges();
+		int[] nextArc = new int[graph.getVertexCount()];
+		System.arraycopy(offsets, 0, nextArc, 0, nextArc.length);
+		long[] used = new long[(m + 63) >>> 6];
+		int[] vertexStack = new int[m + 1];
+		int[] edgeStack = new int[m + 1];
+		int[] vertices = new int[m + 1];
+		int[] edges = new int[m];
+		int top = 0;
+		vertexStack[0] = start;
+		edgeStack[0] = -1;
+		int position = m;
+		while (top >= 0)
+		{
+			int v = vertexStack[top];
+			int arc = nextArc[v];
+			int end = offsets[v + 1];
+			while (arc < end && (used[arcEdges[arc] >>> 6] & (1L << arcEdges[arc])) != 0)
+				++arc;
+			if (arc < end)
+			{
+				int edge = arcEdges[arc];
+				used[edge >>> 6] |= 1L << edge;
+				nextArc[v] = arc + 1;
+				++top;
+				vertexStack[top] = targets[arc];
+				edgeStack[top] = edge;
+			}
+			else
+			{
+				nextArc[v] = arc;
+				vertices[position] = v;
+				if (position > 0)
+					edges[position - 1] = edgeStack[top];
+				--position;
+				--top;
+			}
+		}
+		if (position != -1)
+			return false;
+		vertexSequence = vertices;
+		edgeSequence = edges;
+		return true;
+	}
+
+	/**
+	 * @return <code>true</code> jeśli znaleziona trasa jest cyklem
+	 */
+	public boolean isCircuit()
+	{
+		return circuit;
+	}
+
+	/**
+	 * @return kolejne wierzchołki trasy (o jeden więcej niż krawędzi;
+	 * 			w cyklu pierwszy i ostatni są równe)
+	 */
+	public int[] getVertexSequence()
+	{
+		return vertexSequence;
+	}
+
+	/**
+	 * @return kolejne krawędzie trasy
+	 */
+	public int[] getEdgeSequence()
+	{
+		return edgeSequence;
+	}
+}
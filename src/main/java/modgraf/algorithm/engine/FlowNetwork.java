@@ -0,0 +1,202 @@
+package modgraf.algorithm.engine;
+
+import modgraf.jgrapht.CompactGraph;
+
+/**
+ * Sieć residualna zapisana w tablicach typów prostych. <br>
+ * Krawędź o numerze <i>e</i> jest reprezentowana przez parę łuków: łuk
+ * <code>2e</code> zgodny z kierunkiem krawędzi i łuk <code>2e+1</code>
+ * przeciwny do niego, więc łuk odwrotny do łuku <i>a</i> to <code>a^1</code>.
+ * W sieci skierowanej łuk przeciwny ma początkowo zerową przepustowość
+ * residualną, a w nieskierowanej - taką samą jak łuk zgodny. Koszt łuku
+ * przeciwnego jest równy kosztowi łuku zgodnego ze znakiem minus. <br>
+ * Przepływ jest aktualizowany w miejscu, bez ponownego budowania sieci.
+ */
+public class FlowNetwork
+{
+	/**
+	 * Tolerancja, poniżej której przepustowość residualną uznaje się za zerową.
+	 */
+	public static final double EPSILON = 1e-9;
+
+	private final CompactGraph graph;
+	/**
+	 * Liczba wierzchołków.
+	 */
+	final int n;
+	/**
+	 * Wierzchołek końcowy każdego łuku (początkowy to <code>head[a^1]</code>).
+	 */
+	final int[] head;
+	/**
+	 * Przepustowość residualna każdego łuku.
+	 */
+	final double[] residual;
+	/**
+	 * Koszt jednostkowy każdego łuku.
+	 */
+	final double[] cost;
+	/**
+	 * Przesunięcia list łuków wychodzących (długość <i>n</i>+1).
+	 */
+	final int[] offsets;
+	/**
+	 * Numery łuków wychodzących z kolejnych wierzchołków.
+	 */
+	final int[] arcs;
+
+	/**
+	 * Tworzy sieć z zerowym przepływem. Przepustowość krawędzi to
+	 * {@link CompactGraph#getCapacity(int)}, a koszt {@link CompactGraph#getCost(int)}.
+	 *
+	 * @param graph graf
+	 */
+	public FlowNetwork(CompactGraph graph)
+	{
+		this.graph = graph;
+		n = graph.getVertexCount();
+		int m = graph.getEdgeCount();
+		head = new int[2 * m];
+		residual = new double[2 * m];
+		cost = new double[2 * m];
+		offsets = new int[n + 1];
+		arcs = new int[2 * m];
+		for (int e = 0; e < m; ++e)
+		{
+			head[2 * e] = graph.getEdgeTarget(e);
+			head[2 * e + 1] = graph.getEdgeSource(e);
+			cost[2 * e] = graph.getCost(e);
+			cost[2 * e + 1] = -graph.getCost(e);
+			++offsets[graph.getEdgeSource(e) + 1];
+			++offsets[graph.getEdgeTarget(e) + 1];
+		}
+		for (int v = 0; v < n; ++v)
+			offsets[v + 1] += offsets[v];
+		int[] position = new int[n];
+		System.arraycopy(offsets, 0, position, 0, n);
+		for (int a = 0; a < 2 * m; ++a)
+			arcs[position[head[a ^ 1]]++] = a;
+		reset();
+	}
+
+	/**
+	 * Tworzy kopię sieci z własną tablicą przepustowości residualnych.
+	 * Pozostałe (niezmienne) tablice są współdzielone, więc kopie mogą być
+	 * używane równolegle przez różne wątki.
+	 *
+	 * @param other kopiowana sieć
+	 */
+	public FlowNetwork(FlowNetwork other)
+	{
+		graph = other.graph;
+		n = other.n;
+		head = other.head;
+		cost = other.cost;
+		offsets = other.offsets;
+		arcs = other.arcs;
+		residual = other.residual.clone();
+	}
+
+	/**
+	 * Usuwa przepływ ze wszystkich krawędzi.
+	 */
+	public void reset()
+	{
+		for (int e = 0; e < graph.getEdgeCount(); ++e)
+		{
+			double capacity = graph.getCapacity(e);
+			residual[2 * e] = capacity;
+			residual[2 * e + 1] = graph.isDirected() ? 0.0 : capacity;
+		}
+	}
+
+	/**
+	 * @return graf, na podstawie którego utworzono sieć
+	 */
+	public CompactGraph getGraph()
+	{
+		return graph;
+	}
+
+	/**
+	 * @return liczba wierzchołków
+	 */
+	public int getVertexCount()
+	{
+		return n;
+	}
+
+	/**
+	 * @param arc numer łuku
+	 * @return wierzchołek początkowy łuku
+	 */
+	public int tail(int arc)
+	{
+		return head[arc ^ 1];
+	}
+
+	/**
+	 * Przesyła <code>delta</code> jednostek przepływu łukiem <code>arc</code>.
+	 *
+	 * @param arc numer łuku
+	 * @param delta wielkość przepływu
+	 */
+	public void push(int arc, double delta)
+	{
+		residual[arc] -= delta;
+		residual[arc ^ 1] += delta;
+	}
+
+	/**
+	 * @param edge numer krawędzi
+	 * @return przepływ zgodny z kierunkiem krawędzi (w sieci nieskierowanej
+	 * 			wartość ujemna oznacza przepływ w przeciwną stronę)
+	 */
+	public double getFlow(int edge)
+	{
+		return graph.getCapacity(edge) - residual[2 * edge];
+	}
+
+	/**
+	 * Wyznacza stronę źródła minimalnego przekroju, tj. wierzchołki osiągalne
+	 * ze źródła w sieci residualnej (po wyznaczeniu maksymalnego przepływu).
+	 *
+	 * @param source numer źródła
+	 * @return tablica z wartością <code>true</code> dla wierzchołków po stronie źródła
+	 */
+	public boolean[] findSourceSide(int source)
+	{
+		boolean[] side = new boolean[n];
+		int[] queue = new int[n];
+		int first = 0;
+		int last = 0;
+		side[source] = true;
+		queue[last++] = source;
+		while (first < last)
+		{
+			int u = queue[first++];
+			for (int i = offsets[u]; i < offsets[u + 1]; ++i)
+			{
+				int arc = arcs[i];
+				int v = head[arc];
+				if (!side[v] && residual[arc] > EPSILON)
+				{
+					side[v] = true;
+					queue[last++] = v;
+				}
+			}
+		}
+		return side;
+	}
+
+	/**
+	 * @return przepływ na wszystkich krawędziach indeksowany numerem krawędzi
+	 */
+	public double[] getFlows()
+	{
+		double[] flows = new double[graph.getEdgeCount()];
+		for (int e = 0; e < flows.length; ++e)
+			flows[e] = getFlow(e);
+		return flows;
+	}
+}
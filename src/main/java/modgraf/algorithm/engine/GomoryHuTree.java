@@ -0,0 +1,275 @@
+package modgraf.algorithm.engine;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import modgraf.jgrapht.CompactGraph;
+
+/**
+ * Drzewo Gomory'ego-Hu (drzewo przekrojów) wyznaczane algorytmem Gusfielda
+ * dla grafu nieskierowanego. <br>
+ * Algorytm wykonuje <i>n</i>-1 obliczeń maksymalnego przepływu
+ * ({@link DinicMaximumFlow}) między wierzchołkiem <i>s</i> a jego bieżącym
+ * rodzicem <code>p[s]</code>. Kolejne obliczenia są uruchamiane spekulatywnie
+ * w paczkach na puli wątków, każde na własnej kopii sieci residualnej.
+ * Wyniki są zatwierdzane w kolejności numerów wierzchołków; jeśli rodzic
+ * wierzchołka zmienił się w trakcie zatwierdzania wcześniejszych wyników,
+ * przepływ jest liczony ponownie. Dzięki temu wynik jest identyczny jak
+ * w wersji sekwencyjnej. <br>
+ * Po zatwierdzeniu przekroju <i>s</i>-<i>t</i> wierzchołek <i>s</i> może
+ * zamienić się miejscem z <i>t</i> (jeśli rodzic <i>t</i> leży po stronie
+ * <i>s</i>) - dzięki temu usunięcie dowolnej krawędzi drzewa dzieli
+ * wierzchołki na strony minimalnego przekroju między jej końcami, a nie
+ * tylko zachowuje wartości przepływów. Korzeniem drzewa jest wierzchołek 0.
+ * Minimalny przekrój dowolnej pary (najlżejsza krawędź na ścieżce
+ * w drzewie i poddrzewo pod nią) wyznacza się w czasie O(<i>n</i>) bez
+ * obliczania przepływu.
+ */
+public class GomoryHuTree
+{
+	private final FlowNetwork network;
+	private final int n;
+	private final int[] parent;
+	private final double[] cutValue;
+	private final int[] depth;
+	private final int[] childOffsets;
+	private final int[] children;
+
+	/**
+	 * @param graph graf nieskierowany o nieujemnych przepustowościach
+	 */
+	public GomoryHuTree(CompactGraph graph)
+	{
+		for (double capacity : graph.getCapacities())
+			if (capacity < 0)
+				throw new IllegalArgumentException(MaximumFlowEngine.NEGATIVE_CAPACITIES_MESSAGE);
+		network = new FlowNetwork(graph);
+		n = graph.getVertexCount();
+		parent = new int[n];
+		cutValue = new double[n];
+		depth = new int[n];
+		childOffsets = new int[n + 1];
+		children = new int[Math.max(0, n - 1)];
+	}
+
+	/**
+	 * Wyznacza drzewo.
+	 *
+	 * @param pool pula wątków
+	 */
+	public void compute(ForkJoinPool pool)
+	{
+		Arrays.fill(parent, 0);
+		Arrays.fill(cutValue, 0.0);
+		if (n == 0)
+			return;
+		parent[0] = -1;
+		int batchSize = Math.max(1, pool.getParallelism());
+		int s = 1;
+		while (s < n)
+		{
+			AlgorithmMonitor.checkpoint();
+			AlgorithmMonitor.reportProgress(s, n);
+			List<CutTask> batch = new ArrayList<>(batchSize);
+			for (int v = s; v < n && batch.size() < batchSize; ++v)
+				batch.add(new CutTask(v, parent[v]));
+			for (CutTask task : batch)
+				pool.execute(task);
+			for (CutTask task : batch)
+			{
+				Cut cut = task.join();
+				if (parent[task.vertex] != task.target)
+					cut = computeCut(task.vertex, parent[task.vertex]);
+				commit(task.vertex, cut);
+			}
+			s += batch.size();
+		}
+		indexTree();
+	}
+
+	private Cut computeCut(int vertex, int target)
+	{
+		FlowNetwork copy = new FlowNetwork(network);
+		double value = new DinicMaximumFlow(copy).calculateMaximumFlow(vertex, target);
+		AlgorithmMetrics.count(AlgorithmMetrics.MAXIMUM_FLOWS, 1);
+		return new Cut(value, copy.findSourceSide(vertex));
+	}
+
+	/**
+	 * Zatwierdza przekrój między <i>s</i> i jego rodzicem <i>t</i>
+	 * (krok algorytmu Gusfielda dla drzewa przekrojów).
+	 */
+	private void commit(int s, Cut cut)
+	{
+		int t = parent[s];
+		cutValue[s] = cut.value;
+		for (int v = 0; v < n; ++v)
+			if (v != s && cut.sourceSide[v] && parent[v] == t)
+				parent[v] = s;
+		if (parent[t] >= 0 && cut.sourceSide[parent[t]])
+		{
+			parent[s] = parent[t];
+			parent[t] = s;
+			cutValue[s] = cutValue[t];
+			cutValue[t] = cut.value;
+		}
+	}
+
+	/**
+	 * Wyznacza głębokości wierzchołków i listy dzieci (w postaci CSR).
+	 */
+	private void indexTree()
+	{
+		int[] order = new int[n];
+		Arrays.fill(childOffsets, 0);
+		for (int v = 1; v < n; ++v)
+			++childOffsets[parent[v] + 1];
+		for (int v = 0; v < n; ++v)
+			childOffsets[v + 1] += childOffsets[v];
+		int[] next = Arrays.copyOf(childOffsets, n);
+		for (int v = 1; v < n; ++v)
+			children[next[parent[v]]++] = v;
+		int last = 0;
+		order[last++] = 0;
+		depth[0] = 0;
+		for (int first = 0; first < last; ++first)
+		{
+			int v = order[first];
+			for (int i = childOffsets[v]; i < childOffsets[v + 1]; ++i)
+			{
+				depth[children[i]] = depth[v] + 1;
+				order[last++] = children[i];
+			}
+		}
+	}
+
+	/**
+	 * @param vertex numer wierzchołka
+	 * @return rodzic wierzchołka w drzewie (-1 dla korzenia)
+	 */
+	public int getParent(int vertex)
+	{
+		return parent[vertex];
+	}
+
+	/**
+	 * @param vertex numer wierzchołka (różny od korzenia)
+	 * @return waga krawędzi drzewa łączącej wierzchołek z rodzicem
+	 */
+	public double getCutValue(int vertex)
+	{
+		return cutValue[vertex];
+	}
+
+	/**
+	 * Wartość minimalnego przekroju to najmniejsza waga na ścieżce w drzewie.
+	 *
+	 * @param u numer pierwszego wierzchołka
+	 * @param v numer drugiego wierzchołka
+	 * @return wartość minimalnego przekroju rozdzielającego wierzchołki
+	 * 			(<code>Double.POSITIVE_INFINITY</code> dla <code>u == v</code>)
+	 */
+	public double getMinimumCut(int u, int v)
+	{
+		int vertex = getMinimumCutVertex(u, v);
+		return vertex >= 0 ? cutValue[vertex] : Double.POSITIVE_INFINITY;
+	}
+
+	/**
+	 * Wyszukuje najlżejszą krawędź na ścieżce w drzewie, przesuwając w górę
+	 * głębiej położony wierzchołek.
+	 *
+	 * @param u numer pierwszego wierzchołka
+	 * @param v numer drugiego wierzchołka
+	 * @return wierzchołek, którego krawędź do rodzica jest najlżejsza na
+	 * 			ścieżce między <code>u</code> i <code>v</code> (-1 dla
+	 * 			<code>u == v</code>)
+	 */
+	public int getMinimumCutVertex(int u, int v)
+	{
+		int lightest = -1;
+		while (u != v)
+		{
+			int w;
+			if (depth[u] >= depth[v])
+			{
+				w = u;
+				u = parent[u];
+			}
+			else
+			{
+				w = v;
+				v = parent[v];
+			}
+			if (lightest < 0 || cutValue[w] < cutValue[lightest])
+				lightest = w;
+		}
+		return lightest;
+	}
+
+	/**
+	 * Jedna ze stron minimalnego przekroju między wierzchołkiem a jego
+	 * rodzicem - poddrzewo wierzchołka.
+	 *
+	 * @param vertex numer wierzchołka (różny od korzenia)
+	 * @return <code>true</code> dla wierzchołków poddrzewa
+	 */
+	public boolean[] getSubtree(int vertex)
+	{
+		boolean[] subtree = new boolean[n];
+		int[] stack = new int[n];
+		int size = 0;
+		stack[size++] = vertex;
+		subtree[vertex] = true;
+		while (size > 0)
+		{
+			int v = stack[--size];
+			for (int i = childOffsets[v]; i < childOffsets[v + 1]; ++i)
+			{
+				subtree[children[i]] = true;
+				stack[size++] = children[i];
+			}
+		}
+		return subtree;
+	}
+
+	/**
+	 * Minimalny przekrój między wierzchołkiem a jego rodzicem.
+	 */
+	private static class Cut
+	{
+		final double value;
+		final boolean[] sourceSide;
+
+		Cut(double value, boolean[] sourceSide)
+		{
+			this.value = value;
+			this.sourceSide = sourceSide;
+		}
+	}
+
+	/**
+	 * Zadanie wyznaczające przekrój dla ustalonej (spekulatywnie) pary.
+	 */
+	private class CutTask extends RecursiveTask<Cut>
+	{
+		private static final long serialVersionUID = -6069829162740651224L;
+		final int vertex;
+		final int target;
+
+		CutTask(int vertex, int target)
+		{
+			this.vertex = vertex;
+			this.target = target;
+		}
+
+		@Override
+		protected Cut compute()
+		{
+			return computeCut(vertex, target);
+		}
+	}
+}
@@ -0,0 +1,30 @@
+package modgraf.algorithm.engine;
+
+import modgraf.jgrapht.CompactGraph;
+
+/**
+ * Zachłanne kolorowanie krawędzi - każda krawędź otrzymuje najmniejszy
+ * kolor wolny przy obu jej końcach. Działa dla dowolnych multigrafów
+ * (także z pętlami) i używa co najwyżej 2Δ - 1 kolorów.
+ */
+public class GreedyEdgeColoring extends EdgeColoringEngine
+{
+	/**
+	 * @param graph graf do pokolorowania
+	 */
+	public GreedyEdgeColoring(CompactGraph graph)
+	{
+		super(graph, Math.max(1, 2 * findMaxDegree(graph) - 1));
+	}
+
+	@Override
+	protected void colorEdge(int edge)
+	{
+		int u = graph.getEdgeSource(edge);
+		int v = graph.getEdgeTarget(edge);
+		int c = 0;
+		while (!isFree(u, c) || !isFree(v, c))
+			++c;
+		setColor(edge, c);
+	}
+}
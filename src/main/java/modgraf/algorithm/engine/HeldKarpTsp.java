@@ -0,0 +1,267 @@
+package modgraf.algorithm.engine;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import modgraf.jgrapht.CompactGraph;
+
+/**
+ * Dokładny algorytm Helda-Karpa dla problemu komiwojażera (programowanie
+ * dynamiczne po podzbiorach wierzchołków) w czasie
+ * O(<i>n</i><sup>2</sup>·2<sup><i>n</i></sup>). <br>
+ * Trasa zaczyna się w wierzchołku 0, a pozostałe wierzchołki są bitami
+ * maski <code>int</code>. Wartość <code>D(S, j)</code> - długość najkrótszej
+ * ścieżki z 0 przez wszystkie wierzchołki zbioru <i>S</i> kończącej się
+ * w <i>j</i> - zależy tylko od zbiorów o jeden element mniejszych, dlatego
+ * tablica jest liczona warstwami według liczności zbioru, a w pamięci są
+ * tylko dwie kolejne warstwy wartości. Zbiory w warstwie są numerowane
+ * rangą w porządku koleksykograficznym (system kombinatoryczny), więc
+ * warstwa jest płaską tablicą <code>double</code> bez pustych miejsc.
+ * Do odtworzenia trasy dla każdej pary (<i>S</i>, <i>j</i>) zapamiętywany
+ * jest poprzednik w tablicy <code>byte</code>. Dla 25 wierzchołków daje to
+ * około 200 MB poprzedników i 500 MB na dwie największe warstwy. <br>
+ * Zbiory jednej warstwy są przetwarzane równolegle w zadaniach puli
+ * fork-join obejmujących przedziały rang.
+ */
+public class HeldKarpTsp
+{
+	/**
+	 * Największa obsługiwana liczba wierzchołków.
+	 */
+	public static final int MAX_VERTICES = 25;
+	private static final int SEQUENTIAL_THRESHOLD = 512;
+
+	private final int n;
+	private final int m;
+	private final double[] distance;
+	private final int[][] binomial;
+	private byte[][] parent;
+	private double[] previousLayer;
+	private double[] currentLayer;
+	private int[] tour;
+	private double tourLength;
+
+	/**
+	 * @param graph graf nieskierowany o co najwyżej {@value #MAX_VERTICES}
+	 * 			wierzchołkach
+	 */
+	public HeldKarpTsp(CompactGraph graph)
+	{
+		n = graph.getVertexCount();
+		if (n > MAX_VERTICES)
+			throw new IllegalArgumentException("more than " + MAX_VERTICES + " vertices");
+		m = Math.max(0, n - 1);
+		distance = new double[n * n];
+		Arrays.fill(distance, Double.POSITIVE_INFINITY);
+		for (int e = 0; e < graph.getEdgeCount(); ++e)
+		{
+			int u = graph.getEdgeSource(e);
+			int v = graph.getEdgeTarget(e);
+			double w = graph.getWeight(e);
+			if (u != v && w < distance[u * n + v])
+				distance[u * n + v] = distance[v * n + u] = w;
+		}
+		binomial = new int[m + 1][m + 2];
+		for (int p = 0; p <= m; ++p)
+		{
+			binomial[p][0] = 1;
+			for (int i = 1; i <= p; ++i)
+				binomial[p][i] = binomial[p - 1][i - 1] + (i <= p - 1 ? binomial[p - 1][i] : 0);
+		}
+	}
+
+	private double d(int a, int b)
+	{
+		return distance[a * n + b];
+	}
+
+	/**
+	 * Wyznacza najkrótszy cykl Hamiltona.
+	 *
+	 * @param pool pula wątków
+	 * @return <code>false</code> jeśli graf nie ma cyklu Hamiltona
+	 */
+	public boolean calculateTour(ForkJoinPool pool)
+	{
+		tour = null;
+		tourLength = Double.POSITIVE_INFINITY;
+		if (n < 3)
+			return false;
+		parent = new byte[m + 1][];
+		currentLayer = new double[m];
+		for (int j = 0; j < m; ++j)
+			currentLayer[j] = d(0, j + 1);
+		long totalWork = (long) m << (m - 1);
+		long doneWork = m;
+		for (int k = 2; k <= m; ++k)
+		{
+			AlgorithmMonitor.reportProgress(doneWork, totalWork);
+			previousLayer = currentLayer;
+			int count = binomial[m][k];
+			currentLayer = new double[count * k];
+			parent[k] = new byte[count * k];
+			pool.invoke(new LayerTask(k, 0, count));
+			doneWork += (long) count * k;
+		}
+		int last = -1;
+		for (int t = 0; t < m; ++t)
+		{
+			double length = currentLayer[t] + d(t + 1, 0);
+			if (length < tourLength)
+			{
+				tourLength = length;
+				last = t;
+			}
+		}
+		if (last >= 0)
+			tour = traceTour(last);
+		previousLayer = currentLayer = null;
+		parent = null;
+		return tour != null;
+	}
+
+	/**
+	 * Odtwarza trasę od ostatniego wierzchołka pełnego zbioru wstecz
+	 * po zapamiętanych poprzednikach.
+	 *
+	 * @param lastIndex pozycja ostatniego wierzchołka w pełnym zbiorze
+	 */
+	private int[] traceTour(int lastIndex)
+	{
+		int[] result = new int[n];
+		int set = (1 << m) - 1;
+		int vertex = lastIndex;
+		for (int k = m; k >= 1; --k)
+		{
+			result[k] = vertex + 1;
+			if (k == 1)
+				break;
+			int predecessor = parent[k][rank(set) * k + Integer.bitCount(set & ((1 << vertex) - 1))] - 1;
+			set &= ~(1 << vertex);
+			vertex = predecessor;
+		}
+		result[0] = 0;
+		return result;
+	}
+
+	/**
+	 * @return ranga zbioru w porządku koleksykograficznym wśród zbiorów
+	 * 			tej samej liczności
+	 */
+	private int rank(int set)
+	{
+		int result = 0;
+		int i = 0;
+		for (int bits = set; bits != 0; bits &= bits - 1)
+			result += binomial[Integer.numberOfTrailingZeros(bits)][++i];
+		return result;
+	}
+
+	/**
+	 * @return zbiór o podanej liczności i randze
+	 */
+	private int unrank(int rank, int k)
+	{
+		int set = 0;
+		for (int i = k; i >= 1; --i)
+		{
+			int p = i - 1;
+			while (p + 1 < m && binomial[p + 1][i] <= rank)
+				++p;
+			set |= 1 << p;
+			rank -= binomial[p][i];
+		}
+		return set;
+	}
+
+	/**
+	 * @return kolejne wierzchołki najkrótszego cyklu (zaczynając od 0)
+	 * 			lub <code>null</code> jeśli cykl nie istnieje
+	 */
+	public int[] getTour()
+	{
+		return tour;
+	}
+
+	/**
+	 * @return długość najkrótszego cyklu
+	 */
+	public double getTourLength()
+	{
+		return tourLength;
+	}
+
+	/**
+	 * Liczy wartości dla zbiorów liczności <code>k</code> o rangach
+	 * z przedziału <code>[from, to)</code>. Kolejne zbiory w porządku
+	 * koleksykograficznym wyznacza sztuczka Gospera.
+	 */
+	private final class LayerTask extends RecursiveAction
+	{
+		private static final long serialVersionUID = 1L;
+
+		private final int k;
+		private final int from;
+		private final int to;
+
+		private LayerTask(int k, int from, int to)
+		{
+			this.k = k;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected void compute()
+		{
+			if (to - from > SEQUENTIAL_THRESHOLD)
+			{
+				int middle = (from + to) >>> 1;
+				invokeAll(new LayerTask(k, from, middle), new LayerTask(k, middle, to));
+				return;
+			}
+			AlgorithmMonitor.checkpoint();
+			int[] bit = new int[k];
+			int[] low = new int[k + 1];
+			int[] high = new int[k + 2];
+			byte[] layerParent = parent[k];
+			int set = unrank(from, k);
+			for (int r = from; r < to; ++r)
+			{
+				int t = 0;
+				for (int bits = set; bits != 0; bits &= bits - 1)
+					bit[t++] = Integer.numberOfTrailingZeros(bits);
+				for (t = 0; t < k; ++t)
+					low[t + 1] = low[t] + binomial[bit[t]][t + 1];
+				high[k] = 0;
+				for (t = k - 1; t >= 0; --t)
+					high[t] = high[t + 1] + binomial[bit[t]][t];
+				for (t = 0; t < k; ++t)
+				{
+					int base = (low[t] + high[t + 1]) * (k - 1);
+					int j = bit[t] + 1;
+					double best = Double.POSITIVE_INFINITY;
+					int bestVertex = 0;
+					for (int u = 0; u < k; ++u)
+					{
+						if (u == t)
+							continue;
+						int i = bit[u] + 1;
+						double candidate = previousLayer[base + (u < t ? u : u - 1)] + d(i, j);
+						if (candidate < best)
+						{
+							best = candidate;
+							bestVertex = i;
+						}
+					}
+					currentLayer[r * k + t] = best;
+					layerParent[r * k + t] = (byte) bestVertex;
+				}
+				int c = set & -set;
+				int s = set + c;
+				set = s | (((set ^ s) >>> 2) / c);
+			}
+		}
+	}
+}
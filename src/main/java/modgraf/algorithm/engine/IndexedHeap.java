@@ -0,0 +1,238 @@
+package modgraf.algorithm.engine;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Indeksowany kopiec <i>d</i>-arny (typu min) przechowujący liczby całkowite
+ * z zakresu <code>[0, capacity)</code> - zwykle numery wierzchołków
+ * z {@link modgraf.jgrapht.CompactGraph} - z kluczami typu <code>double</code>. <br>
+ * Pozycja każdego elementu w kopcu jest pamiętana w tablicy, dzięki czemu
+ * operacje {@link #contains(int)} i {@link #getKey(int)} działają w czasie
+ * stałym, a {@link #decreaseKey(int, double)} i {@link #changeKey(int, double)}
+ * w czasie O(log <i>n</i>).
+ * Kopiec nie tworzy żadnych obiektów w trakcie działania.
+ */
+public class IndexedHeap
+{
+	/**
+	 * Domyślna arność kopca.
+	 */
+	public static final int DEFAULT_ARITY = 4;
+
+	private final int arity;
+	private final int[] heap;
+	private final int[] position;
+	private final double[] keys;
+	private int size;
+
+	/**
+	 * Tworzy pusty kopiec 4-arny.
+	 *
+	 * @param capacity liczba możliwych elementów
+	 */
+	public IndexedHeap(int capacity)
+	{
+		this(capacity, DEFAULT_ARITY);
+	}
+
+	/**
+	 * Tworzy pusty kopiec o podanej arności.
+	 *
+	 * @param capacity liczba możliwych elementów
+	 * @param arity liczba dzieci każdego węzła (co najmniej 2)
+	 */
+	public IndexedHeap(int capacity, int arity)
+	{
+		if (arity < 2)
+			throw new IllegalArgumentException("arity < 2");
+		this.arity = arity;
+		heap = new int[capacity];
+		position = new int[capacity];
+		keys = new double[capacity];
+		Arrays.fill(position, -1);
+	}
+
+	/**
+	 * @return liczba elementów w kopcu
+	 */
+	public int size()
+	{
+		return size;
+	}
+
+	/**
+	 * @return <code>true</code> jeśli kopiec jest pusty
+	 */
+	public boolean isEmpty()
+	{
+		return size == 0;
+	}
+
+	/**
+	 * @param element element
+	 * @return <code>true</code> jeśli element znajduje się w kopcu
+	 */
+	public boolean contains(int element)
+	{
+		return position[element] >= 0;
+	}
+
+	/**
+	 * @param element element znajdujący się w kopcu
+	 * @return aktualny klucz elementu
+	 */
+	public double getKey(int element)
+	{
+		return keys[element];
+	}
+
+	/**
+	 * Dodaje element do kopca.
+	 *
+	 * @param element element, którego nie ma w kopcu
+	 * @param key klucz
+	 */
+	public void insert(int element, double key)
+	{
+		if (contains(element))
+			throw new IllegalStateException("element " + element + " already in heap");
+		keys[element] = key;
+		heap[size] = element;
+		position[element] = size;
+		siftUp(size++);
+	}
+
+	/**
+	 * Zmniejsza klucz elementu znajdującego się w kopcu.
+	 *
+	 * @param element element
+	 * @param key nowy klucz, nie większy od aktualnego
+	 */
+	public void decreaseKey(int element, double key)
+	{
+		if (key > keys[element])
+			throw new IllegalArgumentException("key increased");
+		keys[element] = key;
+		siftUp(position[element]);
+	}
+
+	/**
+	 * Zmienia klucz elementu znajdującego się w kopcu (w dowolną stronę).
+	 *
+	 * @param element element
+	 * @param key nowy klucz
+	 */
+	public void changeKey(int element, double key)
+	{
+		double old = keys[element];
+		keys[element] = key;
+		if (key < old)
+			siftUp(position[element]);
+		else if (key > old)
+			siftDown(position[element]);
+	}
+
+	/**
+	 * Dodaje element do kopca lub zmniejsza jego klucz, jeśli już w nim jest.
+	 *
+	 * @param element element
+	 * @param key klucz
+	 */
+	public void insertOrDecrease(int element, double key)
+	{
+		if (contains(element))
+			decreaseKey(element, key);
+		else
+			insert(element, key);
+	}
+
+	/**
+	 * @return element o najmniejszym kluczu (bez usuwania go z kopca)
+	 */
+	public int peek()
+	{
+		if (size == 0)
+			throw new NoSuchElementException();
+		return heap[0];
+	}
+
+	/**
+	 * Usuwa z kopca element o najmniejszym kluczu.
+	 *
+	 * @return usunięty element
+	 */
+	public int poll()
+	{
+		if (size == 0)
+			throw new NoSuchElementException();
+		int min = heap[0];
+		position[min] = -1;
+		if (--size > 0)
+		{
+			heap[0] = heap[size];
+			position[heap[0]] = 0;
+			siftDown(0);
+		}
+		return min;
+	}
+
+	/**
+	 * Usuwa wszystkie elementy z kopca.
+	 */
+	public void clear()
+	{
+		for (int i = 0; i < size; ++i)
+			position[heap[i]] = -1;
+		size = 0;
+	}
+
+	private void siftUp(int index)
+	{
+		int element = heap[index];
+		double key = keys[element];
+		while (index > 0)
+		{
+			int parent = (index - 1) / arity;
+			int parentElement = heap[parent];
+			if (keys[parentElement] <= key)
+				break;
+			heap[index] = parentElement;
+			position[parentElement] = index;
+			index = parent;
+		}
+		heap[index] = element;
+		position[element] = index;
+	}
+
+	private void siftDown(int index)
+	{
+		int element = heap[index];
+		double key = keys[element];
+		while (true)
+		{
+			int firstChild = index * arity + 1;
+			if (firstChild >= size)
+				break;
+			int lastChild = Math.min(firstChild + arity, size);
+			int minChild = firstChild;
+			double minKey = keys[heap[firstChild]];
+			for (int child = firstChild + 1; child < lastChild; ++child)
+			{
+				double childKey = keys[heap[child]];
+				if (childKey < minKey)
+				{
+					minChild = child;
+					minKey = childKey;
+				}
+			}
+			if (minKey >= key)
+				break;
+			heap[index] = heap[minChild];
+			position[heap[index]] = index;
+			index = minChild;
+		}
+		heap[index] = element;
+		position[element] = index;
+	}
+}
@@ -0,0 +1,40 @@
+package modgraf.algorithm.engine;
+
+import modgraf.jgrapht.CompactGraph;
+
+/**
+ * Dokładne kolorowanie krawędzi grafu dwudzielnego Δ kolorami
+ * (twierdzenie Kőniga), także dla multigrafów. <br>
+ * Jeśli przy końcach kolorowanej krawędzi <i>uv</i> nie ma wspólnego wolnego
+ * koloru, to dla koloru <i>a</i> wolnego przy <i>u</i> i koloru <i>b</i>
+ * wolnego przy <i>v</i> zamieniane są kolory na ścieżce naprzemiennej
+ * <i>ab</i> zaczynającej się w <i>v</i>. W grafie dwudzielnym ścieżka ta nie
+ * może dojść do <i>u</i>, więc po zamianie kolor <i>a</i> jest wolny przy
+ * obu końcach krawędzi. Czas działania to O(<i>E</i>·(<i>V</i> + Δ)).
+ */
+public class KonigEdgeColoring extends EdgeColoringEngine
+{
+	private final int[] path;
+
+	/**
+	 * @param graph graf dwudzielny
+	 */
+	public KonigEdgeColoring(CompactGraph graph)
+	{
+		super(graph, findMaxDegree(graph));
+		if (!new Bipartition(graph).isBipartite())
+			throw new IllegalArgumentException("graph is not bipartite");
+		path = new int[graph.getEdgeCount()];
+	}
+
+	@Override
+	protected void colorEdge(int edge)
+	{
+		int u = graph.getEdgeSource(edge);
+		int v = graph.getEdgeTarget(edge);
+		int a = findFreeColor(u);
+		if (!isFree(v, a))
+			invertPath(v, a, findFreeColor(v), path);
+		setColor(edge, a);
+	}
+}
@@ -0,0 +1,120 @@
+package modgraf.algorithm.engine;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import modgraf.jgrapht.CompactGraph;
+
+/**
+ * Algorytm Kruskala na tablicach typów prostych. <br>
+ * Numery krawędzi są sortowane według wagi równoległym sortowaniem przez
+ * scalanie (zadania puli fork-join), a następnie krawędzie są kolejno
+ * dołączane do lasu za pomocą struktury {@link ConcurrentUnionFind}.
+ */
+public class KruskalSpanningForest extends SpanningForestEngine
+{
+	/**
+	 * Rozmiar przedziału, poniżej którego sortowanie jest sekwencyjne.
+	 */
+	private static final int SEQUENTIAL_THRESHOLD = 8192;
+
+	/**
+	 * @param graph graf nieskierowany
+	 */
+	public KruskalSpanningForest(CompactGraph graph)
+	{
+		super(graph);
+	}
+
+	@Override
+	public void calculateSpanningForest(ForkJoinPool pool)
+	{
+		int m = graph.getEdgeCount();
+		int[] order = new int[m];
+		for (int e = 0; e < m; ++e)
+			order[e] = e;
+		pool.invoke(new SortTask(order, new int[m], 0, m));
+		ConcurrentUnionFind components = new ConcurrentUnionFind(graph.getVertexCount());
+		int remaining = graph.getVertexCount() - 1;
+		for (int i = 0; i < m && remaining > 0; ++i)
+		{
+			int e = order[i];
+			if (components.union(graph.getEdgeSource(e), graph.getEdgeTarget(e)))
+			{
+				inForest[e] = true;
+				--remaining;
+			}
+		}
+	}
+
+	/**
+	 * Sortuje przedział tablicy numerów krawędzi w porządku (waga, numer).
+	 * Tablica <code>buffer</code> służy do scalania.
+	 */
+	private final class SortTask extends RecursiveAction
+	{
+		private static final long serialVersionUID = 1L;
+
+		private final int[] order;
+		private final int[] buffer;
+		private final int from;
+		private final int to;
+
+		private SortTask(int[] order, int[] buffer, int from, int to)
+		{
+			this.order = order;
+			this.buffer = buffer;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected void compute()
+		{
+			if (to - from <= SEQUENTIAL_THRESHOLD)
+			{
+				sort(from, to);
+				return;
+			}
+			int middle = (from + to) >>> 1;
+			invokeAll(new SortTask(order, buffer, from, middle), new SortTask(order, buffer, middle, to));
+			merge(from, middle, to);
+		}
+
+		private void sort(int low, int high)
+		{
+			if (high - low <= 16)
+			{
+				for (int i = low + 1; i < high; ++i)
+				{
+					int e = order[i];
+					int j = i;
+					for (; j > low && lighter(e, order[j - 1]); --j)
+						order[j] = order[j - 1];
+					order[j] = e;
+				}
+				return;
+			}
+			int middle = (low + high) >>> 1;
+			sort(low, middle);
+			sort(middle, high);
+			merge(low, middle, high);
+		}
+
+		private void merge(int low, int middle, int high)
+		{
+			if (!lighter(order[middle], order[middle - 1]))
+				return;
+			System.arraycopy(order, low, buffer, low, high - low);
+			int i = low;
+			int j = middle;
+			for (int k = low; k < high; ++k)
+			{
+				if (j >= high || (i < middle && !lighter(buffer[j], buffer[i])))
+					order[k] = buffer[i++];
+				else
+					order[k] = buffer[j++];
+			}
+		}
+	}
+}
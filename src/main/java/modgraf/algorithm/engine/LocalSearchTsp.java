@@ -0,0 +1,748 @@
+package modgraf.algorithm.engine;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.TimeUnit;
+
+import modgraf.jgrapht.CompactGraph;
+
+/**
+ * Heurystyka problemu komiwojażera: wielostartowe przeszukiwanie lokalne
+ * ruchami 2-opt i Or-opt. <br>
+ * Trasy początkowe są budowane metodą najbliższego sąsiada, zachłannie
+ * według długości krawędzi oraz z podwójnego minimalnego drzewa
+ * rozpinającego (jak w {@link org.jgrapht.alg.HamiltonianCycle}); dodatkowe
+ * starty to trasy najbliższego sąsiada z losowych wierzchołków. Każda trasa
+ * jest poprawiana niezależnie w zadaniu puli fork-join, a wynikiem jest
+ * najkrótsza z nich. <br>
+ * Ruchy są szukane tylko wśród {@value #NEIGHBOURS} najbliższych sąsiadów
+ * każdego wierzchołka, a wierzchołki, wokół których nie znaleziono poprawy,
+ * są pomijane do czasu zmiany sąsiedniej krawędzi trasy (bity "don't look"
+ * realizowane kolejką aktywnych wierzchołków). Po przekroczeniu limitu czasu
+ * przeszukiwanie jest przerywane i zwracana jest najlepsza dotąd trasa. <br>
+ * Odległości nie są zapamiętywane w macierzy: listy sąsiedztwa grafu są
+ * kopiowane w kolejności numerów sąsiadów, a odległość jest odczytywana
+ * na żądanie wyszukiwaniem binarnym (odległości do najbliższych sąsiadów
+ * są zapamiętane obok list), więc pamięć rośnie jak
+ * O(<i>m</i> + <i>n</i>·{@value #NEIGHBOURS}), a nie O(<i>n</i><sup>2</sup>).
+ * Z tych samych list budowane są listy najbliższych sąsiadów i drzewo
+ * rozpinające. Brakujące krawędzie otrzymują długość większą od długości
+ * dowolnej trasy złożonej z krawędzi grafu, więc trasa korzysta z nich
+ * tylko wtedy, gdy nie znaleziono innej (sprawdza to metoda
+ * {@link #usesMissingEdges()}).
+ */
+public class LocalSearchTsp
+{
+	/**
+	 * Długość list najbliższych sąsiadów.
+	 */
+	public static final int NEIGHBOURS = 10;
+	/**
+	 * Minimalna liczba tras początkowych.
+	 */
+	private static final int MIN_STARTS = 4;
+	/**
+	 * Maksymalna długość fragmentu przenoszonego ruchem Or-opt.
+	 */
+	private static final int MAX_SEGMENT = 3;
+	private static final double EPSILON = 1e-9;
+	private static final int SEQUENTIAL_THRESHOLD = 256;
+
+	private final int n;
+	private final int[] offsets;
+	private final int[] adjacent;
+	private final double[] adjacentDistance;
+	private final double penalty;
+	private int[][] neighbours;
+	private double[][] neighbourDistance;
+	private long deadline;
+	private int[] bestTour;
+	private double bestLength;
+
+	/**
+	 * @param graph graf nieskierowany
+	 */
+	public LocalSearchTsp(CompactGraph graph)
+	{
+		n = graph.getVertexCount();
+		offsets = graph.getOutOffsets();
+		int[] targets = graph.getOutTargets();
+		int[] edges = graph.getOutEdges();
+		adjacent = new int[targets.length];
+		adjacentDistance = new double[targets.length];
+		double total = 0.0;
+		for (int e = 0; e < graph.getEdgeCount(); ++e)
+			total += Math.abs(graph.getWeight(e));
+		penalty = 2 * total + 1;
+		// sąsiedzi wierzchołka v trafiają na jego listę w kolejności numerów,
+		// bo listy grafu nieskierowanego są symetryczne
+		int[] fill = Arrays.copyOf(offsets, n);
+		for (int u = 0; u < n; ++u)
+			for (int arc = offsets[u]; arc < offsets[u + 1]; ++arc)
+			{
+				int v = targets[arc];
+				adjacent[fill[v]] = u;
+				adjacentDistance[fill[v]++] = graph.getWeight(edges[arc]);
+			}
+		// krawędzie wielokrotne - najkrótsza z nich
+		for (int v = 0; v < n; ++v)
+			for (int i = offsets[v] + 1; i < offsets[v + 1]; ++i)
+				if (adjacent[i] == adjacent[i - 1])
+				{
+					int first = i - 1;
+					while (first > offsets[v] && adjacent[first - 1] == adjacent[i])
+						--first;
+					double min = Math.min(adjacentDistance[first], adjacentDistance[i]);
+					for (int j = first; j <= i; ++j)
+						adjacentDistance[j] = min;
+				}
+	}
+
+	/**
+	 * @return pozycja <code>b</code> na liście sąsiedztwa <code>a</code>
+	 * 			lub -1, jeśli wierzchołki nie są połączone
+	 */
+	private int findArc(int a, int b)
+	{
+		int low = offsets[a];
+		int high = offsets[a + 1] - 1;
+		while (low <= high)
+		{
+			int middle = (low + high) >>> 1;
+			if (adjacent[middle] < b)
+				low = middle + 1;
+			else if (adjacent[middle] > b)
+				high = middle - 1;
+			else
+				return middle;
+		}
+		return -1;
+	}
+
+	private double d(int a, int b)
+	{
+		if (a == b)
+			return 0.0;
+		int arc = findArc(a, b);
+		return arc >= 0 ? adjacentDistance[arc] : penalty;
+	}
+
+	/**
+	 * Wyznacza trasę.
+	 *
+	 * @param pool pula wątków
+	 * @param timeBudgetMillis limit czasu w milisekundach
+	 */
+	public void calculateTour(ForkJoinPool pool, long timeBudgetMillis)
+	{
+		deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeBudgetMillis);
+		bestTour = new int[n];
+		for (int v = 0; v < n; ++v)
+			bestTour[v] = v;
+		bestLength = length(bestTour);
+		if (n < 4)
+			return;
+		neighbours = new int[n][];
+		neighbourDistance = new double[n][];
+		pool.invoke(new NeighbourTask(0, n));
+		int starts = Math.max(MIN_STARTS, pool.getParallelism());
+		List<StartTask> tasks = new ArrayList<>(starts);
+		for (int i = 0; i < starts; ++i)
+			tasks.add(new StartTask(i));
+		for (StartTask task : tasks)
+			pool.execute(task);
+		for (StartTask task : tasks)
+		{
+			int[] tour = task.join();
+			double tourLength = length(tour);
+			if (tourLength < bestLength)
+			{
+				bestTour = tour;
+				bestLength = tourLength;
+			}
+		}
+	}
+
+	/**
+	 * @return kolejne wierzchołki najlepszej znalezionej trasy
+	 */
+	public int[] getTour()
+	{
+		return bestTour;
+	}
+
+	/**
+	 * @return długość najlepszej znalezionej trasy
+	 */
+	public double getTourLength()
+	{
+		return bestLength;
+	}
+
+	/**
+	 * @return <code>true</code> jeśli trasa przechodzi między wierzchołkami,
+	 * 			które nie są połączone krawędzią
+	 */
+	public boolean usesMissingEdges()
+	{
+		for (int i = 0; i < n; ++i)
+		{
+			int u = bestTour[i];
+			int v = bestTour[(i + 1) % n];
+			if (u != v && findArc(u, v) < 0)
+				return true;
+		}
+		return false;
+	}
+
+	private double length(int[] tour)
+	{
+		double total = 0.0;
+		for (int i = 0; i < tour.length; ++i)
+			total += d(tour[i], tour[(i + 1) % tour.length]);
+		return total;
+	}
+
+	/**
+	 * Trasa najbliższego sąsiada. Najbliższy nieodwiedzony wierzchołek jest
+	 * szukany najpierw na liście najbliższych sąsiadów, potem na całej
+	 * liście sąsiedztwa, a gdy wszyscy sąsiedzi są odwiedzeni - jest to
+	 * nieodwiedzony wierzchołek o najmniejszym numerze.
+	 */
+	private int[] buildNearestNeighbourTour(int start)
+	{
+		int[] tour = new int[n];
+		boolean[] visited = new boolean[n];
+		tour[0] = start;
+		visited[start] = true;
+		int firstUnvisited = 0;
+		for (int k = 1; k < n; ++k)
+		{
+			int current = tour[k - 1];
+			int next = -1;
+			for (int v : neighbours[current])
+				if (!visited[v])
+				{
+					next = v;
+					break;
+				}
+			if (next < 0)
+				next = findNearest(current, visited, null);
+			if (next < 0)
+			{
+				while (visited[firstUnvisited])
+					++firstUnvisited;
+				next = firstUnvisited;
+			}
+			tour[k] = next;
+			visited[next] = true;
+		}
+		return tour;
+	}
+
+	/**
+	 * Wyszukuje na liście sąsiedztwa najbliższy nieodwiedzony wierzchołek
+	 * (opcjonalnie tylko spośród wierzchołków o stopniu mniejszym niż 2).
+	 *
+	 * @return numer wierzchołka lub -1, jeśli wszyscy sąsiedzi są odwiedzeni
+	 */
+	private int findNearest(int current, boolean[] visited, int[] degree)
+	{
+		int next = -1;
+		double nextDistance = 0.0;
+		for (int i = offsets[current]; i < offsets[current + 1]; ++i)
+		{
+			int v = adjacent[i];
+			if (v != current && !visited[v] && (degree == null || degree[v] < 2)
+					&& (next < 0 || adjacentDistance[i] < nextDistance))
+			{
+				next = v;
+				nextDistance = adjacentDistance[i];
+			}
+		}
+		return next;
+	}
+
+	/**
+	 * Trasa zachłanna: krawędzie z list sąsiadów są dołączane od najkrótszej,
+	 * o ile nie tworzą cyklu ani wierzchołka stopnia 3. Powstałe ścieżki są
+	 * łączone metodą najbliższego sąsiada względem ich końców.
+	 */
+	private int[] buildGreedyTour()
+	{
+		final List<int[]> candidates = new ArrayList<>();
+		for (int u = 0; u < n; ++u)
+			for (int i = 0; i < neighbours[u].length; ++i)
+			{
+				int v = neighbours[u][i];
+				if (u < v || !contains(neighbours[v], u))
+					candidates.add(new int[] {u, i});
+			}
+		int[][] sorted = candidates.toArray(new int[candidates.size()][]);
+		Arrays.sort(sorted, new Comparator<int[]>()
+		{
+			@Override
+			public int compare(int[] a, int[] b)
+			{
+				return Double.compare(neighbourDistance[a[0]][a[1]], neighbourDistance[b[0]][b[1]]);
+			}
+		});
+		int[] adjacent = new int[2 * n];
+		int[] degree = new int[n];
+		Arrays.fill(adjacent, -1);
+		ConcurrentUnionFind fragments = new ConcurrentUnionFind(n);
+		for (int[] edge : sorted)
+		{
+			int u = edge[0];
+			int v = neighbours[u][edge[1]];
+			if (degree[u] < 2 && degree[v] < 2 && fragments.union(u, v))
+			{
+				adjacent[2 * u + degree[u]++] = v;
+				adjacent[2 * v + degree[v]++] = u;
+			}
+		}
+		int[] tour = new int[n];
+		boolean[] visited = new boolean[n];
+		int size = 0;
+		int end = -1;
+		int firstEnd = 0;
+		while (size < n)
+		{
+			int start = end >= 0 ? findNearest(end, visited, degree) : -1;
+			if (start < 0)
+			{
+				while (visited[firstEnd] || degree[firstEnd] == 2)
+					++firstEnd;
+				start = firstEnd;
+			}
+			int previous = -1;
+			int current = start;
+			while (current >= 0)
+			{
+				tour[size++] = current;
+				visited[current] = true;
+				int next = adjacent[2 * current] != previous ? adjacent[2 * current] : adjacent[2 * current + 1];
+				previous = current;
+				current = next >= 0 && !visited[next] ? next : -1;
+			}
+			end = previous;
+		}
+		return tour;
+	}
+
+	private static boolean contains(int[] array, int value)
+	{
+		for (int x : array)
+			if (x == value)
+				return true;
+		return false;
+	}
+
+	/**
+	 * Trasa z podwójnego drzewa: wierzchołki w kolejności preorder
+	 * minimalnego drzewa rozpinającego (algorytm Prima na listach
+	 * sąsiedztwa z kopcem {@link IndexedHeap}). Składowe niepołączone
+	 * krawędziami są dołączane do korzenia.
+	 */
+	private int[] buildDoubleTreeTour()
+	{
+		int[] parent = new int[n];
+		boolean[] inTree = new boolean[n];
+		IndexedHeap heap = new IndexedHeap(n);
+		int[] childCount = new int[n + 1];
+		int nextRoot = 0;
+		for (int k = 0; k < n; ++k)
+		{
+			int u;
+			if (heap.isEmpty())
+			{
+				while (inTree[nextRoot])
+					++nextRoot;
+				u = nextRoot;
+				parent[u] = u == 0 ? -1 : 0;
+			}
+			else
+				u = heap.poll();
+			inTree[u] = true;
+			if (parent[u] >= 0)
+				++childCount[parent[u] + 1];
+			for (int i = offsets[u]; i < offsets[u + 1]; ++i)
+			{
+				int v = adjacent[i];
+				if (inTree[v])
+					continue;
+				if (!heap.contains(v))
+				{
+					heap.insert(v, adjacentDistance[i]);
+					parent[v] = u;
+				}
+				else if (adjacentDistance[i] < heap.getKey(v))
+				{
+					heap.decreaseKey(v, adjacentDistance[i]);
+					parent[v] = u;
+				}
+			}
+		}
+		for (int v = 0; v < n; ++v)
+			childCount[v + 1] += childCount[v];
+		int[] children = new int[n];
+		int[] fill = Arrays.copyOf(childCount, n);
+		for (int v = 1; v < n; ++v)
+			children[fill[parent[v]]++] = v;
+		int[] tour = new int[n];
+		int[] stack = new int[n];
+		int top = 0;
+		int size = 0;
+		stack[top++] = 0;
+		while (top > 0)
+		{
+			int u = stack[--top];
+			tour[size++] = u;
+			for (int i = childCount[u + 1] - 1; i >= childCount[u]; --i)
+				stack[top++] = children[i];
+		}
+		return tour;
+	}
+
+	/**
+	 * Wyznacza listy najbliższych sąsiadów dla przedziału wierzchołków
+	 * (tylko spośród wierzchołków połączonych krawędzią).
+	 */
+	private final class NeighbourTask extends RecursiveAction
+	{
+		private static final long serialVersionUID = 1L;
+
+		private final int from;
+		private final int to;
+
+		private NeighbourTask(int from, int to)
+		{
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected void compute()
+		{
+			if (to - from > SEQUENTIAL_THRESHOLD)
+			{
+				int middle = (from + to) >>> 1;
+				invokeAll(new NeighbourTask(from, middle), new NeighbourTask(middle, to));
+				return;
+			}
+			for (int u = from; u < to; ++u)
+			{
+				int[] list = new int[NEIGHBOURS];
+				double[] distances = new double[NEIGHBOURS];
+				int size = 0;
+				for (int arc = offsets[u]; arc < offsets[u + 1]; ++arc)
+				{
+					int v = adjacent[arc];
+					double dv = adjacentDistance[arc];
+					if (v == u || (arc > offsets[u] && adjacent[arc - 1] == v)
+							|| (size == NEIGHBOURS && dv >= distances[NEIGHBOURS - 1]))
+						continue;
+					int i = size < NEIGHBOURS ? size++ : NEIGHBOURS - 1;
+					for (; i > 0 && distances[i - 1] > dv; --i)
+					{
+						list[i] = list[i - 1];
+						distances[i] = distances[i - 1];
+					}
+					list[i] = v;
+					distances[i] = dv;
+				}
+				neighbours[u] = Arrays.copyOf(list, size);
+				neighbourDistance[u] = Arrays.copyOf(distances, size);
+			}
+		}
+	}
+
+	/**
+	 * Buduje jedną trasę początkową i poprawia ją przeszukiwaniem lokalnym.
+	 */
+	private final class StartTask extends RecursiveTask<int[]>
+	{
+		private static final long serialVersionUID = 1L;
+
+		private final int index;
+
+		private StartTask(int index)
+		{
+			this.index = index;
+		}
+
+		@Override
+		protected int[] compute()
+		{
+			int[] tour;
+			if (index == 0)
+				tour = buildNearestNeighbourTour(0);
+			else if (index == 1)
+				tour = buildGreedyTour();
+			else if (index == 2)
+				tour = buildDoubleTreeTour();
+			else
+				tour = buildNearestNeighbourTour(new Random(index).nextInt(n));
+			new Optimizer(tour).optimize();
+			return tour;
+		}
+	}
+
+	/**
+	 * Przeszukiwanie lokalne jednej trasy. Trasa jest tablicą wierzchołków
+	 * z tablicą odwrotną pozycji; ruchy są realizowane odwracaniem fragmentów.
+	 */
+	private final class Optimizer
+	{
+		private final int[] tour;
+		private final int[] position;
+		private final int[] queue;
+		private final boolean[] queued;
+		private int head;
+		private int size;
+
+		private Optimizer(int[] tour)
+		{
+			this.tour = tour;
+			position = new int[n];
+			queue = new int[n];
+			queued = new boolean[n];
+			for (int i = 0; i < n; ++i)
+			{
+				position[tour[i]] = i;
+				push(tour[i]);
+			}
+		}
+
+		private int next(int v)
+		{
+			int i = position[v] + 1;
+			return tour[i == n ? 0 : i];
+		}
+
+		private int previous(int v)
+		{
+			int i = position[v] - 1;
+			return tour[i < 0 ? n - 1 : i];
+		}
+
+		private void push(int v)
+		{
+			if (!queued[v])
+			{
+				queued[v] = true;
+				queue[(head + size) % n] = v;
+				++size;
+			}
+		}
+
+		private void optimize()
+		{
+			int counter = 0;
+			long moves = 0;
+			try
+			{
+				while (size > 0)
+				{
+					if ((++counter & 63) == 0)
+					{
+						AlgorithmMonitor.checkpoint();
+						if (System.nanoTime() > deadline)
+							return;
+					}
+					int a = queue[head];
+					head = (head + 1) % n;
+					--size;
+					queued[a] = false;
+					if (improveTwoOpt(a) || improveOrOpt(a))
+					{
+						++moves;
+						push(a);
+					}
+				}
+			}
+			finally
+			{
+				AlgorithmMetrics.count(AlgorithmMetrics.IMPROVING_MOVES, moves);
+			}
+		}
+
+		/**
+		 * Ruch 2-opt usuwający krawędź trasy przy <code>a</code>
+		 * i dodający krawędź od <code>a</code> do bliskiego sąsiada.
+		 */
+		private boolean improveTwoOpt(int a)
+		{
+			for (int direction = 0; direction < 2; ++direction)
+			{
+				int b = direction == 0 ? next(a) : previous(a);
+				double ab = d(a, b);
+				for (int i = 0; i < neighbours[a].length; ++i)
+				{
+					int c = neighbours[a][i];
+					double ac = neighbourDistance[a][i];
+					if (ac >= ab - EPSILON)
+						break;
+					int e = direction == 0 ? next(c) : previous(c);
+					if (c == b || e == a)
+						continue;
+					if (ab + d(c, e) - ac - d(b, e) > EPSILON)
+					{
+						if (direction == 0)
+							reverse(position[b], position[c]);
+						else
+							reverse(position[a], position[e]);
+						push(b);
+						push(c);
+						push(e);
+						return true;
+					}
+				}
+			}
+			return false;
+		}
+
+		/**
+		 * Ruch Or-opt przenoszący fragment o długości do {@value #MAX_SEGMENT}
+		 * zaczynający się lub kończący w <code>a</code> (w tej samej lub
+		 * odwróconej orientacji) w pobliże sąsiada jednego z jego końców.
+		 */
+		private boolean improveOrOpt(int a)
+		{
+			for (int length = 1; length <= MAX_SEGMENT && length <= n - 3; ++length)
+				for (int variant = 0; variant < (length == 1 ? 1 : 2); ++variant)
+				{
+					int first = a;
+					int last = a;
+					for (int i = 1; i < length; ++i)
+						if (variant == 0)
+							last = next(last);
+						else
+							first = previous(first);
+					if (tryMoveSegment(first, last, length))
+						return true;
+				}
+			return false;
+		}
+
+		private boolean tryMoveSegment(int first, int last, int length)
+		{
+			int before = previous(first);
+			int after = next(last);
+			double removeGain = d(before, first) + d(last, after) - d(before, after);
+			if (removeGain <= EPSILON)
+				return false;
+			for (int end = 0; end < 2; ++end)
+			{
+				int endpoint = end == 0 ? first : last;
+				for (int i = 0; i < neighbours[endpoint].length; ++i)
+				{
+					int c = neighbours[endpoint][i];
+					if (neighbourDistance[endpoint][i] >= removeGain - EPSILON)
+						break;
+					if (inSegment(c, first, length))
+						continue;
+					for (int side = 0; side < 2; ++side)
+					{
+						int x = side == 0 ? c : previous(c);
+						int y = side == 0 ? next(c) : c;
+						if (inSegment(x, first, length) || inSegment(y, first, length))
+							continue;
+						double xy = d(x, y);
+						double forward = d(x, first) + d(last, y) - xy;
+						double reversed = d(x, last) + d(first, y) - xy;
+						double add = Math.min(forward, reversed);
+						if (removeGain - add > EPSILON)
+						{
+							moveSegment(first, length, x, y, reversed < forward);
+							push(before);
+							push(after);
+							push(x);
+							push(y);
+							push(first);
+							push(last);
+							return true;
+						}
+					}
+				}
+			}
+			return false;
+		}
+
+		private boolean inSegment(int v, int first, int length)
+		{
+			int offset = position[v] - position[first];
+			if (offset < 0)
+				offset += n;
+			return offset < length;
+		}
+
+		/**
+		 * Przenosi fragment między sąsiednie wierzchołki <code>x</code>
+		 * i <code>y</code> zamianą miejscami z krótszym z dwóch fragmentów
+		 * trasy, które go oddzielają (trzy odwrócenia).
+		 */
+		private void moveSegment(int first, int length, int x, int y, boolean reversed)
+		{
+			int start = position[first];
+			int afterLength = ((position[x] - start - length + 1) % n + n) % n;
+			int beforeLength = n - length - afterLength;
+			if (afterLength <= beforeLength)
+			{
+				if (!reversed)
+					reverseSegment(start, length);
+				reverseSegment((start + length) % n, afterLength);
+				reverseSegment(start, length + afterLength);
+			}
+			else
+			{
+				int yPosition = position[y];
+				reverseSegment(yPosition, beforeLength);
+				if (!reversed)
+					reverseSegment(start, length);
+				reverseSegment(yPosition, beforeLength + length);
+			}
+		}
+
+		/**
+		 * Odwraca fragment trasy od pozycji <code>i</code> do pozycji
+		 * <code>j</code> włącznie albo - jeśli jest krótsze - fragment
+		 * dopełniający, co daje ten sam cykl.
+		 */
+		private void reverse(int i, int j)
+		{
+			int length = j - i + 1;
+			if (length <= 0)
+				length += n;
+			if (2 * length > n)
+				reverseSegment((j + 1) % n, n - length);
+			else
+				reverseSegment(i, length);
+		}
+
+		private void reverseSegment(int start, int length)
+		{
+			int i = start;
+			int j = (start + length - 1) % n;
+			for (int k = 0; k < length / 2; ++k)
+			{
+				int u = tour[i];
+				int v = tour[j];
+				tour[i] = v;
+				position[v] = i;
+				tour[j] = u;
+				position[u] = j;
+				if (++i == n)
+					i = 0;
+				if (--j < 0)
+					j = n - 1;
+			}
+		}
+	}
+}
@@ -0,0 +1,79 @@
+package modgraf.algorithm.engine;
+
+/**
+ * Klasa bazowa dla silników wyznaczających maksymalny przepływ w sieci
+ * {@link FlowNetwork}. Przepływ na krawędziach odczytuje się z sieci
+ * metodami {@link FlowNetwork#getFlow(int)} i {@link FlowNetwork#getFlows()}. <br>
+ * Silniki nie obsługują ujemnych przepustowości - w takim przypadku
+ * konstruktor zgłasza wyjątek <code>IllegalArgumentException</code>.
+ * Ten sam wyjątek zgłasza {@link #calculateMaximumFlow(int, int)}, gdy
+ * źródło jest równe ujściu.
+ */
+public abstract class MaximumFlowEngine
+{
+	/**
+	 * Komunikat wyjątku zgłaszanego dla krawędzi o ujemnej przepustowości.
+	 */
+	public static final String NEGATIVE_CAPACITIES_MESSAGE = "negative edge capacities not allowed";
+	/**
+	 * Komunikat wyjątku zgłaszanego, gdy źródło jest równe ujściu - taki sam
+	 * jak w algorytmie Edmondsa-Karpa z biblioteki JGraphT.
+	 */
+	public static final String SOURCE_EQUALS_SINK_MESSAGE = "source is equal to sink";
+
+	/**
+	 * Sieć residualna, w której wyznaczany jest przepływ.
+	 */
+	protected final FlowNetwork network;
+	/**
+	 * Wartość ostatnio wyznaczonego przepływu.
+	 */
+	protected double maximumFlowValue;
+
+	/**
+	 * @param network sieć residualna
+	 */
+	protected MaximumFlowEngine(FlowNetwork network)
+	{
+		this.network = network;
+		for (double capacity : network.getGraph().getCapacities())
+			if (capacity < 0)
+				throw new IllegalArgumentException(NEGATIVE_CAPACITIES_MESSAGE);
+	}
+
+	/**
+	 * Wyznacza maksymalny przepływ, zaczynając od pustego przepływu.
+	 *
+	 * @param source numer źródła
+	 * @param sink numer ujścia
+	 * @return wartość maksymalnego przepływu
+	 */
+	public abstract double calculateMaximumFlow(int source, int sink);
+
+	/**
+	 * @param source numer źródła
+	 * @param sink numer ujścia
+	 * @throws IllegalArgumentException jeśli źródło jest równe ujściu
+	 */
+	protected static void checkSourceAndSink(int source, int sink)
+	{
+		if (source == sink)
+			throw new IllegalArgumentException(SOURCE_EQUALS_SINK_MESSAGE);
+	}
+
+	/**
+	 * @return wartość ostatnio wyznaczonego przepływu
+	 */
+	public double getMaximumFlowValue()
+	{
+		return maximumFlowValue;
+	}
+
+	/**
+	 * @return sieć residualna z wyznaczonym przepływem
+	 */
+	public FlowNetwork getNetwork()
+	{
+		return network;
+	}
+}
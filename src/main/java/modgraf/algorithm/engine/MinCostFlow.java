@@ -0,0 +1,180 @@
+package modgraf.algorithm.engine;
+
+import java.util.Arrays;
+
+/**
+ * Najtańszy przepływ metodą kolejnych najkrótszych ścieżek (Busacker-Gowen)
+ * z potencjałami wierzchołków (jak w algorytmie Johnsona). <br>
+ * Początkowe potencjały są wyznaczane raz algorytmem Bellmana-Forda, dzięki
+ * czemu dopuszczalne są ujemne koszty krawędzi. Każda kolejna ścieżka
+ * powiększająca jest wyszukiwana algorytmem Dijkstry na kosztach
+ * zredukowanych <code>c(u,v) + p(u) - p(v)</code>, które pozostają nieujemne.
+ * Sieć residualna jest aktualizowana w miejscu. Silnik wymaga sieci
+ * skierowanej.
+ */
+public class MinCostFlow
+{
+	private final FlowNetwork network;
+	private final double[] potential;
+	private final double[] distance;
+	private final int[] previousArc;
+	private final IndexedHeap queue;
+	private double flowValue;
+	private double totalCost;
+	private int augmentations;
+
+	/**
+	 * @param network sieć residualna (z zerowym przepływem)
+	 */
+	public MinCostFlow(FlowNetwork network)
+	{
+		this.network = network;
+		int n = network.n;
+		potential = new double[n];
+		distance = new double[n];
+		previousArc = new int[n];
+		queue = new IndexedHeap(n);
+	}
+
+	/**
+	 * Przesyła najtańszym kosztem co najwyżej <code>demand</code> jednostek
+	 * przepływu ze źródła do ujścia.
+	 *
+	 * @param source numer źródła
+	 * @param sink numer ujścia
+	 * @param demand oczekiwana wielkość przepływu
+	 * @return wielkość przesłanego przepływu (mniejsza od <code>demand</code>,
+	 * 			jeśli sieć nie pozwala przesłać więcej)
+	 * @throws IllegalStateException jeśli ze źródła osiągalny jest cykl o ujemnym koszcie
+	 */
+	public double solve(int source, int sink, double demand)
+	{
+		flowValue = 0.0;
+		totalCost = 0.0;
+		augmentations = 0;
+		if (!initializePotentials(source))
+			throw new IllegalStateException("negative cost cycle");
+		while (flowValue < demand && findPath(source, sink))
+		{
+			AlgorithmMonitor.checkpoint();
+			for (int v = 0; v < network.n; ++v)
+				if (distance[v] < Double.POSITIVE_INFINITY)
+					potential[v] += distance[v];
+			double delta = demand - flowValue;
+			for (int v = sink; v != source; v = network.tail(previousArc[v]))
+				delta = Math.min(delta, network.residual[previousArc[v]]);
+			for (int v = sink; v != source; v = network.tail(previousArc[v]))
+			{
+				int arc = previousArc[v];
+				network.push(arc, delta);
+				totalCost += delta * network.cost[arc];
+			}
+			flowValue += delta;
+			++augmentations;
+		}
+		AlgorithmMetrics.count(AlgorithmMetrics.AUGMENTATIONS, augmentations);
+		return flowValue;
+	}
+
+	/**
+	 * Algorytm Bellmana-Forda z wczesnym zakończeniem na łukach o dodatniej
+	 * przepustowości residualnej.
+	 *
+	 * @return <code>false</code> jeśli wykryto cykl o ujemnym koszcie
+	 */
+	private boolean initializePotentials(int source)
+	{
+		int n = network.n;
+		Arrays.fill(potential, Double.POSITIVE_INFINITY);
+		potential[source] = 0.0;
+		for (int pass = 0; pass < n; ++pass)
+		{
+			boolean changed = false;
+			for (int u = 0; u < n; ++u)
+			{
+				if (potential[u] == Double.POSITIVE_INFINITY)
+					continue;
+				for (int i = network.offsets[u]; i < network.offsets[u + 1]; ++i)
+				{
+					int arc = network.arcs[i];
+					if (network.residual[arc] <= FlowNetwork.EPSILON)
+						continue;
+					double d = potential[u] + network.cost[arc];
+					int v = network.head[arc];
+					if (d < potential[v])
+					{
+						potential[v] = d;
+						changed = true;
+					}
+				}
+			}
+			if (!changed)
+			{
+				for (int v = 0; v < n; ++v)
+					if (potential[v] == Double.POSITIVE_INFINITY)
+						potential[v] = 0.0;
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Algorytm Dijkstry na kosztach zredukowanych.
+	 *
+	 * @return <code>true</code> jeśli ujście jest osiągalne
+	 */
+	private boolean findPath(int source, int sink)
+	{
+		Arrays.fill(distance, Double.POSITIVE_INFINITY);
+		Arrays.fill(previousArc, -1);
+		queue.clear();
+		distance[source] = 0.0;
+		queue.insert(source, 0.0);
+		while (!queue.isEmpty())
+		{
+			int u = queue.poll();
+			double du = distance[u];
+			for (int i = network.offsets[u]; i < network.offsets[u + 1]; ++i)
+			{
+				int arc = network.arcs[i];
+				if (network.residual[arc] <= FlowNetwork.EPSILON)
+					continue;
+				int v = network.head[arc];
+				double reduced = network.cost[arc] + potential[u] - potential[v];
+				double dv = du + Math.max(reduced, 0.0);
+				if (dv < distance[v])
+				{
+					distance[v] = dv;
+					previousArc[v] = arc;
+					queue.insertOrDecrease(v, dv);
+				}
+			}
+		}
+		return distance[sink] < Double.POSITIVE_INFINITY;
+	}
+
+	/**
+	 * @return wielkość przesłanego przepływu
+	 */
+	public double getFlowValue()
+	{
+		return flowValue;
+	}
+
+	/**
+	 * @return łączny koszt przesłanego przepływu
+	 */
+	public double getTotalCost()
+	{
+		return totalCost;
+	}
+
+	/**
+	 * @return liczba wykonanych powiększeń przepływu
+	 */
+	public int getAugmentations()
+	{
+		return augmentations;
+	}
+}
@@ -0,0 +1,97 @@
+package modgraf.algorithm.engine;
+
+import modgraf.jgrapht.CompactGraph;
+
+/**
+ * Algorytm Misry-Griesa kolorowania krawędzi grafu prostego co najwyżej
+ * Δ + 1 kolorami (konstruktywny dowód twierdzenia Vizinga). <br>
+ * Dla kolorowanej krawędzi <i>uv</i> budowany jest maksymalny wachlarz
+ * <i>F</i> = [<i>v</i> = <i>F</i><sub>0</sub>, ..., <i>F</i><sub>k</sub>]
+ * sąsiadów <i>u</i>, w którym kolor krawędzi <i>uF</i><sub>i+1</sub> jest
+ * wolny przy <i>F</i><sub>i</sub>. Następnie dla koloru <i>c</i> wolnego przy
+ * <i>u</i> i koloru <i>d</i> wolnego przy <i>F</i><sub>k</sub> odwracana jest
+ * ścieżka naprzemienna <i>cd</i> z <i>u</i>, wachlarz jest obracany do
+ * pierwszego wierzchołka <i>w</i>, przy którym <i>d</i> jest wolny,
+ * a krawędź <i>uw</i> otrzymuje kolor <i>d</i>. <br>
+ * Odwrócenie ścieżki kosztuje O(<i>V</i>), a budowa wachlarza O(Δ<sup>2</sup>),
+ * więc cały algorytm działa w czasie O(<i>E</i>·(<i>V</i> + Δ<sup>2</sup>)).
+ */
+public class MisraGriesEdgeColoring extends EdgeColoringEngine
+{
+	private final int[] fan;
+	private final int[] fanEdge;
+	private final int[] fanStamp;
+	private final int[] path;
+	private int stamp;
+
+	/**
+	 * @param graph graf prosty (bez pętli i krawędzi wielokrotnych,
+	 * 			bez względu na kierunek krawędzi)
+	 */
+	public MisraGriesEdgeColoring(CompactGraph graph)
+	{
+		super(graph, findMaxDegree(graph) + 1);
+		if (!isSimple(graph))
+			throw new IllegalArgumentException("graph is not simple");
+		fan = new int[colorLimit];
+		fanEdge = new int[colorLimit];
+		fanStamp = new int[graph.getVertexCount()];
+		path = new int[graph.getEdgeCount()];
+	}
+
+	@Override
+	protected void colorEdge(int edge)
+	{
+		int u = graph.getEdgeSource(edge);
+		int k = buildFan(u, graph.getEdgeTarget(edge), edge);
+		int c = findFreeColor(u);
+		int d = findFreeColor(fan[k]);
+		if (!isFree(u, d))
+			invertPath(u, d, c, path);
+		int w = 0;
+		while (!isFree(fan[w], d))
+			++w;
+		for (int i = 0; i < w; ++i)
+		{
+			int color = colors[fanEdge[i + 1]];
+			clearColor(fanEdge[i + 1]);
+			setColor(fanEdge[i], color);
+		}
+		recoloringCount += w;
+		setColor(fanEdge[w], d);
+	}
+
+	/**
+	 * Buduje maksymalny wachlarz wierzchołka <code>u</code> zaczynający się
+	 * od niepokolorowanej krawędzi <code>edge</code>.
+	 *
+	 * @return indeks ostatniego wierzchołka wachlarza
+	 */
+	private int buildFan(int u, int v, int edge)
+	{
+		++stamp;
+		int k = 0;
+		fan[0] = v;
+		fanEdge[0] = edge;
+		fanStamp[v] = stamp;
+		boolean extended = true;
+		while (extended)
+		{
+			extended = false;
+			for (int c = 0; c < colorLimit && !extended; ++c)
+			{
+				int e = getEdge(u, c);
+				if (e < 0 || !isFree(fan[k], c))
+					continue;
+				int w = graph.getOppositeVertex(e, u);
+				if (fanStamp[w] == stamp)
+					continue;
+				fanStamp[w] = stamp;
+				fan[++k] = w;
+				fanEdge[k] = e;
+				extended = true;
+			}
+		}
+		return k;
+	}
+}
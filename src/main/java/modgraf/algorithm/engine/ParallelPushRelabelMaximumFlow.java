@@ -0,0 +1,284 @@
+package modgraf.algorithm.engine;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Wielowątkowy, asynchroniczny algorytm push-relabel bez blokad (w wariancie
+ * zaproponowanym przez Honga). <br>
+ * Przepustowości residualne i nadmiary są przechowywane w tablicach
+ * {@link AtomicDoubleArray}, a etykiety w {@link AtomicIntegerArray}.
+ * Aktywne wierzchołki trafiają do wspólnej kolejki liczb
+ * ({@link ConcurrentIntQueue}); flaga własności gwarantuje, że danym
+ * wierzchołkiem zajmuje się w danej chwili tylko jeden wątek, więc
+ * w kolejce jest najwyżej <code>n</code> wierzchołków. Wątki robocze
+ * działają we wspólnej puli {@link EnginePool}.
+ * Wątek przepycha nadmiar do sąsiada o najniższej etykiecie, a jeśli etykieta
+ * sąsiada nie jest niższa - podnosi własną etykietę. Przepustowość łuku
+ * zmniejsza wyłącznie właściciel jego początku, więc odczytana wartość
+ * zawsze jest bezpiecznym ograniczeniem z dołu. <br>
+ * Co pewną liczbę przeetykietowań wątki są zatrzymywane i wykonywane jest
+ * sekwencyjne globalne przeetykietowanie. <br>
+ * Dla sieci o liczbie łuków mniejszej od progu obliczenia wykonuje
+ * sekwencyjny {@link PushRelabelMaximumFlow}.
+ */
+public class ParallelPushRelabelMaximumFlow extends MaximumFlowEngine
+{
+	/**
+	 * Domyślny próg liczby łuków, poniżej którego używany jest silnik sekwencyjny.
+	 */
+	public static final int DEFAULT_THRESHOLD = 100000;
+
+	private final int n;
+	private final int workers;
+	private final int threshold;
+	private int source;
+	private int sink;
+	private AtomicDoubleArray residual;
+	private AtomicDoubleArray excess;
+	private AtomicIntegerArray label;
+	private AtomicIntegerArray owned;
+	private ConcurrentIntQueue queue;
+	private AtomicInteger pending;
+	private AtomicLong relabels;
+	private volatile boolean stop;
+
+	/**
+	 * @param network sieć residualna
+	 * @param workers liczba wątków (0 - liczba dostępnych procesorów)
+	 * @param threshold minimalna liczba łuków, od której obliczenia są równoległe
+	 */
+	public ParallelPushRelabelMaximumFlow(FlowNetwork network, int workers, int threshold)
+	{
+		super(network);
+		n = network.n;
+		this.workers = workers > 0 ? workers : Runtime.getRuntime().availableProcessors();
+		this.threshold = threshold;
+	}
+
+	@Override
+	public double calculateMaximumFlow(int source, int sink)
+	{
+		checkSourceAndSink(source, sink);
+		if (network.head.length < threshold || workers == 1)
+		{
+			maximumFlowValue = new PushRelabelMaximumFlow(network).calculateMaximumFlow(source, sink);
+			return maximumFlowValue;
+		}
+		this.source = source;
+		this.sink = sink;
+		network.reset();
+		residual = new AtomicDoubleArray(network.residual);
+		excess = new AtomicDoubleArray(new double[n]);
+		label = new AtomicIntegerArray(n);
+		owned = new AtomicIntegerArray(n);
+		queue = new ConcurrentIntQueue(n);
+		pending = new AtomicInteger();
+		relabels = new AtomicLong();
+		for (int i = network.offsets[source]; i < network.offsets[source + 1]; ++i)
+		{
+			int arc = network.arcs[i];
+			double delta = residual.get(arc);
+			if (delta > FlowNetwork.EPSILON)
+			{
+				residual.addAndGet(arc, -delta);
+				residual.addAndGet(arc ^ 1, delta);
+				excess.addAndGet(network.head[arc], delta);
+				excess.addAndGet(source, -delta);
+			}
+		}
+		long relabelCount = 0;
+		long globalRelabelCount = 0;
+		do
+		{
+			AlgorithmMonitor.checkpoint();
+			globalRelabel();
+			++globalRelabelCount;
+			runWorkers();
+			relabelCount += relabels.get();
+		}
+		while (pending.get() > 0);
+		residual.copyTo(network.residual);
+		maximumFlowValue = excess.get(sink);
+		AlgorithmMetrics.count(AlgorithmMetrics.RELABELS, relabelCount);
+		AlgorithmMetrics.count(AlgorithmMetrics.GLOBAL_RELABELS, globalRelabelCount);
+		return maximumFlowValue;
+	}
+
+	private void runWorkers()
+	{
+		stop = false;
+		relabels.set(0);
+		List<Worker> tasks = new ArrayList<>(workers);
+		for (int w = 0; w < workers; ++w)
+			tasks.add(new Worker());
+		try
+		{
+			for (Future<Void> future : EnginePool.getPool().invokeAll(tasks))
+				future.get();
+		}
+		catch (InterruptedException e)
+		{
+			stop = true;
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException(e);
+		}
+		catch (ExecutionException e)
+		{
+			throw new IllegalStateException(e.getCause());
+		}
+	}
+
+	/**
+	 * Oznacza wierzchołek jako aktywny, jeśli nikt się nim nie zajmuje.
+	 */
+	private void activate(int v)
+	{
+		if (owned.compareAndSet(v, 0, 1))
+		{
+			pending.incrementAndGet();
+			queue.add(v);
+		}
+	}
+
+	/**
+	 * Sekwencyjne globalne przeetykietowanie (wątki robocze są zatrzymane).
+	 * Buduje też od nowa kolejkę aktywnych wierzchołków.
+	 */
+	private void globalRelabel()
+	{
+		int[] labels = new int[n];
+		int[] bfs = new int[n];
+		Arrays.fill(labels, 2 * n);
+		labels[source] = n;
+		reverseSearch(labels, bfs, sink, 0);
+		reverseSearch(labels, bfs, source, n);
+		queue.clear();
+		pending.set(0);
+		for (int v = 0; v < n; ++v)
+		{
+			label.set(v, labels[v]);
+			owned.set(v, 0);
+		}
+		for (int v = 0; v < n; ++v)
+			if (v != source && v != sink && labels[v] < 2 * n && excess.get(v) > FlowNetwork.EPSILON)
+				activate(v);
+	}
+
+	private void reverseSearch(int[] labels, int[] bfs, int root, int rootLabel)
+	{
+		labels[root] = rootLabel;
+		int first = 0;
+		int last = 0;
+		bfs[last++] = root;
+		while (first < last)
+		{
+			int v = bfs[first++];
+			for (int i = network.offsets[v]; i < network.offsets[v + 1]; ++i)
+			{
+				int arc = network.arcs[i];
+				int u = network.head[arc];
+				if (labels[u] == 2 * n && residual.get(arc ^ 1) > FlowNetwork.EPSILON)
+				{
+					labels[u] = labels[v] + 1;
+					bfs[last++] = u;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Wątek roboczy pobierający aktywne wierzchołki ze wspólnej kolejki.
+	 */
+	private class Worker implements Callable<Void>
+	{
+		@Override
+		public Void call()
+		{
+			long relabelLimit = n;
+			while (!stop)
+			{
+				int u = queue.poll();
+				if (u == ConcurrentIntQueue.EMPTY)
+				{
+					if (pending.get() == 0)
+						return null;
+					Thread.yield();
+					continue;
+				}
+				int done = discharge(u);
+				if (done > 0 && relabels.addAndGet(done) > relabelLimit)
+					stop = true;
+				owned.set(u, 0);
+				if (excess.get(u) > FlowNetwork.EPSILON && label.get(u) < 2 * n
+						&& owned.compareAndSet(u, 0, 1))
+					queue.add(u);
+				else
+					pending.decrementAndGet();
+			}
+			return null;
+		}
+
+		/**
+		 * @return liczba wykonanych przeetykietowań
+		 */
+		private int discharge(int u)
+		{
+			int relabelCount = 0;
+			int start = network.offsets[u];
+			int end = network.offsets[u + 1];
+			double e = excess.get(u);
+			while (e > FlowNetwork.EPSILON && !stop)
+			{
+				int height = label.get(u);
+				if (height >= 2 * n)
+					break;
+				int lowestArc = -1;
+				int lowestLabel = Integer.MAX_VALUE;
+				for (int i = start; i < end; ++i)
+				{
+					int arc = network.arcs[i];
+					if (residual.get(arc) > FlowNetwork.EPSILON)
+					{
+						int h = label.get(network.head[arc]);
+						if (h < lowestLabel)
+						{
+							lowestLabel = h;
+							lowestArc = arc;
+						}
+					}
+				}
+				if (lowestArc < 0)
+				{
+					label.set(u, 2 * n);
+					break;
+				}
+				if (height > lowestLabel)
+				{
+					int v = network.head[lowestArc];
+					double delta = Math.min(e, residual.get(lowestArc));
+					residual.addAndGet(lowestArc, -delta);
+					residual.addAndGet(lowestArc ^ 1, delta);
+					e = excess.addAndGet(u, -delta);
+					excess.addAndGet(v, delta);
+					if (v != source && v != sink)
+						activate(v);
+				}
+				else
+				{
+					label.set(u, Math.min(lowestLabel + 1, 2 * n));
+					++relabelCount;
+					e = excess.get(u);
+				}
+			}
+			return relabelCount;
+		}
+	}
+}
@@ -0,0 +1,111 @@
+package modgraf.algorithm.engine;
+
+import modgraf.jgrapht.CompactGraph;
+
+/**
+ * Klasa bazowa dla silników wyszukujących najkrótszą ścieżkę między dwoma
+ * wierzchołkami grafu {@link CompactGraph}. <br>
+ * Silniki nie obsługują krawędzi o ujemnych wagach - w takim przypadku
+ * konstruktor zgłasza wyjątek <code>IllegalArgumentException</code>.
+ */
+public abstract class PointToPointShortestPath
+{
+	/**
+	 * Komunikat wyjątku zgłaszanego dla krawędzi o ujemnej wadze - taki sam
+	 * jak w algorytmie Dijkstry z biblioteki JGraphT.
+	 */
+	public static final String NEGATIVE_WEIGHTS_MESSAGE = "negative edge weights not allowed";
+
+	/**
+	 * Graf, na którym wykonywane są obliczenia.
+	 */
+	protected final CompactGraph graph;
+	/**
+	 * Długość ostatnio znalezionej ścieżki.
+	 */
+	protected double pathLength;
+	/**
+	 * Liczba wierzchołków zdjętych z kolejki podczas ostatniego wyszukiwania.
+	 */
+	protected int settledCount;
+	/**
+	 * Liczba skróceń odległości (relaksacji) podczas ostatniego wyszukiwania.
+	 */
+	protected int relaxationCount;
+
+	/**
+	 * @param graph graf o nieujemnych wagach krawędzi
+	 */
+	protected PointToPointShortestPath(CompactGraph graph)
+	{
+		this.graph = graph;
+		for (double weight : graph.getWeights())
+			if (weight < 0)
+				throw new IllegalArgumentException(NEGATIVE_WEIGHTS_MESSAGE);
+		pathLength = Double.POSITIVE_INFINITY;
+	}
+
+	/**
+	 * Wyszukuje najkrótszą ścieżkę.
+	 *
+	 * @param source numer wierzchołka startowego
+	 * @param target numer wierzchołka końcowego
+	 * @return numery kolejnych krawędzi ścieżki lub <code>null</code> jeśli
+	 * 			wierzchołek końcowy jest nieosiągalny
+	 */
+	public abstract int[] findPath(int source, int target);
+
+	/**
+	 * @return długość ostatnio znalezionej ścieżki
+	 * 			(<code>Double.POSITIVE_INFINITY</code> jeśli jej nie ma)
+	 */
+	public double getPathLength()
+	{
+		return pathLength;
+	}
+
+	/**
+	 * @return liczba wierzchołków zdjętych z kolejki podczas ostatniego wyszukiwania
+	 */
+	public int getSettledCount()
+	{
+		return settledCount;
+	}
+
+	/**
+	 * @return liczba relaksacji podczas ostatniego wyszukiwania
+	 */
+	public int getRelaxationCount()
+	{
+		return relaxationCount;
+	}
+
+	/**
+	 * Zgłasza liczniki ostatniego wyszukiwania do aktywnych pomiarów
+	 * ({@link AlgorithmMetrics}).
+	 */
+	protected void reportCounters()
+	{
+		AlgorithmMetrics.count(AlgorithmMetrics.SETTLED, settledCount);
+		AlgorithmMetrics.count(AlgorithmMetrics.RELAXATIONS, relaxationCount);
+	}
+
+	/**
+	 * Odtwarza ścieżkę na podstawie tablicy poprzedników.
+	 *
+	 * @param previousEdge krawędź, którą osiągnięto każdy wierzchołek (-1 dla korzenia)
+	 * @param root wierzchołek, od którego rozpoczęto przeszukiwanie
+	 * @param vertex wierzchołek, do którego odtwarzana jest ścieżka
+	 * @return numery krawędzi w kolejności od <code>root</code> do <code>vertex</code>
+	 */
+	protected int[] tracePath(int[] previousEdge, int root, int vertex)
+	{
+		int length = 0;
+		for (int v = vertex; v != root; v = graph.getOppositeVertex(previousEdge[v], v))
+			++length;
+		int[] path = new int[length];
+		for (int v = vertex; v != root; v = graph.getOppositeVertex(previousEdge[v], v))
+			path[--length] = previousEdge[v];
+		return path;
+	}
+}
@@ -0,0 +1,239 @@
+package modgraf.algorithm.engine;
+
+import java.util.Arrays;
+
+/**
+ * Algorytm przepychania wstępnego przepływu (push-relabel) z wyborem
+ * aktywnego wierzchołka o najwyższej etykiecie. <br>
+ * Zastosowano dwie heurystyki:
+ * <ul>
+ * <li>globalne przeetykietowanie - co pewną liczbę operacji etykiety są
+ * wyznaczane na nowo przeszukiwaniem wszerz od ujścia (a dla wierzchołków,
+ * z których ujście jest nieosiągalne - od źródła, z przesunięciem o <i>n</i>),</li>
+ * <li>heurystykę luki - gdy żaden wierzchołek nie ma etykiety <i>h</i> &lt; <i>n</i>,
+ * wierzchołki o etykietach z przedziału (<i>h</i>, <i>n</i>) otrzymują
+ * etykietę <i>n</i>+1, bo ujście jest z nich nieosiągalne.</li>
+ * </ul>
+ * Nadmiar, którego nie da się przesłać do ujścia, wraca do źródła (etykiety
+ * do 2<i>n</i>), więc po zakończeniu sieć zawiera poprawny przepływ.
+ */
+public class PushRelabelMaximumFlow extends MaximumFlowEngine
+{
+	private final int n;
+	private final int[] label;
+	private final double[] excess;
+	private final int[] currentArc;
+	private final int[] bucketHead;
+	private final int[] bucketNext;
+	private final int[] labelCount;
+	private final int[] queue;
+	private int source;
+	private int sink;
+	private int highest;
+	private int workSinceRelabel;
+	private long pushCount;
+	private long relabelCount;
+	private long globalRelabelCount;
+
+	/**
+	 * @param network sieć residualna
+	 */
+	public PushRelabelMaximumFlow(FlowNetwork network)
+	{
+		super(network);
+		n = network.n;
+		label = new int[n];
+		excess = new double[n];
+		currentArc = new int[n];
+		bucketHead = new int[2 * n + 1];
+		bucketNext = new int[n];
+		labelCount = new int[2 * n + 1];
+		queue = new int[n];
+	}
+
+	@Override
+	public double calculateMaximumFlow(int source, int sink)
+	{
+		checkSourceAndSink(source, sink);
+		this.source = source;
+		this.sink = sink;
+		network.reset();
+		Arrays.fill(excess, 0.0);
+		pushCount = 0;
+		relabelCount = 0;
+		globalRelabelCount = 0;
+		for (int i = network.offsets[source]; i < network.offsets[source + 1]; ++i)
+		{
+			int arc = network.arcs[i];
+			double delta = network.residual[arc];
+			if (delta > FlowNetwork.EPSILON)
+			{
+				network.push(arc, delta);
+				excess[network.head[arc]] += delta;
+				excess[source] -= delta;
+			}
+		}
+		globalRelabel();
+		while (highest >= 0)
+		{
+			int u = bucketHead[highest];
+			if (u < 0)
+			{
+				--highest;
+				continue;
+			}
+			bucketHead[highest] = bucketNext[u];
+			discharge(u);
+			if (workSinceRelabel > n)
+			{
+				AlgorithmMonitor.checkpoint();
+				globalRelabel();
+			}
+		}
+		maximumFlowValue = excess[sink];
+		AlgorithmMetrics.count(AlgorithmMetrics.PUSHES, pushCount);
+		AlgorithmMetrics.count(AlgorithmMetrics.RELABELS, relabelCount);
+		AlgorithmMetrics.count(AlgorithmMetrics.GLOBAL_RELABELS, globalRelabelCount);
+		return maximumFlowValue;
+	}
+
+	private void activate(int v)
+	{
+		bucketNext[v] = bucketHead[label[v]];
+		bucketHead[label[v]] = v;
+		if (label[v] > highest)
+			highest = label[v];
+	}
+
+	/**
+	 * Przepycha nadmiar wierzchołka dopuszczalnymi łukami; jeśli takich brak,
+	 * podnosi etykietę i ponownie umieszcza wierzchołek w kolejce.
+	 */
+	private void discharge(int u)
+	{
+		int end = network.offsets[u + 1];
+		while (excess[u] > FlowNetwork.EPSILON)
+		{
+			int i = currentArc[u];
+			if (i == end)
+			{
+				if (!relabel(u) && label[u] < 2 * n)
+					activate(u);
+				return;
+			}
+			int arc = network.arcs[i];
+			int v = network.head[arc];
+			if (network.residual[arc] > FlowNetwork.EPSILON && label[u] == label[v] + 1)
+			{
+				double delta = Math.min(excess[u], network.residual[arc]);
+				network.push(arc, delta);
+				++pushCount;
+				excess[u] -= delta;
+				if (excess[v] <= FlowNetwork.EPSILON && v != source && v != sink)
+				{
+					excess[v] += delta;
+					activate(v);
+				}
+				else
+					excess[v] += delta;
+			}
+			else
+				currentArc[u] = i + 1;
+		}
+	}
+
+	/**
+	 * @return <code>true</code> jeśli zadziałała heurystyka luki i kolejka
+	 * 			aktywnych wierzchołków została zbudowana od nowa
+	 */
+	private boolean relabel(int u)
+	{
+		++workSinceRelabel;
+		++relabelCount;
+		int oldLabel = label[u];
+		int minLabel = 2 * n;
+		for (int i = network.offsets[u]; i < network.offsets[u + 1]; ++i)
+		{
+			int arc = network.arcs[i];
+			if (network.residual[arc] > FlowNetwork.EPSILON)
+				minLabel = Math.min(minLabel, label[network.head[arc]] + 1);
+		}
+		label[u] = Math.min(minLabel, 2 * n);
+		currentArc[u] = network.offsets[u];
+		--labelCount[oldLabel];
+		++labelCount[label[u]];
+		if (oldLabel < n && labelCount[oldLabel] == 0)
+		{
+			gap(oldLabel);
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Heurystyka luki: brak wierzchołków o etykiecie <code>gapLabel</code>.
+	 */
+	private void gap(int gapLabel)
+	{
+		for (int v = 0; v < n; ++v)
+			if (label[v] > gapLabel && label[v] < n)
+			{
+				--labelCount[label[v]];
+				label[v] = n + 1;
+				++labelCount[label[v]];
+				currentArc[v] = network.offsets[v];
+			}
+		rebuildBuckets();
+	}
+
+	/**
+	 * Wyznacza dokładne etykiety przeszukiwaniem wszerz w odwrotnej sieci
+	 * residualnej: najpierw od ujścia, potem od źródła.
+	 */
+	private void globalRelabel()
+	{
+		workSinceRelabel = 0;
+		++globalRelabelCount;
+		Arrays.fill(label, 2 * n);
+		label[source] = n;
+		reverseSearch(sink, 0);
+		reverseSearch(source, n);
+		Arrays.fill(labelCount, 0);
+		for (int v = 0; v < n; ++v)
+		{
+			++labelCount[label[v]];
+			currentArc[v] = network.offsets[v];
+		}
+		rebuildBuckets();
+	}
+
+	private void reverseSearch(int root, int rootLabel)
+	{
+		label[root] = rootLabel;
+		int first = 0;
+		int last = 0;
+		queue[last++] = root;
+		while (first < last)
+		{
+			int v = queue[first++];
+			for (int i = network.offsets[v]; i < network.offsets[v + 1]; ++i)
+			{
+				int u = network.head[network.arcs[i]];
+				if (label[u] == 2 * n && network.residual[network.arcs[i] ^ 1] > FlowNetwork.EPSILON)
+				{
+					label[u] = label[v] + 1;
+					queue[last++] = u;
+				}
+			}
+		}
+	}
+
+	private void rebuildBuckets()
+	{
+		Arrays.fill(bucketHead, -1);
+		highest = -1;
+		for (int v = 0; v < n; ++v)
+			if (excess[v] > FlowNetwork.EPSILON && v != source && v != sink && label[v] < 2 * n)
+				activate(v);
+	}
+}
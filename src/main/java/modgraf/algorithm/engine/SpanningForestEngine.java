@@ -0,0 +1,83 @@
+package modgraf.algorithm.engine;
+
+import java.util.concurrent.ForkJoinPool;
+
+import modgraf.jgrapht.CompactGraph;
+
+/**
+ * Klasa bazowa dla silników wyznaczających minimalny las rozpinający grafu
+ * {@link CompactGraph} (dla grafu spójnego - minimalne drzewo rozpinające). <br>
+ * Krawędzie są porównywane według wagi, a przy równych wagach według numeru
+ * krawędzi. Porządek ten jest liniowy, więc minimalny las jest wyznaczony
+ * jednoznacznie i wszystkie silniki zwracają ten sam zbiór krawędzi.
+ */
+public abstract class SpanningForestEngine
+{
+	/**
+	 * Graf, na którym wykonywane są obliczenia.
+	 */
+	protected final CompactGraph graph;
+	/**
+	 * Wagi krawędzi.
+	 */
+	protected final double[] weights;
+	/**
+	 * Przynależność krawędzi do lasu rozpinającego.
+	 */
+	protected final boolean[] inForest;
+
+	/**
+	 * @param graph graf nieskierowany
+	 */
+	protected SpanningForestEngine(CompactGraph graph)
+	{
+		this.graph = graph;
+		weights = graph.getWeights();
+		inForest = new boolean[graph.getEdgeCount()];
+	}
+
+	/**
+	 * Wyznacza minimalny las rozpinający.
+	 *
+	 * @param pool pula wątków
+	 */
+	public abstract void calculateSpanningForest(ForkJoinPool pool);
+
+	/**
+	 * @return <code>true</code> jeśli krawędź <code>a</code> poprzedza
+	 * 			krawędź <code>b</code> w porządku (waga, numer)
+	 */
+	protected boolean lighter(int a, int b)
+	{
+		return weights[a] < weights[b] || (weights[a] == weights[b] && a < b);
+	}
+
+	/**
+	 * @return numery krawędzi lasu w kolejności rosnącej
+	 */
+	public int[] getForestEdges()
+	{
+		int count = 0;
+		for (boolean edge : inForest)
+			if (edge)
+				++count;
+		int[] edges = new int[count];
+		count = 0;
+		for (int e = 0; e < inForest.length; ++e)
+			if (inForest[e])
+				edges[count++] = e;
+		return edges;
+	}
+
+	/**
+	 * @return suma wag krawędzi lasu
+	 */
+	public double getTotalWeight()
+	{
+		double total = 0.0;
+		for (int e = 0; e < inForest.length; ++e)
+			if (inForest[e])
+				total += weights[e];
+		return total;
+	}
+}
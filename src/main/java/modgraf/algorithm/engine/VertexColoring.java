@@ -0,0 +1,116 @@
+package modgraf.algorithm.engine;
+
+import modgraf.jgrapht.CompactGraph;
+
+/**
+ * Klasa bazowa dla silników kolorowania wierzchołków grafu
+ * {@link CompactGraph}. <br>
+ * Kierunek krawędzi, krawędzie wielokrotne i pętle nie mają znaczenia dla
+ * kolorowania, dlatego konstruktor buduje proste, nieskierowane listy
+ * sąsiedztwa bez powtórzeń i bez pętli. Kolory są numerowane od 0.
+ */
+public abstract class VertexColoring
+{
+	/**
+	 * Graf, na którym wykonywane są obliczenia.
+	 */
+	protected final CompactGraph graph;
+	/**
+	 * Liczba wierzchołków.
+	 */
+	protected final int n;
+	/**
+	 * Początki list sąsiedztwa (długości <code>n + 1</code>).
+	 */
+	protected final int[] offsets;
+	/**
+	 * Sąsiedzi kolejnych wierzchołków.
+	 */
+	protected final int[] neighbours;
+	/**
+	 * Kolory wierzchołków.
+	 */
+	protected int[] colors;
+	/**
+	 * Liczba użytych kolorów.
+	 */
+	protected int colorCount;
+
+	/**
+	 * @param graph graf do pokolorowania
+	 */
+	protected VertexColoring(CompactGraph graph)
+	{
+		this.graph = graph;
+		n = graph.getVertexCount();
+		offsets = new int[n + 1];
+		int[] stamp = new int[n];
+		for (int v = 0; v < n; ++v)
+			offsets[v + 1] = offsets[v] + collectNeighbours(v, v + 1, stamp, null, 0);
+		neighbours = new int[offsets[n]];
+		for (int v = 0; v < n; ++v)
+			collectNeighbours(v, n + v + 1, stamp, neighbours, offsets[v]);
+		colors = new int[n];
+	}
+
+	/**
+	 * Przegląda łuki wychodzące i wchodzące wierzchołka, pomijając pętle
+	 * i powtórzenia. Odwiedzeni sąsiedzi są oznaczani w tablicy
+	 * <code>stamp</code> wartością <code>mark</code>, unikalną dla każdego
+	 * wywołania.
+	 *
+	 * @param target tablica, do której zapisywani są sąsiedzi,
+	 * 			lub <code>null</code> jeśli mają być tylko policzeni
+	 * @return liczba różnych sąsiadów
+	 */
+	private int collectNeighbours(int v, int mark, int[] stamp, int[] target, int position)
+	{
+		stamp[v] = mark;
+		int count = collectArcs(v, graph.getOutOffsets(), graph.getOutTargets(), mark, stamp, target, position);
+		if (graph.isDirected())
+			count += collectArcs(v, graph.getInOffsets(), graph.getInSources(), mark, stamp, target, position + count);
+		return count;
+	}
+
+	private int collectArcs(int v, int[] arcOffsets, int[] heads, int mark, int[] stamp, int[] target, int position)
+	{
+		int count = 0;
+		for (int arc = arcOffsets[v]; arc < arcOffsets[v + 1]; ++arc)
+		{
+			int w = heads[arc];
+			if (stamp[w] == mark)
+				continue;
+			stamp[w] = mark;
+			if (target != null)
+				target[position + count] = w;
+			++count;
+		}
+		return count;
+	}
+
+	/**
+	 * @param vertex numer wierzchołka
+	 * @return kolor wierzchołka
+	 */
+	public int getColor(int vertex)
+	{
+		return colors[vertex];
+	}
+
+	/**
+	 * @return kolory wierzchołków indeksowane numerem wierzchołka
+	 * 			(tablicy nie wolno modyfikować)
+	 */
+	public int[] getColors()
+	{
+		return colors;
+	}
+
+	/**
+	 * @return liczba użytych kolorów
+	 */
+	public int getColorCount()
+	{
+		return colorCount;
+	}
+}
@@ -0,0 +1,56 @@
+package modgraf.algorithm.solver;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Wynik algorytmu kolorowania wierzchołków lub krawędzi.
+ *
+ * @param <T> typ kolorowanych elementów
+ */
+public class ColoringResult<T>
+{
+	private final Map<Integer, Set<T>> groups;
+	private final boolean optimal;
+	private final int lowerBound;
+
+	public ColoringResult(Map<Integer, Set<T>> groups, boolean optimal, int lowerBound)
+	{
+		this.groups = groups;
+		this.optimal = optimal;
+		this.lowerBound = lowerBound;
+	}
+
+	/**
+	 * @return elementy pogrupowane według numerów kolorów
+	 */
+	public Map<Integer, Set<T>> getGroups()
+	{
+		return groups;
+	}
+
+	/**
+	 * @return liczba użytych kolorów
+	 */
+	public int getColorCount()
+	{
+		return groups.size();
+	}
+
+	/**
+	 * @return <code>true</code> jeśli udowodniono, że liczba kolorów jest
+	 * 			najmniejsza możliwa
+	 */
+	public boolean isOptimal()
+	{
+		return optimal;
+	}
+
+	/**
+	 * @return znane dolne ograniczenie liczby kolorów
+	 */
+	public int getLowerBound()
+	{
+		return lowerBound;
+	}
+}
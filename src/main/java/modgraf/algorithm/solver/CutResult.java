@@ -0,0 +1,61 @@
+package modgraf.algorithm.solver;
+
+import java.util.Map;
+import java.util.Set;
+
+import modgraf.jgrapht.Vertex;
+import modgraf.jgrapht.edge.ModgrafEdge;
+
+/**
+ * Wynik algorytmu minimalnego przekroju między parą wierzchołków wraz
+ * z drzewem Gomory'ego-Hu całego grafu.
+ */
+public class CutResult
+{
+	private final double minimumCut;
+	private final Set<ModgrafEdge> cutEdges;
+	private final Map<Vertex, Vertex> treeParents;
+	private final Map<Vertex, Double> treeCutValues;
+
+	public CutResult(double minimumCut, Set<ModgrafEdge> cutEdges,
+			Map<Vertex, Vertex> treeParents, Map<Vertex, Double> treeCutValues)
+	{
+		this.minimumCut = minimumCut;
+		this.cutEdges = cutEdges;
+		this.treeParents = treeParents;
+		this.treeCutValues = treeCutValues;
+	}
+
+	/**
+	 * @return wartość minimalnego przekroju
+	 */
+	public double getMinimumCut()
+	{
+		return minimumCut;
+	}
+
+	/**
+	 * @return krawędzie minimalnego przekroju
+	 */
+	public Set<ModgrafEdge> getCutEdges()
+	{
+		return cutEdges;
+	}
+
+	/**
+	 * @return rodzic każdego wierzchołka (poza korzeniem) w drzewie
+	 * 			Gomory'ego-Hu
+	 */
+	public Map<Vertex, Vertex> getTreeParents()
+	{
+		return treeParents;
+	}
+
+	/**
+	 * @return wartość przekroju na krawędzi drzewa do rodzica
+	 */
+	public Map<Vertex, Double> getTreeCutValues()
+	{
+		return treeCutValues;
+	}
+}
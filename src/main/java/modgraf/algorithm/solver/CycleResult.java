@@ -0,0 +1,36 @@
+package modgraf.algorithm.solver;
+
+import java.util.List;
+
+import modgraf.jgrapht.Vertex;
+
+/**
+ * Wynik algorytmu komiwojażera.
+ */
+public class CycleResult
+{
+	private final List<Vertex> vertices;
+	private final double length;
+
+	public CycleResult(List<Vertex> vertices, double length)
+	{
+		this.vertices = vertices;
+		this.length = length;
+	}
+
+	/**
+	 * @return kolejne wierzchołki cyklu (bez powtórzenia pierwszego)
+	 */
+	public List<Vertex> getVertices()
+	{
+		return vertices;
+	}
+
+	/**
+	 * @return długość cyklu
+	 */
+	public double getLength()
+	{
+		return length;
+	}
+}
@@ -0,0 +1,28 @@
+package modgraf.algorithm.solver;
+
+import java.util.Map;
+import java.util.Set;
+
+import modgraf.algorithm.EdgeColoring;
+import modgraf.jgrapht.Vertex;
+import modgraf.jgrapht.edge.ModgrafEdge;
+
+import org.jgrapht.Graph;
+
+/**
+ * Kolorowanie krawędzi. Dolnym ograniczeniem liczby kolorów jest
+ * największy stopień wierzchołka.
+ *
+ * @see EdgeColoring
+ */
+public class EdgeColoringSolver implements Solver<ColoringResult<ModgrafEdge>>
+{
+	@Override
+	public ColoringResult<ModgrafEdge> solve(Graph<Vertex, ModgrafEdge> graph, SolverParameters parameters)
+	{
+		EdgeColoring edgeColoring = new EdgeColoring();
+		Map<Integer, Set<ModgrafEdge>> groups = edgeColoring.findColoredEgdeGroups(parameters.getCompactGraph(graph));
+		int maxVertexDegree = edgeColoring.getMaxVertexDegree();
+		return new ColoringResult<>(groups, groups.size() <= maxVertexDegree, maxVertexDegree);
+	}
+}
@@ -0,0 +1,33 @@
+package modgraf.algorithm.solver;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import modgraf.algorithm.engine.EulerianTrail;
+import modgraf.jgrapht.CompactGraph;
+import modgraf.jgrapht.Vertex;
+import modgraf.jgrapht.edge.ModgrafEdge;
+
+import org.jgrapht.Graph;
+
+/**
+ * Cykl Eulera, a jeśli graf go nie zawiera - ścieżka Eulera. Działa dla
+ * grafów skierowanych i nieskierowanych.
+ *
+ * @see EulerianTrail
+ */
+public class EulerianTrailSolver implements Solver<TrailResult>
+{
+	@Override
+	public TrailResult solve(Graph<Vertex, ModgrafEdge> graph, SolverParameters parameters)
+	{
+		CompactGraph compactGraph = parameters.getCompactGraph(graph);
+		EulerianTrail trail = new EulerianTrail(compactGraph);
+		if (!trail.calculateTrail(true))
+			return null;
+		List<Vertex> vertices = new ArrayList<>();
+		for (int v : trail.getVertexSequence())
+			vertices.add(compactGraph.getVertex(v));
+		return new TrailResult(vertices, compactGraph.getEdges(trail.getEdgeSequence()), trail.isCircuit());
+	}
+}
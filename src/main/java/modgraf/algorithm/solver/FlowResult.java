@@ -0,0 +1,46 @@
+package modgraf.algorithm.solver;
+
+import java.util.Map;
+
+import modgraf.jgrapht.edge.ModgrafEdge;
+
+/**
+ * Wynik algorytmu przepływu.
+ */
+public class FlowResult
+{
+	private final double value;
+	private final Map<ModgrafEdge, Double> flows;
+	private final double cost;
+
+	public FlowResult(double value, Map<ModgrafEdge, Double> flows, double cost)
+	{
+		this.value = value;
+		this.flows = flows;
+		this.cost = cost;
+	}
+
+	/**
+	 * @return wartość przepływu
+	 */
+	public double getValue()
+	{
+		return value;
+	}
+
+	/**
+	 * @return przepływ przez każdą krawędź grafu
+	 */
+	public Map<ModgrafEdge, Double> getFlows()
+	{
+		return flows;
+	}
+
+	/**
+	 * @return całkowity koszt przepływu (0 dla grafów bez kosztów)
+	 */
+	public double getCost()
+	{
+		return cost;
+	}
+}
@@ -0,0 +1,87 @@
+package modgraf.algorithm.solver;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import modgraf.algorithm.engine.DinicMaximumFlow;
+import modgraf.algorithm.engine.FlowNetwork;
+import modgraf.algorithm.engine.MaximumFlowEngine;
+import modgraf.algorithm.engine.ParallelPushRelabelMaximumFlow;
+import modgraf.algorithm.engine.PushRelabelMaximumFlow;
+import modgraf.jgrapht.CompactGraph;
+import modgraf.jgrapht.Vertex;
+import modgraf.jgrapht.edge.ModgrafEdge;
+
+import org.jgrapht.DirectedGraph;
+import org.jgrapht.Graph;
+import org.jgrapht.alg.EdmondsKarpMaximumFlow;
+
+/**
+ * Maksymalny przepływ od wierzchołka startowego do końcowego w grafie
+ * skierowanym, w którym wagi krawędzi są przepustowościami.
+ *
+ * @see EdmondsKarpMaximumFlow
+ * @see PushRelabelMaximumFlow
+ * @see ParallelPushRelabelMaximumFlow
+ * @see DinicMaximumFlow
+ */
+public class MaximumFlowSolver implements Solver<FlowResult>
+{
+	public enum Algorithm
+	{
+		EdmondsKarp,
+		PushRelabel,
+		ParallelPushRelabel,
+		Dinic
+	}
+
+	private final Algorithm algorithm;
+
+	public MaximumFlowSolver(Algorithm algorithm)
+	{
+		this.algorithm = algorithm;
+	}
+
+	@Override
+	public FlowResult solve(Graph<Vertex, ModgrafEdge> graph, SolverParameters parameters)
+	{
+		if (algorithm == Algorithm.EdmondsKarp)
+		{
+			for (ModgrafEdge edge : graph.edgeSet())
+				if (graph.getEdgeWeight(edge) < 0)
+					throw new IllegalArgumentException(MaximumFlowEngine.NEGATIVE_CAPACITIES_MESSAGE);
+			EdmondsKarpMaximumFlow<Vertex, ModgrafEdge> ekmf =
+					new EdmondsKarpMaximumFlow<>((DirectedGraph<Vertex, ModgrafEdge>) graph);
+			ekmf.calculateMaximumFlow(parameters.getStartVertex(), parameters.getEndVertex());
+			return new FlowResult(ekmf.getMaximumFlowValue(), ekmf.getMaximumFlow(), 0.0);
+		}
+		MaximumFlowEngine engine = createEngine(new FlowNetwork(parameters.getCompactGraph(graph)), parameters);
+		CompactGraph compactGraph = engine.getNetwork().getGraph();
+		double value = engine.calculateMaximumFlow(compactGraph.indexOf(parameters.getStartVertex()),
+				compactGraph.indexOf(parameters.getEndVertex()));
+		return new FlowResult(value, createFlowMap(engine.getNetwork()), 0.0);
+	}
+
+	private MaximumFlowEngine createEngine(FlowNetwork network, SolverParameters parameters)
+	{
+		if (algorithm == Algorithm.Dinic)
+			return new DinicMaximumFlow(network);
+		if (algorithm == Algorithm.ParallelPushRelabel)
+			return new ParallelPushRelabelMaximumFlow(network,
+					parameters.getThreads(), parameters.getParallelThreshold());
+		return new PushRelabelMaximumFlow(network);
+	}
+
+	/**
+	 * Zamienia przepływ zapisany w sieci residualnej na mapę w takiej samej
+	 * postaci, jaką zwraca {@link EdmondsKarpMaximumFlow#getMaximumFlow()}.
+	 */
+	static Map<ModgrafEdge, Double> createFlowMap(FlowNetwork network)
+	{
+		CompactGraph graph = network.getGraph();
+		Map<ModgrafEdge, Double> flows = new LinkedHashMap<>();
+		for (int e = 0; e < graph.getEdgeCount(); ++e)
+			flows.put(graph.getEdge(e), network.getFlow(e));
+		return flows;
+	}
+}
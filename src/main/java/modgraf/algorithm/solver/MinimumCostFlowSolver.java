@@ -0,0 +1,36 @@
+package modgraf.algorithm.solver;
+
+import modgraf.algorithm.engine.FlowNetwork;
+import modgraf.algorithm.engine.MinCostFlow;
+import modgraf.jgrapht.CompactGraph;
+import modgraf.jgrapht.Vertex;
+import modgraf.jgrapht.edge.ModgrafEdge;
+
+import org.jgrapht.Graph;
+
+/**
+ * Najtańszy przepływ o zadanej wartości od wierzchołka startowego do
+ * końcowego w grafie skierowanym podwójnie ważonym (przepustowość i koszt).
+ * Jeśli w sieci nie da się przesłać oczekiwanej wartości, wynik zawiera
+ * największy możliwy przepływ - należy porównać
+ * {@link FlowResult#getValue()} z {@link SolverParameters#getExpectedFlow()}.
+ *
+ * @see MinCostFlow
+ */
+public class MinimumCostFlowSolver implements Solver<FlowResult>
+{
+	/**
+	 * @throws IllegalStateException jeśli ze źródła osiągalny jest cykl
+	 * 			o ujemnym koszcie
+	 */
+	@Override
+	public FlowResult solve(Graph<Vertex, ModgrafEdge> graph, SolverParameters parameters)
+	{
+		CompactGraph compactGraph = parameters.getCompactGraph(graph);
+		FlowNetwork network = new FlowNetwork(compactGraph);
+		MinCostFlow minCostFlow = new MinCostFlow(network);
+		double value = minCostFlow.solve(compactGraph.indexOf(parameters.getStartVertex()),
+				compactGraph.indexOf(parameters.getEndVertex()), parameters.getExpectedFlow());
+		return new FlowResult(value, MaximumFlowSolver.createFlowMap(network), minCostFlow.getTotalCost());
+	}
+}
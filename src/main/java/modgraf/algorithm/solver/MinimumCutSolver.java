@@ -0,0 +1,69 @@
+package modgraf.algorithm.solver;
+
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import modgraf.algorithm.engine.EnginePool;
+import modgraf.algorithm.engine.GomoryHuTree;
+import modgraf.jgrapht.CompactGraph;
+import modgraf.jgrapht.Vertex;
+import modgraf.jgrapht.edge.ModgrafEdge;
+
+import org.jgrapht.Graph;
+
+/**
+ * Minimalny przekrój między wierzchołkiem startowym i końcowym grafu
+ * nieskierowanego, odczytany z drzewa Gomory'ego-Hu. <br>
+ * Drzewo jest zachowywane i wykorzystywane ponownie dla kolejnych par
+ * wierzchołków, dopóki graf się nie zmieni. Krawędzie przekroju wyznacza
+ * podział wierzchołków po usunięciu najlżejszej krawędzi drzewa na ścieżce
+ * między wierzchołkami - bez obliczania przepływu.
+ *
+ * @see GomoryHuTree
+ */
+public class MinimumCutSolver implements Solver<CutResult>
+{
+	/**
+	 * Ostatnio wyznaczone drzewo.
+	 */
+	private GomoryHuTree tree;
+	/**
+	 * Migawka grafu, dla której wyznaczono <code>tree</code>.
+	 */
+	private CompactGraph treeGraph;
+
+	@Override
+	public CutResult solve(Graph<Vertex, ModgrafEdge> graph, SolverParameters parameters)
+	{
+		CompactGraph compactGraph = parameters.getCompactGraph(graph);
+		if (tree == null || !compactGraph.contentEquals(treeGraph))
+		{
+			tree = null;
+			GomoryHuTree newTree = new GomoryHuTree(compactGraph);
+			newTree.compute(EnginePool.getPool());
+			tree = newTree;
+			treeGraph = compactGraph;
+		}
+		int source = treeGraph.indexOf(parameters.getStartVertex());
+		int target = treeGraph.indexOf(parameters.getEndVertex());
+		Set<ModgrafEdge> cutEdges = new LinkedHashSet<>();
+		int cutVertex = tree.getMinimumCutVertex(source, target);
+		if (cutVertex >= 0)
+		{
+			boolean[] side = tree.getSubtree(cutVertex);
+			for (int e = 0; e < treeGraph.getEdgeCount(); ++e)
+				if (side[treeGraph.getEdgeSource(e)] != side[treeGraph.getEdgeTarget(e)])
+					cutEdges.add(treeGraph.getEdge(e));
+		}
+		Map<Vertex, Vertex> parents = new LinkedHashMap<>();
+		Map<Vertex, Double> cutValues = new LinkedHashMap<>();
+		for (int v = 1; v < treeGraph.getVertexCount(); ++v)
+		{
+			parents.put(treeGraph.getVertex(v), treeGraph.getVertex(tree.getParent(v)));
+			cutValues.put(treeGraph.getVertex(v), tree.getCutValue(v));
+		}
+		return new CutResult(tree.getMinimumCut(source, target), cutEdges, parents, cutValues);
+	}
+}
@@ -0,0 +1,36 @@
+package modgraf.algorithm.solver;
+
+import java.util.List;
+
+import modgraf.jgrapht.edge.ModgrafEdge;
+
+/**
+ * Wynik algorytmu najkrótszej ścieżki.
+ */
+public class PathResult
+{
+	private final List<ModgrafEdge> edges;
+	private final double length;
+
+	public PathResult(List<ModgrafEdge> edges, double length)
+	{
+		this.edges = edges;
+		this.length = length;
+	}
+
+	/**
+	 * @return kolejne krawędzie ścieżki
+	 */
+	public List<ModgrafEdge> getEdges()
+	{
+		return edges;
+	}
+
+	/**
+	 * @return suma wag krawędzi ścieżki
+	 */
+	public double getLength()
+	{
+		return length;
+	}
+}
@@ -0,0 +1,124 @@
+package modgraf.algorithm.solver;
+
+import java.awt.geom.Point2D;
+import java.util.List;
+
+import modgraf.algorithm.engine.AStarShortestPath;
+import modgraf.algorithm.engine.BidirectionalDijkstra;
+import modgraf.algorithm.engine.BlockedFloydWarshall;
+import modgraf.algorithm.engine.EnginePool;
+import modgraf.algorithm.engine.PointToPointShortestPath;
+import modgraf.jgrapht.CompactGraph;
+import modgraf.jgrapht.Vertex;
+import modgraf.jgrapht.edge.ModgrafEdge;
+
+import org.jgrapht.Graph;
+import org.jgrapht.alg.BellmanFordShortestPath;
+import org.jgrapht.alg.DijkstraShortestPath;
+
+/**
+ * Najkrótsza ścieżka między wierzchołkiem startowym i końcowym. <br>
+ * Macierz odległości algorytmu Floyda-Warshalla jest zachowywana
+ * i wykorzystywana ponownie, dopóki graf się nie zmieni.
+ *
+ * @see BellmanFordShortestPath
+ * @see DijkstraShortestPath
+ * @see BlockedFloydWarshall
+ * @see BidirectionalDijkstra
+ * @see AStarShortestPath
+ */
+public class ShortestPathSolver implements Solver<PathResult>
+{
+	public enum Algorithm
+	{
+		BellmanFord,
+		Dijkstra,
+		FloydWarshall,
+		BidirectionalDijkstra,
+		AStar
+	}
+
+	private final Algorithm algorithm;
+	/**
+	 * Wynik algorytmu Floyda-Warshalla zachowany dla kolejnych zapytań.
+	 */
+	private BlockedFloydWarshall allPairs;
+	/**
+	 * Migawka grafu, dla której policzono <code>allPairs</code>.
+	 */
+	private CompactGraph allPairsGraph;
+
+	public ShortestPathSolver(Algorithm algorithm)
+	{
+		this.algorithm = algorithm;
+	}
+
+	@Override
+	public PathResult solve(Graph<Vertex, ModgrafEdge> graph, SolverParameters parameters)
+	{
+		Vertex start = parameters.getStartVertex();
+		Vertex end = parameters.getEndVertex();
+		List<ModgrafEdge> edges;
+		if (algorithm == Algorithm.BellmanFord)
+			edges = BellmanFordShortestPath.findPathBetween(graph, start, end);
+		else if (algorithm == Algorithm.Dijkstra)
+			edges = DijkstraShortestPath.findPathBetween(graph, start, end);
+		else if (algorithm == Algorithm.FloydWarshall)
+			edges = findPathWithAllPairs(parameters.getCompactGraph(graph), start, end);
+		else
+			edges = findPathWithEngine(parameters.getCompactGraph(graph), parameters);
+		if (edges == null)
+			return null;
+		double length = 0.0;
+		for (ModgrafEdge edge : edges)
+			length += graph.getEdgeWeight(edge);
+		return new PathResult(edges, length);
+	}
+
+	private List<ModgrafEdge> findPathWithAllPairs(CompactGraph graph, Vertex start, Vertex end)
+	{
+		if (allPairs == null || !graph.contentEquals(allPairsGraph))
+		{
+			allPairs = null;
+			BlockedFloydWarshall newAllPairs = new BlockedFloydWarshall(graph);
+			newAllPairs.compute(EnginePool.getPool());
+			allPairs = newAllPairs;
+			allPairsGraph = graph;
+		}
+		int[] path = allPairs.getPath(allPairsGraph.indexOf(start), allPairsGraph.indexOf(end));
+		return path != null ? allPairsGraph.getEdges(path) : null;
+	}
+
+	private List<ModgrafEdge> findPathWithEngine(CompactGraph graph, SolverParameters parameters)
+	{
+		PointToPointShortestPath engine;
+		if (algorithm == Algorithm.AStar)
+			engine = createAStar(graph, parameters);
+		else
+			engine = new BidirectionalDijkstra(graph);
+		int[] path = engine.findPath(graph.indexOf(parameters.getStartVertex()),
+				graph.indexOf(parameters.getEndVertex()));
+		return path != null ? graph.getEdges(path) : null;
+	}
+
+	/**
+	 * Tworzy silnik A* z heurystyką opartą na położeniu wierzchołków
+	 * z parametrów.
+	 */
+	private AStarShortestPath createAStar(CompactGraph graph, SolverParameters parameters)
+	{
+		int n = graph.getVertexCount();
+		double[] x = new double[n];
+		double[] y = new double[n];
+		for (int v = 0; v < n; ++v)
+		{
+			Point2D position = parameters.getPositions().get(graph.getVertex(v));
+			if (position != null)
+			{
+				x[v] = position.getX();
+				y[v] = position.getY();
+			}
+		}
+		return new AStarShortestPath(graph, x, y);
+	}
+}
@@ -0,0 +1,29 @@
+package modgraf.algorithm.solver;
+
+import modgraf.jgrapht.Vertex;
+import modgraf.jgrapht.edge.ModgrafEdge;
+
+import org.jgrapht.Graph;
+
+/**
+ * Algorytm grafowy niezależny od interfejsu użytkownika. <br>
+ * Implementacje nie korzystają z edytora ani z biblioteki Swing, więc mogą
+ * być wywoływane z dowolnego wątku. Instancje zapamiętujące wyniki
+ * pośrednie między wywołaniami (np. macierz odległości) nie są jednak
+ * bezpieczne wątkowo - każdy wątek powinien używać własnej instancji.
+ *
+ * @param <R> typ wyniku
+ */
+public interface Solver<R>
+{
+	/**
+	 * Rozwiązuje problem dla podanego grafu.
+	 *
+	 * @param graph graf z warstwy matematycznej
+	 * @param parameters parametry algorytmu
+	 * @return wynik lub <code>null</code>, jeśli rozwiązanie nie istnieje
+	 * @throws IllegalArgumentException jeśli graf lub parametry nie spełniają
+	 * 			wymagań algorytmu (np. ujemne wagi)
+	 */
+	R solve(Graph<Vertex, ModgrafEdge> graph, SolverParameters parameters);
+}
@@ -0,0 +1,154 @@
+package modgraf.algorithm.solver;
+
+import java.awt.geom.Point2D;
+import java.util.Collections;
+import java.util.Map;
+
+import modgraf.jgrapht.CompactGraph;
+import modgraf.jgrapht.Vertex;
+import modgraf.jgrapht.edge.ModgrafEdge;
+
+import org.jgrapht.Graph;
+
+/**
+ * Parametry przekazywane do {@link Solver}. Każdy algorytm korzysta tylko
+ * z potrzebnych mu pól, a pozostałe ignoruje.
+ */
+public class SolverParameters
+{
+	/**
+	 * Domyślny limit czasu algorytmów ograniczonych czasowo w milisekundach.
+	 */
+	public static final long DEFAULT_TIME_BUDGET_MILLIS = 10000;
+	/**
+	 * Domyślna liczba krawędzi, od której przepływ jest liczony równolegle.
+	 */
+	public static final int DEFAULT_PARALLEL_THRESHOLD = 100000;
+
+	private Vertex startVertex;
+	private Vertex endVertex;
+	private double expectedFlow;
+	private long timeBudgetMillis = DEFAULT_TIME_BUDGET_MILLIS;
+	private int threads;
+	private int parallelThreshold = DEFAULT_PARALLEL_THRESHOLD;
+	private Map<Vertex, Point2D> positions = Collections.emptyMap();
+	private CompactGraph compactGraph;
+
+	/**
+	 * @return wierzchołek startowy (źródło)
+	 */
+	public Vertex getStartVertex()
+	{
+		return startVertex;
+	}
+
+	public void setStartVertex(Vertex startVertex)
+	{
+		this.startVertex = startVertex;
+	}
+
+	/**
+	 * @return wierzchołek końcowy (ujście)
+	 */
+	public Vertex getEndVertex()
+	{
+		return endVertex;
+	}
+
+	public void setEndVertex(Vertex endVertex)
+	{
+		this.endVertex = endVertex;
+	}
+
+	/**
+	 * @return oczekiwana wartość przepływu (najtańszy przepływ)
+	 */
+	public double getExpectedFlow()
+	{
+		return expectedFlow;
+	}
+
+	public void setExpectedFlow(double expectedFlow)
+	{
+		this.expectedFlow = expectedFlow;
+	}
+
+	/**
+	 * @return limit czasu algorytmów przybliżonych i dokładnych z limitem
+	 * 			w milisekundach
+	 */
+	public long getTimeBudgetMillis()
+	{
+		return timeBudgetMillis;
+	}
+
+	public void setTimeBudgetMillis(long timeBudgetMillis)
+	{
+		this.timeBudgetMillis = timeBudgetMillis;
+	}
+
+	/**
+	 * @return liczba wątków algorytmów równoległych (0 - liczba procesorów)
+	 */
+	public int getThreads()
+	{
+		return threads;
+	}
+
+	public void setThreads(int threads)
+	{
+		this.threads = threads;
+	}
+
+	/**
+	 * @return liczba krawędzi, od której przepływ jest liczony równolegle
+	 */
+	public int getParallelThreshold()
+	{
+		return parallelThreshold;
+	}
+
+	public void setParallelThreshold(int parallelThreshold)
+	{
+		this.parallelThreshold = parallelThreshold;
+	}
+
+	/**
+	 * @return położenie wierzchołków na płaszczyźnie (heurystyka A*);
+	 * 			brakujące wierzchołki leżą w punkcie (0, 0)
+	 */
+	public Map<Vertex, Point2D> getPositions()
+	{
+		return positions;
+	}
+
+	public void setPositions(Map<Vertex, Point2D> positions)
+	{
+		this.positions = positions;
+	}
+
+	/**
+	 * Zwraca migawkę grafu przygotowaną przy wczytywaniu (np. z pliku mgb)
+	 * albo - jeśli jej nie ma lub opisuje graf innej wielkości - tworzy nową.
+	 *
+	 * @param graph graf przekazany do algorytmu
+	 * @return migawka grafu
+	 */
+	public CompactGraph getCompactGraph(Graph<Vertex, ModgrafEdge> graph)
+	{
+		if (compactGraph != null && compactGraph.getVertexCount() == graph.vertexSet().size()
+				&& compactGraph.getEdgeCount() == graph.edgeSet().size())
+			return compactGraph;
+		return new CompactGraph(graph);
+	}
+
+	/**
+	 * @param compactGraph migawka tego samego grafu, który zostanie przekazany
+	 * 			do algorytmu (<code>null</code> - migawka jest tworzona przez
+	 * 			algorytm)
+	 */
+	public void setCompactGraph(CompactGraph compactGraph)
+	{
+		this.compactGraph = compactGraph;
+	}
+}
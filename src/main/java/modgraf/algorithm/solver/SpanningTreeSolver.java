@@ -0,0 +1,66 @@
+package modgraf.algorithm.solver;
+
+import java.util.LinkedHashSet;
+
+import modgraf.algorithm.engine.BoruvkaSpanningForest;
+import modgraf.algorithm.engine.EnginePool;
+import modgraf.algorithm.engine.KruskalSpanningForest;
+import modgraf.algorithm.engine.SpanningForestEngine;
+import modgraf.jgrapht.CompactGraph;
+import modgraf.jgrapht.Vertex;
+import modgraf.jgrapht.edge.ModgrafEdge;
+
+import org.jgrapht.Graph;
+import org.jgrapht.alg.KruskalMinimumSpanningTree;
+import org.jgrapht.alg.PrimMinimumSpanningTree;
+import org.jgrapht.alg.interfaces.MinimumSpanningTree;
+
+/**
+ * Minimalne drzewo (las) rozpinające.
+ *
+ * @see KruskalMinimumSpanningTree
+ * @see PrimMinimumSpanningTree
+ * @see BoruvkaSpanningForest
+ * @see KruskalSpanningForest
+ */
+public class SpanningTreeSolver implements Solver<TreeResult>
+{
+	public enum Algorithm
+	{
+		Kruskal,
+		Prim,
+		Boruvka,
+		ParallelKruskal
+	}
+
+	private final Algorithm algorithm;
+
+	public SpanningTreeSolver(Algorithm algorithm)
+	{
+		this.algorithm = algorithm;
+	}
+
+	@Override
+	public TreeResult solve(Graph<Vertex, ModgrafEdge> graph, SolverParameters parameters)
+	{
+		if (algorithm == Algorithm.Kruskal || algorithm == Algorithm.Prim)
+		{
+			MinimumSpanningTree<Vertex, ModgrafEdge> minimumSpanningTree;
+			if (algorithm == Algorithm.Kruskal)
+				minimumSpanningTree = new KruskalMinimumSpanningTree<>(graph);
+			else
+				minimumSpanningTree = new PrimMinimumSpanningTree<>(graph);
+			return new TreeResult(minimumSpanningTree.getMinimumSpanningTreeEdgeSet(),
+					minimumSpanningTree.getMinimumSpanningTreeTotalWeight());
+		}
+		CompactGraph compactGraph = parameters.getCompactGraph(graph);
+		SpanningForestEngine engine;
+		if (algorithm == Algorithm.Boruvka)
+			engine = new BoruvkaSpanningForest(compactGraph);
+		else
+			engine = new KruskalSpanningForest(compactGraph);
+		engine.calculateSpanningForest(EnginePool.getPool());
+		return new TreeResult(new LinkedHashSet<>(compactGraph.getEdges(engine.getForestEdges())),
+				engine.getTotalWeight());
+	}
+}
@@ -0,0 +1,47 @@
+package modgraf.algorithm.solver;
+
+import java.util.List;
+
+import modgraf.jgrapht.Vertex;
+import modgraf.jgrapht.edge.ModgrafEdge;
+
+/**
+ * Wynik algorytmu wyznaczającego cykl lub ścieżkę Eulera.
+ */
+public class TrailResult
+{
+	private final List<Vertex> vertices;
+	private final List<ModgrafEdge> edges;
+	private final boolean circuit;
+
+	public TrailResult(List<Vertex> vertices, List<ModgrafEdge> edges, boolean circuit)
+	{
+		this.vertices = vertices;
+		this.edges = edges;
+		this.circuit = circuit;
+	}
+
+	/**
+	 * @return kolejne wierzchołki trasy
+	 */
+	public List<Vertex> getVertices()
+	{
+		return vertices;
+	}
+
+	/**
+	 * @return kolejne krawędzie trasy
+	 */
+	public List<ModgrafEdge> getEdges()
+	{
+		return edges;
+	}
+
+	/**
+	 * @return <code>true</code> jeśli trasa jest cyklem
+	 */
+	public boolean isCircuit()
+	{
+		return circuit;
+	}
+}
@@ -0,0 +1,36 @@
+package modgraf.algorithm.solver;
+
+import java.util.Set;
+
+import modgraf.jgrapht.edge.ModgrafEdge;
+
+/**
+ * Wynik algorytmu minimalnego drzewa (lasu) rozpinającego.
+ */
+public class TreeResult
+{
+	private final Set<ModgrafEdge> edges;
+	private final double totalWeight;
+
+	public TreeResult(Set<ModgrafEdge> edges, double totalWeight)
+	{
+		this.edges = edges;
+		this.totalWeight = totalWeight;
+	}
+
+	/**
+	 * @return krawędzie drzewa
+	 */
+	public Set<ModgrafEdge> getEdges()
+	{
+		return edges;
+	}
+
+	/**
+	 * @return suma wag krawędzi drzewa
+	 */
+	public double getTotalWeight()
+	{
+		return totalWeight;
+	}
+}
@@ -0,0 +1,94 @@
+package modgraf.algorithm.solver;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import modgraf.algorithm.engine.EnginePool;
+import modgraf.algorithm.engine.HeldKarpTsp;
+import modgraf.algorithm.engine.LocalSearchTsp;
+import modgraf.jgrapht.CompactGraph;
+import modgraf.jgrapht.Vertex;
+import modgraf.jgrapht.edge.ModgrafEdge;
+
+import org.jgrapht.Graph;
+import org.jgrapht.alg.HamiltonianCycle;
+import org.jgrapht.graph.SimpleWeightedGraph;
+
+/**
+ * Problem komiwojażera w grafie nieskierowanym ważonym. <br>
+ * Algorytm przybliżony wymaga grafu pełnego, przeszukiwanie lokalne jest
+ * ograniczone czasem {@link SolverParameters#getTimeBudgetMillis()},
+ * a algorytm dokładny obsługuje co najwyżej
+ * {@value HeldKarpTsp#MAX_VERTICES} wierzchołków.
+ *
+ * @see HamiltonianCycle
+ * @see LocalSearchTsp
+ * @see HeldKarpTsp
+ */
+public class TspSolver implements Solver<CycleResult>
+{
+	public enum Algorithm
+	{
+		Approximate,
+		LocalSearch,
+		Exact
+	}
+
+	private final Algorithm algorithm;
+
+	public TspSolver(Algorithm algorithm)
+	{
+		this.algorithm = algorithm;
+	}
+
+	/**
+	 * @throws IllegalArgumentException jeśli graf ma zbyt wiele wierzchołków
+	 * 			dla algorytmu dokładnego albo algorytm przybliżony dostał
+	 * 			graf, który nie jest prostym grafem ważonym
+	 */
+	@Override
+	public CycleResult solve(Graph<Vertex, ModgrafEdge> graph, SolverParameters parameters)
+	{
+		if (algorithm == Algorithm.Approximate)
+		{
+			if (!(graph instanceof SimpleWeightedGraph))
+				throw new IllegalArgumentException("graph is not simple weighted");
+			List<Vertex> vertices = HamiltonianCycle.getApproximateOptimalForCompleteGraph(
+					(SimpleWeightedGraph<Vertex, ModgrafEdge>) graph);
+			return vertices != null ? new CycleResult(vertices, findLength(graph, vertices)) : null;
+		}
+		CompactGraph compactGraph = parameters.getCompactGraph(graph);
+		int[] tour;
+		double length;
+		if (algorithm == Algorithm.LocalSearch)
+		{
+			LocalSearchTsp tsp = new LocalSearchTsp(compactGraph);
+			tsp.calculateTour(EnginePool.getPool(), parameters.getTimeBudgetMillis());
+			if (compactGraph.getVertexCount() < 3 || tsp.usesMissingEdges())
+				return null;
+			tour = tsp.getTour();
+			length = tsp.getTourLength();
+		}
+		else
+		{
+			HeldKarpTsp tsp = new HeldKarpTsp(compactGraph);
+			if (!tsp.calculateTour(EnginePool.getPool()))
+				return null;
+			tour = tsp.getTour();
+			length = tsp.getTourLength();
+		}
+		List<Vertex> vertices = new ArrayList<>(tour.length);
+		for (int v : tour)
+			vertices.add(compactGraph.getVertex(v));
+		return new CycleResult(vertices, length);
+	}
+
+	private static double findLength(Graph<Vertex, ModgrafEdge> graph, List<Vertex> vertices)
+	{
+		double length = 0.0;
+		for (int i = 0; i < vertices.size(); ++i)
+			length += graph.getEdgeWeight(graph.getEdge(vertices.get(i),
+					vertices.get((i + 1) % vertices.size())));
+		return length;
+	}
+}
@@ -0,0 +1,90 @@
+package modgraf.algorithm.solver;
+
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import modgraf.algorithm.engine.BranchAndBoundColoring;
+import modgraf.algorithm.engine.DSaturColoring;
+import modgraf.algorithm.engine.EnginePool;
+import modgraf.jgrapht.CompactGraph;
+import modgraf.jgrapht.Vertex;
+import modgraf.jgrapht.edge.ModgrafEdge;
+
+import org.jgrapht.DirectedGraph;
+import org.jgrapht.Graph;
+import org.jgrapht.UndirectedGraph;
+import org.jgrapht.alg.ChromaticNumber;
+import org.jgrapht.graph.AsUndirectedGraph;
+
+/**
+ * Kolorowanie wierzchołków. Kierunek krawędzi jest pomijany. <br>
+ * Algorytm dokładny jest ograniczony czasem
+ * {@link SolverParameters#getTimeBudgetMillis()} - po jego przekroczeniu
+ * zwraca najlepsze znalezione kolorowanie, które nie musi być optymalne.
+ *
+ * @see ChromaticNumber
+ * @see DSaturColoring
+ * @see BranchAndBoundColoring
+ */
+public class VertexColoringSolver implements Solver<ColoringResult<Vertex>>
+{
+	public enum Algorithm
+	{
+		Greedy,
+		DSatur,
+		Exact
+	}
+
+	private final Algorithm algorithm;
+
+	public VertexColoringSolver(Algorithm algorithm)
+	{
+		this.algorithm = algorithm;
+	}
+
+	@Override
+	public ColoringResult<Vertex> solve(Graph<Vertex, ModgrafEdge> graph, SolverParameters parameters)
+	{
+		int trivialBound = graph.vertexSet().isEmpty() ? 0 : graph.edgeSet().isEmpty() ? 1 : 2;
+		if (algorithm == Algorithm.Greedy)
+		{
+			UndirectedGraph<Vertex, ModgrafEdge> undirectedGraph;
+			if (graph instanceof UndirectedGraph)
+				undirectedGraph = (UndirectedGraph<Vertex, ModgrafEdge>) graph;
+			else
+				undirectedGraph = new AsUndirectedGraph<>((DirectedGraph<Vertex, ModgrafEdge>) graph);
+			Map<Integer, Set<Vertex>> groups = ChromaticNumber.findGreedyColoredGroups(undirectedGraph);
+			return new ColoringResult<>(groups, groups.size() <= trivialBound, trivialBound);
+		}
+		CompactGraph compactGraph = parameters.getCompactGraph(graph);
+		if (algorithm == Algorithm.DSatur)
+		{
+			DSaturColoring coloring = new DSaturColoring(compactGraph);
+			coloring.calculateColoring();
+			Map<Integer, Set<Vertex>> groups = createGroups(compactGraph, coloring.getColors());
+			return new ColoringResult<>(groups, groups.size() <= trivialBound, trivialBound);
+		}
+		BranchAndBoundColoring coloring = new BranchAndBoundColoring(compactGraph);
+		coloring.calculateColoring(EnginePool.getPool(), parameters.getTimeBudgetMillis());
+		return new ColoringResult<>(createGroups(compactGraph, coloring.getColors()),
+				coloring.isOptimal(), coloring.getLowerBound());
+	}
+
+	private static Map<Integer, Set<Vertex>> createGroups(CompactGraph graph, int[] colors)
+	{
+		Map<Integer, Set<Vertex>> groups = new TreeMap<>();
+		for (int v = 0; v < colors.length; ++v)
+		{
+			Set<Vertex> vertexSet = groups.get(colors[v]);
+			if (vertexSet == null)
+			{
+				vertexSet = new LinkedHashSet<>();
+				groups.put(colors[v], vertexSet);
+			}
+			vertexSet.add(graph.getVertex(v));
+		}
+		return groups;
+	}
+}
@@ -1,22 +1,16 @@
 package modgraf.algorithm.steps;
 
 import java.awt.event.ActionEvent;
-import java.util.ArrayList;
-import java.util.HashSet;
-import java.util.Hashtable;
-import java.util.Map;
-import java.util.PriorityQueue;
-import java.util.Set;
+import java.util.Arrays;
 
 import javax.swing.JOptionPane;
 
+import modgraf.algorithm.engine.AlgorithmMetrics;
+import modgraf.algorithm.engine.IndexedHeap;
+import modgraf.jgrapht.CompactGraph;
 import modgraf.jgrapht.Vertex;
-import modgraf.jgrapht.edge.ModgrafEdge;
-import modgraf.jgrapht.edge.WeightedEdge;
 import modgraf.view.Editor;
 
-import org.jgrapht.DirectedGraph;
-import org.jgrapht.Graph;
 import org.jgrapht.WeightedGraph;
 
 import com.mxgraph.model.mxCell;
@@ -24,21 +18,30 @@ import com.mxgraph.model.mxGraphModel;
 
 /**
  * Klasa zawiera krokową implementację algorytmu Dijkstry.
+ * <br>
+ * Algorytm pracuje na migawce grafu {@link CompactGraph}. Odległości są
+ * przechowywane w tablicy <code>double[]</code>, a kolejka priorytetowa to
+ * indeksowany kopiec {@link IndexedHeap}, więc poprawa odległości wierzchołka
+ * kosztuje O(log <i>n</i>).
  *
  * @author Daniel Pogrebniak
  */
 public class DijkstraAlgorithm extends ModgrafAbstractStepsAlgorithm
 {
 	private boolean first;
-	private Map<String, Double> distances;
-	private Set<Vertex> vertexSet;
-	private PriorityQueue<DistanceVertex> queue;
-	private ArrayList<ModgrafEdge> edgesList;
-	private DistanceVertex vertexU;
-	private Vertex vertexV;
-	private ModgrafEdge edgeV;
+	private CompactGraph graph;
+	private double[] distances;
+	private int[] previousEdge;
+	private boolean[] marked;
+	private IndexedHeap queue;
+	private int start;
+	private int end;
+	private int vertexU;
+	private int vertexV;
+	private int edgeV;
+	private int nextArc;
+	private int lastArc;
 	private boolean edgeVchecked;
-	private Set<Vertex> markedVertexSet;
 
 	public DijkstraAlgorithm(Editor e)
 	{
@@ -71,9 +74,9 @@ public class DijkstraAlgorithm extends ModgrafAbstractStepsAlgorithm
 			firstStep();
 		else
 		{
-			if (!endVertex.equals(vertexU)) 
+			if (vertexU != end) 
 			{
-				if (edgesList.isEmpty() && edgeVchecked)
+				if (nextArc == lastArc && edgeVchecked)
 					selectNextVertex();
 				else
 				{
@@ -92,44 +95,45 @@ public class DijkstraAlgorithm extends ModgrafAbstractStepsAlgorithm
 
 	private void selectNextVertex()
 	{
-		if (edgeV != null && vertexV != null)
+		if (edgeV >= 0 && vertexV >= 0)
 		{
-			changeEdgeStrokeWidth(edgeV, 1);
-			if (!markedVertexSet.contains(vertexV))
-				changeVertexStrokeWidth(vertexV, 1);
-			edgeV = null;
-			vertexV = null;
+			changeEdgeStrokeWidth(graph.getEdge(edgeV), 1);
+			if (!marked[vertexV])
+				changeVertexStrokeWidth(graph.getVertex(vertexV), 1);
+			edgeV = -1;
+			vertexV = -1;
+		}
+		if (queue.isEmpty())
+		{
+			createTextResult();
+			changeState(State.End);
+			return;
 		}
-		Graph<Vertex, ModgrafEdge> graphT = editor.getGraphT();
 		vertexU = queue.poll();
-		Set<ModgrafEdge> edgesSet;
-		if (graphT instanceof DirectedGraph)
-			edgesSet = ((DirectedGraph<Vertex, ModgrafEdge>)graphT).outgoingEdgesOf(vertexU);
-		else
-			edgesSet = graphT.edgesOf(vertexU);
-		edgesList = new ArrayList<>(edgesSet);
-		changeVertexStrokeWidth(vertexU, 4);
-		markedVertexSet.add(vertexU);
-		if (vertexU.getPrevious() != null)
-			changeEdgeStrokeWidth(vertexU.getPrevious(), 4);
+		nextArc = graph.getOutOffsets()[vertexU];
+		lastArc = graph.getOutOffsets()[vertexU + 1];
+		changeVertexStrokeWidth(graph.getVertex(vertexU), 4);
+		marked[vertexU] = true;
+		if (previousEdge[vertexU] >= 0)
+			changeEdgeStrokeWidth(graph.getEdge(previousEdge[vertexU]), 4);
 		edgeVchecked = true;
 	}
 	
 	private void selectNextEdge()
 	{
-		if (edgeV != null && vertexV != null)
+		if (edgeV >= 0 && vertexV >= 0)
 		{
-			changeEdgeStrokeWidth(edgeV, 1);
-			if (!markedVertexSet.contains(vertexV))
-				changeVertexStrokeWidth(vertexV, 1);
+			changeEdgeStrokeWidth(graph.getEdge(edgeV), 1);
+			if (!marked[vertexV])
+				changeVertexStrokeWidth(graph.getVertex(vertexV), 1);
 		}
-		edgeV = edgesList.get(0);
-		edgesList.remove(0);
-		vertexV = edgeV.getOtherVertex(vertexU);
-		changeEdgeStrokeWidth(edgeV, 2);
-		if (!markedVertexSet.contains(vertexV))
+		edgeV = graph.getOutEdges()[nextArc];
+		vertexV = graph.getOutTargets()[nextArc];
+		++nextArc;
+		changeEdgeStrokeWidth(graph.getEdge(edgeV), 2);
+		if (!marked[vertexV])
 		{
-			changeVertexStrokeWidth(vertexV, 2);
+			changeVertexStrokeWidth(graph.getVertex(vertexV), 2);
 			edgeVchecked = false;
 		}
 		else
@@ -138,85 +142,56 @@ public class DijkstraAlgorithm extends ModgrafAbstractStepsAlgorithm
 	
 	private void checkDistance()
 	{
-		double distanceThroughU = distances.get(vertexU.getId()) + ((WeightedEdge)edgeV).getWeight();
-		if (distanceThroughU < distances.get(vertexV.getId()))
+		double distanceThroughU = distances[vertexU] + graph.getWeight(edgeV);
+		if (distanceThroughU < distances[vertexV])
 		{
-			queue.remove(new DistanceVertex(vertexV, 0.0, null));
-			distances.put(vertexV.getId(), distanceThroughU);
-			queue.add(new DistanceVertex(vertexV, distanceThroughU, edgeV));
-			showDistances();
+			distances[vertexV] = distanceThroughU;
+			previousEdge[vertexV] = edgeV;
+			queue.insertOrDecrease(vertexV, distanceThroughU);
+			AlgorithmMetrics.count(AlgorithmMetrics.RELAXATIONS, 1);
+			showDistance(vertexV);
 		}
 		edgeVchecked = true;
 	}
 	
-	static class DistanceVertex extends Vertex implements Comparable<DistanceVertex>
-	{
-		private static final long serialVersionUID = -1504310465327879043L;
-		private double distance;
-		private ModgrafEdge previous;
-		
-		public DistanceVertex(Vertex v, double d, ModgrafEdge e) 
-		{
-			super(v.getId(), v.getName());
-			previous = e;
-			setDistance(d);
-		}
-		
-		public double getDistance() 
-		{
-			return distance;
-		}
-		
-		public void setDistance(double distance) 
-		{
-			this.distance = distance;
-		}
-		
-		public ModgrafEdge getPrevious()
-		{
-			return previous;
-		}
-		
-		@Override
-		public int compareTo(DistanceVertex o) {
-			return Double.compare(distance, o.getDistance());
-		}
-		
-	}
-	
 	private void firstStep()
 	{
-		vertexSet = editor.getGraphT().vertexSet();
-		distances = new Hashtable<>();
-		edgesList = new ArrayList<>();
-		markedVertexSet = new HashSet<>();
-		for(Vertex vertex : vertexSet)
-			distances.put(vertex.getId(), Double.MAX_VALUE);
-		distances.put(startVertex.getId(), 0.0);
-		queue = new PriorityQueue<>();
-		queue.add(new DistanceVertex(startVertex, 0.0, null));
-		showDistances();
-		vertexU = null;
-		vertexV = null;
-		edgeV = null;
+		graph = createCompactGraph();
+		int n = graph.getVertexCount();
+		start = graph.indexOf(startVertex);
+		end = graph.indexOf(endVertex);
+		distances = new double[n];
+		previousEdge = new int[n];
+		marked = new boolean[n];
+		Arrays.fill(distances, Double.POSITIVE_INFINITY);
+		Arrays.fill(previousEdge, -1);
+		distances[start] = 0.0;
+		queue = new IndexedHeap(n);
+		queue.insert(start, 0.0);
+		for (int v = 0; v < n; ++v)
+			showDistance(v);
+		vertexU = -1;
+		vertexV = -1;
+		edgeV = -1;
+		nextArc = 0;
+		lastArc = 0;
 		first = false;
 		edgeVchecked = true;
 	}
 
-	private void showDistances() 
+	private void showDistance(int index)
 	{
 		mxGraphModel model = (mxGraphModel) editor.getGraphComponent().getGraph().getModel();
-		for(Vertex vertex : vertexSet)
-		{
-			mxCell cell = (mxCell) model.getCell(vertex.getId());
-			String value;
-			Double d = distances.get(vertex.getId());
-			if (d.equals(Double.MAX_VALUE))
-				value = vertex.getName() + "\n" + Character.toString('\u221E');
-			else
-				value = vertex.getName() + "\n" + d;
-			cell.setValue(value);
-		}
+		Vertex vertex = graph.getVertex(index);
+		mxCell cell = (mxCell) model.getCell(vertex.getId());
+		cell.setValue(vertex.getName() + "\n" + formatDistance(distances[index]));
+	}
+
+	private String formatDistance(double distance)
+	{
+		if (Double.isInfinite(distance))
+			return Character.toString('\u221E');
+		return Double.toString(distance);
 	}
 
 	private void createTextResult()
@@ -227,7 +202,7 @@ public class DijkstraAlgorithm extends ModgrafAbstractStepsAlgorithm
 		sb.append(lang.getProperty("alg-sp-message-2"));
 		sb.append(endVertexComboBox.getSelectedItem());
 		sb.append(lang.getProperty("alg-sp-message-8"));
-		sb.append(distances.get(endVertex.getId()));
+		sb.append(formatDistance(distances[end]));
 		sb.append(".");
 		editor.setText(sb.toString());
 	}
@@ -2,6 +2,8 @@ package modgraf.algorithm.steps;
 
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
 import java.net.URL;
 
 import javax.swing.BoxLayout;
@@ -11,6 +13,9 @@ import javax.swing.JFrame;
 import javax.swing.JPanel;
 
 import modgraf.algorithm.ModgrafAbstractAlgorithm;
+import modgraf.algorithm.engine.AlgorithmMetrics;
+import modgraf.algorithm.engine.AlgorithmMetrics.Phase;
+import modgraf.algorithm.engine.AlgorithmMetrics.Status;
 import modgraf.jgrapht.Vertex;
 import modgraf.view.Editor;
 
@@ -18,7 +23,11 @@ import com.mxgraph.model.mxCell;
 import com.mxgraph.model.mxGraphModel;
 
 /**
- * Klasa bazowa dla wszystkich algorytmów w trybie krokowym.
+ * Klasa bazowa dla wszystkich algorytmów w trybie krokowym. <br>
+ * Kroki wykonane w oknie trybu krokowego są mierzone osobno od przygotowania
+ * algorytmu: liczba kroków, ich łączny czas i liczniki zgłoszone w trakcie
+ * kroków trafiają do dziennika pomiarów po zakończeniu algorytmu
+ * lub zamknięciu okna.
  *
  * @author Daniel Pogrebniak
  */
@@ -51,6 +60,10 @@ public abstract class ModgrafAbstractStepsAlgorithm extends ModgrafAbstractAlgor
      * Metoda załadowywania ikon (true jeśli z pliku jar, false jeśli z poza pliku)
      */
     private boolean useClassLoader;
+    /**
+     * Pomiary kroków wykonanych w oknie trybu krokowego
+     */
+    private AlgorithmMetrics stepMetrics;
 
     /**
      * Stany, w których może znajdować się algorytm
@@ -73,17 +86,27 @@ public abstract class ModgrafAbstractStepsAlgorithm extends ModgrafAbstractAlgor
     }
 
     @Override
-    protected void findAndShowResult() {
+    protected void showResult() {
         createStepsWindow();
     }
 
     /**
-     * Tworzy okno z przyciskami
+     * Tworzy okno z przyciskami. Każde uruchomienie zaczyna nowe pomiary kroków.
      */
     private void createStepsWindow() {
+        synchronized (this) {
+            stepMetrics = null;
+        }
         JPanel stepsPanel = createStepsPanel();
         frame = new JFrame(lang.getProperty("frame-algorithm-steps"));
         frame.setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
+        frame.addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosed(WindowEvent e) {
+                changeState(State.Stop);
+                publishStepMetrics(Status.Cancelled);
+            }
+        });
         frame.setPreferredSize(editor.createDimensionFromProperty(
                 "frame-algorithm-steps-width", "frame-algorithm-steps-height"));
         frame.add(stepsPanel);
@@ -139,7 +162,7 @@ public abstract class ModgrafAbstractStepsAlgorithm extends ModgrafAbstractAlgor
         play.addActionListener(new ActionListener() {
             @Override
             public void actionPerformed(ActionEvent arg0) {
-                runOneStep();
+                performStep();
                 editor.getGraphComponent().refresh();
             }
         });
@@ -215,6 +238,37 @@ public abstract class ModgrafAbstractStepsAlgorithm extends ModgrafAbstractAlgor
      */
     protected abstract void runOneStep();
 
+    /**
+     * Wykonuje 1 krok algorytmu z pomiarem czasu i liczników
+     */
+    private synchronized void performStep() {
+        if (stepMetrics == null)
+            stepMetrics = new AlgorithmMetrics(getName(),
+                    editor.getGraphT().vertexSet().size(), editor.getGraphT().edgeSet().size());
+        stepMetrics.activate();
+        long start = System.nanoTime();
+        try {
+            runOneStep();
+        } finally {
+            stepMetrics.addPhaseTime(Phase.Highlighting, System.nanoTime() - start);
+            stepMetrics.addCount(AlgorithmMetrics.STEPS, 1);
+            stepMetrics.deactivate();
+        }
+        if (currentState == State.End)
+            publishStepMetrics(Status.Finished);
+    }
+
+    /**
+     * Zapisuje pomiary kroków w dzienniku (co najwyżej raz)
+     * @param status stan zakończenia
+     */
+    private synchronized void publishStepMetrics(Status status) {
+        if (stepMetrics == null || stepMetrics.getStatus() != Status.Running)
+            return;
+        stepMetrics.setStatus(status);
+        editor.getMetricsLog().add(stepMetrics);
+    }
+
     /**
      * Wątek pomocniczy, który steruje wykonywaniem algorytmu w trybie automatycznym.
      */
@@ -224,7 +278,7 @@ public abstract class ModgrafAbstractStepsAlgorithm extends ModgrafAbstractAlgor
         public void run() {
             changeState(State.Run);
             while (currentState == State.Run) {
-                runOneStep();
+                performStep();
                 editor.getGraphComponent().refresh();
                 try {
                     Long time = new Long(prop.getProperty("step-sleep-time-ms"));
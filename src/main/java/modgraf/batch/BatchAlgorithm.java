@@ -0,0 +1,322 @@
+package modgraf.batch;
+
+import modgraf.algorithm.solver.EdgeColoringSolver;
+import modgraf.algorithm.solver.EulerianTrailSolver;
+import modgraf.algorithm.solver.MaximumFlowSolver;
+import modgraf.algorithm.solver.MinimumCostFlowSolver;
+import modgraf.algorithm.solver.MinimumCutSolver;
+import modgraf.algorithm.solver.ShortestPathSolver;
+import modgraf.algorithm.solver.Solver;
+import modgraf.algorithm.solver.SpanningTreeSolver;
+import modgraf.algorithm.solver.TspSolver;
+import modgraf.algorithm.solver.VertexColoringSolver;
+import modgraf.jgrapht.DoubleWeightedGraph;
+import modgraf.jgrapht.Vertex;
+import modgraf.jgrapht.edge.ModgrafEdge;
+
+import org.jgrapht.DirectedGraph;
+import org.jgrapht.Graph;
+import org.jgrapht.WeightedGraph;
+import org.jgrapht.graph.SimpleWeightedGraph;
+
+/**
+ * Algorytmy dostępne w trybie wsadowym. Nazwy odpowiadają końcówkom kluczy
+ * pozycji menu <i>Algorytmy</i> (np. <code>shortest-path-d</code> dla
+ * <code>menu-algorithm-shortest-path-d</code>).
+ */
+public enum BatchAlgorithm
+{
+	ShortestPathBellmanFord("shortest-path-bf", true, GraphType.Weighted)
+	{
+		@Override
+		public Solver<?> createSolver()
+		{
+			return new ShortestPathSolver(ShortestPathSolver.Algorithm.BellmanFord);
+		}
+	},
+	ShortestPathDijkstra("shortest-path-d", true, GraphType.Weighted)
+	{
+		@Override
+		public Solver<?> createSolver()
+		{
+			return new ShortestPathSolver(ShortestPathSolver.Algorithm.Dijkstra);
+		}
+	},
+	ShortestPathFloydWarshall("shortest-path-fw", true, GraphType.Weighted)
+	{
+		@Override
+		public Solver<?> createSolver()
+		{
+			return new ShortestPathSolver(ShortestPathSolver.Algorithm.FloydWarshall);
+		}
+	},
+	ShortestPathBidirectionalDijkstra("shortest-path-bd", true, GraphType.Weighted)
+	{
+		@Override
+		public Solver<?> createSolver()
+		{
+			return new ShortestPathSolver(ShortestPathSolver.Algorithm.BidirectionalDijkstra);
+		}
+	},
+	ShortestPathAStar("shortest-path-astar", true, GraphType.Weighted)
+	{
+		@Override
+		public Solver<?> createSolver()
+		{
+			return new ShortestPathSolver(ShortestPathSolver.Algorithm.AStar);
+		}
+	},
+	MaximumFlowEdmondsKarp("maximum-flow-ek", true, GraphType.DirectedWeighted)
+	{
+		@Override
+		public Solver<?> createSolver()
+		{
+			return new MaximumFlowSolver(MaximumFlowSolver.Algorithm.EdmondsKarp);
+		}
+	},
+	MaximumFlowPushRelabel("maximum-flow-pr", true, GraphType.DirectedWeighted)
+	{
+		@Override
+		public Solver<?> createSolver()
+		{
+			return new MaximumFlowSolver(MaximumFlowSolver.Algorithm.PushRelabel);
+		}
+	},
+	MaximumFlowParallelPushRelabel("maximum-flow-ppr", true, GraphType.DirectedWeighted)
+	{
+		@Override
+		public Solver<?> createSolver()
+		{
+			return new MaximumFlowSolver(MaximumFlowSolver.Algorithm.ParallelPushRelabel);
+		}
+	},
+	MaximumFlowDinic("maximum-flow-d", true, GraphType.DirectedWeighted)
+	{
+		@Override
+		public Solver<?> createSolver()
+		{
+			return new MaximumFlowSolver(MaximumFlowSolver.Algorithm.Dinic);
+		}
+	},
+	CheapestFlow("cheapest-flow-bg", true, GraphType.DirectedDoubleWeighted)
+	{
+		@Override
+		public Solver<?> createSolver()
+		{
+			return new MinimumCostFlowSolver();
+		}
+	},
+	GomoryHu("maximum-flow-gh", true, GraphType.Undirected)
+	{
+		@Override
+		public Solver<?> createSolver()
+		{
+			return new MinimumCutSolver();
+		}
+	},
+	SpanningTreeKruskal("spanning-tree-k", false, GraphType.Weighted)
+	{
+		@Override
+		public Solver<?> createSolver()
+		{
+			return new SpanningTreeSolver(SpanningTreeSolver.Algorithm.Kruskal);
+		}
+	},
+	SpanningTreePrim("spanning-tree-p", false, GraphType.Weighted)
+	{
+		@Override
+		public Solver<?> createSolver()
+		{
+			return new SpanningTreeSolver(SpanningTreeSolver.Algorithm.Prim);
+		}
+	},
+	SpanningTreeBoruvka("spanning-tree-b", false, GraphType.Weighted)
+	{
+		@Override
+		public Solver<?> createSolver()
+		{
+			return new SpanningTreeSolver(SpanningTreeSolver.Algorithm.Boruvka);
+		}
+	},
+	SpanningTreeParallelKruskal("spanning-tree-pk", false, GraphType.Weighted)
+	{
+		@Override
+		public Solver<?> createSolver()
+		{
+			return new SpanningTreeSolver(SpanningTreeSolver.Algorithm.ParallelKruskal);
+		}
+	},
+	ChromaticNumberGreedy("chromatic-number-greedy", false, GraphType.Any)
+	{
+		@Override
+		public Solver<?> createSolver()
+		{
+			return new VertexColoringSolver(VertexColoringSolver.Algorithm.Greedy);
+		}
+	},
+	ChromaticNumberDSatur("chromatic-number-dsatur", false, GraphType.Any)
+	{
+		@Override
+		public Solver<?> createSolver()
+		{
+			return new VertexColoringSolver(VertexColoringSolver.Algorithm.DSatur);
+		}
+	},
+	ChromaticNumberExact("chromatic-number-exact", false, GraphType.Any)
+	{
+		@Override
+		public Solver<?> createSolver()
+		{
+			return new VertexColoringSolver(VertexColoringSolver.Algorithm.Exact);
+		}
+	},
+	EdgeColoring("edge-coloring-approximate", false, GraphType.Any)
+	{
+		@Override
+		public Solver<?> createSolver()
+		{
+			return new EdgeColoringSolver();
+		}
+	},
+	TspApproximate("tsp-approximate", false, GraphType.SimpleWeighted)
+	{
+		@Override
+		public Solver<?> createSolver()
+		{
+			return new TspSolver(TspSolver.Algorithm.Approximate);
+		}
+	},
+	TspLocalSearch("tsp-local-search", false, GraphType.SimpleWeighted)
+	{
+		@Override
+		public Solver<?> createSolver()
+		{
+			return new TspSolver(TspSolver.Algorithm.LocalSearch);
+		}
+	},
+	TspExact("tsp-exact", false, GraphType.SimpleWeighted)
+	{
+		@Override
+		public Solver<?> createSolver()
+		{
+			return new TspSolver(TspSolver.Algorithm.Exact);
+		}
+	},
+	EulerianCycle("eulerian-cycle-h", false, GraphType.Any)
+	{
+		@Override
+		public Solver<?> createSolver()
+		{
+			return new EulerianTrailSolver();
+		}
+	};
+
+	/**
+	 * Rodzaje grafów, dla których można uruchomić algorytm - takie same jak
+	 * przy uruchamianiu algorytmu z menu.
+	 */
+	public enum GraphType
+	{
+		Any("any graph"),
+		Weighted("a weighted graph"),
+		Undirected("an undirected graph"),
+		DirectedWeighted("a directed weighted graph"),
+		DirectedDoubleWeighted("a directed double weighted graph"),
+		SimpleWeighted("an undirected weighted graph");
+
+		private final String description;
+
+		private GraphType(String description)
+		{
+			this.description = description;
+		}
+
+		/**
+		 * @param graph graf
+		 * @return <code>true</code> jeśli graf jest tego rodzaju
+		 */
+		public boolean accepts(Graph<Vertex, ModgrafEdge> graph)
+		{
+			switch (this)
+			{
+			case Weighted:
+				return graph instanceof WeightedGraph;
+			case Undirected:
+				return !(graph instanceof DirectedGraph);
+			case DirectedWeighted:
+				return graph instanceof DirectedGraph
+						&& (graph instanceof WeightedGraph || graph instanceof DoubleWeightedGraph);
+			case DirectedDoubleWeighted:
+				return graph instanceof DirectedGraph && graph instanceof DoubleWeightedGraph;
+			case SimpleWeighted:
+				return graph instanceof SimpleWeightedGraph;
+			default:
+				return true;
+			}
+		}
+
+		/**
+		 * @return opis rodzaju grafu w komunikatach o błędach
+		 */
+		public String getDescription()
+		{
+			return description;
+		}
+	}
+
+	private final String name;
+	private final boolean requiresVertices;
+	private final GraphType graphType;
+
+	private BatchAlgorithm(String name, boolean requiresVertices, GraphType graphType)
+	{
+		this.name = name;
+		this.requiresVertices = requiresVertices;
+		this.graphType = graphType;
+	}
+
+	/**
+	 * Tworzy nowy obiekt rozwiązujący problem. Obiekty z pamięcią podręczną
+	 * nie są bezpieczne wielowątkowo, dlatego każde zadanie dostaje własny.
+	 *
+	 * @return obiekt rozwiązujący problem
+	 */
+	public abstract Solver<?> createSolver();
+
+	/**
+	 * @return nazwa algorytmu w wierszu poleceń
+	 */
+	public String getName()
+	{
+		return name;
+	}
+
+	/**
+	 * @return <code>true</code> jeśli algorytm wymaga wierzchołka startowego
+	 * 			i końcowego
+	 */
+	public boolean isVertexPairRequired()
+	{
+		return requiresVertices;
+	}
+
+	/**
+	 * @return rodzaj grafów, dla których można uruchomić algorytm
+	 */
+	public GraphType getGraphType()
+	{
+		return graphType;
+	}
+
+	/**
+	 * @param name nazwa algorytmu w wierszu poleceń
+	 * @return algorytm o podanej nazwie lub <code>null</code>
+	 */
+	public static BatchAlgorithm forName(String name)
+	{
+		for (BatchAlgorithm algorithm : values())
+			if (algorithm.name.equals(name))
+				return algorithm;
+		return null;
+	}
+}
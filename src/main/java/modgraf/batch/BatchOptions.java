@@ -0,0 +1,181 @@
+package modgraf.batch;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Parametry trybu wsadowego odczytane z wiersza poleceń.
+ */
+public class BatchOptions
+{
+	/**
+	 * Format wyników.
+	 */
+	public enum Format
+	{
+		csv,
+		json
+	}
+
+	private BatchAlgorithm algorithm;
+	private String startVertex;
+	private String endVertex;
+	private double expectedFlow;
+	private long timeBudgetMillis = -1;
+	private int threads = Runtime.getRuntime().availableProcessors();
+	private Format format = Format.csv;
+	private List<String> inputs = new ArrayList<>();
+
+	/**
+	 * Odczytuje parametry w postaci:
+	 * <code>algorytm [--start nazwa] [--end nazwa] [--flow liczba]
+	 * [--budget sekundy] [--threads liczba] [--format csv|json] plik...</code>,
+	 * gdzie <code>plik</code> to plik, katalog lub wzorzec (glob) plików
+	 * <code>.xml</code>, <code>.grf</code>, <code>.mgb</code> lub list krawędzi
+	 * (<code>.tsv</code>, <code>.edges</code>).
+	 *
+	 * @param args argumenty wiersza poleceń (bez przełącznika trybu wsadowego)
+	 * @return parametry trybu wsadowego
+	 * @throws IllegalArgumentException jeśli argumenty są niepoprawne
+	 */
+	public static BatchOptions parse(String[] args)
+	{
+		if (args.length == 0)
+			throw new IllegalArgumentException("Missing algorithm name");
+		BatchOptions options = new BatchOptions();
+		options.algorithm = BatchAlgorithm.forName(args[0]);
+		if (options.algorithm == null)
+			throw new IllegalArgumentException("Unknown algorithm: " + args[0]);
+		for (int i = 1; i < args.length; ++i)
+		{
+			String arg = args[i];
+			if (!arg.startsWith("--"))
+			{
+				options.inputs.add(arg);
+				continue;
+			}
+			if (i + 1 == args.length)
+				throw new IllegalArgumentException("Missing value of " + arg);
+			String value = args[++i];
+			switch (arg)
+			{
+			case "--start":
+				options.startVertex = value;
+				break;
+			case "--end":
+				options.endVertex = value;
+				break;
+			case "--flow":
+				options.expectedFlow = parseNumber(arg, value);
+				break;
+			case "--budget":
+				options.timeBudgetMillis = (long) (parseNumber(arg, value) * 1000);
+				break;
+			case "--threads":
+				options.threads = (int) parseNumber(arg, value);
+				if (options.threads < 1)
+					throw new IllegalArgumentException("Invalid value of --threads: " + value);
+				break;
+			case "--format":
+				try
+				{
+					options.format = Format.valueOf(value);
+				}
+				catch (IllegalArgumentException e)
+				{
+					throw new IllegalArgumentException("Unknown format: " + value);
+				}
+				break;
+			default:
+				throw new IllegalArgumentException("Unknown option: " + arg);
+			}
+		}
+		if (options.inputs.isEmpty())
+			throw new IllegalArgumentException("Missing input files");
+		if (options.algorithm.isVertexPairRequired()
+				&& (options.startVertex == null || options.endVertex == null))
+			throw new IllegalArgumentException("Algorithm " + args[0] + " requires --start and --end");
+		if (options.algorithm.isVertexPairRequired() && options.startVertex.equals(options.endVertex))
+			throw new IllegalArgumentException("Algorithm " + args[0] + " requires different --start and --end");
+		return options;
+	}
+
+	private static double parseNumber(String option, String value)
+	{
+		try
+		{
+			return Double.parseDouble(value);
+		}
+		catch (NumberFormatException e)
+		{
+			throw new IllegalArgumentException("Invalid value of " + option + ": " + value);
+		}
+	}
+
+	/**
+	 * @return opis parametrów wyświetlany po podaniu niepoprawnych argumentów
+	 */
+	public static String getUsage()
+	{
+		StringBuilder sb = new StringBuilder();
+		sb.append("Usage: java -jar modgraf.jar --batch <algorithm> [options] <file|directory|glob>...\n");
+		sb.append("Options:\n");
+		sb.append("  --start <name>     start vertex (source)\n");
+		sb.append("  --end <name>       end vertex (sink)\n");
+		sb.append("  --flow <value>     expected flow (cheapest-flow-bg)\n");
+		sb.append("  --budget <s>       time budget of chromatic-number-exact and tsp-local-search\n");
+		sb.append("  --threads <n>      number of files solved in parallel\n");
+		sb.append("  --format csv|json  output format (default csv)\n");
+		sb.append("Algorithms:");
+		for (BatchAlgorithm algorithm : BatchAlgorithm.values())
+			sb.append("\n  ").append(algorithm.getName());
+		return sb.toString();
+	}
+
+	public BatchAlgorithm getAlgorithm()
+	{
+		return algorithm;
+	}
+
+	public String getStartVertex()
+	{
+		return startVertex;
+	}
+
+	public String getEndVertex()
+	{
+		return endVertex;
+	}
+
+	public double getExpectedFlow()
+	{
+		return expectedFlow;
+	}
+
+	/**
+	 * @return limit czasu w milisekundach lub -1, jeśli ma być użyta
+	 * 			wartość z ustawień programu
+	 */
+	public long getTimeBudgetMillis()
+	{
+		return timeBudgetMillis;
+	}
+
+	public int getThreads()
+	{
+		return threads;
+	}
+
+	public Format getFormat()
+	{
+		return format;
+	}
+
+	/**
+	 * @return pliki, katalogi i wzorce plików wejściowych
+	 */
+	public List<String> getInputs()
+	{
+		return inputs;
+	}
+}
@@ -0,0 +1,257 @@
+package modgraf.batch;
+
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystems;
+import java.nio.file.FileVisitOption;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import modgraf.io.GraphReaders;
+import modgraf.view.properties.DefaultProperties;
+
+/**
+ * Tryb wsadowy programu: rozwiązuje wybrany problem dla wielu plików
+ * z grafami bez tworzenia okna programu. <br>
+ * Pliki są przetwarzane równolegle w puli o zadanej liczbie wątków,
+ * a wyniki są wypisywane na standardowe wyjście w kolejności zakończenia
+ * obliczeń, po jednej linii csv lub json na plik, zaraz po ich uzyskaniu.
+ *
+ * @see BatchOptions
+ * @see BatchTask
+ */
+public class BatchSolver
+{
+	/**
+	 * Przełącznik wiersza poleceń uruchamiający tryb wsadowy.
+	 */
+	public static final String OPTION = "--batch";
+	/**
+	 * Kod wyjścia, gdy wszystkie pliki zostały przetworzone.
+	 */
+	public static final int EXIT_OK = 0;
+	/**
+	 * Kod wyjścia, gdy wczytanie lub obliczenia dla części plików się nie
+	 * powiodły.
+	 */
+	public static final int EXIT_FAILED_FILES = 1;
+	/**
+	 * Kod wyjścia przy niepoprawnych argumentach.
+	 */
+	public static final int EXIT_USAGE = 2;
+
+	private static final String GLOB_CHARACTERS = "*?[{";
+
+	private final BatchOptions options;
+	private final Properties prop;
+
+	public BatchSolver(BatchOptions options, Properties prop)
+	{
+		this.options = options;
+		this.prop = prop;
+	}
+
+	/**
+	 * Uruchamia tryb wsadowy.
+	 *
+	 * @param args argumenty wiersza poleceń (bez przełącznika {@link #OPTION})
+	 * @return kod wyjścia programu
+	 */
+	public static int run(String[] args)
+	{
+		BatchOptions options;
+		try
+		{
+			options = BatchOptions.parse(args);
+		}
+		catch (IllegalArgumentException e)
+		{
+			System.err.println(e.getMessage());
+			System.err.println(BatchOptions.getUsage());
+			return EXIT_USAGE;
+		}
+		try
+		{
+			return new BatchSolver(options, loadProperties()).solve(System.out);
+		}
+		catch (IOException e)
+		{
+			System.err.println(e.getMessage());
+			return EXIT_USAGE;
+		}
+	}
+
+	/**
+	 * @return ustawienia domyślne uzupełnione o plik ustawień programu,
+	 * 			jeśli istnieje
+	 */
+	private static Properties loadProperties() throws IOException
+	{
+		Properties prop = DefaultProperties.createDefaultProperties();
+		File propFile = new File(prop.getProperty("properties-file"));
+		if (propFile.exists())
+		{
+			FileReader reader = new FileReader(propFile);
+			try
+			{
+				prop.load(reader);
+			}
+			finally
+			{
+				reader.close();
+			}
+		}
+		return prop;
+	}
+
+	/**
+	 * Rozwiązuje problem dla wszystkich plików wejściowych.
+	 *
+	 * @param out strumień wyników
+	 * @return kod wyjścia programu
+	 * @throws IOException gdy nie udało się odczytać katalogu wejściowego
+	 */
+	public int solve(PrintStream out) throws IOException
+	{
+		List<File> files = findFiles(options.getInputs());
+		if (options.getFormat() == BatchOptions.Format.csv)
+			out.println(BatchTask.getCsvHeader());
+		ExecutorService executor = Executors.newFixedThreadPool(options.getThreads());
+		CompletionService<String> completionService = new ExecutorCompletionService<>(executor);
+		List<BatchTask> tasks = new ArrayList<>(files.size());
+		try
+		{
+			for (File file : files)
+			{
+				BatchTask task = new BatchTask(file, options, prop);
+				tasks.add(task);
+				completionService.submit(task);
+			}
+			for (int i = 0; i < files.size(); ++i)
+			{
+				out.println(completionService.take().get());
+				out.flush();
+			}
+		}
+		catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+			return EXIT_FAILED_FILES;
+		}
+		catch (ExecutionException e)
+		{
+			throw new IllegalStateException(e.getCause());
+		}
+		finally
+		{
+			executor.shutdownNow();
+		}
+		for (BatchTask task : tasks)
+			if (task.isFailed())
+				return EXIT_FAILED_FILES;
+		return EXIT_OK;
+	}
+
+	/**
+	 * Zamienia argumenty na listę plików. Katalog oznacza wszystkie
+	 * obsługiwane pliki w nim zawarte, a argument zawierający znaki
+	 * <code>*?[{</code> jest wzorcem dopasowywanym do ścieżek plików.
+	 *
+	 * @param inputs pliki, katalogi i wzorce plików
+	 * @return posortowana lista plików
+	 * @throws IOException gdy nie udało się odczytać katalogu
+	 */
+	public static List<File> findFiles(List<String> inputs) throws IOException
+	{
+		List<File> files = new ArrayList<>();
+		for (String input : inputs)
+		{
+			List<File> inputFiles = new ArrayList<>();
+			File file = new File(input);
+			if (file.isDirectory())
+				addDirectoryFiles(file.toPath(), inputFiles);
+			else if (isGlob(input))
+				addMatchingFiles(input, inputFiles);
+			else if (file.isFile())
+				inputFiles.add(file);
+			else
+				throw new IOException("File not found: " + input);
+			Collections.sort(inputFiles);
+			files.addAll(inputFiles);
+		}
+		return files;
+	}
+
+	private static boolean isGlob(String input)
+	{
+		for (int i = 0; i < input.length(); ++i)
+			if (GLOB_CHARACTERS.indexOf(input.charAt(i)) >= 0)
+				return true;
+		return false;
+	}
+
+	private static void addDirectoryFiles(Path directory, List<File> files) throws IOException
+	{
+		DirectoryStream<Path> stream = Files.newDirectoryStream(directory);
+		try
+		{
+			for (Path path : stream)
+				if (Files.isRegularFile(path) && GraphReaders.isSupported(path.toFile()))
+					files.add(path.toFile());
+		}
+		finally
+		{
+			stream.close();
+		}
+	}
+
+	/**
+	 * Dodaje pliki pasujące do wzorca. Przeszukiwany jest najdłuższy katalog
+	 * z początku wzorca niezawierający znaków specjalnych, a pozostała część
+	 * wzorca jest dopasowywana do ścieżek względem tego katalogu.
+	 */
+	private static void addMatchingFiles(String glob, List<File> files) throws IOException
+	{
+		String separators = "/" + File.separator;
+		int firstGlobCharacter = 0;
+		while (GLOB_CHARACTERS.indexOf(glob.charAt(firstGlobCharacter)) < 0)
+			++firstGlobCharacter;
+		int baseEnd = -1;
+		for (int i = firstGlobCharacter - 1; i >= 0 && baseEnd < 0; --i)
+			if (separators.indexOf(glob.charAt(i)) >= 0)
+				baseEnd = i;
+		final Path base = Paths.get(baseEnd >= 0 ? glob.substring(0, baseEnd + 1) : "");
+		String pattern = glob.substring(baseEnd + 1);
+		final PathMatcher matcher = FileSystems.getDefault().getPathMatcher("glob:" + pattern);
+		int maxDepth = pattern.contains("**") ? Integer.MAX_VALUE : pattern.split("[" + separators.replace("\\", "\\\\") + "]").length;
+		final List<File> matchingFiles = files;
+		Files.walkFileTree(base, EnumSet.noneOf(FileVisitOption.class), maxDepth, new SimpleFileVisitor<Path>()
+		{
+			@Override
+			public FileVisitResult visitFile(Path file, BasicFileAttributes attrs)
+			{
+				if (attrs.isRegularFile() && matcher.matches(base.relativize(file)))
+					matchingFiles.add(file.toFile());
+				return FileVisitResult.CONTINUE;
+			}
+		});
+	}
+}
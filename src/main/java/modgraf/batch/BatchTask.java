@@ -0,0 +1,261 @@
+package modgraf.batch;
+
+import java.io.File;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.Callable;
+
+import modgraf.algorithm.solver.ColoringResult;
+import modgraf.algorithm.solver.CutResult;
+import modgraf.algorithm.solver.CycleResult;
+import modgraf.algorithm.solver.FlowResult;
+import modgraf.algorithm.solver.PathResult;
+import modgraf.algorithm.solver.SolverParameters;
+import modgraf.algorithm.solver.TrailResult;
+import modgraf.algorithm.solver.TreeResult;
+import modgraf.io.GraphData;
+import modgraf.io.GraphReaders;
+import modgraf.jgrapht.Vertex;
+import modgraf.jgrapht.edge.ModgrafEdge;
+
+/**
+ * Wczytanie jednego pliku i rozwiązanie problemu w trybie wsadowym.
+ * Wynikiem zadania jest gotowa linia wyjścia - błędy wczytywania
+ * i obliczeń są zapisywane w niej zamiast zgłaszania wyjątków, więc błąd
+ * w jednym pliku nie przerywa przetwarzania pozostałych. Rodzaj grafu jest
+ * sprawdzany przed uruchomieniem algorytmu.
+ */
+public class BatchTask implements Callable<String>
+{
+	/**
+	 * Stan wyniku zapisywany w kolumnie <code>status</code>.
+	 */
+	public static final String STATUS_OK = "ok";
+	public static final String STATUS_NO_SOLUTION = "no-solution";
+	public static final String STATUS_ERROR = "error";
+
+	private final File file;
+	private final BatchOptions options;
+	private final Properties prop;
+	private volatile boolean failed;
+
+	public BatchTask(File file, BatchOptions options, Properties prop)
+	{
+		this.file = file;
+		this.options = options;
+		this.prop = prop;
+	}
+
+	@Override
+	public String call()
+	{
+		long start = System.nanoTime();
+		try
+		{
+			GraphData graphData = GraphReaders.forFile(file, prop).read(file);
+			BatchAlgorithm.GraphType graphType = options.getAlgorithm().getGraphType();
+			if (!graphType.accepts(graphData.getGraph()))
+				throw new IllegalArgumentException("Algorithm " + options.getAlgorithm().getName()
+						+ " requires " + graphType.getDescription());
+			Object result = options.getAlgorithm().createSolver()
+					.solve(graphData.getGraph(), createParameters(graphData));
+			long millis = (System.nanoTime() - start) / 1000000;
+			if (result == null)
+				return format(STATUS_NO_SOLUTION, null, millis, "");
+			return format(STATUS_OK, describeValue(result), millis, describeDetail(result));
+		}
+		catch (Exception | StackOverflowError | OutOfMemoryError e)
+		{
+			failed = true;
+			long millis = (System.nanoTime() - start) / 1000000;
+			String message = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+			return format(STATUS_ERROR, null, millis, message);
+		}
+	}
+
+	/**
+	 * @return <code>true</code> jeśli wczytanie pliku lub obliczenia
+	 * 			zakończyły się błędem
+	 */
+	public boolean isFailed()
+	{
+		return failed;
+	}
+
+	private SolverParameters createParameters(GraphData graphData)
+	{
+		SolverParameters parameters = new SolverParameters();
+		if (options.getAlgorithm().isVertexPairRequired())
+		{
+			parameters.setStartVertex(findVertex(graphData, options.getStartVertex()));
+			parameters.setEndVertex(findVertex(graphData, options.getEndVertex()));
+		}
+		parameters.setExpectedFlow(options.getExpectedFlow());
+		parameters.setTimeBudgetMillis(getTimeBudgetMillis());
+		parameters.setThreads(Integer.parseInt(prop.getProperty("algorithm-threads")));
+		parameters.setParallelThreshold(Integer.parseInt(prop.getProperty("algorithm-parallel-flow-threshold")));
+		parameters.setPositions(graphData.getPositions());
+		parameters.setCompactGraph(graphData.getCompactGraph());
+		return parameters;
+	}
+
+	private static Vertex findVertex(GraphData graphData, String name)
+	{
+		Vertex vertex = graphData.findVertex(name);
+		if (vertex == null)
+			throw new IllegalArgumentException("Missing vertex " + name);
+		return vertex;
+	}
+
+	private long getTimeBudgetMillis()
+	{
+		if (options.getTimeBudgetMillis() >= 0)
+			return options.getTimeBudgetMillis();
+		String property = options.getAlgorithm() == BatchAlgorithm.TspLocalSearch
+				? "algorithm-tsp-budget-s" : "algorithm-coloring-budget-s";
+		return (long) (Double.parseDouble(prop.getProperty(property)) * 1000);
+	}
+
+	/**
+	 * @return główna wartość wyniku (długość, wartość przepływu, liczba
+	 * 			kolorów itp.)
+	 */
+	private static String describeValue(Object result)
+	{
+		if (result instanceof PathResult)
+			return Double.toString(((PathResult) result).getLength());
+		if (result instanceof FlowResult)
+			return Double.toString(((FlowResult) result).getValue());
+		if (result instanceof TreeResult)
+			return Double.toString(((TreeResult) result).getTotalWeight());
+		if (result instanceof ColoringResult)
+			return Integer.toString(((ColoringResult<?>) result).getColorCount());
+		if (result instanceof CycleResult)
+			return Double.toString(((CycleResult) result).getLength());
+		if (result instanceof TrailResult)
+			return Integer.toString(((TrailResult) result).getEdges().size());
+		if (result instanceof CutResult)
+			return Double.toString(((CutResult) result).getMinimumCut());
+		return result.toString();
+	}
+
+	/**
+	 * @return szczegóły wyniku (kolejne wierzchołki trasy, koszt przepływu,
+	 * 			optymalność kolorowania itp.)
+	 */
+	private String describeDetail(Object result)
+	{
+		if (result instanceof PathResult)
+		{
+			List<ModgrafEdge> edges = ((PathResult) result).getEdges();
+			StringBuilder sb = new StringBuilder();
+			for (ModgrafEdge edge : edges)
+			{
+				if (sb.length() == 0)
+					sb.append(edge.getSource().getName());
+				sb.append(' ').append(edge.getTarget().getName());
+			}
+			return sb.toString();
+		}
+		if (result instanceof FlowResult)
+			return options.getAlgorithm() == BatchAlgorithm.CheapestFlow
+					? "cost=" + ((FlowResult) result).getCost() : "";
+		if (result instanceof TreeResult)
+			return "edges=" + ((TreeResult) result).getEdges().size();
+		if (result instanceof ColoringResult)
+		{
+			ColoringResult<?> coloring = (ColoringResult<?>) result;
+			return "optimal=" + coloring.isOptimal() + " lowerBound=" + coloring.getLowerBound();
+		}
+		if (result instanceof CycleResult)
+			return joinNames(((CycleResult) result).getVertices());
+		if (result instanceof TrailResult)
+		{
+			TrailResult trail = (TrailResult) result;
+			return (trail.isCircuit() ? "cycle " : "path ") + joinNames(trail.getVertices());
+		}
+		if (result instanceof CutResult)
+			return "cutEdges=" + ((CutResult) result).getCutEdges().size();
+		return "";
+	}
+
+	private static String joinNames(List<Vertex> vertices)
+	{
+		StringBuilder sb = new StringBuilder();
+		for (Vertex vertex : vertices)
+		{
+			if (sb.length() > 0)
+				sb.append(' ');
+			sb.append(vertex.getName());
+		}
+		return sb.toString();
+	}
+
+	private String format(String status, String value, long millis, String detail)
+	{
+		String fileName = file.getPath();
+		if (options.getFormat() == BatchOptions.Format.json)
+		{
+			return "{\"file\":" + quoteJson(fileName)
+					+ ",\"status\":" + quoteJson(status)
+					+ ",\"value\":" + toJsonValue(value)
+					+ ",\"timeMillis\":" + millis
+					+ ",\"detail\":" + quoteJson(detail) + "}";
+		}
+		return quoteCsv(fileName) + "," + status + "," + (value != null ? value : "")
+				+ "," + millis + "," + quoteCsv(detail);
+	}
+
+	/**
+	 * @return nagłówek wyników w formacie csv
+	 */
+	public static String getCsvHeader()
+	{
+		return "file,status,value,timeMillis,detail";
+	}
+
+	private static String quoteCsv(String text)
+	{
+		if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0)
+			return text;
+		return "\"" + text.replace("\"", "\"\"") + "\"";
+	}
+
+	/**
+	 * Liczby skończone są zapisywane bez cudzysłowów, a pozostałe wartości
+	 * (np. <code>Infinity</code> i <code>NaN</code>, niedozwolone w JSON) -
+	 * jako napisy.
+	 */
+	private static String toJsonValue(String value)
+	{
+		if (value == null)
+			return "null";
+		try
+		{
+			double number = Double.parseDouble(value);
+			if (!Double.isInfinite(number) && !Double.isNaN(number))
+				return value;
+		}
+		catch (NumberFormatException e)
+		{
+			// nie jest liczbą
+		}
+		return quoteJson(value);
+	}
+
+	private static String quoteJson(String text)
+	{
+		StringBuilder sb = new StringBuilder("\"");
+		for (int i = 0; i < text.length(); ++i)
+		{
+			char c = text.charAt(i);
+			if (c == '"' || c == '\\')
+				sb.append('\\').append(c);
+			else if (c < 0x20)
+				sb.append(String.format("\\u%04x", (int) c));
+			else
+				sb.append(c);
+		}
+		return sb.append('"').toString();
+	}
+}
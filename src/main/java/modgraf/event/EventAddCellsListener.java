@@ -58,6 +58,7 @@ public class EventAddCellsListener implements mxIEventListener
 	@Override
 	public void invoke(Object sender, mxEventObject evt)
 	{
+		editor.incrementGraphVersion();
 		Object[] cells = (Object[])evt.getProperties().get("cells");
 		if (cells != null)
 		{
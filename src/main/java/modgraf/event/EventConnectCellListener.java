@@ -47,6 +47,7 @@ public class EventConnectCellListener implements mxIEventListener
 	@Override
 	public void invoke(Object sender, mxEventObject evt)
 	{
+		editor.incrementGraphVersion();
 		mxCell previous = (mxCell)evt.getProperties().get("previous");
 		mxCell edge = (mxCell)evt.getProperties().get("edge");
 		Boolean source = (Boolean)evt.getProperties().get("source");
@@ -49,6 +49,7 @@ public class EventLabelChangedListener extends LabelChangedUtils implements mxIE
 	@Override
 	public void invoke(Object sender, mxEventObject evt)
 	{
+		editor.incrementGraphVersion();
 		Graph<Vertex, ModgrafEdge> graphT = editor.getGraphT();
 		mxCell cell = (mxCell)evt.getProperties().get("cell");
 		if (cell.isEdge())
@@ -37,6 +37,7 @@ public class EventRemoveCellsListener implements mxIEventListener
 	@Override
 	public void invoke(Object sender, mxEventObject evt)
 	{
+		editor.incrementGraphVersion();
 		Graph<Vertex, ModgrafEdge> graphT = editor.getGraphT();
 		Object[] cells = (Object[])evt.getProperties().get("cells");
 		if (cells != null)
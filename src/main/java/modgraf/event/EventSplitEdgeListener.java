@@ -39,6 +39,7 @@ public class EventSplitEdgeListener implements mxIEventListener
 	@Override
 	public void invoke(Object sender, mxEventObject evt)
 	{
+		editor.incrementGraphVersion();
 		Graph<Vertex, ModgrafEdge> graphT = editor.getGraphT();
 		mxCell edge = (mxCell) evt.getProperties().get("edge");
 		mxCell newEdge = (mxCell) evt.getProperties().get("newEdge");
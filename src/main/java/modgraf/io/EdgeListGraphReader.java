@@ -0,0 +1,534 @@
+package modgraf.io;
+
+import java.awt.geom.Point2D;
+import java.io.File;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+import modgraf.algorithm.engine.EnginePool;
+import modgraf.jgrapht.GraphFactory;
+import modgraf.jgrapht.Vertex;
+import modgraf.jgrapht.edge.DoubleWeightedEdge;
+import modgraf.jgrapht.edge.ModgrafEdge;
+import modgraf.jgrapht.edge.WeightedEdge;
+
+import org.jgrapht.Graph;
+
+/**
+ * Wczytuje duże listy krawędzi: sekcję krawędzi pliku grf albo plik
+ * tekstowy, w którym każda linia ma postać <code>źródło cel [waga]</code>
+ * lub <code>źródło cel przepustowość koszt</code> (wartości rozdzielone
+ * spacjami lub tabulatorami, linie zaczynające się od <code>#</code> są
+ * komentarzami). <br>
+ * Plik jest odwzorowywany w pamięci (<code>FileChannel.map</code>) we
+ * fragmentach zaczynających się od początku linii, które są analizowane
+ * równolegle we wspólnej puli wątków ({@link EnginePool}) do tablic
+ * liczb: indeksów wierzchołków i wag krawędzi. Nazwy wierzchołków są
+ * odczytywane jako napisy tylko raz w każdym fragmencie. Następnie
+ * z tablic, w kolejności linii w pliku, budowany jest graf warstwy
+ * matematycznej bez warstwy wizualnej - tak jak w trybie wsadowym. <br>
+ * Wierzchołki i krawędzie dostają takie same identyfikatory jak
+ * w {@link GrfGraphReader}. Położenia wierzchołków z pliku grf są
+ * pomijane. W pliku bez nagłówka graf jest skierowany, jeśli ustawienie
+ * <code>edge-list-directed</code> ma wartość <code>true</code>. Kodowanie
+ * pliku musi być zgodne z ASCII (np. UTF-8).
+ */
+public class EdgeListGraphReader implements GraphReader
+{
+	private static final int FIRST_CELL_ID = 2;
+	private static final int HEADER_LINES = 4;
+	private static final int HEADER_BUFFER_SIZE = 1 << 16;
+	private static final int SCAN_BUFFER_SIZE = 1 << 13;
+	private static final long MIN_CHUNK_SIZE = 1 << 20;
+	private static final long MAX_CHUNK_SIZE = 1 << 26;
+	private static final int CHUNKS_PER_THREAD = 4;
+	private static final int MAX_TOKENS = 4;
+
+	private final Properties prop;
+	private final boolean grf;
+
+	/**
+	 * @param prop ustawienia programu (kodowanie plików, domyślne wagi
+	 * 			krawędzi i rodzaj grafu dla plików bez nagłówka)
+	 * @param grf <code>true</code> jeśli plik ma format grf (nagłówek,
+	 * 			a po nim sekcja krawędzi zakończona pustą linią),
+	 * 			<code>false</code> dla samej listy krawędzi
+	 */
+	public EdgeListGraphReader(Properties prop, boolean grf)
+	{
+		this.prop = prop;
+		this.grf = grf;
+	}
+
+	@Override
+	public GraphData read(File file) throws IOException
+	{
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ))
+		{
+			boolean directed = Boolean.parseBoolean(prop.getProperty("edge-list-directed", "true"));
+			long start = 0;
+			if (grf)
+			{
+				ByteBuffer header = ByteBuffer.allocate((int) Math.min(HEADER_BUFFER_SIZE, channel.size()));
+				while (header.hasRemaining() && channel.read(header, header.position()) >= 0);
+				header.flip();
+				start = findHeaderEnd(header);
+				directed = header.get(getLineStart(header, 2)) == 's' || header.get(getLineStart(header, 2)) == 'S';
+			}
+			List<ChunkParser> parsers = new ArrayList<>();
+			for (long from = start; from < channel.size(); )
+			{
+				long to = alignToLine(channel, from + getChunkSize(channel.size() - start));
+				parsers.add(new ChunkParser(channel, from, to, grf));
+				from = to;
+			}
+			return build(parse(parsers), directed);
+		}
+	}
+
+	/**
+	 * @return pozycja pierwszego znaku po nagłówku pliku grf
+	 */
+	private static int findHeaderEnd(ByteBuffer header)
+	{
+		int lines = 0;
+		for (int i = 0; i < header.limit(); ++i)
+		{
+			if (header.get(i) == '\n' && ++lines == HEADER_LINES)
+				return i + 1;
+		}
+		throw new IllegalArgumentException("Not enough lines in the file!");
+	}
+
+	private static int getLineStart(ByteBuffer header, int line)
+	{
+		int position = 0;
+		for (int i = 0; i < line; ++i)
+		{
+			while (header.get(position) != '\n')
+				++position;
+			++position;
+		}
+		return position;
+	}
+
+	/**
+	 * Wielkość fragmentu jest dobierana tak, żeby na każdy wątek puli
+	 * przypadało kilka fragmentów.
+	 */
+	private static long getChunkSize(long size)
+	{
+		long threads = EnginePool.getPool().getParallelism();
+		long chunkSize = size / (threads * CHUNKS_PER_THREAD) + 1;
+		return Math.min(MAX_CHUNK_SIZE, Math.max(MIN_CHUNK_SIZE, chunkSize));
+	}
+
+	/**
+	 * @return pozycja początku linii, w której leży znak o podanej pozycji
+	 * 			(lub pozycja następnej linii, jeśli jest to początek linii)
+	 */
+	private static long alignToLine(FileChannel channel, long position) throws IOException
+	{
+		long size = channel.size();
+		if (position >= size)
+			return size;
+		ByteBuffer buffer = ByteBuffer.allocate(SCAN_BUFFER_SIZE);
+		long offset = position - 1;
+		while (offset < size)
+		{
+			buffer.clear();
+			int read = channel.read(buffer, offset);
+			if (read <= 0)
+				break;
+			for (int i = 0; i < read; ++i)
+			{
+				if (buffer.get(i) == '\n')
+					return offset + i + 1;
+			}
+			offset += read;
+		}
+		return size;
+	}
+
+	private static List<ChunkParser> parse(List<ChunkParser> parsers) throws IOException
+	{
+		List<Future<ChunkParser>> futures = EnginePool.getPool().invokeAll(parsers);
+		List<ChunkParser> results = new ArrayList<>(futures.size());
+		try
+		{
+			for (Future<ChunkParser> future : futures)
+				results.add(future.get());
+		}
+		catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Edge list import interrupted");
+		}
+		catch (ExecutionException e)
+		{
+			Throwable cause = e.getCause();
+			if (cause instanceof IOException)
+				throw (IOException) cause;
+			if (cause instanceof RuntimeException)
+				throw (RuntimeException) cause;
+			throw new IllegalStateException(cause);
+		}
+		return results;
+	}
+
+	/**
+	 * Tworzy graf z tablic krawędzi w kolejności fragmentów pliku. Błąd
+	 * lub pusta linia kończąca sekcję krawędzi pliku grf przerywa
+	 * przetwarzanie kolejnych fragmentów.
+	 */
+	private GraphData build(List<ChunkParser> chunks, boolean directed)
+	{
+		Charset charset = Charset.forName(prop.getProperty("file-encoding"));
+		Graph<Vertex, ModgrafEdge> graphT = null;
+		int edgeWeightDegree = -1;
+		Map<String, Vertex> vertices = new HashMap<>();
+		int nextId = FIRST_CELL_ID;
+		for (ChunkParser chunk : chunks)
+		{
+			if (chunk.error != null)
+				throw chunk.error;
+			if (chunk.edgeCount > 0)
+			{
+				if (graphT == null)
+				{
+					edgeWeightDegree = chunk.edgeWeightDegree;
+					graphT = GraphFactory.createGraph(directed, edgeWeightDegree, prop);
+				}
+				else if (chunk.edgeWeightDegree != edgeWeightDegree)
+					throw new IllegalArgumentException("The edges have a different number of parameters!");
+			}
+			Vertex[] chunkVertices = new Vertex[chunk.names.size()];
+			for (int i = 0; i < chunk.edgeCount; ++i)
+			{
+				Vertex[] ends = new Vertex[2];
+				int[] indices = {chunk.sources[i], chunk.targets[i]};
+				for (int j = 0; j < 2; ++j)
+				{
+					Vertex vertex = chunkVertices[indices[j]];
+					if (vertex == null)
+					{
+						String name = chunk.names.getName(indices[j], charset);
+						vertex = vertices.get(name);
+						if (vertex == null)
+						{
+							vertex = new Vertex(Integer.toString(nextId++), name);
+							graphT.addVertex(vertex);
+							vertices.put(name, vertex);
+						}
+						chunkVertices[indices[j]] = vertex;
+					}
+					ends[j] = vertex;
+				}
+				ModgrafEdge edge = graphT.addEdge(ends[0], ends[1]);
+				if (edge == null)
+					throw new IllegalArgumentException("Borders can not be repeated!");
+				edge.setId(Integer.toString(nextId++));
+				setEdgeValues(edge, edgeWeightDegree, chunk.values, i);
+			}
+			if (chunk.endOfEdges)
+				break;
+		}
+		if (graphT == null)
+			throw new IllegalArgumentException("Incorrect number of the edge parameters!");
+		return new GraphData(graphT, new LinkedHashMap<Vertex, Point2D>(), vertices.size());
+	}
+
+	private static void setEdgeValues(ModgrafEdge edge, int edgeWeightDegree, double[] values, int index)
+	{
+		if (edgeWeightDegree == 1)
+			((WeightedEdge) edge).setWeight(values[index]);
+		if (edgeWeightDegree == 2)
+		{
+			DoubleWeightedEdge dwe = (DoubleWeightedEdge) edge;
+			dwe.setCapacity(values[2 * index]);
+			dwe.setCost(values[2 * index + 1]);
+		}
+	}
+
+	/**
+	 * Analizuje jeden fragment pliku: linie z krawędziami zamienia na
+	 * indeksy wierzchołków (lokalne dla fragmentu) i wartości krawędzi.
+	 * Błąd nie jest zgłaszany od razu, tylko zapamiętywany - ma znaczenie
+	 * tylko wtedy, gdy fragment leży w sekcji krawędzi.
+	 */
+	private static final class ChunkParser implements Callable<ChunkParser>
+	{
+		private final FileChannel channel;
+		private final long from;
+		private final long to;
+		private final boolean grf;
+		private final int[] tokenStarts = new int[MAX_TOKENS + 1];
+		private final int[] tokenEnds = new int[MAX_TOKENS + 1];
+		private final NameTable names = new NameTable();
+		private int[] sources;
+		private int[] targets;
+		private double[] values;
+		private int edgeCount;
+		private int edgeWeightDegree = -1;
+		private boolean endOfEdges;
+		private RuntimeException error;
+
+		private ChunkParser(FileChannel channel, long from, long to, boolean grf)
+		{
+			this.channel = channel;
+			this.from = from;
+			this.to = to;
+			this.grf = grf;
+		}
+
+		@Override
+		public ChunkParser call() throws IOException
+		{
+			MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, from, to - from);
+			int capacity = (int) Math.max(16, (to - from) / 16);
+			sources = new int[capacity];
+			targets = new int[capacity];
+			values = new double[0];
+			int limit = buffer.limit();
+			int position = 0;
+			try
+			{
+				while (position < limit && !endOfEdges)
+				{
+					int lineEnd = position;
+					while (lineEnd < limit && buffer.get(lineEnd) != '\n')
+						++lineEnd;
+					int end = lineEnd;
+					if (end > position && buffer.get(end - 1) == '\r')
+						--end;
+					parseLine(buffer, position, end);
+					position = lineEnd + 1;
+				}
+			}
+			catch (RuntimeException e)
+			{
+				error = e;
+			}
+			return this;
+		}
+
+		private void parseLine(ByteBuffer buffer, int start, int end)
+		{
+			if (start == end)
+			{
+				endOfEdges = grf;
+				return;
+			}
+			if (buffer.get(start) == '#')
+				return;
+			int tokens = tokenize(buffer, start, end);
+			if (tokens == 0 && !grf)
+				return;
+			if (edgeWeightDegree < 0)
+			{
+				if (tokens < 2 || tokens > MAX_TOKENS)
+					throw new IllegalArgumentException("Incorrect number of the edge parameters!");
+				edgeWeightDegree = tokens - 2;
+				values = new double[sources.length * edgeWeightDegree];
+			}
+			if (tokens != edgeWeightDegree + 2)
+				throw new IllegalArgumentException("The edges have a different number of parameters!");
+			if (edgeCount == sources.length)
+			{
+				sources = Arrays.copyOf(sources, 2 * edgeCount);
+				targets = Arrays.copyOf(targets, 2 * edgeCount);
+				values = Arrays.copyOf(values, 2 * edgeCount * edgeWeightDegree);
+			}
+			sources[edgeCount] = names.add(buffer, tokenStarts[0], tokenEnds[0]);
+			targets[edgeCount] = names.add(buffer, tokenStarts[1], tokenEnds[1]);
+			for (int i = 0; i < edgeWeightDegree; ++i)
+				values[edgeCount * edgeWeightDegree + i] = parseNumber(buffer, tokenStarts[i + 2], tokenEnds[i + 2]);
+			++edgeCount;
+		}
+
+		/**
+		 * @return liczba wartości w linii (najwyżej o jeden większa od
+		 * 			największej dopuszczalnej)
+		 */
+		private int tokenize(ByteBuffer buffer, int start, int end)
+		{
+			int tokens = 0;
+			int position = start;
+			while (tokens <= MAX_TOKENS)
+			{
+				while (position < end && isWhitespace(buffer.get(position)))
+					++position;
+				if (position == end)
+					break;
+				tokenStarts[tokens] = position;
+				while (position < end && !isWhitespace(buffer.get(position)))
+					++position;
+				tokenEnds[tokens++] = position;
+			}
+			return tokens;
+		}
+
+		private static boolean isWhitespace(byte b)
+		{
+			return b == ' ' || b == '\t' || b == '\r' || b == '\f';
+		}
+	}
+
+	/**
+	 * Zamienia liczbę zapisaną dziesiętnie bez wykładnika, o najwyżej 15
+	 * cyfrach, bezpośrednio z bajtów (wynik jest taki sam jak
+	 * <code>Double.parseDouble</code>, bo licznik i potęga dziesięciu są
+	 * dokładnie reprezentowalne). Pozostałe liczby są zamieniane przez
+	 * <code>Double.parseDouble</code>.
+	 */
+	static double parseNumber(ByteBuffer buffer, int start, int end)
+	{
+		int position = start;
+		boolean negative = false;
+		if (position < end && (buffer.get(position) == '-' || buffer.get(position) == '+'))
+			negative = buffer.get(position++) == '-';
+		long mantissa = 0;
+		int digits = 0;
+		int fractionDigits = -1;
+		for (; position < end; ++position)
+		{
+			byte b = buffer.get(position);
+			if (b >= '0' && b <= '9')
+			{
+				mantissa = mantissa * 10 + (b - '0');
+				++digits;
+				if (fractionDigits >= 0)
+					++fractionDigits;
+			}
+			else if (b == '.' && fractionDigits < 0)
+				fractionDigits = 0;
+			else
+				break;
+		}
+		if (position < end || digits == 0 || digits > 15)
+		{
+			byte[] bytes = new byte[end - start];
+			for (int i = 0; i < bytes.length; ++i)
+				bytes[i] = buffer.get(start + i);
+			return Double.parseDouble(new String(bytes, StandardCharsets.ISO_8859_1));
+		}
+		double value = fractionDigits > 0 ? mantissa / POWERS_OF_TEN[fractionDigits] : mantissa;
+		return negative ? -value : value;
+	}
+
+	private static final double[] POWERS_OF_TEN = {1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8,
+		1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15};
+
+	/**
+	 * Tablica haszująca nazw wierzchołków jednego fragmentu przechowująca
+	 * nazwy jako bajty - napis powstaje dopiero przy budowaniu grafu, raz
+	 * dla każdej nazwy.
+	 */
+	private static final class NameTable
+	{
+		private byte[] bytes = new byte[1 << 12];
+		private int[] offsets = new int[1 << 8];
+		private int[] hashes = new int[1 << 8];
+		private int[] slots = new int[1 << 9];
+		private int size;
+
+		/**
+		 * @return indeks nazwy (nowej lub już zapamiętanej)
+		 */
+		private int add(ByteBuffer buffer, int start, int end)
+		{
+			int hash = 1;
+			for (int i = start; i < end; ++i)
+				hash = 31 * hash + buffer.get(i);
+			int mask = slots.length - 1;
+			int slot = mix(hash) & mask;
+			while (slots[slot] != 0)
+			{
+				int index = slots[slot] - 1;
+				if (hashes[index] == hash && equalsName(index, buffer, start, end))
+					return index;
+				slot = (slot + 1) & mask;
+			}
+			int index = append(buffer, start, end, hash);
+			slots[slot] = index + 1;
+			if (2 * size > slots.length)
+				rehash();
+			return index;
+		}
+
+		private static int mix(int hash)
+		{
+			return hash ^ (hash >>> 16);
+		}
+
+		private boolean equalsName(int index, ByteBuffer buffer, int start, int end)
+		{
+			int offset = offsets[index];
+			if (offsets[index + 1] - offset != end - start)
+				return false;
+			for (int i = start; i < end; ++i)
+			{
+				if (bytes[offset++] != buffer.get(i))
+					return false;
+			}
+			return true;
+		}
+
+		private int append(ByteBuffer buffer, int start, int end, int hash)
+		{
+			int offset = offsets[size];
+			int length = end - start;
+			if (offset + length > bytes.length)
+				bytes = Arrays.copyOf(bytes, Math.max(2 * bytes.length, offset + length));
+			for (int i = 0; i < length; ++i)
+				bytes[offset + i] = buffer.get(start + i);
+			if (size + 2 > offsets.length)
+			{
+				offsets = Arrays.copyOf(offsets, 2 * offsets.length);
+				hashes = Arrays.copyOf(hashes, 2 * hashes.length);
+			}
+			hashes[size] = hash;
+			offsets[++size] = offset + length;
+			return size - 1;
+		}
+
+		private void rehash()
+		{
+			slots = new int[2 * slots.length];
+			int mask = slots.length - 1;
+			for (int index = 0; index < size; ++index)
+			{
+				int slot = mix(hashes[index]) & mask;
+				while (slots[slot] != 0)
+					slot = (slot + 1) & mask;
+				slots[slot] = index + 1;
+			}
+		}
+
+		private int size()
+		{
+			return size;
+		}
+
+		private String getName(int index, Charset charset)
+		{
+			return new String(bytes, offsets[index], offsets[index + 1] - offsets[index], charset);
+		}
+	}
+}
@@ -0,0 +1,84 @@
+package modgraf.io;
+
+import java.awt.geom.Point2D;
+import java.util.Map;
+
+import modgraf.jgrapht.CompactGraph;
+import modgraf.jgrapht.Vertex;
+import modgraf.jgrapht.edge.ModgrafEdge;
+
+import org.jgrapht.Graph;
+
+/**
+ * Graf wczytany z pliku bez udziału edytora: warstwa matematyczna oraz
+ * położenia wierzchołków (jeśli plik je zawiera).
+ */
+public class GraphData
+{
+	private final Graph<Vertex, ModgrafEdge> graph;
+	private final Map<Vertex, Point2D> positions;
+	private final int vertexCounter;
+	private final CompactGraph compactGraph;
+
+	public GraphData(Graph<Vertex, ModgrafEdge> graph, Map<Vertex, Point2D> positions, int vertexCounter)
+	{
+		this(graph, positions, vertexCounter, null);
+	}
+
+	/**
+	 * @param compactGraph migawka grafu przygotowana przez czytnik
+	 * 			(<code>null</code>, jeśli czytnik jej nie tworzy)
+	 */
+	public GraphData(Graph<Vertex, ModgrafEdge> graph, Map<Vertex, Point2D> positions, int vertexCounter,
+			CompactGraph compactGraph)
+	{
+		this.graph = graph;
+		this.positions = positions;
+		this.vertexCounter = vertexCounter;
+		this.compactGraph = compactGraph;
+	}
+
+	/**
+	 * @return graf warstwy matematycznej
+	 */
+	public Graph<Vertex, ModgrafEdge> getGraph()
+	{
+		return graph;
+	}
+
+	/**
+	 * @return migawka grafu utworzona przy wczytywaniu lub <code>null</code>
+	 */
+	public CompactGraph getCompactGraph()
+	{
+		return compactGraph;
+	}
+
+	/**
+	 * @return środki wierzchołków (pusta mapa, jeśli plik nie zawiera położeń)
+	 */
+	public Map<Vertex, Point2D> getPositions()
+	{
+		return positions;
+	}
+
+	/**
+	 * @return licznik wierzchołków zapisany w pliku
+	 */
+	public int getVertexCounter()
+	{
+		return vertexCounter;
+	}
+
+	/**
+	 * @param name nazwa wierzchołka
+	 * @return wierzchołek o podanej nazwie lub <code>null</code>
+	 */
+	public Vertex findVertex(String name)
+	{
+		for (Vertex vertex : graph.vertexSet())
+			if (vertex.getName().equals(name))
+				return vertex;
+		return null;
+	}
+}
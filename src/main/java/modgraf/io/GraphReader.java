@@ -0,0 +1,19 @@
+package modgraf.io;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Wczytuje graf z pliku do warstwy matematycznej bez tworzenia warstwy
+ * wizualnej.
+ */
+public interface GraphReader
+{
+	/**
+	 * @param file plik z grafem
+	 * @return wczytany graf
+	 * @throws IOException gdy nie udało się odczytać pliku
+	 * @throws IllegalArgumentException gdy plik nie zawiera poprawnego grafu
+	 */
+	GraphData read(File file) throws IOException;
+}
@@ -0,0 +1,89 @@
+package modgraf.io;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.Properties;
+
+/**
+ * Wybór sposobu wczytywania grafu na podstawie rozszerzenia pliku.
+ */
+public class GraphReaders
+{
+	private GraphReaders()
+	{
+	}
+
+	/**
+	 * @param file plik z grafem
+	 * @return <code>true</code> jeśli rozszerzenie pliku jest obsługiwane
+	 */
+	public static boolean isSupported(File file)
+	{
+		String fileName = file.getName().toLowerCase();
+		return fileName.endsWith(".xml") || fileName.endsWith(".grf") || fileName.endsWith(".mgb")
+				|| isEdgeList(fileName);
+	}
+
+	private static boolean isEdgeList(String fileName)
+	{
+		return fileName.endsWith(".tsv") || fileName.endsWith(".edges");
+	}
+
+	/**
+	 * Pliki grf i listy krawędzi (<code>.tsv</code>, <code>.edges</code>)
+	 * są wczytywane równolegle przez {@link EdgeListGraphReader} - bez
+	 * położeń wierzchołków, które nie są potrzebne poza edytorem.
+	 *
+	 * @param file plik z grafem
+	 * @param prop ustawienia programu
+	 * @return obiekt wczytujący plik o danym rozszerzeniu
+	 * @throws IllegalArgumentException jeśli rozszerzenie nie jest obsługiwane
+	 */
+	public static GraphReader forFile(File file, Properties prop)
+	{
+		String fileName = file.getName().toLowerCase();
+		if (fileName.endsWith(".xml"))
+			return new XmlStreamGraphReader(prop);
+		if (fileName.endsWith(".grf"))
+			return new EdgeListGraphReader(prop, true);
+		if (fileName.endsWith(".mgb"))
+			return new MgbGraphReader(prop);
+		if (isEdgeList(fileName))
+			return new EdgeListGraphReader(prop, false);
+		throw new IllegalArgumentException("Unsupported file extension: " + file.getName());
+	}
+
+	/**
+	 * Wczytuje plik tekstowy. Znaki końca linii są zamieniane na
+	 * <code>\n</code>.
+	 *
+	 * @param file plik tekstowy
+	 * @param encoding kodowanie pliku
+	 * @return zawartość pliku
+	 * @throws IOException
+	 */
+	public static String readFile(File file, String encoding) throws IOException
+	{
+		BufferedReader br = new BufferedReader(new InputStreamReader(
+				new FileInputStream(file), encoding));
+		try
+		{
+			StringBuilder sb = new StringBuilder();
+			String line = br.readLine();
+			while (line != null)
+			{
+				sb.append(line);
+				sb.append("\n");
+				line = br.readLine();
+			}
+			return sb.toString();
+		}
+		finally
+		{
+			br.close();
+		}
+	}
+}
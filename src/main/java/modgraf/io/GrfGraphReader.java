@@ -0,0 +1,221 @@
+package modgraf.io;
+
+import static java.lang.Double.parseDouble;
+
+import java.awt.geom.Point2D;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.StringReader;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.StringTokenizer;
+
+import modgraf.jgrapht.GraphFactory;
+import modgraf.jgrapht.Vertex;
+import modgraf.jgrapht.edge.DoubleWeightedEdge;
+import modgraf.jgrapht.edge.ModgrafEdge;
+import modgraf.jgrapht.edge.WeightedEdge;
+
+import org.jgrapht.Graph;
+
+/**
+ * Wczytuje graf z pliku grf. <br>
+ * Plik zawiera nagłówek (trzecia linia określa, czy graf jest skierowany),
+ * od piątej linii listę krawędzi zakończoną pustą linią, a po niej
+ * opcjonalnie położenia wierzchołków w postaci <code>nazwa y x</code>.
+ * Linie zaczynające się od <code>#</code> są komentarzami. Wierzchołki
+ * i krawędzie dostają kolejne identyfikatory od 2 w kolejności wystąpienia
+ * w pliku (źródło, cel, krawędź) - te same identyfikatory mają komórki
+ * warstwy wizualnej tworzone przez edytor. <br>
+ * Plik jest czytany linia po linii w jednym przebiegu, w którym graf jest
+ * jednocześnie sprawdzany i tworzony (powtórzenia krawędzi są wykrywane
+ * za pomocą zbioru haszującego). Obiekt przechowuje stan wczytywania,
+ * więc nie powinien być używany przez kilka wątków jednocześnie.
+ */
+public class GrfGraphReader implements GraphReader
+{
+	/**
+	 * Pierwszy identyfikator komórki (0 i 1 zajmują komórki nadrzędne modelu
+	 * warstwy wizualnej).
+	 */
+	private static final int FIRST_CELL_ID = 2;
+	private static final double VERTEX_SIZE = 50;
+
+	private static final int BUFFER_SIZE = 1 << 16;
+
+	private final Properties prop;
+	private boolean directed;
+	private int edgeWeightDegree;
+	private Graph<Vertex, ModgrafEdge> graphT;
+	private Map<String, Vertex> vertices;
+	private Set<String> edgeKeys;
+	private int nextId;
+
+	/**
+	 * @param prop ustawienia programu (kodowanie plików i domyślne wagi
+	 * 			krawędzi)
+	 */
+	public GrfGraphReader(Properties prop)
+	{
+		this.prop = prop;
+	}
+
+	@Override
+	public GraphData read(File file) throws IOException
+	{
+		BufferedReader reader = new BufferedReader(new InputStreamReader(
+				new FileInputStream(file), prop.getProperty("file-encoding")), BUFFER_SIZE);
+		try
+		{
+			return read(reader);
+		}
+		finally
+		{
+			reader.close();
+		}
+	}
+
+	/**
+	 * Tworzy graf na podstawie zawartości pliku grf.
+	 *
+	 * @param grfFile zawartość pliku grf
+	 * @return wczytany graf
+	 */
+	public GraphData read(String grfFile)
+	{
+		try
+		{
+			return read(new BufferedReader(new StringReader(grfFile)));
+		}
+		catch (IOException e)
+		{
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * Wczytuje graf w jednym przebiegu po liniach pliku, sprawdzając
+	 * jednocześnie jego poprawność. Liczba parametrów krawędzi jest
+	 * ustalana na podstawie pierwszej krawędzi. Strumień nie jest zamykany.
+	 *
+	 * @param reader zawartość pliku grf
+	 * @return wczytany graf
+	 * @throws IOException gdy nie udało się odczytać strumienia
+	 * @throws IllegalArgumentException gdy plik grf jest niepoprawny
+	 */
+	public GraphData read(BufferedReader reader) throws IOException
+	{
+		String line = null;
+		for (int i = 0; i < 4; ++i)
+		{
+			line = reader.readLine();
+			if (line == null)
+				throw new IllegalArgumentException("Not enough lines in the file!");
+			if (i == 2)
+				directed = line.startsWith("s") || line.startsWith("S");
+		}
+		vertices = new HashMap<>();
+		edgeKeys = new HashSet<>();
+		nextId = FIRST_CELL_ID;
+		graphT = null;
+		line = reader.readLine();
+		if (line == null)
+			throw new IllegalArgumentException("Not enough lines in the file!");
+		for (; line != null && !line.isEmpty(); line = reader.readLine())
+		{
+			if (!line.startsWith("#"))
+				addEdge(line);
+		}
+		if (graphT == null)
+			throw new IllegalArgumentException("Incorrect number of the edge parameters!");
+		Map<Vertex, Point2D> positions = new LinkedHashMap<>();
+		if (line != null)
+		{
+			for (line = reader.readLine(); line != null && !line.isEmpty(); line = reader.readLine())
+			{
+				if (!line.startsWith("#"))
+					addPosition(line, positions);
+			}
+			if (!positions.isEmpty() && positions.size() != vertices.size())
+				throw new IllegalArgumentException("Invalid number of vertices positions!");
+		}
+		return new GraphData(graphT, positions, vertices.size());
+	}
+
+	/**
+	 * Dodaje krawędź (i wierzchołki, których jeszcze nie było) opisaną
+	 * w linii pliku. Pierwsza krawędź określa liczbę parametrów krawędzi
+	 * i rodzaj tworzonego grafu.
+	 */
+	private void addEdge(String line)
+	{
+		StringTokenizer st = new StringTokenizer(line);
+		if (graphT == null)
+		{
+			edgeWeightDegree = st.countTokens() - 2;
+			if (edgeWeightDegree < 0 || edgeWeightDegree > 2)
+				throw new IllegalArgumentException("Incorrect number of the edge parameters!");
+			graphT = GraphFactory.createGraph(directed, edgeWeightDegree, prop);
+		}
+		if (st.countTokens() != edgeWeightDegree + 2)
+			throw new IllegalArgumentException("The edges have a different number of parameters!");
+		String sourceName = st.nextToken();
+		String targetName = st.nextToken();
+		if ((!directed && edgeKeys.contains(targetName + " " + sourceName))
+				|| !edgeKeys.add(sourceName + " " + targetName))
+			throw new IllegalArgumentException("Borders can not be repeated!");
+		double[] values = new double[edgeWeightDegree];
+		for (int i = 0; i < edgeWeightDegree; ++i)
+			values[i] = parseDouble(st.nextToken());
+		Vertex source = getVertex(sourceName);
+		Vertex target = getVertex(targetName);
+		ModgrafEdge edge = graphT.addEdge(source, target);
+		if (edge == null)
+			throw new IllegalArgumentException("Borders can not be repeated!");
+		edge.setId(Integer.toString(nextId++));
+		if (edgeWeightDegree == 1)
+			((WeightedEdge) edge).setWeight(values[0]);
+		if (edgeWeightDegree == 2)
+		{
+			DoubleWeightedEdge dwe = (DoubleWeightedEdge) edge;
+			dwe.setCapacity(values[0]);
+			dwe.setCost(values[1]);
+		}
+	}
+
+	private Vertex getVertex(String name)
+	{
+		Vertex vertex = vertices.get(name);
+		if (vertex == null)
+		{
+			vertex = new Vertex(Integer.toString(nextId++), name);
+			graphT.addVertex(vertex);
+			vertices.put(name, vertex);
+		}
+		return vertex;
+	}
+
+	/**
+	 * Zapamiętuje środek wierzchołka opisanego w linii <code>nazwa y x</code>.
+	 */
+	private void addPosition(String line, Map<Vertex, Point2D> positions)
+	{
+		StringTokenizer st = new StringTokenizer(line);
+		if (st.countTokens() != 3)
+			throw new IllegalArgumentException("Invalid number of vertex positions!");
+		Vertex vertex = vertices.get(st.nextToken());
+		if (vertex == null)
+			throw new IllegalArgumentException("Invalid vertex name!");
+		double y = parseDouble(st.nextToken());
+		double x = parseDouble(st.nextToken());
+		if (positions.put(vertex, new Point2D.Double(x + VERTEX_SIZE / 2, y + VERTEX_SIZE / 2)) != null)
+			throw new IllegalArgumentException("Invalid number of vertices positions!");
+	}
+}
@@ -0,0 +1,415 @@
+package modgraf.io;
+
+import java.awt.geom.Point2D;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+
+import modgraf.jgrapht.CompactGraph;
+import modgraf.jgrapht.GraphFactory;
+import modgraf.jgrapht.Vertex;
+import modgraf.jgrapht.edge.DoubleWeightedEdge;
+import modgraf.jgrapht.edge.ModgrafEdge;
+import modgraf.jgrapht.edge.WeightedEdge;
+
+import org.jgrapht.Graph;
+import org.jgrapht.WeightedGraph;
+
+/**
+ * Graf zapisany w binarnym formacie mgb, odczytywany bezpośrednio z bufora
+ * (zwykle pliku odwzorowanego w pamięci) bez tworzenia obiektów
+ * wierzchołków i krawędzi. <br>
+ * Plik (liczby w kolejności big-endian) składa się z nagłówka i sekcji
+ * wyrównanych do 8 bajtów:
+ * <ul>
+ * <li>nagłówek ({@value #HEADER_SIZE} bajtów): sygnatura <code>MGB1</code>,
+ * flagi (graf skierowany, położenia wierzchołków), liczba parametrów
+ * krawędzi (jak w <code>Editor.createNewGraphT</code>), liczba wierzchołków,
+ * krawędzi i łuków, licznik wierzchołków edytora oraz położenia kolejnych
+ * sekcji,</li>
+ * <li>tablica nazw: <code>int[n + 1]</code> początków nazw i nazwy
+ * wierzchołków w UTF-8,</li>
+ * <li>indeks sąsiedztwa (CSR): <code>int[n + 1]</code> numerów pierwszych
+ * łuków wierzchołków i <code>int[n + 1]</code> początków ich list
+ * sąsiedztwa,</li>
+ * <li>listy sąsiedztwa: cele łuków wychodzących z kolejnych wierzchołków
+ * posortowane rosnąco i zapisane jako liczby o zmiennej długości (varint) -
+ * pierwszy cel jako różnica względem wierzchołka źródłowego (kodowanie
+ * zigzag), kolejne jako różnice względem poprzedniego,</li>
+ * <li>tylko w grafie nieskierowanym: <code>int[a]</code> numerów krawędzi
+ * kolejnych łuków (<code>-1 - e</code> dla łuku prowadzącego od celu
+ * krawędzi <code>e</code> do jej źródła),</li>
+ * <li>kolumny wartości krawędzi: <code>double[m]</code> wag albo
+ * przepustowości i kosztów,</li>
+ * <li>opcjonalnie położenia środków wierzchołków: <code>double[2n]</code>.</li>
+ * </ul>
+ * Łuk krawędzi skierowanej jest zapisany przy jej źródle i ma jej numer.
+ * Krawędź grafu nieskierowanego jest zapisana jako dwa łuki, przy obu
+ * końcach, więc lista sąsiedztwa zawiera wszystkich sąsiadów wierzchołka.
+ * Wierzchołki i łuki są numerowane od zera w kolejności zapisu, a krawędzie
+ * w kolejności łuków wychodzących z ich źródeł.
+ *
+ * @see MgbGraphWriter
+ * @see MgbGraphReader
+ */
+public class MgbGraph
+{
+	static final int MAGIC = 0x4D474231;
+	static final int HEADER_SIZE = 72;
+	static final int FLAG_DIRECTED = 1;
+	static final int FLAG_GEOMETRY = 2;
+	private static final int FIRST_CELL_ID = 2;
+
+	private final ByteBuffer buffer;
+	private final boolean directed;
+	private final boolean geometry;
+	private final int edgeWeightDegree;
+	private final int vertexCount;
+	private final int edgeCount;
+	private final int arcCount;
+	private final int vertexCounter;
+	private final int namesOffset;
+	private final int nameDataOffset;
+	private final int arcIndexOffset;
+	private final int adjacencyIndexOffset;
+	private final int adjacencyOffset;
+	private final int arcEdgesOffset;
+	private final int valuesOffset;
+	private final int geometryOffset;
+
+	/**
+	 * @param buffer zawartość pliku mgb (pozycja bufora nie jest zmieniana)
+	 * @throws IllegalArgumentException jeśli bufor nie zawiera grafu
+	 * 			w formacie mgb
+	 */
+	public MgbGraph(ByteBuffer buffer)
+	{
+		this.buffer = buffer.duplicate();
+		if (buffer.limit() < HEADER_SIZE || buffer.getInt(0) != MAGIC)
+			throw new IllegalArgumentException("Not a mgb file!");
+		int flags = buffer.get(4);
+		directed = (flags & FLAG_DIRECTED) != 0;
+		geometry = (flags & FLAG_GEOMETRY) != 0;
+		edgeWeightDegree = buffer.get(5);
+		vertexCount = buffer.getInt(8);
+		edgeCount = buffer.getInt(12);
+		vertexCounter = buffer.getInt(16);
+		arcCount = buffer.getInt(20);
+		namesOffset = getOffset(24);
+		arcIndexOffset = getOffset(32);
+		adjacencyOffset = getOffset(40);
+		valuesOffset = getOffset(48);
+		geometryOffset = geometry ? getOffset(56) : 0;
+		arcEdgesOffset = directed ? 0 : getOffset(64);
+		if (edgeWeightDegree < 0 || edgeWeightDegree > 2 || vertexCount < 0 || edgeCount < 0
+				|| (directed ? arcCount != edgeCount : arcCount < edgeCount))
+			throw new IllegalArgumentException("Invalid mgb header!");
+		nameDataOffset = namesOffset + 4 * (vertexCount + 1);
+		adjacencyIndexOffset = arcIndexOffset + 4 * (vertexCount + 1);
+		if (valuesOffset + 8L * edgeCount * edgeWeightDegree > buffer.limit()
+				|| !directed && arcEdgesOffset + 4L * arcCount > buffer.limit()
+				|| geometry && geometryOffset + 16L * vertexCount > buffer.limit())
+			throw new IllegalArgumentException("Invalid mgb header!");
+	}
+
+	private int getOffset(int position)
+	{
+		long offset = buffer.getLong(position);
+		if (offset < HEADER_SIZE || offset > buffer.limit())
+			throw new IllegalArgumentException("Invalid mgb header!");
+		return (int) offset;
+	}
+
+	/**
+	 * Odwzorowuje plik w pamięci (tylko do odczytu).
+	 *
+	 * @param file plik mgb
+	 * @return graf odczytywany z pliku
+	 * @throws IOException gdy nie można odczytać pliku
+	 */
+	public static MgbGraph map(File file) throws IOException
+	{
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ))
+		{
+			if (channel.size() > Integer.MAX_VALUE)
+				throw new IOException("File too large: " + file);
+			return new MgbGraph(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+		}
+	}
+
+	public boolean isDirected()
+	{
+		return directed;
+	}
+
+	/**
+	 * @return liczba parametrów krawędzi (0 - brak wag, 1 - waga,
+	 * 			2 - przepustowość i koszt)
+	 */
+	public int getEdgeWeightDegree()
+	{
+		return edgeWeightDegree;
+	}
+
+	public int getVertexCount()
+	{
+		return vertexCount;
+	}
+
+	public int getEdgeCount()
+	{
+		return edgeCount;
+	}
+
+	/**
+	 * @return liczba łuków (w grafie nieskierowanym - dwa na każdą krawędź
+	 * 			poza pętlami)
+	 */
+	public int getArcCount()
+	{
+		return arcCount;
+	}
+
+	/**
+	 * @return licznik wierzchołków edytora
+	 */
+	public int getVertexCounter()
+	{
+		return vertexCounter;
+	}
+
+	/**
+	 * @return <code>true</code> jeśli plik zawiera położenia wierzchołków
+	 */
+	public boolean hasGeometry()
+	{
+		return geometry;
+	}
+
+	/**
+	 * @param vertex numer wierzchołka
+	 * @return nazwa wierzchołka
+	 */
+	public String getName(int vertex)
+	{
+		int start = buffer.getInt(namesOffset + 4 * vertex);
+		int end = buffer.getInt(namesOffset + 4 * (vertex + 1));
+		byte[] bytes = new byte[end - start];
+		ByteBuffer name = buffer.duplicate();
+		name.position(nameDataOffset + start);
+		name.get(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * @param vertex numer wierzchołka
+	 * @return numer pierwszego łuku wychodzącego z wierzchołka
+	 * 			(łuki wierzchołka mają kolejne numery)
+	 */
+	public int getFirstArc(int vertex)
+	{
+		return buffer.getInt(arcIndexOffset + 4 * vertex);
+	}
+
+	/**
+	 * @param vertex numer wierzchołka
+	 * @return liczba łuków wychodzących z wierzchołka (w grafie
+	 * 			nieskierowanym - stopień wierzchołka)
+	 */
+	public int getOutDegree(int vertex)
+	{
+		return getFirstArc(vertex + 1) - getFirstArc(vertex);
+	}
+
+	/**
+	 * Odczytuje cele łuków wychodzących z wierzchołka.
+	 *
+	 * @param vertex numer wierzchołka
+	 * @param targets tablica na numery celów o długości co najmniej
+	 * 			{@link #getOutDegree(int)}; cel łuku o numerze
+	 * 			<code>getFirstArc(vertex) + i</code> jest zapisywany
+	 * 			w <code>targets[i]</code>
+	 * @return liczba łuków
+	 */
+	public int getTargets(int vertex, int[] targets)
+	{
+		return readTargets(vertex, targets, 0);
+	}
+
+	private int readTargets(int vertex, int[] targets, int offset)
+	{
+		int degree = getOutDegree(vertex);
+		int position = adjacencyOffset + buffer.getInt(adjacencyIndexOffset + 4 * vertex);
+		int previous = vertex;
+		for (int i = 0; i < degree; ++i)
+		{
+			long value = 0;
+			int shift = 0;
+			byte b;
+			do
+			{
+				b = buffer.get(position++);
+				value |= (long) (b & 0x7F) << shift;
+				shift += 7;
+			}
+			while (b < 0);
+			int delta = (int) value;
+			if (i == 0)
+				delta = (delta >>> 1) ^ -(delta & 1);
+			previous += delta;
+			targets[offset + i] = previous;
+		}
+		return degree;
+	}
+
+	/**
+	 * @param arc numer łuku
+	 * @return numer krawędzi, do której należy łuk
+	 */
+	public int getArcEdge(int arc)
+	{
+		if (directed)
+			return arc;
+		int edge = buffer.getInt(arcEdgesOffset + 4 * arc);
+		return edge >= 0 ? edge : -1 - edge;
+	}
+
+	/**
+	 * @param arc numer łuku
+	 * @return <code>true</code> jeśli łuk prowadzi od celu krawędzi do jej
+	 * 			źródła (tylko w grafie nieskierowanym)
+	 */
+	public boolean isReverseArc(int arc)
+	{
+		return !directed && buffer.getInt(arcEdgesOffset + 4 * arc) < 0;
+	}
+
+	/**
+	 * @param edge numer krawędzi
+	 * @param column numer parametru (0 - waga lub przepustowość, 1 - koszt)
+	 * @return wartość parametru krawędzi
+	 */
+	public double getValue(int edge, int column)
+	{
+		return buffer.getDouble(valuesOffset + 8 * (column * edgeCount + edge));
+	}
+
+	/**
+	 * @param vertex numer wierzchołka
+	 * @return położenie środka wierzchołka lub <code>null</code>, jeśli plik
+	 * 			nie zawiera położeń
+	 */
+	public Point2D getPosition(int vertex)
+	{
+		if (!geometry)
+			return null;
+		int position = geometryOffset + 16 * vertex;
+		return new Point2D.Double(buffer.getDouble(position), buffer.getDouble(position + 8));
+	}
+
+	/**
+	 * Tworzy graf warstwy matematycznej i jego migawkę {@link CompactGraph}
+	 * zbudowaną bezpośrednio z list sąsiedztwa pliku. Wierzchołki dostają
+	 * identyfikatory od 2 w kolejności numerów, a krawędzie - kolejne
+	 * identyfikatory po wierzchołkach.
+	 *
+	 * @param prop ustawienia programu (domyślne wagi krawędzi)
+	 * @return graf wraz z położeniami wierzchołków i migawką
+	 * @throws IllegalArgumentException jeśli nazwa wierzchołka lub krawędź
+	 * 			się powtarza albo listy łuków są niespójne
+	 */
+	public GraphData toGraphData(Properties prop)
+	{
+		Graph<Vertex, ModgrafEdge> graphT = GraphFactory.createGraph(directed, edgeWeightDegree, prop);
+		Vertex[] vertices = new Vertex[vertexCount];
+		Map<Vertex, Point2D> positions = new LinkedHashMap<>();
+		Set<String> names = new HashSet<>(vertexCount * 2);
+		for (int i = 0; i < vertexCount; ++i)
+		{
+			String name = getName(i);
+			if (!names.add(name))
+				throw new IllegalArgumentException("Invalid vertex name!");
+			vertices[i] = new Vertex(Integer.toString(FIRST_CELL_ID + i), name);
+			graphT.addVertex(vertices[i]);
+			if (geometry)
+				positions.put(vertices[i], getPosition(i));
+		}
+		int[] outOffsets = new int[vertexCount + 1];
+		int[] outTargets = new int[arcCount];
+		int[] outEdges = new int[arcCount];
+		ModgrafEdge[] edges = new ModgrafEdge[edgeCount];
+		int[] edgeSources = new int[edgeCount];
+		int[] edgeTargets = new int[edgeCount];
+		double[] weights = new double[edgeCount];
+		double[] costs = edgeWeightDegree == 2 ? new double[edgeCount] : null;
+		for (int i = 0; i < vertexCount; ++i)
+		{
+			outOffsets[i] = getFirstArc(i);
+			outOffsets[i + 1] = getFirstArc(i + 1);
+			if (outOffsets[i] < 0 || outOffsets[i] > outOffsets[i + 1] || outOffsets[i + 1] > arcCount)
+				throw new IllegalArgumentException("Invalid mgb file!");
+			readTargets(i, outTargets, outOffsets[i]);
+			for (int arc = outOffsets[i]; arc < outOffsets[i + 1]; ++arc)
+			{
+				int target = outTargets[arc];
+				int edgeNumber = getArcEdge(arc);
+				if (target < 0 || target >= vertexCount || edgeNumber < 0 || edgeNumber >= edgeCount)
+					throw new IllegalArgumentException("Invalid mgb file!");
+				outEdges[arc] = edgeNumber;
+				if (isReverseArc(arc))
+					continue;
+				if (edges[edgeNumber] != null)
+					throw new IllegalArgumentException("Invalid mgb file!");
+				ModgrafEdge edge = graphT.addEdge(vertices[i], vertices[target]);
+				if (edge == null)
+					throw new IllegalArgumentException("Borders can not be repeated!");
+				edge.setId(Integer.toString(FIRST_CELL_ID + vertexCount + edgeNumber));
+				edges[edgeNumber] = edge;
+				edgeSources[edgeNumber] = i;
+				edgeTargets[edgeNumber] = target;
+				weights[edgeNumber] = edgeWeightDegree > 0 ? getValue(edgeNumber, 0)
+						: WeightedGraph.DEFAULT_EDGE_WEIGHT;
+				if (edgeWeightDegree == 1)
+					((WeightedEdge) edge).setWeight(weights[edgeNumber]);
+				if (edgeWeightDegree == 2)
+				{
+					costs[edgeNumber] = getValue(edgeNumber, 1);
+					DoubleWeightedEdge dwe = (DoubleWeightedEdge) edge;
+					dwe.setCapacity(weights[edgeNumber]);
+					dwe.setCost(costs[edgeNumber]);
+				}
+			}
+		}
+		checkReverseArcs(edges, edgeSources, edgeTargets, outOffsets, outTargets, outEdges);
+		CompactGraph compactGraph = new CompactGraph(directed, edgeWeightDegree, vertices, edges,
+				edgeSources, edgeTargets, weights, costs, outOffsets, outTargets, outEdges);
+		return new GraphData(graphT, positions, vertexCounter, compactGraph);
+	}
+
+	/**
+	 * Sprawdza, czy każda krawędź ma swój łuk i czy łuki powrotne grafu
+	 * nieskierowanego należą do krawędzi o tych samych końcach.
+	 */
+	private void checkReverseArcs(ModgrafEdge[] edges, int[] edgeSources, int[] edgeTargets,
+			int[] outOffsets, int[] outTargets, int[] outEdges)
+	{
+		for (ModgrafEdge edge : edges)
+			if (edge == null)
+				throw new IllegalArgumentException("Invalid mgb file!");
+		for (int i = 0; i < vertexCount; ++i)
+			for (int arc = outOffsets[i]; arc < outOffsets[i + 1]; ++arc)
+			{
+				int edge = outEdges[arc];
+				if (isReverseArc(arc) && (edgeSources[edge] != outTargets[arc] || edgeTargets[edge] != i))
+					throw new IllegalArgumentException("Invalid mgb file!");
+			}
+	}
+}
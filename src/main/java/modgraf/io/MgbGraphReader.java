@@ -0,0 +1,25 @@
+package modgraf.io;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Properties;
+
+/**
+ * Wczytuje graf z pliku w binarnym formacie mgb. Plik jest odwzorowywany
+ * w pamięci i odczytywany przez {@link MgbGraph}.
+ */
+public class MgbGraphReader implements GraphReader
+{
+	private final Properties prop;
+
+	public MgbGraphReader(Properties prop)
+	{
+		this.prop = prop;
+	}
+
+	@Override
+	public GraphData read(File file) throws IOException
+	{
+		return MgbGraph.map(file).toGraphData(prop);
+	}
+}
@@ -0,0 +1,253 @@
+package modgraf.io;
+
+import java.awt.geom.Point2D;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+import modgraf.jgrapht.DoubleWeightedGraph;
+import modgraf.jgrapht.Vertex;
+import modgraf.jgrapht.edge.DoubleWeightedEdge;
+import modgraf.jgrapht.edge.ModgrafEdge;
+import modgraf.jgrapht.edge.WeightedEdge;
+
+import org.jgrapht.DirectedGraph;
+import org.jgrapht.Graph;
+import org.jgrapht.WeightedGraph;
+
+/**
+ * Zapisuje graf warstwy matematycznej w binarnym formacie mgb (opis
+ * formatu w {@link MgbGraph}). Style i rozmiary komórek warstwy wizualnej
+ * nie są zapisywane - tak jak w plikach grf. <br>
+ * Łuki (w grafie nieskierowanym - oba kierunki każdej krawędzi) są
+ * porządkowane według numerów źródła i celu przez dwa przebiegi sortowania
+ * przez zliczanie, więc czas zapisu jest liniowy względem wielkości grafu.
+ *
+ * @see MgbGraph
+ */
+public class MgbGraphWriter
+{
+	private static final int ALIGNMENT = 8;
+
+	private final Graph<Vertex, ModgrafEdge> graphT;
+	private final Map<Vertex, Point2D> positions;
+	private final int vertexCounter;
+
+	/**
+	 * @param graphT graf z warstwy matematycznej
+	 * @param positions położenia środków wierzchołków (pusta mapa, jeśli
+	 * 			położenia nie mają być zapisane)
+	 * @param vertexCounter licznik wierzchołków zapisywany w pliku
+	 */
+	public MgbGraphWriter(Graph<Vertex, ModgrafEdge> graphT, Map<Vertex, Point2D> positions, int vertexCounter)
+	{
+		this.graphT = graphT;
+		this.positions = positions;
+		this.vertexCounter = vertexCounter;
+	}
+
+	/**
+	 * Zapisuje graf do strumienia. Strumień nie jest zamykany.
+	 *
+	 * @param out strumień wyjściowy
+	 * @throws IOException gdy zapis się nie powiódł
+	 */
+	public void write(OutputStream out) throws IOException
+	{
+		int edgeWeightDegree = getEdgeWeightDegree();
+		Vertex[] vertices = graphT.vertexSet().toArray(new Vertex[0]);
+		Map<Vertex, Integer> numbers = new HashMap<>();
+		for (int i = 0; i < vertices.length; ++i)
+			numbers.put(vertices[i], i);
+		boolean directed = graphT instanceof DirectedGraph;
+		ModgrafEdge[] edges = graphT.edgeSet().toArray(new ModgrafEdge[0]);
+		int arcCount = 0;
+		for (ModgrafEdge edge : edges)
+			arcCount += directed || edge.getSource().equals(edge.getTarget()) ? 1 : 2;
+		int[] sources = new int[arcCount];
+		int[] targets = new int[arcCount];
+		int[] arcEdges = new int[arcCount];
+		boolean[] reverse = new boolean[arcCount];
+		int arc = 0;
+		for (int i = 0; i < edges.length; ++i)
+		{
+			int source = numbers.get(edges[i].getSource());
+			int target = numbers.get(edges[i].getTarget());
+			sources[arc] = source;
+			targets[arc] = target;
+			arcEdges[arc++] = i;
+			if (!directed && source != target)
+			{
+				sources[arc] = target;
+				targets[arc] = source;
+				reverse[arc] = true;
+				arcEdges[arc++] = i;
+			}
+		}
+		int[] order = sortByKey(sortByKey(null, targets, vertices.length), sources, vertices.length);
+		int[] firstArcs = new int[vertices.length + 1];
+		for (int source : sources)
+			++firstArcs[source + 1];
+		for (int i = 0; i < vertices.length; ++i)
+			firstArcs[i + 1] += firstArcs[i];
+		// krawędzie są numerowane w kolejności łuków wychodzących z ich źródeł
+		int[] edgeNumbers = new int[edges.length];
+		int[] edgeOrder = new int[edges.length];
+		int edgeNumber = 0;
+		for (int index : order)
+			if (!reverse[index])
+			{
+				edgeNumbers[arcEdges[index]] = edgeNumber;
+				edgeOrder[edgeNumber++] = arcEdges[index];
+			}
+
+		byte[][] names = new byte[vertices.length][];
+		int[] nameStarts = new int[vertices.length + 1];
+		for (int i = 0; i < vertices.length; ++i)
+		{
+			names[i] = vertices[i].getName().getBytes(StandardCharsets.UTF_8);
+			nameStarts[i + 1] = nameStarts[i] + names[i].length;
+		}
+		ByteArrayOutputStream adjacency = new ByteArrayOutputStream(2 * arcCount + 16);
+		int[] adjacencyStarts = new int[vertices.length + 1];
+		for (int i = 0; i < vertices.length; ++i)
+		{
+			adjacencyStarts[i] = adjacency.size();
+			int previous = i;
+			for (int j = firstArcs[i]; j < firstArcs[i + 1]; ++j)
+			{
+				int delta = targets[order[j]] - previous;
+				writeVarint(adjacency, j == firstArcs[i] ? (delta << 1) ^ (delta >> 31) : delta);
+				previous = targets[order[j]];
+			}
+		}
+		adjacencyStarts[vertices.length] = adjacency.size();
+
+		boolean geometry = !positions.isEmpty();
+		long namesOffset = MgbGraph.HEADER_SIZE;
+		long arcIndexOffset = align(namesOffset + 4L * (vertices.length + 1) + nameStarts[vertices.length]);
+		long adjacencyOffset = arcIndexOffset + 8L * (vertices.length + 1);
+		long arcEdgesOffset = align(adjacencyOffset + adjacency.size());
+		long valuesOffset = align(arcEdgesOffset + (directed ? 0 : 4L * arcCount));
+		long geometryOffset = valuesOffset + 8L * edges.length * edgeWeightDegree;
+
+		DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out));
+		data.writeInt(MgbGraph.MAGIC);
+		data.writeByte((directed ? MgbGraph.FLAG_DIRECTED : 0)
+				| (geometry ? MgbGraph.FLAG_GEOMETRY : 0));
+		data.writeByte(edgeWeightDegree);
+		data.writeShort(0);
+		data.writeInt(vertices.length);
+		data.writeInt(edges.length);
+		data.writeInt(vertexCounter);
+		data.writeInt(arcCount);
+		data.writeLong(namesOffset);
+		data.writeLong(arcIndexOffset);
+		data.writeLong(adjacencyOffset);
+		data.writeLong(valuesOffset);
+		data.writeLong(geometry ? geometryOffset : 0);
+		data.writeLong(directed ? 0 : arcEdgesOffset);
+		for (int start : nameStarts)
+			data.writeInt(start);
+		for (byte[] name : names)
+			data.write(name);
+		pad(data, arcIndexOffset);
+		for (int firstArc : firstArcs)
+			data.writeInt(firstArc);
+		for (int start : adjacencyStarts)
+			data.writeInt(start);
+		adjacency.writeTo(data);
+		if (!directed)
+		{
+			pad(data, arcEdgesOffset);
+			for (int index : order)
+			{
+				int number = edgeNumbers[arcEdges[index]];
+				data.writeInt(reverse[index] ? -1 - number : number);
+			}
+		}
+		pad(data, valuesOffset);
+		for (int column = 0; column < edgeWeightDegree; ++column)
+		{
+			for (int index : edgeOrder)
+				data.writeDouble(getValue(edges[index], column));
+		}
+		if (geometry)
+		{
+			for (Vertex vertex : vertices)
+			{
+				Point2D position = positions.get(vertex);
+				data.writeDouble(position != null ? position.getX() : 0);
+				data.writeDouble(position != null ? position.getY() : 0);
+			}
+		}
+		data.flush();
+	}
+
+	private int getEdgeWeightDegree()
+	{
+		if (graphT instanceof DoubleWeightedGraph)
+			return 2;
+		if (graphT instanceof WeightedGraph)
+			return 1;
+		return 0;
+	}
+
+	private static double getValue(ModgrafEdge edge, int column)
+	{
+		if (edge instanceof WeightedEdge)
+			return ((WeightedEdge) edge).getWeight();
+		DoubleWeightedEdge dwe = (DoubleWeightedEdge) edge;
+		return column == 0 ? dwe.getCapacity() : dwe.getCost();
+	}
+
+	/**
+	 * Stabilne sortowanie przez zliczanie.
+	 *
+	 * @param order kolejność wejściowa (<code>null</code> - kolejność
+	 * 			naturalna)
+	 * @param keys klucze elementów z przedziału <code>[0, range)</code>
+	 * @return numery elementów w kolejności rosnących kluczy
+	 */
+	private static int[] sortByKey(int[] order, int[] keys, int range)
+	{
+		int[] starts = new int[range + 1];
+		for (int key : keys)
+			++starts[key + 1];
+		for (int i = 0; i < range; ++i)
+			starts[i + 1] += starts[i];
+		int[] sorted = new int[keys.length];
+		for (int i = 0; i < keys.length; ++i)
+		{
+			int index = order != null ? order[i] : i;
+			sorted[starts[keys[index]]++] = index;
+		}
+		return sorted;
+	}
+
+	private static void writeVarint(ByteArrayOutputStream out, int value)
+	{
+		while ((value & ~0x7F) != 0)
+		{
+			out.write((value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+		out.write(value);
+	}
+
+	private static long align(long offset)
+	{
+		return (offset + ALIGNMENT - 1) / ALIGNMENT * ALIGNMENT;
+	}
+
+	private static void pad(DataOutputStream data, long offset) throws IOException
+	{
+		while (data.size() < offset)
+			data.writeByte(0);
+	}
+}
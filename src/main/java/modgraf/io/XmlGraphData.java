@@ -0,0 +1,69 @@
+package modgraf.io;
+
+import java.awt.geom.Point2D;
+import java.util.Map;
+
+import modgraf.jgrapht.Vertex;
+import modgraf.jgrapht.edge.ModgrafEdge;
+
+import org.jgrapht.Graph;
+
+import com.mxgraph.model.mxCell;
+
+/**
+ * Graf wczytany z pliku xml przez {@link XmlStreamGraphReader}: oprócz
+ * warstwy matematycznej zawiera gotowe komórki warstwy wizualnej oraz style
+ * zapisane w pliku.
+ */
+public class XmlGraphData extends GraphData
+{
+	private final boolean directed;
+	private final int edgeWeightDegree;
+	private final mxCell root;
+	private final Map<String, Map<String, Object>> styles;
+
+	public XmlGraphData(Graph<Vertex, ModgrafEdge> graph, Map<Vertex, Point2D> positions, int vertexCounter,
+			boolean directed, int edgeWeightDegree, mxCell root, Map<String, Map<String, Object>> styles)
+	{
+		super(graph, positions, vertexCounter);
+		this.directed = directed;
+		this.edgeWeightDegree = edgeWeightDegree;
+		this.root = root;
+		this.styles = styles;
+	}
+
+	/**
+	 * @return <code>true</code> dla grafu skierowanego
+	 */
+	public boolean isDirected()
+	{
+		return directed;
+	}
+
+	/**
+	 * @return liczba parametrów krawędzi (0 - brak wag, 1 - waga,
+	 * 			2 - przepustowość i koszt)
+	 */
+	public int getEdgeWeightDegree()
+	{
+		return edgeWeightDegree;
+	}
+
+	/**
+	 * @return korzeń drzewa komórek (do użycia w
+	 * 			<code>mxGraphModel.setRoot</code>)
+	 */
+	public mxCell getRoot()
+	{
+		return root;
+	}
+
+	/**
+	 * @return style zapisane w pliku w kolejności ich wystąpienia
+	 * 			(do użycia w <code>mxStylesheet.putCellStyle</code>)
+	 */
+	public Map<String, Map<String, Object>> getStyles()
+	{
+		return styles;
+	}
+}
@@ -0,0 +1,156 @@
+package modgraf.io;
+
+import java.awt.geom.Point2D;
+import java.io.File;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+
+import modgraf.jgrapht.GraphFactory;
+import modgraf.jgrapht.Vertex;
+import modgraf.jgrapht.edge.DoubleWeightedEdge;
+import modgraf.jgrapht.edge.ModgrafEdge;
+import modgraf.jgrapht.edge.WeightedEdge;
+
+import org.jgrapht.Graph;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+
+import com.mxgraph.util.mxXmlUtils;
+
+/**
+ * Wczytuje graf z pliku xml zapisanego przez program (model
+ * <code>mxGraphModel</code> biblioteki JGraphX z atrybutami typu grafu). <br>
+ * Identyfikatory wierzchołków i krawędzi są takie same jak identyfikatory
+ * komórek warstwy wizualnej.
+ */
+public class XmlGraphReader implements GraphReader
+{
+	private final Properties prop;
+
+	/**
+	 * @param prop ustawienia programu (kodowanie plików i domyślne wagi
+	 * 			krawędzi)
+	 */
+	public XmlGraphReader(Properties prop)
+	{
+		this.prop = prop;
+	}
+
+	@Override
+	public GraphData read(File file) throws IOException
+	{
+		String xml = GraphReaders.readFile(file, prop.getProperty("file-encoding"));
+		Document document = mxXmlUtils.parseXml(xml);
+		if (document == null)
+			throw new IllegalArgumentException("Invalid XML document!");
+		document.getDocumentElement().normalize();
+		return read(document);
+	}
+
+	/**
+	 * Tworzy graf na podstawie dokumentu xml.
+	 *
+	 * @param document dokument z elementem <code>mxGraphModel</code>
+	 * @return wczytany graf
+	 */
+	public GraphData read(Document document)
+	{
+		NodeList mxGraphModelList = document.getElementsByTagName("mxGraphModel");
+		if (mxGraphModelList.getLength() == 0)
+			throw new IllegalArgumentException("Missing graph definition!");
+		Element graphModel = (Element)mxGraphModelList.item(0);
+		boolean directed = graphModel.getAttribute("type").equals("directed");
+		int edgeWeightDegree = Integer.parseInt(graphModel.getAttribute("weighted"));
+		int vertexCounter = Integer.parseInt(graphModel.getAttribute("vertexCounter"));
+		Graph<Vertex, ModgrafEdge> graphT = GraphFactory.createGraph(directed, edgeWeightDegree, prop);
+		Map<String, Vertex> vertices = new HashMap<>();
+		Map<Vertex, Point2D> positions = new LinkedHashMap<>();
+		NodeList mxCellList = document.getElementsByTagName("mxCell");
+		for (int i = 0; i < mxCellList.getLength(); ++i)
+		{
+			Node nodeCell = mxCellList.item(i);
+			if (nodeCell.getNodeType() == Node.ELEMENT_NODE)
+				addVertex(graphT, (Element)nodeCell, vertices, positions);
+		}
+		for (int i = 0; i < mxCellList.getLength(); ++i)
+		{
+			Node nodeCell = mxCellList.item(i);
+			if (nodeCell.getNodeType() == Node.ELEMENT_NODE)
+				addEdge(graphT, (Element)nodeCell, vertices, edgeWeightDegree);
+		}
+		return new GraphData(graphT, positions, vertexCounter);
+	}
+
+	private void addVertex(Graph<Vertex, ModgrafEdge> graphT, Element elementCell,
+			Map<String, Vertex> vertices, Map<Vertex, Point2D> positions)
+	{
+		if (!elementCell.getAttribute("vertex").equals("1"))
+			return;
+		String id = elementCell.getAttribute("id");
+		Vertex v = new Vertex(id, elementCell.getAttribute("value"));
+		graphT.addVertex(v);
+		vertices.put(id, v);
+		Point2D center = readCenter(elementCell);
+		if (center != null)
+			positions.put(v, center);
+	}
+
+	/**
+	 * @return środek geometrii komórki lub <code>null</code>, jeśli komórka
+	 * 			jej nie zawiera
+	 */
+	private Point2D readCenter(Element elementCell)
+	{
+		NodeList geometryList = elementCell.getElementsByTagName("mxGeometry");
+		if (geometryList.getLength() == 0)
+			return null;
+		Element geometry = (Element)geometryList.item(0);
+		return new Point2D.Double(
+				readDouble(geometry, "x") + readDouble(geometry, "width") / 2,
+				readDouble(geometry, "y") + readDouble(geometry, "height") / 2);
+	}
+
+	private double readDouble(Element element, String attribute)
+	{
+		String value = element.getAttribute(attribute);
+		return value.isEmpty() ? 0.0 : Double.parseDouble(value);
+	}
+
+	private void addEdge(Graph<Vertex, ModgrafEdge> graphT, Element elementCell,
+			Map<String, Vertex> vertices, int edgeWeightDegree)
+	{
+		if (!elementCell.getAttribute("edge").equals("1"))
+			return;
+		Vertex source = vertices.get(elementCell.getAttribute("source"));
+		Vertex target = vertices.get(elementCell.getAttribute("target"));
+		if (source == null || target == null)
+			throw new IllegalArgumentException("Edge with unknown vertex!");
+		ModgrafEdge e = graphT.addEdge(source, target);
+		if (e == null)
+			throw new IllegalArgumentException("Borders can not be repeated!");
+		e.setId(elementCell.getAttribute("id"));
+		setEdgeValue(e, edgeWeightDegree, elementCell.getAttribute("value"));
+	}
+
+	/**
+	 * Ustawia wagę krawędzi (lub przepustowość i koszt) na podstawie
+	 * etykiety komórki krawędzi.
+	 */
+	static void setEdgeValue(ModgrafEdge e, int edgeWeightDegree, String value)
+	{
+		if (edgeWeightDegree == 1)
+			((WeightedEdge) e).setWeight(Double.parseDouble(value));
+		if (edgeWeightDegree == 2)
+		{
+			String[] values = value.split("/");
+			DoubleWeightedEdge dwe = (DoubleWeightedEdge) e;
+			dwe.setCapacity(Double.parseDouble(values[0]));
+			dwe.setCost(Double.parseDouble(values[1]));
+		}
+	}
+}
@@ -0,0 +1,362 @@
+package modgraf.io;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.List;
+import java.util.Map;
+
+import modgraf.jgrapht.DoubleWeightedGraph;
+import modgraf.jgrapht.Vertex;
+import modgraf.jgrapht.edge.ModgrafEdge;
+
+import org.jgrapht.DirectedGraph;
+import org.jgrapht.Graph;
+import org.jgrapht.UndirectedGraph;
+import org.jgrapht.WeightedGraph;
+
+import com.mxgraph.model.mxGeometry;
+import com.mxgraph.model.mxICell;
+import com.mxgraph.util.mxPoint;
+import com.mxgraph.util.mxRectangle;
+import com.mxgraph.view.mxGraph;
+
+/**
+ * Zapisuje graf w formacie pliku xml programu bezpośrednio do strumienia
+ * znaków, bez budowania drzewa DOM przez <code>mxCodec</code> i bez
+ * składania całego dokumentu w napisie. <br>
+ * Wynik jest zgodny z kodowaniem przez <code>mxCodec</code>:
+ * element <code>Modgraf</code> z modelem <code>mxGraphModel</code>
+ * (atrybuty typu grafu, płaska lista komórek <code>mxCell</code>
+ * z geometrią) oraz stylami <code>mxStylesheet</code> bez stylu
+ * <code>defaultVertex</code>. Atrybuty są zapisywane w kolejności
+ * alfabetycznej, wartości domyślne są pomijane, a znaczniki są rozdzielone
+ * znakami końca linii <code>\r\n</code>. <br>
+ * Zapis do pliku powinien odbywać się przez strumień buforowany - pamięć
+ * potrzebna do zapisu nie zależy wtedy od wielkości grafu.
+ *
+ * @see XmlStreamGraphReader
+ */
+public class XmlGraphWriter
+{
+	private static final String NEW_LINE = "\r\n";
+
+	private final mxGraph graph;
+	private final Graph<Vertex, ModgrafEdge> graphT;
+	private final int vertexCounter;
+	private Writer out;
+	private boolean firstTag;
+
+	/**
+	 * @param graph graf z warstwy wizualnej
+	 * @param graphT graf z warstwy matematycznej
+	 * @param vertexCounter licznik wierzchołków zapisywany w pliku
+	 */
+	public XmlGraphWriter(mxGraph graph, Graph<Vertex, ModgrafEdge> graphT, int vertexCounter)
+	{
+		this.graph = graph;
+		this.graphT = graphT;
+		this.vertexCounter = vertexCounter;
+	}
+
+	/**
+	 * Zapisuje graf do strumienia. Strumień nie jest zamykany.
+	 *
+	 * @param writer strumień wyjściowy
+	 * @throws IOException gdy zapis się nie powiódł
+	 */
+	public void write(Writer writer) throws IOException
+	{
+		out = writer;
+		firstTag = true;
+		try
+		{
+			startElement("Modgraf");
+			closeStartElement();
+			writeModel();
+			writeStylesheet();
+			endElement("Modgraf");
+			out.flush();
+		}
+		finally
+		{
+			out = null;
+		}
+	}
+
+	/**
+	 * @return zawartość pliku xml
+	 */
+	public String toXml()
+	{
+		StringWriter writer = new StringWriter();
+		try
+		{
+			write(writer);
+		}
+		catch (IOException e)
+		{
+			throw new IllegalStateException(e);
+		}
+		return writer.toString();
+	}
+
+	private void writeModel() throws IOException
+	{
+		String type = null;
+		String weighted = "0";
+		if (graphT instanceof DirectedGraph)
+			type = "directed";
+		if (graphT instanceof UndirectedGraph)
+			type = "undirected";
+		if (graphT instanceof WeightedGraph)
+			weighted = "1";
+		if (graphT instanceof DoubleWeightedGraph)
+			weighted = "2";
+		startElement("mxGraphModel");
+		attribute("type", type);
+		attribute("vertexCounter", Integer.toString(vertexCounter));
+		attribute("weighted", weighted);
+		closeStartElement();
+		startElement("root");
+		closeStartElement();
+		mxICell root = (mxICell) graph.getModel().getRoot();
+		if (root != null)
+			writeCell(root);
+		endElement("root");
+		endElement("mxGraphModel");
+	}
+
+	/**
+	 * Zapisuje komórkę, a po niej (na tym samym poziomie) wszystkie
+	 * komórki potomne.
+	 */
+	private void writeCell(mxICell cell) throws IOException
+	{
+		startElement("mxCell");
+		if (cell.isCollapsed())
+			attribute("collapsed", "1");
+		if (!cell.isConnectable())
+			attribute("connectable", "0");
+		if (cell.isEdge())
+			attribute("edge", "1");
+		attribute("id", cell.getId());
+		attribute("parent", getId(cell.getParent()));
+		attribute("source", getId(cell.getTerminal(true)));
+		attribute("style", cell.getStyle());
+		attribute("target", getId(cell.getTerminal(false)));
+		attribute("value", getValue(cell.getValue()));
+		if (cell.isVertex())
+			attribute("vertex", "1");
+		if (!cell.isVisible())
+			attribute("visible", "0");
+		mxGeometry geometry = cell.getGeometry();
+		if (geometry == null)
+			closeEmptyElement();
+		else
+		{
+			closeStartElement();
+			writeGeometry(geometry);
+			endElement("mxCell");
+		}
+		for (int i = 0; i < cell.getChildCount(); ++i)
+			writeCell(cell.getChildAt(i));
+	}
+
+	private static String getId(mxICell cell)
+	{
+		return cell != null ? cell.getId() : null;
+	}
+
+	private static String getValue(Object value)
+	{
+		if (value instanceof Boolean)
+			return ((Boolean) value) ? "1" : "0";
+		return value != null ? value.toString() : null;
+	}
+
+	private void writeGeometry(mxGeometry geometry) throws IOException
+	{
+		startElement("mxGeometry");
+		attribute("as", "geometry");
+		attribute("height", geometry.getHeight());
+		if (geometry.isRelative())
+			attribute("relative", "1");
+		attribute("width", geometry.getWidth());
+		attribute("x", geometry.getX());
+		attribute("y", geometry.getY());
+		mxRectangle alternateBounds = geometry.getAlternateBounds();
+		mxPoint sourcePoint = geometry.getSourcePoint();
+		mxPoint targetPoint = geometry.getTargetPoint();
+		List<mxPoint> points = geometry.getPoints();
+		mxPoint offset = geometry.getOffset();
+		if (alternateBounds == null && sourcePoint == null && targetPoint == null
+				&& points == null && offset == null)
+		{
+			closeEmptyElement();
+			return;
+		}
+		closeStartElement();
+		if (alternateBounds != null)
+			writeRectangle(alternateBounds, "alternateBounds");
+		writePoint(sourcePoint, "sourcePoint");
+		writePoint(targetPoint, "targetPoint");
+		if (points != null)
+		{
+			startElement("Array");
+			attribute("as", "points");
+			if (points.isEmpty())
+				closeEmptyElement();
+			else
+			{
+				closeStartElement();
+				for (mxPoint point : points)
+					writePoint(point, null);
+				endElement("Array");
+			}
+		}
+		writePoint(offset, "offset");
+		endElement("mxGeometry");
+	}
+
+	private void writeRectangle(mxRectangle rectangle, String as) throws IOException
+	{
+		startElement("mxRectangle");
+		attribute("as", as);
+		attribute("height", rectangle.getHeight());
+		attribute("width", rectangle.getWidth());
+		attribute("x", rectangle.getX());
+		attribute("y", rectangle.getY());
+		closeEmptyElement();
+	}
+
+	private void writePoint(mxPoint point, String as) throws IOException
+	{
+		if (point == null)
+			return;
+		startElement("mxPoint");
+		attribute("as", as);
+		attribute("x", point.getX());
+		attribute("y", point.getY());
+		closeEmptyElement();
+	}
+
+	/**
+	 * Zapisuje style z pominięciem stylu <code>defaultVertex</code>
+	 * i stylów pustych.
+	 */
+	private void writeStylesheet() throws IOException
+	{
+		startElement("mxStylesheet");
+		boolean empty = true;
+		for (Map.Entry<String, Map<String, Object>> style : graph.getStylesheet().getStyles().entrySet())
+		{
+			if (style.getKey().equals("defaultVertex") || style.getValue().isEmpty())
+				continue;
+			if (empty)
+				closeStartElement();
+			empty = false;
+			startElement("add");
+			attribute("as", style.getKey());
+			closeStartElement();
+			for (Map.Entry<String, Object> entry : style.getValue().entrySet())
+			{
+				startElement("add");
+				attribute("as", String.valueOf(entry.getKey()));
+				attribute("value", getValue(entry.getValue()));
+				closeEmptyElement();
+			}
+			endElement("add");
+		}
+		if (empty)
+			closeEmptyElement();
+		else
+			endElement("mxStylesheet");
+	}
+
+	private void startElement(String name) throws IOException
+	{
+		if (!firstTag)
+			out.write(NEW_LINE);
+		firstTag = false;
+		out.write('<');
+		out.write(name);
+	}
+
+	private void closeStartElement() throws IOException
+	{
+		out.write('>');
+	}
+
+	private void closeEmptyElement() throws IOException
+	{
+		out.write("/>");
+	}
+
+	private void endElement(String name) throws IOException
+	{
+		out.write(NEW_LINE);
+		out.write("</");
+		out.write(name);
+		out.write('>');
+	}
+
+	/**
+	 * Liczby równe zero (wartość domyślna) są pomijane.
+	 */
+	private void attribute(String name, double value) throws IOException
+	{
+		if (Double.doubleToLongBits(value) != 0L)
+			attribute(name, String.valueOf(value));
+	}
+
+	private void attribute(String name, String value) throws IOException
+	{
+		if (value == null)
+			return;
+		out.write(' ');
+		out.write(name);
+		out.write("=\"");
+		writeEscaped(value);
+		out.write('"');
+	}
+
+	private void writeEscaped(String value) throws IOException
+	{
+		int start = 0;
+		for (int i = 0; i < value.length(); ++i)
+		{
+			String entity = getEntity(value.charAt(i));
+			if (entity != null)
+			{
+				out.write(value, start, i - start);
+				out.write(entity);
+				start = i + 1;
+			}
+		}
+		out.write(value, start, value.length() - start);
+	}
+
+	private static String getEntity(char c)
+	{
+		switch (c)
+		{
+			case '&':
+				return "&amp;";
+			case '<':
+				return "&lt;";
+			case '>':
+				return "&gt;";
+			case '"':
+				return "&quot;";
+			case '\n':
+				return "&#10;";
+			case '\r':
+				return "&#13;";
+			case '\t':
+				return "&#9;";
+			default:
+				return null;
+		}
+	}
+}
@@ -0,0 +1,411 @@
+package modgraf.io;
+
+import java.awt.geom.Point2D;
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Hashtable;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import modgraf.jgrapht.GraphFactory;
+import modgraf.jgrapht.Vertex;
+import modgraf.jgrapht.edge.ModgrafEdge;
+
+import org.jgrapht.Graph;
+
+import com.mxgraph.model.mxCell;
+import com.mxgraph.model.mxGeometry;
+import com.mxgraph.util.mxPoint;
+import com.mxgraph.util.mxRectangle;
+
+/**
+ * Wczytuje plik xml zapisany przez program w jednym przebiegu, za pomocą
+ * strumieniowego parsera StAX. <br>
+ * W odróżnieniu od {@link XmlGraphReader} plik nie jest wczytywany do
+ * napisu ani do drzewa DOM, a obie warstwy grafu powstają bezpośrednio
+ * ze zdarzeń parsera: warstwa matematyczna oraz drzewo komórek
+ * <code>mxCell</code> i style, które w edytorze zastępują dekodowanie przez
+ * <code>mxCodec</code>. Odwołania do komórek zdefiniowanych w dalszej części
+ * pliku (rodzic, źródło i cel krawędzi) są rozwiązywane po zakończeniu
+ * przebiegu. <br>
+ * Obsługiwane są elementy zapisywane przez program: <code>mxCell</code>
+ * z geometrią (<code>mxGeometry</code>, <code>mxPoint</code>, tablica
+ * punktów krawędzi i <code>mxRectangle</code>) oraz style
+ * <code>mxStylesheet</code> z wartościami podanymi w atrybutach.
+ */
+public class XmlStreamGraphReader implements GraphReader
+{
+	private static final int BUFFER_SIZE = 1 << 16;
+
+	private final Properties prop;
+
+	/**
+	 * @param prop ustawienia programu (kodowanie plików i domyślne wagi
+	 * 			krawędzi)
+	 */
+	public XmlStreamGraphReader(Properties prop)
+	{
+		this.prop = prop;
+	}
+
+	@Override
+	public XmlGraphData read(File file) throws IOException
+	{
+		InputStream in = new BufferedInputStream(new FileInputStream(file), BUFFER_SIZE);
+		try
+		{
+			return read(new InputStreamReader(in, prop.getProperty("file-encoding")));
+		}
+		finally
+		{
+			in.close();
+		}
+	}
+
+	/**
+	 * Wczytuje graf ze strumienia znaków. Strumień nie jest zamykany.
+	 *
+	 * @param reader zawartość pliku xml
+	 * @return wczytany graf
+	 * @throws IOException gdy nie udało się odczytać strumienia
+	 * @throws IllegalArgumentException gdy strumień nie zawiera poprawnego grafu
+	 */
+	public XmlGraphData read(Reader reader) throws IOException
+	{
+		XMLInputFactory factory = XMLInputFactory.newInstance();
+		factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+		factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+		XMLStreamReader xml = null;
+		try
+		{
+			xml = factory.createXMLStreamReader(reader);
+			return new Parser(xml).parse();
+		}
+		catch (XMLStreamException e)
+		{
+			if (e.getNestedException() instanceof IOException)
+				throw (IOException) e.getNestedException();
+			throw new IllegalArgumentException("Invalid XML document!", e);
+		}
+		finally
+		{
+			if (xml != null)
+				closeQuietly(xml);
+		}
+	}
+
+	private static void closeQuietly(XMLStreamReader xml)
+	{
+		try
+		{
+			xml.close();
+		}
+		catch (XMLStreamException e)
+		{
+			// strumień zamyka wywołujący
+		}
+	}
+
+	/**
+	 * Stan jednego przebiegu parsera.
+	 */
+	private final class Parser
+	{
+		private final XMLStreamReader xml;
+		private final Map<String, String> sharedStrings = new HashMap<>();
+		private final List<mxCell> cells = new ArrayList<>();
+		private final List<String> parentIds = new ArrayList<>();
+		private final List<String> sourceIds = new ArrayList<>();
+		private final List<String> targetIds = new ArrayList<>();
+		private final Map<String, mxCell> cellsById = new HashMap<>();
+		private final Map<String, Vertex> vertices = new HashMap<>();
+		private final Map<Vertex, Point2D> positions = new LinkedHashMap<>();
+		private final Map<String, Map<String, Object>> styles = new LinkedHashMap<>();
+		private Graph<Vertex, ModgrafEdge> graphT;
+		private boolean directed;
+		private int edgeWeightDegree;
+		private int vertexCounter;
+		private boolean inModel;
+		private boolean inStylesheet;
+		private mxCell cell;
+		private Vertex vertex;
+		private mxGeometry geometry;
+		private List<mxPoint> points;
+		private Map<String, Object> style;
+		private int styleDepth;
+
+		private Parser(XMLStreamReader xml)
+		{
+			this.xml = xml;
+		}
+
+		private XmlGraphData parse() throws XMLStreamException
+		{
+			while (xml.hasNext())
+			{
+				int event = xml.next();
+				if (event == XMLStreamConstants.START_ELEMENT)
+					startElement(xml.getLocalName());
+				else if (event == XMLStreamConstants.END_ELEMENT)
+					endElement(xml.getLocalName());
+			}
+			if (graphT == null)
+				throw new IllegalArgumentException("Missing graph definition!");
+			mxCell root = linkCells();
+			addEdges();
+			return new XmlGraphData(graphT, positions, vertexCounter, directed, edgeWeightDegree,
+					root, styles);
+		}
+
+		private void startElement(String name)
+		{
+			if (inStylesheet)
+				startStyleElement(name);
+			else if (name.equals("mxGraphModel") && graphT == null)
+				startModel();
+			else if (!inModel)
+			{
+				if (name.equals("mxStylesheet"))
+					inStylesheet = true;
+			}
+			else if (name.equals("mxCell"))
+				startCell();
+			else if (cell != null)
+				startGeometryElement(name);
+		}
+
+		private void endElement(String name)
+		{
+			if (inStylesheet)
+				endStyleElement(name);
+			else if (name.equals("mxGraphModel"))
+				inModel = false;
+			else if (name.equals("mxCell"))
+			{
+				cell = null;
+				vertex = null;
+				geometry = null;
+			}
+			else if (name.equals("Array"))
+				points = null;
+		}
+
+		private void startModel()
+		{
+			directed = "directed".equals(attribute("type"));
+			edgeWeightDegree = Integer.parseInt(attribute("weighted"));
+			vertexCounter = Integer.parseInt(attribute("vertexCounter"));
+			graphT = GraphFactory.createGraph(directed, edgeWeightDegree, prop);
+			inModel = true;
+		}
+
+		private void startCell()
+		{
+			String id = attribute("id");
+			String value = attribute("value");
+			cell = new mxCell(value, null, shared(attribute("style")));
+			cell.setId(id);
+			cell.setVertex("1".equals(attribute("vertex")));
+			cell.setEdge("1".equals(attribute("edge")));
+			if ("0".equals(attribute("connectable")))
+				cell.setConnectable(false);
+			if ("0".equals(attribute("visible")))
+				cell.setVisible(false);
+			if ("1".equals(attribute("collapsed")))
+				cell.setCollapsed(true);
+			cells.add(cell);
+			parentIds.add(attribute("parent"));
+			sourceIds.add(attribute("source"));
+			targetIds.add(attribute("target"));
+			if (id != null)
+				cellsById.put(id, cell);
+			if (cell.isVertex())
+			{
+				vertex = new Vertex(id, value != null ? value : "");
+				graphT.addVertex(vertex);
+				vertices.put(id, vertex);
+			}
+		}
+
+		private void startGeometryElement(String name)
+		{
+			if (name.equals("mxGeometry") && geometry == null)
+			{
+				geometry = new mxGeometry(number("x"), number("y"), number("width"), number("height"));
+				geometry.setRelative("1".equals(attribute("relative")));
+				cell.setGeometry(geometry);
+				if (vertex != null)
+					positions.put(vertex, new Point2D.Double(geometry.getCenterX(), geometry.getCenterY()));
+			}
+			else if (geometry == null)
+				return;
+			else if (name.equals("Array") && "points".equals(attribute("as")))
+			{
+				points = new ArrayList<>();
+				geometry.setPoints(points);
+			}
+			else if (name.equals("mxPoint"))
+				addPoint(new mxPoint(number("x"), number("y")));
+			else if (name.equals("mxRectangle") && "alternateBounds".equals(attribute("as")))
+				geometry.setAlternateBounds(new mxRectangle(number("x"), number("y"),
+						number("width"), number("height")));
+		}
+
+		private void addPoint(mxPoint point)
+		{
+			String as = attribute("as");
+			if (points != null)
+				points.add(point);
+			else if ("sourcePoint".equals(as))
+				geometry.setSourcePoint(point);
+			else if ("targetPoint".equals(as))
+				geometry.setTargetPoint(point);
+			else if ("offset".equals(as))
+				geometry.setOffset(point);
+		}
+
+		/**
+		 * Style są dekodowane tak jak w <code>mxStylesheetCodec</code>:
+		 * element <code>add</code> pierwszego poziomu tworzy styl (opcjonalnie
+		 * rozszerzający wcześniejszy), a elementy <code>add</code>
+		 * i <code>remove</code> drugiego poziomu dodają i usuwają jego wpisy.
+		 */
+		private void startStyleElement(String name)
+		{
+			++styleDepth;
+			if (styleDepth == 1 && name.equals("add"))
+			{
+				String extend = attribute("extend");
+				Map<String, Object> base = extend != null ? styles.get(extend) : null;
+				style = base != null ? new Hashtable<>(base) : new Hashtable<String, Object>();
+				styles.put(attribute("as"), style);
+			}
+			else if (styleDepth == 2 && style != null)
+			{
+				String key = attribute("as");
+				String value = attribute("value");
+				if (key == null)
+					return;
+				if (name.equals("add") && value != null)
+					style.put(key, shared(value));
+				else if (name.equals("remove"))
+					style.remove(key);
+			}
+		}
+
+		private void endStyleElement(String name)
+		{
+			if (styleDepth == 0)
+			{
+				inStylesheet = false;
+				return;
+			}
+			if (styleDepth == 1)
+				style = null;
+			--styleDepth;
+		}
+
+		/**
+		 * Dołącza komórki do rodziców i krawędzie do ich końców
+		 * w kolejności wystąpienia w pliku.
+		 *
+		 * @return korzeń drzewa komórek
+		 */
+		private mxCell linkCells()
+		{
+			mxCell root = null;
+			for (int i = 0; i < cells.size(); ++i)
+			{
+				mxCell child = cells.get(i);
+				String parentId = parentIds.get(i);
+				if (parentId == null)
+				{
+					if (root == null)
+						root = child;
+					continue;
+				}
+				mxCell parent = cellsById.get(parentId);
+				if (parent == null)
+					throw new IllegalArgumentException("Cell with unknown parent!");
+				parent.insert(child);
+			}
+			for (int i = 0; i < cells.size(); ++i)
+			{
+				mxCell source = lookup(sourceIds.get(i));
+				if (source != null)
+					source.insertEdge(cells.get(i), true);
+				mxCell target = lookup(targetIds.get(i));
+				if (target != null)
+					target.insertEdge(cells.get(i), false);
+			}
+			if (root == null)
+				throw new IllegalArgumentException("Missing graph definition!");
+			return root;
+		}
+
+		private mxCell lookup(String id)
+		{
+			return id != null ? cellsById.get(id) : null;
+		}
+
+		private void addEdges()
+		{
+			for (int i = 0; i < cells.size(); ++i)
+			{
+				mxCell edgeCell = cells.get(i);
+				if (!edgeCell.isEdge())
+					continue;
+				Vertex source = vertices.get(sourceIds.get(i));
+				Vertex target = vertices.get(targetIds.get(i));
+				if (source == null || target == null)
+					throw new IllegalArgumentException("Edge with unknown vertex!");
+				ModgrafEdge e = graphT.addEdge(source, target);
+				if (e == null)
+					throw new IllegalArgumentException("Borders can not be repeated!");
+				e.setId(edgeCell.getId());
+				Object value = edgeCell.getValue();
+				XmlGraphReader.setEdgeValue(e, edgeWeightDegree, value != null ? value.toString() : "");
+			}
+		}
+
+		private String attribute(String name)
+		{
+			return xml.getAttributeValue(null, name);
+		}
+
+		private double number(String name)
+		{
+			String value = attribute(name);
+			return value == null || value.isEmpty() ? 0.0 : Double.parseDouble(value);
+		}
+
+		/**
+		 * Style komórek i wartości stylów powtarzają się wielokrotnie, więc
+		 * każdy z tych napisów jest przechowywany tylko raz.
+		 */
+		private String shared(String value)
+		{
+			if (value == null)
+				return null;
+			String existing = sharedStrings.get(value);
+			if (existing != null)
+				return existing;
+			sharedStrings.put(value, value);
+			return value;
+		}
+	}
+}
@@ -0,0 +1,515 @@
+package modgraf.jgrapht;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import modgraf.algorithm.engine.AlgorithmMetrics;
+import modgraf.algorithm.engine.AlgorithmMetrics.Phase;
+import modgraf.jgrapht.edge.ModgrafEdge;
+
+import org.jgrapht.DirectedGraph;
+import org.jgrapht.Graph;
+import org.jgrapht.WeightedGraph;
+
+/**
+ * Niezmienna migawka grafu warstwy matematycznej w postaci CSR
+ * (compressed sparse row). <br>
+ * Wierzchołki i krawędzie są ponumerowane kolejnymi liczbami całkowitymi
+ * (w kolejności iterowania po zbiorach grafu), sąsiedztwo jest zapisane
+ * w tablicach <code>int[]</code>, a wagi, przepustowości i koszty w tablicach
+ * <code>double[]</code>. Algorytmy mogą więc pracować na tablicach typów
+ * prostych zamiast na zbiorach haszujących i obiektach {@link Vertex}
+ * i {@link ModgrafEdge}, a wynik jest mapowany z powrotem na obiekty grafu
+ * za pomocą metod {@link #getVertex(int)} i {@link #getEdge(int)}. <br>
+ * W grafie nieskierowanym każda krawędź występuje jako dwa łuki (po jednym
+ * w liście sąsiedztwa każdego z końców), a listy łuków wchodzących są
+ * tożsame z listami łuków wychodzących. <br>
+ * Metody zwracające tablice nie wykonują kopii - tablic nie wolno modyfikować.
+ */
+public class CompactGraph
+{
+	private final boolean directed;
+	private final int edgeWeightDegree;
+	private final Vertex[] vertices;
+	private final ModgrafEdge[] edges;
+	private final Map<String, Integer> vertexIndex;
+	private final int[] edgeSources;
+	private final int[] edgeTargets;
+	private final double[] weights;
+	private final double[] capacities;
+	private final double[] costs;
+	private final int[] outOffsets;
+	private final int[] outTargets;
+	private final int[] outEdges;
+	private final int[] inOffsets;
+	private final int[] inSources;
+	private final int[] inEdges;
+
+	/**
+	 * Tworzy migawkę podanego grafu. Krawędzie są odczytywane jednokrotnie,
+	 * a tablice sąsiedztwa wypełniane na podstawie policzonych stopni.
+	 * Czas budowy jest doliczany do fazy {@link Phase#Snapshot} aktywnych
+	 * pomiarów ({@link AlgorithmMetrics}).
+	 *
+	 * @param graph graf warstwy matematycznej
+	 */
+	public CompactGraph(Graph<Vertex, ModgrafEdge> graph)
+	{
+		long start = System.nanoTime();
+		directed = graph instanceof DirectedGraph;
+		edgeWeightDegree = findEdgeWeightDegree(graph);
+		Set<Vertex> vertexSet = graph.vertexSet();
+		Set<ModgrafEdge> edgeSet = graph.edgeSet();
+		int n = vertexSet.size();
+		int m = edgeSet.size();
+		vertices = new Vertex[n];
+		vertexIndex = new HashMap<>(n * 2);
+		int index = 0;
+		for (Vertex vertex : vertexSet)
+		{
+			vertices[index] = vertex;
+			vertexIndex.put(vertex.getId(), index);
+			++index;
+		}
+		edges = new ModgrafEdge[m];
+		edgeSources = new int[m];
+		edgeTargets = new int[m];
+		weights = new double[m];
+		capacities = edgeWeightDegree == 2 ? new double[m] : null;
+		costs = edgeWeightDegree == 2 ? new double[m] : null;
+		int[] outDegree = new int[n + 1];
+		int[] inDegree = directed ? new int[n + 1] : outDegree;
+		index = 0;
+		for (ModgrafEdge edge : edgeSet)
+		{
+			int source = vertexIndex.get(graph.getEdgeSource(edge).getId());
+			int target = vertexIndex.get(graph.getEdgeTarget(edge).getId());
+			edges[index] = edge;
+			edgeSources[index] = source;
+			edgeTargets[index] = target;
+			readEdgeValues(graph, edge, index);
+			++outDegree[source];
+			++inDegree[target];
+			++index;
+		}
+		outOffsets = createOffsets(outDegree);
+		outTargets = new int[outOffsets[n]];
+		outEdges = new int[outOffsets[n]];
+		if (directed)
+		{
+			inOffsets = createOffsets(inDegree);
+			inSources = new int[inOffsets[n]];
+			inEdges = new int[inOffsets[n]];
+		}
+		else
+		{
+			inOffsets = outOffsets;
+			inSources = outTargets;
+			inEdges = outEdges;
+		}
+		fillArcs();
+		AlgorithmMetrics.addTime(Phase.Snapshot, System.nanoTime() - start);
+	}
+
+	/**
+	 * Tworzy migawkę z gotowej listy łuków wychodzących (np. odczytanej
+	 * z pliku mgb), bez przeglądania zbiorów grafu. W grafie nieskierowanym
+	 * każda krawędź musi występować w listach obu końców. Tablice nie są
+	 * kopiowane.
+	 *
+	 * @param directed <code>true</code> dla grafu skierowanego
+	 * @param edgeWeightDegree liczba parametrów krawędzi (0, 1 lub 2)
+	 * @param vertices wierzchołki w kolejności numerów
+	 * @param edges krawędzie w kolejności numerów
+	 * @param edgeSources numery źródeł krawędzi
+	 * @param edgeTargets numery celów krawędzi
+	 * @param weights wagi (przepustowości) krawędzi
+	 * @param costs koszty krawędzi (tylko dla dwóch parametrów)
+	 * @param outOffsets przesunięcia łuków wychodzących
+	 * @param outTargets wierzchołki końcowe łuków wychodzących
+	 * @param outEdges numery krawędzi łuków wychodzących
+	 */
+	public CompactGraph(boolean directed, int edgeWeightDegree, Vertex[] vertices, ModgrafEdge[] edges,
+			int[] edgeSources, int[] edgeTargets, double[] weights, double[] costs,
+			int[] outOffsets, int[] outTargets, int[] outEdges)
+	{
+		long start = System.nanoTime();
+		this.directed = directed;
+		this.edgeWeightDegree = edgeWeightDegree;
+		this.vertices = vertices;
+		this.edges = edges;
+		this.edgeSources = edgeSources;
+		this.edgeTargets = edgeTargets;
+		this.weights = weights;
+		capacities = edgeWeightDegree == 2 ? weights : null;
+		this.costs = edgeWeightDegree == 2 ? costs : null;
+		this.outOffsets = outOffsets;
+		this.outTargets = outTargets;
+		this.outEdges = outEdges;
+		int n = vertices.length;
+		vertexIndex = new HashMap<>(n * 2);
+		for (int v = 0; v < n; ++v)
+			vertexIndex.put(vertices[v].getId(), v);
+		if (directed)
+		{
+			int[] inDegree = new int[n + 1];
+			for (int target : outTargets)
+				++inDegree[target];
+			inOffsets = createOffsets(inDegree);
+			inSources = new int[inOffsets[n]];
+			inEdges = new int[inOffsets[n]];
+			for (int v = 0; v < n; ++v)
+				for (int arc = outOffsets[v]; arc < outOffsets[v + 1]; ++arc)
+				{
+					int position = inDegree[outTargets[arc]]++;
+					inSources[position] = v;
+					inEdges[position] = outEdges[arc];
+				}
+		}
+		else
+		{
+			inOffsets = outOffsets;
+			inSources = outTargets;
+			inEdges = outEdges;
+		}
+		AlgorithmMetrics.addTime(Phase.Snapshot, System.nanoTime() - start);
+	}
+
+	private static int findEdgeWeightDegree(Graph<Vertex, ModgrafEdge> graph)
+	{
+		if (graph instanceof DoubleWeightedGraph)
+			return 2;
+		if (graph instanceof WeightedGraph)
+			return 1;
+		return 0;
+	}
+
+	private void readEdgeValues(Graph<Vertex, ModgrafEdge> graph, ModgrafEdge edge, int index)
+	{
+		if (edgeWeightDegree == 2)
+		{
+			DoubleWeightedGraph<Vertex, ModgrafEdge> dwg = (DoubleWeightedGraph<Vertex, ModgrafEdge>) graph;
+			capacities[index] = dwg.getEdgeCapacity(edge);
+			costs[index] = dwg.getEdgeCost(edge);
+			weights[index] = capacities[index];
+		}
+		else if (edgeWeightDegree == 1)
+			weights[index] = graph.getEdgeWeight(edge);
+		else
+			weights[index] = WeightedGraph.DEFAULT_EDGE_WEIGHT;
+	}
+
+	/**
+	 * Zamienia tablicę stopni na tablicę przesunięć (sumy prefiksowe).
+	 * Tablica stopni jest wykorzystywana ponownie jako wskaźnik zapisu.
+	 */
+	private static int[] createOffsets(int[] degree)
+	{
+		int[] offsets = new int[degree.length];
+		for (int v = 1; v < degree.length; ++v)
+			offsets[v] = offsets[v - 1] + degree[v - 1];
+		System.arraycopy(offsets, 0, degree, 0, degree.length);
+		return offsets;
+	}
+
+	private void fillArcs()
+	{
+		int n = vertices.length;
+		int[] outPosition = new int[n];
+		System.arraycopy(outOffsets, 0, outPosition, 0, n);
+		int[] inPosition = outPosition;
+		if (directed)
+		{
+			inPosition = new int[n];
+			System.arraycopy(inOffsets, 0, inPosition, 0, n);
+		}
+		for (int e = 0; e < edges.length; ++e)
+		{
+			int source = edgeSources[e];
+			int target = edgeTargets[e];
+			int arc = outPosition[source]++;
+			outTargets[arc] = target;
+			outEdges[arc] = e;
+			arc = inPosition[target]++;
+			inSources[arc] = source;
+			inEdges[arc] = e;
+		}
+	}
+
+	/**
+	 * @return <code>true</code> jeśli graf jest skierowany
+	 */
+	public boolean isDirected()
+	{
+		return directed;
+	}
+
+	/**
+	 * @return liczba parametrów krawędzi (0, 1 lub 2)
+	 */
+	public int getEdgeWeightDegree()
+	{
+		return edgeWeightDegree;
+	}
+
+	/**
+	 * @return liczba wierzchołków
+	 */
+	public int getVertexCount()
+	{
+		return vertices.length;
+	}
+
+	/**
+	 * @return liczba krawędzi
+	 */
+	public int getEdgeCount()
+	{
+		return edges.length;
+	}
+
+	/**
+	 * @param index numer wierzchołka
+	 * @return wierzchołek grafu o podanym numerze
+	 */
+	public Vertex getVertex(int index)
+	{
+		return vertices[index];
+	}
+
+	/**
+	 * @param vertex wierzchołek grafu
+	 * @return numer wierzchołka lub -1 jeśli wierzchołek nie należy do migawki
+	 */
+	public int indexOf(Vertex vertex)
+	{
+		return indexOf(vertex.getId());
+	}
+
+	/**
+	 * @param vertexId id wierzchołka
+	 * @return numer wierzchołka lub -1 jeśli wierzchołek nie należy do migawki
+	 */
+	public int indexOf(String vertexId)
+	{
+		Integer index = vertexIndex.get(vertexId);
+		return index == null ? -1 : index;
+	}
+
+	/**
+	 * @param index numer krawędzi
+	 * @return krawędź grafu o podanym numerze
+	 */
+	public ModgrafEdge getEdge(int index)
+	{
+		return edges[index];
+	}
+
+	/**
+	 * @param edgeIndices numery krawędzi
+	 * @return lista krawędzi grafu w kolejności numerów
+	 */
+	public List<ModgrafEdge> getEdges(int[] edgeIndices)
+	{
+		List<ModgrafEdge> result = new ArrayList<>(edgeIndices.length);
+		for (int e : edgeIndices)
+			result.add(edges[e]);
+		return result;
+	}
+
+	/**
+	 * @param edge numer krawędzi
+	 * @return numer wierzchołka początkowego krawędzi
+	 */
+	public int getEdgeSource(int edge)
+	{
+		return edgeSources[edge];
+	}
+
+	/**
+	 * @param edge numer krawędzi
+	 * @return numer wierzchołka końcowego krawędzi
+	 */
+	public int getEdgeTarget(int edge)
+	{
+		return edgeTargets[edge];
+	}
+
+	/**
+	 * @param edge numer krawędzi
+	 * @param vertex numer jednego z końców krawędzi
+	 * @return numer drugiego końca krawędzi
+	 */
+	public int getOppositeVertex(int edge, int vertex)
+	{
+		return edgeSources[edge] == vertex ? edgeTargets[edge] : edgeSources[edge];
+	}
+
+	/**
+	 * Wyszukuje krawędź między wierzchołkami. W grafie nieskierowanym
+	 * kolejność wierzchołków nie ma znaczenia.
+	 *
+	 * @param source numer wierzchołka początkowego
+	 * @param target numer wierzchołka końcowego
+	 * @return numer krawędzi lub -1 jeśli krawędź nie istnieje
+	 */
+	public int findEdge(int source, int target)
+	{
+		for (int arc = outOffsets[source]; arc < outOffsets[source + 1]; ++arc)
+			if (outTargets[arc] == target)
+				return outEdges[arc];
+		return -1;
+	}
+
+	/**
+	 * @param edge numer krawędzi
+	 * @return waga krawędzi (w grafach podwójnie ważonych - przepustowość,
+	 * 			w grafach nieważonych - 1.0)
+	 */
+	public double getWeight(int edge)
+	{
+		return weights[edge];
+	}
+
+	/**
+	 * @param edge numer krawędzi
+	 * @return przepustowość krawędzi (w grafach ważonych - waga)
+	 */
+	public double getCapacity(int edge)
+	{
+		return capacities != null ? capacities[edge] : weights[edge];
+	}
+
+	/**
+	 * @param edge numer krawędzi
+	 * @return koszt krawędzi (w grafach innych niż podwójnie ważone - 0.0)
+	 */
+	public double getCost(int edge)
+	{
+		return costs != null ? costs[edge] : 0.0;
+	}
+
+	/**
+	 * @return wagi krawędzi indeksowane numerem krawędzi
+	 */
+	public double[] getWeights()
+	{
+		return weights;
+	}
+
+	/**
+	 * @return przepustowości krawędzi indeksowane numerem krawędzi
+	 * 			(w grafach innych niż podwójnie ważone - wagi)
+	 */
+	public double[] getCapacities()
+	{
+		return capacities != null ? capacities : weights;
+	}
+
+	/**
+	 * @return koszty krawędzi indeksowane numerem krawędzi lub <code>null</code>
+	 * 			w grafach innych niż podwójnie ważone
+	 */
+	public double[] getCosts()
+	{
+		return costs;
+	}
+
+	/**
+	 * @return tablica o długości <i>n</i>+1; łuki wychodzące z wierzchołka
+	 * 			<i>v</i> zajmują pozycje od <code>[v]</code> do <code>[v+1]</code> (bez niej)
+	 */
+	public int[] getOutOffsets()
+	{
+		return outOffsets;
+	}
+
+	/**
+	 * @return wierzchołki końcowe łuków wychodzących
+	 */
+	public int[] getOutTargets()
+	{
+		return outTargets;
+	}
+
+	/**
+	 * @return numery krawędzi odpowiadających łukom wychodzącym
+	 */
+	public int[] getOutEdges()
+	{
+		return outEdges;
+	}
+
+	/**
+	 * @return tablica przesunięć łuków wchodzących (analogicznie do {@link #getOutOffsets()})
+	 */
+	public int[] getInOffsets()
+	{
+		return inOffsets;
+	}
+
+	/**
+	 * @return wierzchołki początkowe łuków wchodzących
+	 */
+	public int[] getInSources()
+	{
+		return inSources;
+	}
+
+	/**
+	 * @return numery krawędzi odpowiadających łukom wchodzącym
+	 */
+	public int[] getInEdges()
+	{
+		return inEdges;
+	}
+
+	/**
+	 * Porównuje zawartość dwóch migawek: typ grafu, kolejność i identyfikatory
+	 * wierzchołków i krawędzi, końce krawędzi oraz ich wagi. Pozwala
+	 * stwierdzić, czy wynik obliczony dla starszej migawki jest nadal aktualny.
+	 *
+	 * @param other inna migawka
+	 * @return <code>true</code> jeśli migawki opisują ten sam graf
+	 */
+	public boolean contentEquals(CompactGraph other)
+	{
+		if (other == this)
+			return true;
+		if (other == null || directed != other.directed || edgeWeightDegree != other.edgeWeightDegree
+				|| !Arrays.equals(vertices, other.vertices)
+				|| !Arrays.equals(edgeSources, other.edgeSources)
+				|| !Arrays.equals(edgeTargets, other.edgeTargets)
+				|| !Arrays.equals(weights, other.weights)
+				|| !Arrays.equals(capacities, other.capacities)
+				|| !Arrays.equals(costs, other.costs))
+			return false;
+		for (int e = 0; e < edges.length; ++e)
+			if (!Objects.equals(edges[e].getId(), other.edges[e].getId()))
+				return false;
+		return true;
+	}
+
+	/**
+	 * @param vertex numer wierzchołka
+	 * @return liczba łuków wychodzących z wierzchołka
+	 */
+	public int getOutDegree(int vertex)
+	{
+		return outOffsets[vertex + 1] - outOffsets[vertex];
+	}
+
+	/**
+	 * @param vertex numer wierzchołka
+	 * @return liczba łuków wchodzących do wierzchołka
+	 */
+	public int getInDegree(int vertex)
+	{
+		return inOffsets[vertex + 1] - inOffsets[vertex];
+	}
+}
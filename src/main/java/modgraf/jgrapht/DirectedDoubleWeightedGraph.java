@@ -1,7 +1,6 @@
 package modgraf.jgrapht;
 
 import modgraf.jgrapht.edge.DoubleWeightedEdge;
-import modgraf.jgrapht.edge.DoubleWeightedEdgeImpl;
 
 import modgraf.jgrapht.edge.ModgrafEdge;
 import modgraf.jgrapht.edge.WeightedEdge;
@@ -29,35 +28,35 @@ public class DirectedDoubleWeightedGraph<V, E> extends SimpleDirectedGraph<V, E>
 	@Override
 	public void setEdgeCost(E e, double cost)
 	{
-		assert (e instanceof DoubleWeightedEdgeImpl) : e.getClass();
+		assert (e instanceof DoubleWeightedEdge) : e.getClass();
         ((DoubleWeightedEdge) e).setCost(cost);
 	}
 
 	@Override
 	public void setEdgeCapacity(E e, double capacity)
 	{
-		assert (e instanceof DoubleWeightedEdgeImpl) : e.getClass();
+		assert (e instanceof DoubleWeightedEdge) : e.getClass();
         ((DoubleWeightedEdge) e).setCapacity(capacity);
 	}
 
 	@Override
 	public double getEdgeCost(E e)
 	{
-		assert (e instanceof DoubleWeightedEdgeImpl) : e.getClass();
+		assert (e instanceof DoubleWeightedEdge) : e.getClass();
 		return ((DoubleWeightedEdge) e).getCost();
 	}
 
 	@Override
 	public double getEdgeCapacity(E e)
 	{
-		assert (e instanceof DoubleWeightedEdgeImpl) : e.getClass();
+		assert (e instanceof DoubleWeightedEdge) : e.getClass();
 		return ((DoubleWeightedEdge) e).getCapacity();
 	}
 
 	@Override
 	public double getEdgeWeight(E edge)
 	{
-		assert (edge instanceof DoubleWeightedEdgeImpl) : edge.getClass();
+		assert (edge instanceof DoubleWeightedEdge) : edge.getClass();
 		return ((DoubleWeightedEdge) edge).getCapacity();
 	}
 }
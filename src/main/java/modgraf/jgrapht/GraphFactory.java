@@ -0,0 +1,60 @@
+package modgraf.jgrapht;
+
+import java.util.Properties;
+
+import modgraf.jgrapht.edge.DirectedDoubleWeightedEdge;
+import modgraf.jgrapht.edge.DirectedEdge;
+import modgraf.jgrapht.edge.DirectedWeightedEdge;
+import modgraf.jgrapht.edge.DoubleWeightedEdgeImpl;
+import modgraf.jgrapht.edge.ModgrafEdge;
+import modgraf.jgrapht.edge.ModgrafEdgeFactory;
+import modgraf.jgrapht.edge.UndirectedEdge;
+import modgraf.jgrapht.edge.WeightedEdgeImpl;
+
+import org.jgrapht.Graph;
+import org.jgrapht.graph.SimpleDirectedGraph;
+import org.jgrapht.graph.SimpleGraph;
+
+/**
+ * Tworzy puste grafy warstwy matematycznej bez udziału edytora, np. przy
+ * wczytywaniu plików w trybie wsadowym.
+ */
+public class GraphFactory
+{
+	private GraphFactory()
+	{
+	}
+
+	/**
+	 * Metoda tworzy nowy graf warstwy matematycznej o typie zależnym od podanych parametrów.
+	 *
+	 * @param directed <code>true</code> jeśli skierowany, <code>false</code> jeśli nieskierowany
+	 * @param edgeWeightDegree liczba parametrów krawędzi (0, 1 lub 2)
+	 * @param prop ustawienia programu z domyślnymi wagami krawędzi
+	 * @return graf warstwy matematycznej
+	 * @throws IllegalArgumentException jeśli liczba parametrów krawędzi jest niepoprawna
+	 */
+	public static Graph<Vertex, ModgrafEdge> createGraph(boolean directed, int edgeWeightDegree, Properties prop)
+	{
+		int number = edgeWeightDegree;
+		if (directed)
+			number = number + 10;
+		switch (number)
+		{
+		case 0:
+			return new SimpleGraph<>(new ModgrafEdgeFactory<>(UndirectedEdge.class, prop));
+		case 1:
+			return new ModgrafUndirectedWeightedGraph(new ModgrafEdgeFactory<>(WeightedEdgeImpl.class, prop));
+		case 2:
+			return new UndirectedDoubleWeightedGraph<>(new ModgrafEdgeFactory<>(DoubleWeightedEdgeImpl.class, prop));
+		case 10:
+			return new SimpleDirectedGraph<>(new ModgrafEdgeFactory<>(DirectedEdge.class, prop));
+		case 11:
+			return new ModgrafDirectedWeightedGraph(new ModgrafEdgeFactory<>(DirectedWeightedEdge.class, prop));
+		case 12:
+			return new DirectedDoubleWeightedGraph<>(new ModgrafEdgeFactory<>(DirectedDoubleWeightedEdge.class, prop));
+		default:
+			throw new IllegalArgumentException("Incorrect number of the edge parameters!");
+		}
+	}
+}
@@ -22,9 +22,18 @@ public class ModgrafEdgeFactory<M extends ModgrafEdge> implements EdgeFactory<Ve
 	private Properties prop;
 
     public ModgrafEdgeFactory(Class<M> edgeClass, Editor e)
+    {
+        this(edgeClass, e.getProperties());
+    }
+
+    /**
+     * @param edgeClass klasa tworzonych krawędzi
+     * @param prop ustawienia programu z domyślnymi wagami krawędzi
+     */
+    public ModgrafEdgeFactory(Class<M> edgeClass, Properties prop)
     {
         this.edgeClass = edgeClass;
-        prop = e.getProperties();
+        this.prop = prop;
     }
 	
 	@Override
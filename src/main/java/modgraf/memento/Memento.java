@@ -9,12 +9,22 @@ public class Memento {
     private final int number;
     private final String state;
     private final String name;
+    private final long graphVersion;
 
     public Memento(int number, String state, String name) {
+        this(number, state, name, -1);
+    }
+
+    /**
+     * @param graphVersion wersja grafu warstwy matematycznej w chwili
+     *                     utworzenia pamiątki (-1 jeśli nieznana)
+     */
+    public Memento(int number, String state, String name, long graphVersion) {
         super();
         this.number = number;
         this.state = state;
         this.name = name;
+        this.graphVersion = graphVersion;
     }
 
     public int getNumber() {
@@ -28,5 +38,9 @@ public class Memento {
     public String getName() {
         return name;
     }
+
+    public long getGraphVersion() {
+        return graphVersion;
+    }
 }
 
@@ -5,7 +5,6 @@ import modgraf.view.Editor;
 import modgraf.action.ActionOpen;
 
 import com.mxgraph.util.mxXmlUtils;
-import org.w3c.dom.Document;
 
 import java.io.File;
 import java.io.IOException;
@@ -59,7 +58,7 @@ public class Originator {
     }
 
     public Memento createMemento(){
-        return new Memento(++number, this.state, this.name);
+        return new Memento(++number, this.state, this.name, editor.getGraphVersion());
     }
 
     public void restoreMemento(Memento memento){
@@ -67,9 +66,9 @@ public class Originator {
         this.number = memento.getNumber();
         this.name = memento.getName();
         ActionOpen a = new ActionOpen(editor, true);
-        Document doc = a.buildXmlDocument(state);
-        a.createGraphTFromXmlDocument(doc);
-        a.setmxGraph(doc);
+        a.openXml(state);
+        if (memento.getGraphVersion() >= 0)
+            editor.setGraphVersion(memento.getGraphVersion());
         System.out.println("Memento restored: "+name);
     }
 
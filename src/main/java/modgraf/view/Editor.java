@@ -12,6 +12,8 @@ import com.mxgraph.view.mxStylesheet;
 import modgraf.Main;
 import modgraf.action.ActionSave;
 import modgraf.action.ActionSaveAs;
+import modgraf.algorithm.MetricsLog;
+import modgraf.algorithm.ResultCache;
 import modgraf.event.*;
 import modgraf.jgrapht.*;
 import modgraf.jgrapht.edge.*;
@@ -23,8 +25,6 @@ import org.jgrapht.DirectedGraph;
 import org.jgrapht.Graph;
 import org.jgrapht.UndirectedGraph;
 import org.jgrapht.WeightedGraph;
-import org.jgrapht.graph.SimpleDirectedGraph;
-import org.jgrapht.graph.SimpleGraph;
 import org.w3c.dom.Element;
 import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
@@ -75,6 +75,10 @@ public class Editor
 	private Properties language;
 	private AlgorithmMenuItems ami;
 	private Originator originator;
+	private MetricsLog metricsLog;
+	private ResultCache resultCache;
+	private volatile long graphVersion;
+	private long lastGraphVersion;
 	
 	/**
 	 * Konstruktor. Jest wywoływany w metodzie <code>main(String[] args)
@@ -88,6 +92,9 @@ public class Editor
 		if (language == null)
 			language = createDefaultLanguage();
 		ami = new AlgorithmMenuItems();
+		metricsLog = new MetricsLog();
+		metricsLog.registerMBean();
+		resultCache = new ResultCache(Integer.parseInt(properties.getProperty("algorithm-result-cache-size")));
 		menuBar = new MenuBar(this, ami);
 		graphT = createNewGraphT(false, 0);
 		createTextPane();
@@ -187,6 +194,35 @@ public class Editor
 	public void setGraphT(Graph<Vertex, ModgrafEdge> gr)
 	{
 		graphT = gr;
+		incrementGraphVersion();
+	}
+
+	/**
+	 * @return Wersja grafu warstwy matematycznej. Zmienia się przy każdej
+	 * 			modyfikacji grafu i jest kluczem wyników w {@link ResultCache}.
+	 */
+	public long getGraphVersion()
+	{
+		return graphVersion;
+	}
+
+	/**
+	 * Nadaje grafowi nową, nieużywaną wcześniej wersję. Metoda musi być
+	 * wywołana po każdej zmianie grafu warstwy matematycznej.
+	 */
+	public void incrementGraphVersion()
+	{
+		graphVersion = ++lastGraphVersion;
+	}
+
+	/**
+	 * Przywraca wersję grafu zapisaną w pamiątce (undo i redo).
+	 *
+	 * @param version wersja grafu
+	 */
+	public void setGraphVersion(long version)
+	{
+		graphVersion = version;
 	}
 	
 	/**
@@ -436,44 +472,7 @@ public class Editor
 	 */
 	public Graph<Vertex, ModgrafEdge> createNewGraphT (boolean directed, int egdeWeight)
 	{
-		Graph<Vertex, ModgrafEdge> graph = null;
-		int number = egdeWeight;
-		if (directed)
-			number = number + 10;
-		switch (number)
-		{
-		case 0:
-			ModgrafEdgeFactory<UndirectedEdge> edgeFactory0 = 
-					new ModgrafEdgeFactory<>(UndirectedEdge.class, this);
-			graph = new SimpleGraph<>(edgeFactory0);
-			break;
-		case 1:
-			ModgrafEdgeFactory<WeightedEdgeImpl> edgeFactory1 = 
-					new ModgrafEdgeFactory<>(WeightedEdgeImpl.class, this);
-			graph = new ModgrafUndirectedWeightedGraph(edgeFactory1);
-			break;
-		case 2:
-			ModgrafEdgeFactory<DoubleWeightedEdgeImpl> edgeFactory2 = 
-					new ModgrafEdgeFactory<>(DoubleWeightedEdgeImpl.class, this);
-			graph = new UndirectedDoubleWeightedGraph<>(edgeFactory2);
-			break;
-		case 10:
-			ModgrafEdgeFactory<DirectedEdge> edgeFactory10 = 
-					new ModgrafEdgeFactory<>(DirectedEdge.class, this);
-			graph = new SimpleDirectedGraph<>(edgeFactory10);
-			break;
-		case 11:
-			ModgrafEdgeFactory<DirectedWeightedEdge> edgeFactory11 = 
-					new ModgrafEdgeFactory<>(DirectedWeightedEdge.class, this);
-			graph = new ModgrafDirectedWeightedGraph(edgeFactory11);
-			break;
-		case 12:
-			ModgrafEdgeFactory<DirectedDoubleWeightedEdge> edgeFactory12 = 
-					new ModgrafEdgeFactory<>(DirectedDoubleWeightedEdge.class, this);
-			graph = new DirectedDoubleWeightedGraph<>(edgeFactory12);
-			break;
-		}
-		return graph;
+		return GraphFactory.createGraph(directed, egdeWeight, properties);
 	}
 	
 	/**
@@ -583,6 +582,22 @@ public class Editor
 	{
 		return language;
 	}
+
+	/**
+	 * @return dziennik pomiarów uruchomień algorytmów
+	 */
+	public MetricsLog getMetricsLog()
+	{
+		return metricsLog;
+	}
+
+	/**
+	 * @return pamięć podręczna wyników algorytmów
+	 */
+	public ResultCache getResultCache()
+	{
+		return resultCache;
+	}
 	
 	private void setLanguage(String languageName)
 	{
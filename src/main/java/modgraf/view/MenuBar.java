@@ -3,6 +3,7 @@ package modgraf.view;
 import modgraf.action.*;
 import modgraf.action.ActionChangeGraphSetting.Settings;
 import modgraf.algorithm.*;
+import modgraf.algorithm.solver.*;
 import modgraf.algorithm.steps.DijkstraAlgorithm;
 import modgraf.view.AlgorithmMenuItems.DirectedType;
 import modgraf.view.AlgorithmMenuItems.EdgeWeight;
@@ -103,6 +104,7 @@ public class MenuBar extends JMenuBar
 		JMenu utils = new JMenu(lang.getProperty("menu-utils"));
 		utils.add(createMenuItem("menu-utils-preferences", new Preferences(editor), true, "icons/settings.png", null));
 		utils.add(createMenuItem("menu-utils-clear-styles", new ActionClearStyles(editor)));
+		utils.add(createMenuItem("menu-utils-metrics", new MetricsWindow(editor)));
 
         JMenu converters = new JMenu(lang.getProperty("menu-utils-converters"));
         converters.add(createDisabledAlgorithm("menu-utils-con-undirected", new ActionGraphTypeConverter(editor, ActionGraphTypeConverter.NewType.undirected), directed, any));
@@ -138,14 +140,16 @@ public class MenuBar extends JMenuBar
 
 	private JMenu createMenuEulerianCycle() {
         JMenu eulerianCycle = new JMenu(lang.getProperty("menu-algorithm-eulerian-cycle"));
-        eulerianCycle.add(createDisabledAlgorithm("menu-algorithm-eulerian-cycle-h", new ModgrafEulerianCycle(editor), undirected, any));
+        eulerianCycle.add(createDisabledAlgorithm("menu-algorithm-eulerian-cycle-h", new ModgrafEulerianCycle(editor), both, any));
         return eulerianCycle;
     }
 
     private JMenu createMenuSpanningTree() {
         JMenu spanningTree = new JMenu(lang.getProperty("menu-algorithm-spanning-tree"));
-        spanningTree.add(createDisabledAlgorithm("menu-algorithm-spanning-tree-k", new ModgrafSpanningTree(editor, ModgrafSpanningTree.Algorithm.Kruskal),  undirected, weighted));
-        spanningTree.add(createDisabledAlgorithm("menu-algorithm-spanning-tree-p", new ModgrafSpanningTree(editor, ModgrafSpanningTree.Algorithm.Prim), undirected, weighted));
+        spanningTree.add(createDisabledAlgorithm("menu-algorithm-spanning-tree-k", new ModgrafSpanningTree(editor, SpanningTreeSolver.Algorithm.Kruskal),  undirected, weighted));
+        spanningTree.add(createDisabledAlgorithm("menu-algorithm-spanning-tree-p", new ModgrafSpanningTree(editor, SpanningTreeSolver.Algorithm.Prim), undirected, weighted));
+        spanningTree.add(createDisabledAlgorithm("menu-algorithm-spanning-tree-b", new ModgrafSpanningTree(editor, SpanningTreeSolver.Algorithm.Boruvka), undirected, weighted));
+        spanningTree.add(createDisabledAlgorithm("menu-algorithm-spanning-tree-pk", new ModgrafSpanningTree(editor, SpanningTreeSolver.Algorithm.ParallelKruskal), undirected, weighted));
         return spanningTree;
     }
 
@@ -158,12 +162,16 @@ public class MenuBar extends JMenuBar
     private JMenu createMenuChromaticNumber() {
         JMenu chromaticNumber = new JMenu(lang.getProperty("menu-algorithm-chromatic-number"));
         chromaticNumber.add(createDisabledAlgorithm("menu-algorithm-chromatic-number-greedy", new ModgrafChromaticNumber(editor), both, any));
+        chromaticNumber.add(createDisabledAlgorithm("menu-algorithm-chromatic-number-dsatur", new ModgrafChromaticNumber(editor, VertexColoringSolver.Algorithm.DSatur), both, any));
+        chromaticNumber.add(createDisabledAlgorithm("menu-algorithm-chromatic-number-exact", new ModgrafChromaticNumber(editor, VertexColoringSolver.Algorithm.Exact), both, any));
         return chromaticNumber;
     }
 
     private JMenu createMenuTsp() {
         JMenu hamiltonianCycle = new JMenu(lang.getProperty("menu-algorithm-tsp"));
         hamiltonianCycle.add(createDisabledAlgorithm("menu-algorithm-tsp-approximate", new ModgrafHamiltonianCycle(editor), undirected, weighted));
+        hamiltonianCycle.add(createDisabledAlgorithm("menu-algorithm-tsp-local-search", new ModgrafHamiltonianCycle(editor, TspSolver.Algorithm.LocalSearch), undirected, weighted));
+        hamiltonianCycle.add(createDisabledAlgorithm("menu-algorithm-tsp-exact", new ModgrafHamiltonianCycle(editor, TspSolver.Algorithm.Exact), undirected, weighted));
         return hamiltonianCycle;
     }
 
@@ -175,15 +183,21 @@ public class MenuBar extends JMenuBar
 
     private JMenu createMenuMaximumFlow() {
         JMenu maximumFlow = new JMenu(lang.getProperty("menu-algorithm-maximum-flow"));
-        maximumFlow.add(createDisabledAlgorithm("menu-algorithm-maximum-flow-ek", 	 new ModgrafEdmondsKarpMaximumFlow(editor), directed, any));
+        maximumFlow.add(createDisabledAlgorithm("menu-algorithm-maximum-flow-ek", 	 new ModgrafEdmondsKarpMaximumFlow(editor, MaximumFlowSolver.Algorithm.EdmondsKarp), directed, any));
+        maximumFlow.add(createDisabledAlgorithm("menu-algorithm-maximum-flow-pr", 	 new ModgrafEdmondsKarpMaximumFlow(editor, MaximumFlowSolver.Algorithm.PushRelabel), directed, any));
+        maximumFlow.add(createDisabledAlgorithm("menu-algorithm-maximum-flow-ppr", 	 new ModgrafEdmondsKarpMaximumFlow(editor, MaximumFlowSolver.Algorithm.ParallelPushRelabel), directed, any));
+        maximumFlow.add(createDisabledAlgorithm("menu-algorithm-maximum-flow-d", 	 new ModgrafEdmondsKarpMaximumFlow(editor, MaximumFlowSolver.Algorithm.Dinic), directed, any));
+        maximumFlow.add(createDisabledAlgorithm("menu-algorithm-maximum-flow-gh", 	 new ModgrafGomoryHuTree(editor), undirected, any));
         return maximumFlow;
     }
 
     private JMenu createMenuShortestPath() {
         JMenu shortestPath = new JMenu(lang.getProperty("menu-algorithm-shortest-path"));
-        shortestPath.add(createDisabledAlgorithm("menu-algorithm-shortest-path-bf",	new ModgrafShortestPath(editor, ModgrafShortestPath.Algorithm.BellmanFord), both, weighted));
-        shortestPath.add(createDisabledAlgorithm("menu-algorithm-shortest-path-d",	new ModgrafShortestPath(editor, ModgrafShortestPath.Algorithm.Dijkstra), both, weighted));
-        shortestPath.add(createDisabledAlgorithm("menu-algorithm-shortest-path-fw",	new ModgrafShortestPath(editor, ModgrafShortestPath.Algorithm.FloydWarshall), both, weighted));
+        shortestPath.add(createDisabledAlgorithm("menu-algorithm-shortest-path-bf",	new ModgrafShortestPath(editor, ShortestPathSolver.Algorithm.BellmanFord), both, weighted));
+        shortestPath.add(createDisabledAlgorithm("menu-algorithm-shortest-path-d",	new ModgrafShortestPath(editor, ShortestPathSolver.Algorithm.Dijkstra), both, weighted));
+        shortestPath.add(createDisabledAlgorithm("menu-algorithm-shortest-path-fw",	new ModgrafShortestPath(editor, ShortestPathSolver.Algorithm.FloydWarshall), both, weighted));
+        shortestPath.add(createDisabledAlgorithm("menu-algorithm-shortest-path-bd",	new ModgrafShortestPath(editor, ShortestPathSolver.Algorithm.BidirectionalDijkstra), both, weighted));
+        shortestPath.add(createDisabledAlgorithm("menu-algorithm-shortest-path-astar",	new ModgrafShortestPath(editor, ShortestPathSolver.Algorithm.AStar), both, weighted));
         return shortestPath;
     }
 
@@ -0,0 +1,265 @@
+package modgraf.view;
+
+import java.awt.BorderLayout;
+import java.awt.Dimension;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Properties;
+
+import javax.swing.JButton;
+import javax.swing.JFileChooser;
+import javax.swing.JFrame;
+import javax.swing.JOptionPane;
+import javax.swing.JPanel;
+import javax.swing.JScrollPane;
+import javax.swing.JTable;
+import javax.swing.SwingUtilities;
+import javax.swing.event.ChangeEvent;
+import javax.swing.event.ChangeListener;
+import javax.swing.filechooser.FileNameExtensionFilter;
+import javax.swing.table.AbstractTableModel;
+
+import modgraf.algorithm.MetricsLog;
+import modgraf.algorithm.engine.AlgorithmMetrics;
+import modgraf.algorithm.engine.AlgorithmMetrics.Phase;
+
+/**
+ * Klasa wyświetla okno "Pomiary algorytmów" - tabelę z czasami faz,
+ * liczbą zaalokowanych bajtów i licznikami ostatnich uruchomień algorytmów
+ * zapisanych w {@link MetricsLog}. Tabela odświeża się po każdym kolejnym
+ * uruchomieniu, a jej zawartość można wyeksportować do pliku csv.
+ *
+ */
+public class MetricsWindow implements ActionListener
+{
+	private static final String[] COLUMN_KEYS = {"metrics-column-time", "metrics-column-algorithm",
+		"metrics-column-status", "metrics-column-vertices", "metrics-column-edges",
+		"metrics-column-snapshot", "metrics-column-compute", "metrics-column-highlighting",
+		"metrics-column-memento", "metrics-column-allocated", "metrics-column-counters"};
+
+	private Editor editor;
+	private Properties lang;
+	private MetricsLog log;
+	private JFrame frame;
+	private MetricsTableModel model;
+
+	public MetricsWindow(Editor e)
+	{
+		editor = e;
+		lang = e.getLanguage();
+		log = e.getMetricsLog();
+	}
+
+	@Override
+	public void actionPerformed(ActionEvent arg0)
+	{
+		if (frame != null)
+		{
+			frame.toFront();
+			return;
+		}
+		openWindow();
+	}
+
+	private void openWindow()
+	{
+		model = new MetricsTableModel();
+		final ChangeListener listener = new ChangeListener()
+		{
+			@Override
+			public void stateChanged(ChangeEvent e)
+			{
+				SwingUtilities.invokeLater(new Runnable()
+				{
+					@Override
+					public void run()
+					{
+						model.reload();
+					}
+				});
+			}
+		};
+		log.addChangeListener(listener);
+		JTable table = new JTable(model);
+		table.setAutoCreateRowSorter(true);
+		frame = new JFrame(lang.getProperty("frame-metrics"));
+		frame.setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
+		frame.addWindowListener(new WindowAdapter()
+		{
+			@Override
+			public void windowClosed(WindowEvent e)
+			{
+				log.removeChangeListener(listener);
+				frame = null;
+			}
+		});
+		frame.setPreferredSize(new Dimension(900, 400));
+		frame.add(new JScrollPane(table), BorderLayout.CENTER);
+		frame.add(createButtonPanel(), BorderLayout.SOUTH);
+		frame.pack();
+		frame.setLocationRelativeTo(editor.getGraphComponent());
+		frame.setVisible(true);
+	}
+
+	private JPanel createButtonPanel()
+	{
+		JPanel buttonPanel = new JPanel();
+		JButton export = new JButton(lang.getProperty("button-metrics-export"));
+		export.addActionListener(new ActionListener()
+		{
+			@Override
+			public void actionPerformed(ActionEvent e)
+			{
+				exportCsv();
+			}
+		});
+		JButton clear = new JButton(lang.getProperty("button-metrics-clear"));
+		clear.addActionListener(new ActionListener()
+		{
+			@Override
+			public void actionPerformed(ActionEvent e)
+			{
+				log.clear();
+			}
+		});
+		JButton close = new JButton(lang.getProperty("button-close"));
+		close.addActionListener(new ActionListener()
+		{
+			@Override
+			public void actionPerformed(ActionEvent e)
+			{
+				frame.dispose();
+			}
+		});
+		buttonPanel.add(export);
+		buttonPanel.add(clear);
+		buttonPanel.add(close);
+		return buttonPanel;
+	}
+
+	private void exportCsv()
+	{
+		JFileChooser chooser = new JFileChooser(".");
+		chooser.setDialogType(JFileChooser.SAVE_DIALOG);
+		FileNameExtensionFilter filterCsv = new FileNameExtensionFilter(lang.getProperty("files-csv"), "csv");
+		chooser.addChoosableFileFilter(filterCsv);
+		chooser.setFileFilter(filterCsv);
+		if (chooser.showSaveDialog(frame) != JFileChooser.APPROVE_OPTION)
+			return;
+		File file = chooser.getSelectedFile();
+		if (chooser.getFileFilter() == filterCsv && !filterCsv.accept(file))
+			file = new File(file.getAbsolutePath() + ".csv");
+		if (file.exists() && JOptionPane.showConfirmDialog(frame,
+				lang.getProperty("question-file-exists")) != JOptionPane.YES_OPTION)
+			return;
+		try (Writer writer = new OutputStreamWriter(Files.newOutputStream(file.toPath()), StandardCharsets.UTF_8))
+		{
+			log.writeCsv(writer);
+		}
+		catch (IOException e)
+		{
+			JOptionPane.showMessageDialog(frame, lang.getProperty("error-not-save-file"),
+					lang.getProperty("error"), JOptionPane.ERROR_MESSAGE);
+		}
+	}
+
+	/**
+	 * Model tabeli z kopią listy pomiarów, odświeżaną w wątku EDT.
+	 */
+	private class MetricsTableModel extends AbstractTableModel
+	{
+		private static final long serialVersionUID = 1L;
+
+		private final SimpleDateFormat timeFormat = new SimpleDateFormat("HH:mm:ss");
+		private List<AlgorithmMetrics> runs = new ArrayList<>();
+
+		private MetricsTableModel()
+		{
+			reload();
+		}
+
+		private void reload()
+		{
+			runs = log.getRuns();
+			fireTableDataChanged();
+		}
+
+		@Override
+		public int getRowCount()
+		{
+			return runs.size();
+		}
+
+		@Override
+		public int getColumnCount()
+		{
+			return COLUMN_KEYS.length;
+		}
+
+		@Override
+		public String getColumnName(int column)
+		{
+			return lang.getProperty(COLUMN_KEYS[column]);
+		}
+
+		@Override
+		public Class<?> getColumnClass(int column)
+		{
+			if (column == 3 || column == 4)
+				return Integer.class;
+			if (column >= 5 && column <= 8)
+				return Double.class;
+			if (column == 9)
+				return Long.class;
+			return String.class;
+		}
+
+		@Override
+		public Object getValueAt(int row, int column)
+		{
+			AlgorithmMetrics metrics = runs.get(row);
+			switch (column)
+			{
+				case 0:
+					return timeFormat.format(new Date(metrics.getStartTimeMillis()));
+				case 1:
+					return metrics.getAlgorithm();
+				case 2:
+					return metrics.getStatus().name();
+				case 3:
+					return metrics.getVertexCount();
+				case 4:
+					return metrics.getEdgeCount();
+				case 5:
+					return round(metrics.getPhaseMillis(Phase.Snapshot));
+				case 6:
+					return round(metrics.getPhaseMillis(Phase.Compute));
+				case 7:
+					return round(metrics.getPhaseMillis(Phase.Highlighting));
+				case 8:
+					return round(metrics.getPhaseMillis(Phase.Memento));
+				case 9:
+					return metrics.getAllocatedBytes() >= 0 ? metrics.getAllocatedBytes() / 1024 : null;
+				default:
+					return metrics.getCounters().toString();
+			}
+		}
+
+		private double round(double millis)
+		{
+			return Math.round(millis * 1000) / 1000.0;
+		}
+	}
+}
@@ -35,6 +35,7 @@ public class DefaultProperties
 		prop.setProperty("show-new-graph-window-on-startup", "false");
 		prop.setProperty("default-file-format", "xml");
 		prop.setProperty("file-encoding", "UTF-8");
+		prop.setProperty("edge-list-directed", "true");
 		prop.setProperty("background-color", "#F0F0F0");
 		prop.setProperty("default-vertex-shape", mxConstants.SHAPE_ELLIPSE);
 		prop.setProperty("default-vertex-height", "50");
@@ -46,6 +47,12 @@ public class DefaultProperties
 		prop.setProperty("default-vertex-font-size", "14");
 		prop.setProperty("default-vertex-font-color", "#774400");
 		prop.setProperty("step-sleep-time-ms", "500");
+		prop.setProperty("algorithm-threads", "0");
+		prop.setProperty("algorithm-parallel-flow-threshold", "100000");
+		prop.setProperty("algorithm-coloring-budget-s", "10");
+		prop.setProperty("algorithm-tsp-budget-s", "5");
+		prop.setProperty("algorithm-timeout-s", "0");
+		prop.setProperty("algorithm-result-cache-size", "16");
 		prop.setProperty("frame-algorithm-steps-width", "450");
 		prop.setProperty("frame-algorithm-steps-height", "110");
 		prop.setProperty("default-edge-width", "1");
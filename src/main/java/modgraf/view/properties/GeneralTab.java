@@ -27,6 +27,7 @@ public class GeneralTab extends PreferencesTab
 	private JComboBox<Integer> edgeType;
 	private JFormattedTextField graphPaneHeight;
 	private JFormattedTextField textPaneHeight;
+	private JFormattedTextField algorithmTimeout;
 	private JComboBox<String> fileFormat;
 	private JComboBox<String> fileEncoding;
 	private ChangeColorListener backgroundColorListener;
@@ -49,6 +50,7 @@ public class GeneralTab extends PreferencesTab
 		addLabel(6, "pref-general-file-format");
 		addLabel(7, "pref-general-file-encoding");
 		addLabel(8, "pref-general-background-color");
+		addLabel(9, "pref-general-algorithm-timeout");
 	}
 
 	private void createGeneralParamsColumn()
@@ -62,6 +64,7 @@ public class GeneralTab extends PreferencesTab
 		addComponent(6, createFileTypeComboBox());
 		addComponent(7, createFileEncodingComboBox());
 		addComponent(8, createBackgroundColorChooser());
+		addComponent(9, createAlgorithmTimeoutField());
 	}
 
 	private JComboBox<String> createLanguageComboBox()
@@ -135,12 +138,23 @@ public class GeneralTab extends PreferencesTab
 		return textPaneHeight;
 	}
 
+	private JFormattedTextField createAlgorithmTimeoutField()
+	{
+		NumberFormat format = NumberFormat.getIntegerInstance();
+		format.setGroupingUsed(false);
+		algorithmTimeout = new JFormattedTextField(format);
+		algorithmTimeout.setColumns(FIELD_SIZE);
+		algorithmTimeout.setValue(new Integer(prop.getProperty("algorithm-timeout-s")));
+		return algorithmTimeout;
+	}
+
 	private JComboBox<String> createFileTypeComboBox()
 	{
-		Vector<String> vector = new Vector<>(3);
+		Vector<String> vector = new Vector<>(4);
 		vector.add("xml");
 		vector.add("grf");
 		vector.add("png");
+		vector.add("mgb");
 		fileFormat = new JComboBox<>(vector);
 		fileFormat.setSelectedItem(prop.getProperty("default-file-format"));
 		return fileFormat;
@@ -183,6 +197,7 @@ public class GeneralTab extends PreferencesTab
 		general.setProperty("default-file-format", fileFormat.getSelectedItem().toString());
 		general.setProperty("file-encoding", fileEncoding.getSelectedItem().toString());
 		general.setProperty("background-color", mxUtils.hexString(backgroundColorListener.getColor()));
+		general.setProperty("algorithm-timeout-s", algorithmTimeout.getText());
 		return general;
 	}
 }
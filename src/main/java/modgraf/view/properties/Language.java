@@ -73,6 +73,7 @@ public class Language
 		
 		lang.setProperty("menu-algorithm-shortest-path", "Najkrótsza ścieżka");
 		lang.setProperty("menu-algorithm-maximum-flow", "Maksymalny przepływ");
+		lang.setProperty("menu-algorithm-gomory-hu", "Minimalne przekroje");
 		lang.setProperty("menu-algorithm-cheapest-flow", "Najtańszy przepływ");
 		lang.setProperty("menu-algorithm-tsp", "Problem komiwojażera");
 		lang.setProperty("menu-algorithm-chromatic-number", "Kolorowanie wierzchołków");
@@ -83,14 +84,25 @@ public class Language
         lang.setProperty("menu-algorithm-shortest-path-bf", "Bellman-Ford");
         lang.setProperty("menu-algorithm-shortest-path-d", "Dijkstra");
         lang.setProperty("menu-algorithm-shortest-path-fw", "Floyd-Warshall");
+        lang.setProperty("menu-algorithm-shortest-path-bd", "Dijkstra dwukierunkowy");
+        lang.setProperty("menu-algorithm-shortest-path-astar", "A*");
         lang.setProperty("menu-algorithm-maximum-flow-ek", "Edmonds–Karp");
+        lang.setProperty("menu-algorithm-maximum-flow-pr", "Przepychanie przepływu (push-relabel)");
+        lang.setProperty("menu-algorithm-maximum-flow-ppr", "Przepychanie przepływu równoległe");
+        lang.setProperty("menu-algorithm-maximum-flow-d", "Dinic");
+        lang.setProperty("menu-algorithm-maximum-flow-gh", "Drzewo Gomory'ego-Hu");
         lang.setProperty("menu-algorithm-cheapest-flow-bg", "Busacker-Gowen");
         lang.setProperty("menu-algorithm-tsp-approximate", "Algorytm przybliżony");
+        lang.setProperty("menu-algorithm-tsp-local-search", "Przeszukiwanie lokalne (2-opt, Or-opt)");
         lang.setProperty("menu-algorithm-tsp-exact", "Algorytm dokładny");
         lang.setProperty("menu-algorithm-chromatic-number-greedy", "Algorytm zachłanny");
+        lang.setProperty("menu-algorithm-chromatic-number-dsatur", "Algorytm DSatur");
+        lang.setProperty("menu-algorithm-chromatic-number-exact", "Algorytm dokładny (podziału i ograniczeń)");
         lang.setProperty("menu-algorithm-edge-coloring-approximate", "Algorytm przybliżony");
         lang.setProperty("menu-algorithm-spanning-tree-k", "Kruskal");
         lang.setProperty("menu-algorithm-spanning-tree-p", "Prim");
+        lang.setProperty("menu-algorithm-spanning-tree-b", "Borůvka (równoległy)");
+        lang.setProperty("menu-algorithm-spanning-tree-pk", "Kruskal (sortowanie równoległe)");
         lang.setProperty("menu-algorithm-eulerian-cycle-h", "Hierholzer");
 
 		lang.setProperty("menu-algorithm-steps", "Tryb krokowy");
@@ -99,6 +111,7 @@ public class Language
 		lang.setProperty("menu-utils", "Narzędzia");
 		lang.setProperty("menu-utils-preferences", "Opcje");
 		lang.setProperty("menu-utils-clear-styles", "Wyczyść style");
+		lang.setProperty("menu-utils-metrics", "Pomiary algorytmów");
 
         lang.setProperty("menu-utils-converters", "Konwertery typów grafów");
         lang.setProperty("menu-utils-con-undirected", "na graf nieskierowany");
@@ -151,6 +164,8 @@ public class Language
 		lang.setProperty("warning-not-number-weight-default", "Podana wartość nie jest liczbą!\nWpisana została wartość domyślna: ");
 		lang.setProperty("warning-wrong-graph-type", "Niewłaściwy typ grafu do tego zadania!\nTen algorytm działa tylko na ");
 		lang.setProperty("warning-not-generate", "Nie udało się stworzyć grafu o zadanych parametrach!");
+		lang.setProperty("warning-negative-weights", "Ten algorytm nie obsługuje krawędzi o ujemnych wagach!");
+		lang.setProperty("warning-negative-capacities", "Ten algorytm nie obsługuje krawędzi o ujemnej przepustowości!");
 
 		lang.setProperty("question-changes-exist", "Istnieją zmiany, które nie zostały zapisane.\nCzy na pewno chcesz kontynuować?");
 		lang.setProperty("question-save-before-exit", "Czy chcesz zapisać zmiany przed wyjściem?");
@@ -169,14 +184,16 @@ public class Language
 		lang.setProperty("message-no-solution", "Nie znaleziono rozwiązania!");
 		lang.setProperty("message-not-complete-graph", "Nie znaleziono rozwiązania!\nPrawdopodobnie graf nie jes pełny.");
 		lang.setProperty("message-range-tip", "Liczby całkowite od");
-        lang.setProperty("message-not-eulerian-graph", "Ten graf nie zawiera cyklu Eulera.");
+        lang.setProperty("message-not-eulerian-graph", "Ten graf nie zawiera cyklu ani ścieżki Eulera.");
 
-		lang.setProperty("files-all", "Wszystkie wspierane formaty (*.xml;*.grf;*png)");
+		lang.setProperty("files-all", "Wszystkie wspierane formaty (*.xml;*.grf;*png;*.mgb)");
 		lang.setProperty("files-jar", "Pliki JAR");
 		lang.setProperty("files-grf", "Pliki programu Modgraf 2 (*.grf)");
 		lang.setProperty("files-xml", "Pliki XML (*.xml)");
 		lang.setProperty("files-png", "Pliki PNG+XML (*.png)");
+		lang.setProperty("files-mgb", "Pliki binarne programu Modgraf (*.mgb)");
 		lang.setProperty("files-txt", "Pliki tekstowe (*.txt)");
+		lang.setProperty("files-csv", "Pliki csv (*.csv)");
 
 		lang.setProperty("frame-new-graph-name", "Nowy graf");
 		lang.setProperty("frame-new-graph", "Utwórz nowy graf");
@@ -193,6 +210,7 @@ public class Language
 		lang.setProperty("frame-change-font-size", "Podaj rozmiar czcionki");
 		lang.setProperty("frame-algorithm-params", "Parametry startowe");
 		lang.setProperty("frame-algorithm-steps", "Krokowe wykonywanie algorytmu");
+		lang.setProperty("frame-metrics", "Pomiary algorytmów");
 		lang.setProperty("frame-select-color", "Wybierz kolor");
 		
 		lang.setProperty("label-graph-type", "Typ grafu");
@@ -217,6 +235,8 @@ public class Language
 		lang.setProperty("button-cancel", "Anuluj");
 		lang.setProperty("button-change", "Zmień");
 		lang.setProperty("button-disable-show-distances", "Wyłącz wyświetlanie odległości");
+		lang.setProperty("button-metrics-export", "Eksportuj do csv");
+		lang.setProperty("button-metrics-clear", "Wyczyść");
 		
 		lang.setProperty("text-read-graph", "Wczytano poprawnie graf");
 		lang.setProperty("text-create-graph", "Stworzono nowy graf");
@@ -248,21 +268,52 @@ public class Language
 		lang.setProperty("alg-sp-message-6", " krawędzi.\n");
 		lang.setProperty("alg-sp-message-7", "Ścieżka przechodzi kolejno przez wierzchołki: ");
 		lang.setProperty("alg-sp-message-8", " ma długość równą ");
+		lang.setProperty("alg-sp-message-9", "Graf jest zbyt duży dla algorytmu Floyda-Warshalla - macierze odległości nie zmieszczą się w pamięci.");
 		
 		lang.setProperty("alg-cn-message-1", "Minimalna liczba kolorów: ");
 		lang.setProperty("alg-cn-message-2", "\nGrupy wierzchołków o tych samych kolorach:\n");
+		lang.setProperty("alg-cn-message-3", "Przekroczono limit czasu - pokazano najlepsze znalezione kolorowanie. Dolne ograniczenie liczby kolorów: ");
 		lang.setProperty("alg-hc-message-1", "Najkrótsza ścieżka przechodzi kolejno przez wierzchołki: ");
+		lang.setProperty("alg-hc-message-2", "\nDługość cyklu: ");
+		lang.setProperty("alg-hc-message-3", "Algorytm dokładny obsługuje co najwyżej %d wierzchołków.");
+		lang.setProperty("alg-time-budget", "Limit czasu [s]:");
+		lang.setProperty("alg-task-title", "Obliczenia");
+		lang.setProperty("alg-task-running", "Trwają obliczenia: ");
+		lang.setProperty("alg-task-time", "Czas obliczeń: ");
+		lang.setProperty("alg-task-cancelled", "Obliczenia zostały przerwane.");
+		lang.setProperty("alg-task-timeout", "Obliczenia przerwano po przekroczeniu limitu czasu (%s s).");
+		lang.setProperty("alg-task-error", "Błąd podczas obliczeń: ");
+		lang.setProperty("alg-task-busy", "Poprzednie obliczenia tego algorytmu jeszcze się nie zakończyły.");
+		lang.setProperty("metrics-column-time", "Czas");
+		lang.setProperty("metrics-column-algorithm", "Algorytm");
+		lang.setProperty("metrics-column-status", "Stan");
+		lang.setProperty("metrics-column-vertices", "Wierzchołki");
+		lang.setProperty("metrics-column-edges", "Krawędzie");
+		lang.setProperty("metrics-column-snapshot", "Migawka [ms]");
+		lang.setProperty("metrics-column-compute", "Obliczenia [ms]");
+		lang.setProperty("metrics-column-highlighting", "Prezentacja [ms]");
+		lang.setProperty("metrics-column-memento", "Historia zmian [ms]");
+		lang.setProperty("metrics-column-allocated", "Alokacja [KiB]");
+		lang.setProperty("metrics-column-counters", "Liczniki");
 		lang.setProperty("alg-mf-message-1", "Maksymalny przepływ: ");
 		lang.setProperty("alg-mf-message-2", "Przepływ odbywa się krawędziami: ");
 		lang.setProperty("alg-ec-message-1", "Liczba użytych kolorów: ");
 		lang.setProperty("alg-ec-message-2", "\nGrupy krawędzi o tych samych kolorach:\n");
-		
+		lang.setProperty("alg-ec-message-3", "\nNajwiększy stopień wierzchołka: ");
+		lang.setProperty("alg-eu-path", "Ścieżka Eulera");
+		
+		lang.setProperty("alg-gh-graph-type", "nieskierowanych grafach.");
+		lang.setProperty("alg-gh-message-1", "Minimalny przekrój między wierzchołkami ");
+		lang.setProperty("alg-gh-message-2", " i ");
+		lang.setProperty("alg-gh-message-3", " ma wartość ");
+		lang.setProperty("alg-gh-message-4", "Krawędzie drzewa Gomory'ego-Hu (wierzchołek - rodzic : wartość przekroju):");
 		lang.setProperty("alg-bg-message-1", "Ilość przesłanych jednostek:");
 		lang.setProperty("alg-bg-message-2", "Wykorzystane krawędzie:\n");
 		lang.setProperty("alg-bg-message-3", "Koszt przesyłu:");
 		lang.setProperty("alg-bg-error-1", "Nie znaleziono wierzchołka");
 		lang.setProperty("alg-bg-error-2", "Nie znaleziono rozwiązania dopuszczalnego");
 		lang.setProperty("alg-bg-error-3", "Zły format danych wejściowych (powinna być liczba)");
+		lang.setProperty("alg-bg-error-4", "Sieć zawiera cykl o ujemnym koszcie");
 
         lang.setProperty("alg-st-message-1", "Suma wag w minimalnym drzewie rozpinającym wynosi: ");
         lang.setProperty("alg-st-message-2", "Minimalne drzewo rozpinające zawiera ");
@@ -280,6 +331,7 @@ public class Language
 		lang.setProperty("pref-general-file-format", "Domyślny format zapisu plików");
 		lang.setProperty("pref-general-file-encoding", "Kodowanie znaków w plikach");
 		lang.setProperty("pref-general-background-color", "Kolor tła");
+		lang.setProperty("pref-general-algorithm-timeout", "Limit czasu algorytmów [s] (0 - bez limitu)");
 		
 		lang.setProperty("pref-vertexTab-name", "Wierzchołek");
 		lang.setProperty("pref-vertex-fill-color", "Domyślny kolor wypełnienia");
@@ -401,6 +453,7 @@ public class Language
 		
 		lang.setProperty("menu-algorithm-shortest-path", "Shortest path");
 		lang.setProperty("menu-algorithm-maximum-flow", "Maximum flow");
+		lang.setProperty("menu-algorithm-gomory-hu", "Minimum cuts");
 		lang.setProperty("menu-algorithm-cheapest-flow", "Cheapest flow");
 		lang.setProperty("menu-algorithm-tsp", "Travelling salesman problem");
 		lang.setProperty("menu-algorithm-chromatic-number", "Chromatic number");
@@ -411,14 +464,25 @@ public class Language
 		lang.setProperty("menu-algorithm-shortest-path-bf", "Bellman-Ford");
 		lang.setProperty("menu-algorithm-shortest-path-d", "Dijkstra");
 		lang.setProperty("menu-algorithm-shortest-path-fw", "Floyd-Warshall");
+		lang.setProperty("menu-algorithm-shortest-path-bd", "Bidirectional Dijkstra");
+		lang.setProperty("menu-algorithm-shortest-path-astar", "A*");
         lang.setProperty("menu-algorithm-maximum-flow-ek", "Edmonds–Karp");
+        lang.setProperty("menu-algorithm-maximum-flow-pr", "Push-relabel");
+        lang.setProperty("menu-algorithm-maximum-flow-ppr", "Parallel push-relabel");
+        lang.setProperty("menu-algorithm-maximum-flow-d", "Dinic");
+        lang.setProperty("menu-algorithm-maximum-flow-gh", "Gomory-Hu tree");
         lang.setProperty("menu-algorithm-cheapest-flow-bg", "Busacker-Gowen");
         lang.setProperty("menu-algorithm-tsp-approximate", "Approximate algorithm");
+        lang.setProperty("menu-algorithm-tsp-local-search", "Local search (2-opt, Or-opt)");
         lang.setProperty("menu-algorithm-tsp-exact", "Exact algorithm");
         lang.setProperty("menu-algorithm-chromatic-number-greedy", "Greedy algorithm");
+        lang.setProperty("menu-algorithm-chromatic-number-dsatur", "DSatur algorithm");
+        lang.setProperty("menu-algorithm-chromatic-number-exact", "Exact algorithm (branch and bound)");
         lang.setProperty("menu-algorithm-edge-coloring-approximate", "Approximate algorithm");
         lang.setProperty("menu-algorithm-spanning-tree-k", "Kruskal");
         lang.setProperty("menu-algorithm-spanning-tree-p", "Prim");
+        lang.setProperty("menu-algorithm-spanning-tree-b", "Borůvka (parallel)");
+        lang.setProperty("menu-algorithm-spanning-tree-pk", "Kruskal (parallel sort)");
         lang.setProperty("menu-algorithm-eulerian-cycle-h", "Hierholzer");
 
 		lang.setProperty("menu-algorithm-steps", "Step mode");
@@ -427,6 +491,7 @@ public class Language
 		lang.setProperty("menu-utils", "Utils");
 		lang.setProperty("menu-utils-preferences", "Preferences");
 		lang.setProperty("menu-utils-clear-styles", "Clear styles");
+		lang.setProperty("menu-utils-metrics", "Algorithm metrics");
 
         lang.setProperty("menu-utils-converters", "Graph types converters");
         lang.setProperty("menu-utils-con-undirected", "undirected");
@@ -479,6 +544,8 @@ public class Language
 		lang.setProperty("warning-not-number-weight-default", "The specified value is not a number!\nSet the default value: ");
 		lang.setProperty("warning-wrong-graph-type", "Wrong type of graph for this task!\nThis algorithm works only on ");
         lang.setProperty("warning-not-generate", "Failed to create a graph of the given parameters!");
+        lang.setProperty("warning-negative-weights", "This algorithm does not support edges with negative weights!");
+        lang.setProperty("warning-negative-capacities", "This algorithm does not support edges with negative capacities!");
 
         lang.setProperty("question-changes-exist", "There are changes that have not been saved.\nAre you sure you want to continue?");
 		lang.setProperty("question-save-before-exit", "Do you want to save your changes before exiting?");
@@ -496,14 +563,16 @@ public class Language
 		lang.setProperty("message-no-solution", "Not found solution!");
 		lang.setProperty("message-not-complete-graph", "Not found solution!\nProbably graph is not complete.");
 		lang.setProperty("message-range-tip", "integers from");
-		lang.setProperty("message-not-eulerian-graph", "This graph is not Eulerian.");
+		lang.setProperty("message-not-eulerian-graph", "This graph has neither an Eulerian cycle nor an Eulerian path.");
 
-		lang.setProperty("files-all", "All supported types (*.xml;*.grf;*png)");
+		lang.setProperty("files-all", "All supported types (*.xml;*.grf;*png;*.mgb)");
 		lang.setProperty("files-jar", "Java ARchive (*.jar)");
 		lang.setProperty("files-grf", "Modgraf 2 format (*.grf)");
 		lang.setProperty("files-xml", "Extensible Markup Language (*.xml)");
 		lang.setProperty("files-png", "Portable Network Graphics + XML (*.png)");
+		lang.setProperty("files-mgb", "Modgraf binary format (*.mgb)");
         lang.setProperty("files-txt", "Normal text file (*.txt)");
+        lang.setProperty("files-csv", "Comma separated values (*.csv)");
 		
 		lang.setProperty("frame-new-graph-name", "New graph");
 		lang.setProperty("frame-new-graph", "Create new graph");
@@ -520,6 +589,7 @@ public class Language
 		lang.setProperty("frame-change-font-size", "Change font size");
 		lang.setProperty("frame-algorithm-params", "Algorithm start properties");
 		lang.setProperty("frame-algorithm-steps", "Execute steps algorithm");
+		lang.setProperty("frame-metrics", "Algorithm metrics");
 		lang.setProperty("frame-select-color", "Select color");
 		
 		lang.setProperty("label-graph-type", "Graph type");
@@ -544,6 +614,8 @@ public class Language
 		lang.setProperty("button-cancel", "Cancel");
 		lang.setProperty("button-change", "Change");
 		lang.setProperty("button-disable-show-distances", "Disable show distances");
+		lang.setProperty("button-metrics-export", "Export to csv");
+		lang.setProperty("button-metrics-clear", "Clear");
 		
 		lang.setProperty("text-read-graph", "Loaded properly graph");
 		lang.setProperty("text-create-graph", "Created new graph");
@@ -575,21 +647,52 @@ public class Language
 		lang.setProperty("alg-sp-message-6", " edge.\n");
 		lang.setProperty("alg-sp-message-7", "The path passes successively through the vertices: ");
 		lang.setProperty("alg-sp-message-8", " have length ");
+		lang.setProperty("alg-sp-message-9", "The graph is too large for the Floyd-Warshall algorithm - the distance matrices do not fit in memory.");
 		
 		lang.setProperty("alg-cn-message-1", "The minimum number of colors: ");
 		lang.setProperty("alg-cn-message-2", "\nA group of vertices of the same color:\n");
+		lang.setProperty("alg-cn-message-3", "Time limit exceeded - the best coloring found is shown. Lower bound on the number of colors: ");
 		lang.setProperty("alg-hc-message-1", "The shortest path passes sequentially through the vertices: ");
+		lang.setProperty("alg-hc-message-2", "\nCycle length: ");
+		lang.setProperty("alg-hc-message-3", "The exact algorithm supports at most %d vertices.");
+		lang.setProperty("alg-time-budget", "Time limit [s]:");
+		lang.setProperty("alg-task-title", "Computing");
+		lang.setProperty("alg-task-running", "Running: ");
+		lang.setProperty("alg-task-time", "Elapsed time: ");
+		lang.setProperty("alg-task-cancelled", "The computation has been cancelled.");
+		lang.setProperty("alg-task-timeout", "The computation was stopped after exceeding the time limit (%s s).");
+		lang.setProperty("alg-task-error", "Error during computation: ");
+		lang.setProperty("alg-task-busy", "The previous computation of this algorithm has not finished yet.");
+		lang.setProperty("metrics-column-time", "Time");
+		lang.setProperty("metrics-column-algorithm", "Algorithm");
+		lang.setProperty("metrics-column-status", "Status");
+		lang.setProperty("metrics-column-vertices", "Vertices");
+		lang.setProperty("metrics-column-edges", "Edges");
+		lang.setProperty("metrics-column-snapshot", "Snapshot [ms]");
+		lang.setProperty("metrics-column-compute", "Compute [ms]");
+		lang.setProperty("metrics-column-highlighting", "Highlighting [ms]");
+		lang.setProperty("metrics-column-memento", "Undo history [ms]");
+		lang.setProperty("metrics-column-allocated", "Allocated [KiB]");
+		lang.setProperty("metrics-column-counters", "Counters");
 		lang.setProperty("alg-mf-message-1", "Maximum flow: ");
 		lang.setProperty("alg-mf-message-2", "The flow use edges: ");
 		lang.setProperty("alg-ec-message-1", "Number of used colors: ");
 		lang.setProperty("alg-ec-message-2", "\nEdges group of the same color:\n");
-		
+		lang.setProperty("alg-ec-message-3", "\nMaximum vertex degree: ");
+		lang.setProperty("alg-eu-path", "Eulerian path");
+		
+		lang.setProperty("alg-gh-graph-type", "undirected graphs.");
+		lang.setProperty("alg-gh-message-1", "The minimum cut between vertices ");
+		lang.setProperty("alg-gh-message-2", " and ");
+		lang.setProperty("alg-gh-message-3", " has value ");
+		lang.setProperty("alg-gh-message-4", "Gomory-Hu tree edges (vertex - parent : cut value):");
 		lang.setProperty("alg-bg-message-1", "Number of sent units:");
 		lang.setProperty("alg-bg-message-2", "Edges used to transport units:\n");
 		lang.setProperty("alg-bg-message-3", "Cost of transport:");
 		lang.setProperty("alg-bg-error-1", "Vertex not found");
 		lang.setProperty("alg-bg-error-2", "No solution found in given graph");
 		lang.setProperty("alg-bg-error-3", "Bad input format (should be numeric)");
+		lang.setProperty("alg-bg-error-4", "The network contains a negative cost cycle");
 
         lang.setProperty("alg-st-message-1", "The sum of the weights in the minimum spanning tree is: ");
         lang.setProperty("alg-st-message-2", "Minimum spanning tree contains ");
@@ -607,6 +710,7 @@ public class Language
 		lang.setProperty("pref-general-file-format", "Default file format");
 		lang.setProperty("pref-general-file-encoding", "File encoding");
 		lang.setProperty("pref-general-background-color", "Background color");
+		lang.setProperty("pref-general-algorithm-timeout", "Algorithm time limit [s] (0 - no limit)");
 		
 		lang.setProperty("pref-vertexTab-name", "Vertex");
 		lang.setProperty("pref-vertex-fill-color", "Default fill color");
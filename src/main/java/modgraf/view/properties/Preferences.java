@@ -23,7 +23,7 @@ import modgraf.view.Editor;
  */
 public class Preferences implements ActionListener
 {
-	private static final int FRAME_HEIGHT = 400;
+	private static final int FRAME_HEIGHT = 430;
 	private static final int FRAME_WIDTH = 550;
 	private Editor editor;
 	private Properties lang;
@@ -25,7 +25,7 @@ public class PreferencesTab extends JPanel
 	private static final double PARAMS_COLUMN_WIDTH = 0.37;
 	private static final double SPACE_COLUMN_WIDTH = 0.03;
 	private static final double LABEL_COLUMN_WIDTH = 0.6;
-	private static final int ROW_COUNT = 9;
+	private static final int ROW_COUNT = 10;
 	private static final double ROW_HEIGHT = 30;
 	public static final int FIELD_SIZE = 5;
 	public static final int FONT_MINIMUM_SIZE = 1;
@@ -0,0 +1,220 @@
+package modgraf.algorithm.engine;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+import modgraf.jgrapht.CompactGraph;
+import modgraf.jgrapht.Vertex;
+import modgraf.jgrapht.edge.ModgrafEdge;
+
+import org.jgrapht.Graph;
+import org.junit.Test;
+
+/**
+ * Poprawność kolorowań wierzchołków i krawędzi oraz optymalność kolorowania
+ * dokładnego (porównanie z przeszukiwaniem wyczerpującym).
+ */
+public class ColoringEnginesTest
+{
+	@Test
+	public void vertexColoringsAreProper()
+	{
+		ForkJoinPool pool = new ForkJoinPool(2);
+		for (boolean directed : new boolean[] {false, true})
+			for (long seed = 1; seed <= 5; ++seed)
+			{
+				CompactGraph graph = new CompactGraph(RandomGraphs.create(directed, 0, 50, 300, 1, 1, false, seed));
+				DSaturColoring dsatur = new DSaturColoring(graph);
+				dsatur.calculateColoring();
+				assertProper(graph, dsatur);
+				BranchAndBoundColoring exact = new BranchAndBoundColoring(graph);
+				exact.calculateColoring(pool, 200);
+				assertProper(graph, exact);
+				assertTrue(exact.getColorCount() <= dsatur.getColorCount());
+			}
+	}
+
+	@Test
+	public void branchAndBoundFindsChromaticNumber()
+	{
+		ForkJoinPool pool = new ForkJoinPool(2);
+		for (long seed = 1; seed <= 20; ++seed)
+		{
+			int n = 6 + (int) (seed % 5);
+			CompactGraph graph = new CompactGraph(RandomGraphs.create(false, 0, n, 2 * n, 1, 1, false, seed));
+			BranchAndBoundColoring exact = new BranchAndBoundColoring(graph);
+			exact.calculateColoring(pool, 10000);
+			assertTrue(exact.isOptimal());
+			assertProper(graph, exact);
+			assertEquals("seed=" + seed, chromaticNumber(graph), exact.getColorCount());
+		}
+	}
+
+	@Test
+	public void branchAndBoundFallsBackToDSaturForLargeGraphs()
+	{
+		int n = BranchAndBoundColoring.MAX_EXACT_VERTICES + 1;
+		CompactGraph graph = new CompactGraph(RandomGraphs.create(false, 0, n, 3 * n, 1, 1, false, 1));
+		DSaturColoring dsatur = new DSaturColoring(graph);
+		dsatur.calculateColoring();
+		BranchAndBoundColoring exact = new BranchAndBoundColoring(graph);
+		exact.calculateColoring(new ForkJoinPool(2), 10000);
+		assertTrue(exact.isSkipped());
+		assertProper(graph, exact);
+		assertEquals(dsatur.getColorCount(), exact.getColorCount());
+		assertEquals(2, exact.getLowerBound());
+		assertFalse(exact.isOptimal());
+	}
+
+	@Test
+	public void edgeColoringsAreProper()
+	{
+		for (long seed = 1; seed <= 5; ++seed)
+		{
+			CompactGraph graph = new CompactGraph(RandomGraphs.create(false, 0, 40, 200, 1, 1, false, seed));
+			int maxDegree = EdgeColoringEngine.findMaxDegree(graph);
+			EdgeColoringEngine greedy = new GreedyEdgeColoring(graph);
+			greedy.calculateColoring();
+			assertProper(graph, greedy);
+			EdgeColoringEngine misraGries = new MisraGriesEdgeColoring(graph);
+			misraGries.calculateColoring();
+			assertProper(graph, misraGries);
+			assertTrue(misraGries.getColorCount() <= maxDegree + 1);
+			CompactGraph bipartite = new CompactGraph(createBipartite(seed));
+			EdgeColoringEngine konig = new KonigEdgeColoring(bipartite);
+			konig.calculateColoring();
+			assertProper(bipartite, konig);
+			assertEquals(EdgeColoringEngine.findMaxDegree(bipartite), konig.getColorCount());
+		}
+	}
+
+	/**
+	 * Iloczyn liczby wierzchołków i liczby kolorów przekracza zakres
+	 * <code>int</code>; pamięć silników zależy tylko od liczby krawędzi.
+	 */
+	@Test
+	public void edgeColoringOfLargeSparseGraph()
+	{
+		CompactGraph graph = createStar(2000, 1100000);
+		EdgeColoringEngine[] engines = {new GreedyEdgeColoring(graph), new KonigEdgeColoring(graph)};
+		for (EdgeColoringEngine engine : engines)
+		{
+			engine.calculateColoring();
+			assertProper(graph, engine);
+			assertEquals(engine.getClass().getSimpleName(), 2000, engine.getColorCount());
+		}
+	}
+
+	/**
+	 * Gwiazda o środku 0 i wierzchołki izolowane, zbudowane bezpośrednio
+	 * z listy łuków, bo dla tylu wierzchołków graf z biblioteki JGraphT
+	 * powstawałby zbyt długo.
+	 */
+	private static CompactGraph createStar(int leaves, int vertexCount)
+	{
+		Vertex[] vertices = new Vertex[vertexCount];
+		for (int v = 0; v < vertexCount; ++v)
+			vertices[v] = new Vertex(Integer.toString(2 + v), "v" + v);
+		int[] sources = new int[leaves];
+		int[] targets = new int[leaves];
+		int[] offsets = new int[vertexCount + 1];
+		int[] heads = new int[2 * leaves];
+		int[] arcEdges = new int[2 * leaves];
+		for (int e = 0; e < leaves; ++e)
+		{
+			targets[e] = e + 1;
+			heads[e] = e + 1;
+			arcEdges[e] = e;
+			heads[leaves + e] = 0;
+			arcEdges[leaves + e] = e;
+		}
+		for (int v = 1; v <= vertexCount; ++v)
+			offsets[v] = v == 1 ? leaves : Math.min(leaves + v - 1, 2 * leaves);
+		return new CompactGraph(false, 0, vertices, new ModgrafEdge[leaves], sources, targets,
+				new double[leaves], null, offsets, heads, arcEdges);
+	}
+
+	/**
+	 * Graf dwudzielny: krawędzie grafu losowego łączące wierzchołki
+	 * o numerach różnej parzystości.
+	 */
+	private static Graph<Vertex, ModgrafEdge> createBipartite(long seed)
+	{
+		Graph<Vertex, ModgrafEdge> graph = RandomGraphs.create(false, 0, 40, 400, 1, 1, false, seed);
+		Set<ModgrafEdge> removed = new HashSet<>();
+		for (ModgrafEdge edge : graph.edgeSet())
+			if (Integer.parseInt(edge.getSource().getId()) % 2 == Integer.parseInt(edge.getTarget().getId()) % 2)
+				removed.add(edge);
+		graph.removeAllEdges(removed);
+		return graph;
+	}
+
+	private static void assertProper(CompactGraph graph, VertexColoring coloring)
+	{
+		for (int e = 0; e < graph.getEdgeCount(); ++e)
+		{
+			int u = graph.getEdgeSource(e);
+			int v = graph.getEdgeTarget(e);
+			assertTrue(u + "-" + v, coloring.getColor(u) != coloring.getColor(v));
+		}
+		for (int v = 0; v < graph.getVertexCount(); ++v)
+			assertTrue(coloring.getColor(v) >= 0 && coloring.getColor(v) < coloring.getColorCount());
+	}
+
+	private static void assertProper(CompactGraph graph, EdgeColoringEngine coloring)
+	{
+		int[] offsets = graph.getOutOffsets();
+		int[] edges = graph.getOutEdges();
+		for (int v = 0; v < graph.getVertexCount(); ++v)
+		{
+			Set<Integer> used = new HashSet<>();
+			for (int i = offsets[v]; i < offsets[v + 1]; ++i)
+			{
+				int color = coloring.getColor(edges[i]);
+				assertTrue(color >= 0 && color < coloring.getColorCount());
+				assertTrue("color " + color + " repeated at " + v, used.add(color));
+			}
+		}
+	}
+
+	/**
+	 * Liczba chromatyczna wyznaczona przez sprawdzenie kolejnych liczb
+	 * kolorów z nawrotami.
+	 */
+	private static int chromaticNumber(CompactGraph graph)
+	{
+		int n = graph.getVertexCount();
+		for (int k = 1; ; ++k)
+			if (colorable(graph, new int[n], 0, k))
+				return k;
+	}
+
+	private static boolean colorable(CompactGraph graph, int[] colors, int vertex, int k)
+	{
+		if (vertex == colors.length)
+			return true;
+		for (int c = 1; c <= k; ++c)
+		{
+			boolean free = true;
+			for (int e = 0; e < graph.getEdgeCount() && free; ++e)
+			{
+				int other = graph.getEdgeSource(e) == vertex ? graph.getEdgeTarget(e)
+						: graph.getEdgeTarget(e) == vertex ? graph.getEdgeSource(e) : -1;
+				free = other < 0 || colors[other] != c;
+			}
+			if (free)
+			{
+				colors[vertex] = c;
+				if (colorable(graph, colors, vertex + 1, k))
+					return true;
+				colors[vertex] = 0;
+			}
+		}
+		return false;
+	}
+}
@@ -0,0 +1,104 @@
+package modgraf.algorithm.engine;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.ForkJoinPool;
+
+import modgraf.jgrapht.CompactGraph;
+
+import org.junit.Test;
+
+/**
+ * Algorytm Helda-Karpa porównywany z przeglądem wszystkich permutacji
+ * wierzchołków.
+ */
+public class HeldKarpTspTest
+{
+	private static final double DELTA = 1e-9;
+
+	@Test
+	public void tourMatchesBruteForce()
+	{
+		ForkJoinPool pool = new ForkJoinPool(3);
+		for (long seed = 1; seed <= 30; ++seed)
+		{
+			int n = 3 + (int) (seed % 7);
+			int edgeCount = seed % 3 == 0 ? n * (n - 1) / 2 : 2 * n;
+			CompactGraph graph = new CompactGraph(RandomGraphs.create(false, 1, n, edgeCount, 1, 50, false, seed));
+			double expected = bruteForce(graph);
+			HeldKarpTsp tsp = new HeldKarpTsp(graph);
+			String message = "seed=" + seed + " n=" + n;
+			if (Double.isInfinite(expected))
+			{
+				assertFalse(message, tsp.calculateTour(pool));
+				continue;
+			}
+			assertTrue(message, tsp.calculateTour(pool));
+			assertEquals(message, expected, tsp.getTourLength(), DELTA);
+			assertEquals(message, expected, tourLength(graph, tsp.getTour()), DELTA);
+		}
+	}
+
+	/**
+	 * Długość cyklu wyznaczona na podstawie krawędzi grafu; sprawdza też, że
+	 * cykl odwiedza każdy wierzchołek dokładnie raz.
+	 */
+	private static double tourLength(CompactGraph graph, int[] tour)
+	{
+		int n = graph.getVertexCount();
+		assertEquals(n, tour.length);
+		boolean[] visited = new boolean[n];
+		double length = 0;
+		for (int i = 0; i < n; ++i)
+		{
+			assertFalse(visited[tour[i]]);
+			visited[tour[i]] = true;
+			length += distance(graph, tour[i], tour[(i + 1) % n]);
+		}
+		return length;
+	}
+
+	private static double distance(CompactGraph graph, int u, int v)
+	{
+		int edge = graph.findEdge(u, v);
+		if (edge < 0)
+			edge = graph.findEdge(v, u);
+		return edge < 0 ? Double.POSITIVE_INFINITY : graph.getWeight(edge);
+	}
+
+	private static double bruteForce(CompactGraph graph)
+	{
+		int n = graph.getVertexCount();
+		int[] tour = new int[n];
+		for (int i = 0; i < n; ++i)
+			tour[i] = i;
+		return permute(graph, tour, 1);
+	}
+
+	/**
+	 * Najkrótszy cykl spośród permutacji ustalonych na pozycjach
+	 * <code>[0, k)</code>; wierzchołek 0 jest zawsze pierwszy.
+	 */
+	private static double permute(CompactGraph graph, int[] tour, int k)
+	{
+		if (k == tour.length)
+			return tourLength(graph, tour);
+		double best = Double.POSITIVE_INFINITY;
+		for (int i = k; i < tour.length; ++i)
+		{
+			swap(tour, k, i);
+			best = Math.min(best, permute(graph, tour, k + 1));
+			swap(tour, k, i);
+		}
+		return best;
+	}
+
+	private static void swap(int[] array, int i, int j)
+	{
+		int swap = array[i];
+		array[i] = array[j];
+		array[j] = swap;
+	}
+}
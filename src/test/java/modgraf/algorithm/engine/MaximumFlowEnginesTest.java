@@ -0,0 +1,124 @@
+package modgraf.algorithm.engine;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.concurrent.ForkJoinPool;
+
+import modgraf.jgrapht.CompactGraph;
+import modgraf.jgrapht.Vertex;
+import modgraf.jgrapht.edge.ModgrafEdge;
+
+import org.jgrapht.DirectedGraph;
+import org.jgrapht.Graph;
+import org.jgrapht.alg.EdmondsKarpMaximumFlow;
+import org.junit.Test;
+
+/**
+ * Silniki maksymalnego przepływu porównywane z algorytmem Edmondsa-Karpa
+ * z biblioteki JGraphT, a drzewo Gomory'ego-Hu - z maksymalnym przepływem
+ * między każdą parą wierzchołków.
+ */
+public class MaximumFlowEnginesTest
+{
+	private static final double DELTA = 1e-9;
+
+	@Test
+	public void enginesMatchEdmondsKarp()
+	{
+		for (int degree = 1; degree <= 2; ++degree)
+			for (long seed = 1; seed <= 4; ++seed)
+			{
+				Graph<Vertex, ModgrafEdge> graph = RandomGraphs.create(true, degree, 30, 120, 0, 25, false, seed);
+				CompactGraph compact = new CompactGraph(graph);
+				EdmondsKarpMaximumFlow<Vertex, ModgrafEdge> expected
+						= new EdmondsKarpMaximumFlow<>((DirectedGraph<Vertex, ModgrafEdge>) graph);
+				for (int s = 0; s < compact.getVertexCount(); s += 4)
+					for (int t = 1; t < compact.getVertexCount(); t += 5)
+					{
+						if (s == t)
+							continue;
+						expected.calculateMaximumFlow(compact.getVertex(s), compact.getVertex(t));
+						double value = expected.getMaximumFlowValue();
+						MaximumFlowEngine[] engines = {new DinicMaximumFlow(new FlowNetwork(compact)),
+								new PushRelabelMaximumFlow(new FlowNetwork(compact)),
+								new ParallelPushRelabelMaximumFlow(new FlowNetwork(compact), 3, 0)};
+						for (MaximumFlowEngine engine : engines)
+						{
+							String message = engine.getClass().getSimpleName() + " degree=" + degree
+									+ " seed=" + seed + " " + s + "->" + t;
+							assertEquals(message, value, engine.calculateMaximumFlow(s, t), DELTA);
+							assertFeasible(message, engine.getNetwork(), s, t, value);
+						}
+					}
+			}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void dinicRejectsSourceEqualToSink()
+	{
+		new DinicMaximumFlow(createNetwork()).calculateMaximumFlow(3, 3);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void pushRelabelRejectsSourceEqualToSink()
+	{
+		new PushRelabelMaximumFlow(createNetwork()).calculateMaximumFlow(3, 3);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void parallelPushRelabelRejectsSourceEqualToSink()
+	{
+		new ParallelPushRelabelMaximumFlow(createNetwork(), 3, 0).calculateMaximumFlow(3, 3);
+	}
+
+	@Test
+	public void gomoryHuTreeMatchesPairwiseMaximumFlow()
+	{
+		for (long seed = 1; seed <= 4; ++seed)
+		{
+			CompactGraph compact = new CompactGraph(RandomGraphs.create(false, 1, 25, 70, 0, 10, false, seed));
+			GomoryHuTree tree = new GomoryHuTree(compact);
+			tree.compute(new ForkJoinPool(2));
+			for (int u = 0; u < compact.getVertexCount(); ++u)
+				for (int v = u + 1; v < compact.getVertexCount(); ++v)
+				{
+					double value = new DinicMaximumFlow(new FlowNetwork(compact)).calculateMaximumFlow(u, v);
+					String message = "seed=" + seed + " " + u + "-" + v;
+					assertEquals(message, value, tree.getMinimumCut(u, v), DELTA);
+					boolean[] side = tree.getSubtree(tree.getMinimumCutVertex(u, v));
+					assertEquals(message, true, side[u] != side[v]);
+					double cut = 0;
+					for (int e = 0; e < compact.getEdgeCount(); ++e)
+						if (side[compact.getEdgeSource(e)] != side[compact.getEdgeTarget(e)])
+							cut += compact.getCapacity(e);
+					assertEquals(message, value, cut, DELTA);
+				}
+		}
+	}
+
+	private static FlowNetwork createNetwork()
+	{
+		return new FlowNetwork(new CompactGraph(RandomGraphs.create(true, 1, 10, 30, 1, 10, false, 1)));
+	}
+
+	/**
+	 * Sprawdza ograniczenia przepustowości i zachowanie przepływu.
+	 */
+	private static void assertFeasible(String message, FlowNetwork network, int source, int sink, double value)
+	{
+		CompactGraph graph = network.getGraph();
+		double[] balance = new double[graph.getVertexCount()];
+		for (int e = 0; e < graph.getEdgeCount(); ++e)
+		{
+			double flow = network.getFlow(e);
+			assertEquals(message, true, flow >= -DELTA && flow <= graph.getCapacity(e) + DELTA);
+			balance[graph.getEdgeSource(e)] -= flow;
+			balance[graph.getEdgeTarget(e)] += flow;
+		}
+		for (int v = 0; v < balance.length; ++v)
+		{
+			double expected = v == source ? -value : v == sink ? value : 0.0;
+			assertEquals(message + " balance of " + v, expected, balance[v], 1e-6);
+		}
+	}
+}
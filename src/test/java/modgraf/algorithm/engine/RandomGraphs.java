@@ -0,0 +1,71 @@
+package modgraf.algorithm.engine;
+
+import java.util.Properties;
+import java.util.Random;
+
+import modgraf.jgrapht.GraphFactory;
+import modgraf.jgrapht.Vertex;
+import modgraf.jgrapht.edge.DoubleWeightedEdge;
+import modgraf.jgrapht.edge.ModgrafEdge;
+import modgraf.jgrapht.edge.WeightedEdge;
+import modgraf.view.properties.DefaultProperties;
+
+import org.jgrapht.Graph;
+
+/**
+ * Losowe grafy proste warstwy matematycznej do porównywania silników
+ * z implementacjami z biblioteki JGraphT.
+ */
+final class RandomGraphs
+{
+	private static final Properties PROP = DefaultProperties.createDefaultProperties();
+
+	private RandomGraphs()
+	{
+	}
+
+	/**
+	 * Tworzy graf prosty o losowych krawędziach. Wagi (przepustowości) są
+	 * całkowite z przedziału <code>[minWeight, maxWeight]</code>, koszty
+	 * z przedziału <code>[0, maxWeight]</code>.
+	 *
+	 * @param forwardOnly jeśli <code>true</code>, krawędzie prowadzą tylko od
+	 * 			wierzchołka o mniejszym numerze do większego (graf skierowany
+	 * 			jest wtedy acykliczny)
+	 */
+	static Graph<Vertex, ModgrafEdge> create(boolean directed, int edgeWeightDegree, int vertexCount,
+			int edgeCount, int minWeight, int maxWeight, boolean forwardOnly, long seed)
+	{
+		Random random = new Random(seed);
+		Graph<Vertex, ModgrafEdge> graph = GraphFactory.createGraph(directed, edgeWeightDegree, PROP);
+		Vertex[] vertices = new Vertex[vertexCount];
+		for (int i = 0; i < vertexCount; ++i)
+		{
+			vertices[i] = new Vertex(Integer.toString(2 + i), "v" + i);
+			graph.addVertex(vertices[i]);
+		}
+		for (int k = 0; k < 4 * edgeCount && graph.edgeSet().size() < edgeCount; ++k)
+		{
+			int u = random.nextInt(vertexCount);
+			int v = random.nextInt(vertexCount);
+			if (forwardOnly && u > v)
+			{
+				int swap = u;
+				u = v;
+				v = swap;
+			}
+			if (u == v || graph.containsEdge(vertices[u], vertices[v]))
+				continue;
+			ModgrafEdge edge = graph.addEdge(vertices[u], vertices[v]);
+			int weight = minWeight + random.nextInt(maxWeight - minWeight + 1);
+			if (edge instanceof DoubleWeightedEdge)
+			{
+				((DoubleWeightedEdge) edge).setCapacity(weight);
+				((DoubleWeightedEdge) edge).setCost(random.nextInt(maxWeight + 1));
+			}
+			else if (edge instanceof WeightedEdge)
+				((WeightedEdge) edge).setWeight(weight);
+		}
+		return graph;
+	}
+}
@@ -0,0 +1,142 @@
+package modgraf.algorithm.engine;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import modgraf.jgrapht.CompactGraph;
+import modgraf.jgrapht.Vertex;
+import modgraf.jgrapht.edge.ModgrafEdge;
+
+import org.jgrapht.Graph;
+import org.jgrapht.alg.BellmanFordShortestPath;
+import org.jgrapht.alg.DijkstraShortestPath;
+import org.jgrapht.alg.FloydWarshallShortestPaths;
+import org.junit.Test;
+
+/**
+ * Silniki najkrótszych ścieżek porównywane z algorytmami Dijkstry,
+ * Bellmana-Forda i Floyda-Warshalla z biblioteki JGraphT.
+ */
+public class ShortestPathEnginesTest
+{
+	private static final double DELTA = 1e-9;
+
+	@Test
+	public void pointToPointEnginesMatchDijkstra()
+	{
+		for (boolean directed : new boolean[] {false, true})
+			for (long seed = 1; seed <= 5; ++seed)
+			{
+				Graph<Vertex, ModgrafEdge> graph = RandomGraphs.create(directed, 1, 40, 100, 0, 20, false, seed);
+				CompactGraph compact = new CompactGraph(graph);
+				int n = compact.getVertexCount();
+				Random random = new Random(seed);
+				double[] x = new double[n];
+				double[] y = new double[n];
+				for (int v = 0; v < n; ++v)
+				{
+					x[v] = random.nextInt(100);
+					y[v] = random.nextInt(100);
+				}
+				PointToPointShortestPath[] engines = {new BidirectionalDijkstra(compact),
+						new AStarShortestPath(compact, x, y)};
+				for (int s = 0; s < n; s += 3)
+					for (int t = 0; t < n; t += 2)
+					{
+						double expected = new DijkstraShortestPath<>(graph, compact.getVertex(s),
+								compact.getVertex(t)).getPathLength();
+						for (PointToPointShortestPath engine : engines)
+						{
+							String message = engine.getClass().getSimpleName() + " directed=" + directed
+									+ " seed=" + seed + " " + s + "->" + t;
+							int[] path = engine.findPath(s, t);
+							assertEquals(message, expected, engine.getPathLength(), DELTA);
+							if (Double.isInfinite(expected))
+								assertNull(message, path);
+							else
+								assertEquals(message, expected, pathLength(compact, path, s, t), DELTA);
+						}
+					}
+			}
+	}
+
+	@Test
+	public void blockedFloydWarshallMatchesFloydWarshall()
+	{
+		for (boolean directed : new boolean[] {false, true})
+		{
+			Graph<Vertex, ModgrafEdge> graph = RandomGraphs.create(directed, 1, 45, 150, 0, 20, false, 7);
+			CompactGraph compact = new CompactGraph(graph);
+			BlockedFloydWarshall engine = new BlockedFloydWarshall(compact, 8);
+			engine.compute(new ForkJoinPool(3));
+			FloydWarshallShortestPaths<Vertex, ModgrafEdge> expected = new FloydWarshallShortestPaths<>(graph);
+			assertFalse(engine.hasNegativeCycle());
+			assertAllPairs(compact, engine, expected);
+		}
+	}
+
+	@Test
+	public void blockedFloydWarshallMatchesBellmanFordWithNegativeWeights()
+	{
+		Graph<Vertex, ModgrafEdge> graph = RandomGraphs.create(true, 1, 30, 120, -10, 20, true, 11);
+		CompactGraph compact = new CompactGraph(graph);
+		BlockedFloydWarshall engine = new BlockedFloydWarshall(compact, 8);
+		engine.compute(new ForkJoinPool(2));
+		assertFalse(engine.hasNegativeCycle());
+		for (int s = 0; s < compact.getVertexCount(); ++s)
+		{
+			BellmanFordShortestPath<Vertex, ModgrafEdge> expected
+					= new BellmanFordShortestPath<>(graph, compact.getVertex(s));
+			for (int t = 0; t < compact.getVertexCount(); ++t)
+			{
+				if (s == t)
+					continue;
+				double distance = expected.getCost(compact.getVertex(t));
+				assertEquals(s + "->" + t, distance, engine.getDistance(s, t), DELTA);
+				if (!Double.isInfinite(distance))
+					assertEquals(s + "->" + t, distance, pathLength(compact, engine.getPath(s, t), s, t), DELTA);
+			}
+		}
+	}
+
+	private static void assertAllPairs(CompactGraph compact, BlockedFloydWarshall engine,
+			FloydWarshallShortestPaths<Vertex, ModgrafEdge> expected)
+	{
+		for (int s = 0; s < compact.getVertexCount(); ++s)
+			for (int t = 0; t < compact.getVertexCount(); ++t)
+			{
+				double distance = expected.shortestDistance(compact.getVertex(s), compact.getVertex(t));
+				assertEquals(s + "->" + t, distance, engine.getDistance(s, t), DELTA);
+				if (s != t && !Double.isInfinite(distance))
+					assertEquals(s + "->" + t, distance, pathLength(compact, engine.getPath(s, t), s, t), DELTA);
+			}
+	}
+
+	/**
+	 * Sprawdza, że krawędzie tworzą ścieżkę z <code>source</code> do
+	 * <code>target</code>, i zwraca jej długość.
+	 */
+	private static double pathLength(CompactGraph graph, int[] path, int source, int target)
+	{
+		double length = 0;
+		int v = source;
+		for (int edge : path)
+		{
+			if (graph.getEdgeSource(edge) == v)
+				v = graph.getEdgeTarget(edge);
+			else
+			{
+				assertFalse("edge " + edge + " does not start at " + v,
+						graph.isDirected() || graph.getEdgeTarget(edge) != v);
+				v = graph.getEdgeSource(edge);
+			}
+			length += graph.getWeight(edge);
+		}
+		assertEquals(target, v);
+		return length;
+	}
+}
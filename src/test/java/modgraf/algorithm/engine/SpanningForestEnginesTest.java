@@ -0,0 +1,71 @@
+package modgraf.algorithm.engine;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.concurrent.ForkJoinPool;
+
+import modgraf.jgrapht.CompactGraph;
+import modgraf.jgrapht.Vertex;
+import modgraf.jgrapht.edge.ModgrafEdge;
+
+import org.jgrapht.Graph;
+import org.jgrapht.alg.KruskalMinimumSpanningTree;
+import org.junit.Test;
+
+/**
+ * Silniki minimalnego lasu rozpinającego porównywane z algorytmem Kruskala
+ * z biblioteki JGraphT.
+ */
+public class SpanningForestEnginesTest
+{
+	private static final double DELTA = 1e-9;
+
+	@Test
+	public void enginesMatchKruskal()
+	{
+		ForkJoinPool pool = new ForkJoinPool(3);
+		for (long seed = 1; seed <= 8; ++seed)
+		{
+			int edgeCount = seed % 2 == 0 ? 40 : 400;
+			Graph<Vertex, ModgrafEdge> graph = RandomGraphs.create(false, 1, 60, edgeCount, 1, 30, false, seed);
+			CompactGraph compact = new CompactGraph(graph);
+			KruskalMinimumSpanningTree<Vertex, ModgrafEdge> expected = new KruskalMinimumSpanningTree<>(graph);
+			SpanningForestEngine[] engines = {new KruskalSpanningForest(compact),
+					new BoruvkaSpanningForest(compact)};
+			for (SpanningForestEngine engine : engines)
+			{
+				String message = engine.getClass().getSimpleName() + " seed=" + seed;
+				engine.calculateSpanningForest(pool);
+				assertEquals(message, expected.getMinimumSpanningTreeTotalWeight(), engine.getTotalWeight(), DELTA);
+				int[] edges = engine.getForestEdges();
+				assertEquals(message, expected.getMinimumSpanningTreeEdgeSet().size(), edges.length);
+				assertAcyclic(message, compact, edges);
+			}
+		}
+	}
+
+	/**
+	 * Las o tej samej liczbie krawędzi co las z JGraphT rozpina te same
+	 * składowe, o ile nie zawiera cyklu.
+	 */
+	private static void assertAcyclic(String message, CompactGraph graph, int[] edges)
+	{
+		int[] parent = new int[graph.getVertexCount()];
+		for (int v = 0; v < parent.length; ++v)
+			parent[v] = v;
+		for (int edge : edges)
+		{
+			int a = find(parent, graph.getEdgeSource(edge));
+			int b = find(parent, graph.getEdgeTarget(edge));
+			assertEquals(message + " cycle at edge " + edge, true, a != b);
+			parent[a] = b;
+		}
+	}
+
+	private static int find(int[] parent, int v)
+	{
+		while (parent[v] != v)
+			v = parent[v];
+		return v;
+	}
+}
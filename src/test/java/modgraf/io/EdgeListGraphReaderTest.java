@@ -0,0 +1,163 @@
+package modgraf.io;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.Properties;
+import java.util.Random;
+import java.util.Set;
+
+import modgraf.jgrapht.Vertex;
+import modgraf.jgrapht.edge.DoubleWeightedEdge;
+import modgraf.jgrapht.edge.ModgrafEdge;
+import modgraf.view.properties.DefaultProperties;
+
+import org.jgrapht.Graph;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Porównanie równoległego czytnika list krawędzi z {@link GrfGraphReader}
+ * na plikach dzielonych na kilka fragmentów.
+ */
+public class EdgeListGraphReaderTest
+{
+	/**
+	 * Rozmiar pliku większy od najmniejszego fragmentu (1 MB), tak aby plik
+	 * był analizowany w co najmniej dwóch fragmentach.
+	 */
+	private static final long MIN_FILE_SIZE = 3L << 19;
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private final Properties prop = DefaultProperties.createDefaultProperties();
+
+	@Test
+	public void undirectedWeightedGrfMatchesGrfReader() throws IOException
+	{
+		File file = writeGrf("undirected.grf", false, 1, 20000, 1);
+		assertTrue(file.length() > MIN_FILE_SIZE);
+		assertSameGraph(file);
+	}
+
+	@Test
+	public void directedDoubleWeightedGrfMatchesGrfReader() throws IOException
+	{
+		File file = writeGrf("directed.grf", true, 2, 20000, 2);
+		assertTrue(file.length() > MIN_FILE_SIZE);
+		assertSameGraph(file);
+	}
+
+	@Test
+	public void directedUnweightedGrfMatchesGrfReader() throws IOException
+	{
+		File file = writeGrf("unweighted.grf", true, 0, 30000, 3);
+		assertTrue(file.length() > MIN_FILE_SIZE);
+		assertSameGraph(file);
+	}
+
+	/**
+	 * Zapisuje plik grf z liniami zakończonymi CRLF, komentarzami w sekcji
+	 * krawędzi i sekcją położeń wierzchołków.
+	 */
+	private File writeGrf(String name, boolean directed, int edgeWeightDegree, int vertexCount, long seed)
+			throws IOException
+	{
+		Random random = new Random(seed);
+		File file = folder.newFile(name);
+		try (Writer out = new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8))
+		{
+			out.write("graf testowy\r\n\r\n" + (directed ? "skierowany" : "nieskierowany") + "\r\n\r\n");
+			Set<Long> pairs = new HashSet<>();
+			boolean[] used = new boolean[vertexCount];
+			long size = 0;
+			int line = 0;
+			while (size < MIN_FILE_SIZE)
+			{
+				int u = random.nextInt(vertexCount);
+				int v = random.nextInt(vertexCount);
+				if (u == v || !pairs.add(key(u, v, vertexCount))
+						|| !directed && !pairs.add(key(v, u, vertexCount)))
+					continue;
+				used[u] = true;
+				used[v] = true;
+				StringBuilder sb = new StringBuilder();
+				if (++line % 97 == 0)
+					sb.append("# komentarz ").append(line).append("\r\n");
+				sb.append('v').append(u).append(line % 2 == 0 ? " " : "\t").append('v').append(v);
+				if (edgeWeightDegree >= 1)
+					sb.append(' ').append(random.nextInt(1000) / 8.0);
+				if (edgeWeightDegree == 2)
+					sb.append(' ').append(random.nextInt(200) - 50);
+				sb.append("\r\n");
+				out.write(sb.toString());
+				size += sb.length();
+			}
+			out.write("\r\n");
+			for (int v = 0; v < vertexCount; ++v)
+				if (used[v])
+					out.write("v" + v + " " + random.nextInt(2000) + " " + random.nextInt(2000) + "\r\n");
+		}
+		return file;
+	}
+
+	private static long key(int u, int v, int vertexCount)
+	{
+		return (long) u * vertexCount + v;
+	}
+
+	private void assertSameGraph(File file) throws IOException
+	{
+		GraphData expected = new GrfGraphReader(prop).read(file);
+		GraphData actual = new EdgeListGraphReader(prop, true).read(file);
+		assertEquals(expected.getGraph().vertexSet().size(), expected.getPositions().size());
+		assertSameGraph(expected, actual);
+	}
+
+	/**
+	 * Porównuje warstwę matematyczną: identyfikatory i nazwy wierzchołków
+	 * oraz identyfikatory, końce i parametry krawędzi, w kolejności
+	 * wczytywania. Położenia są pomijane, bo czytnik list krawędzi ich nie
+	 * wczytuje.
+	 */
+	private static void assertSameGraph(GraphData expected, GraphData actual)
+	{
+		Graph<Vertex, ModgrafEdge> expectedGraph = expected.getGraph();
+		Graph<Vertex, ModgrafEdge> actualGraph = actual.getGraph();
+		assertEquals(expectedGraph.getClass(), actualGraph.getClass());
+		assertEquals(describeVertices(expectedGraph), describeVertices(actualGraph));
+		assertEquals(describeEdges(expectedGraph), describeEdges(actualGraph));
+		assertEquals(expected.getVertexCounter(), actual.getVertexCounter());
+	}
+
+	private static String describeVertices(Graph<Vertex, ModgrafEdge> graph)
+	{
+		StringBuilder sb = new StringBuilder();
+		for (Vertex vertex : graph.vertexSet())
+			sb.append(vertex.getId()).append('=').append(vertex.getName()).append('\n');
+		return sb.toString();
+	}
+
+	private static String describeEdges(Graph<Vertex, ModgrafEdge> graph)
+	{
+		StringBuilder sb = new StringBuilder();
+		for (ModgrafEdge edge : graph.edgeSet())
+		{
+			sb.append(edge.getId()).append(' ').append(edge.getSource().getId()).append('>')
+					.append(edge.getTarget().getId()).append(' ').append(graph.getEdgeWeight(edge));
+			if (edge instanceof DoubleWeightedEdge)
+				sb.append(' ').append(((DoubleWeightedEdge) edge).getCost());
+			sb.append('\n');
+		}
+		return sb.toString();
+	}
+}
@@ -0,0 +1,142 @@
+package modgraf.io;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.awt.geom.Point2D;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.Map;
+import java.util.Properties;
+
+import modgraf.jgrapht.DoubleWeightedGraph;
+import modgraf.jgrapht.Vertex;
+import modgraf.view.properties.DefaultProperties;
+
+import org.jgrapht.DirectedGraph;
+import org.jgrapht.UndirectedGraph;
+import org.jgrapht.WeightedGraph;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Wczytywanie plików grf w jednym przebiegu: identyfikatory w kolejności
+ * wystąpienia, położenia wierzchołków oraz komunikaty o błędach.
+ */
+public class GrfGraphReaderTest
+{
+	private static final String DIRECTED = "graf testowy\n\nskierowany\n\n"
+			+ "a b 5 2\n"
+			+ "# komentarz\n"
+			+ "b c 1.5 -3\n"
+			+ "b a 2 0\n"
+			+ "\n"
+			+ "c 100 200\n"
+			+ "# komentarz\n"
+			+ "a 0 10.5\n"
+			+ "b 30 40\n";
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private final Properties prop = DefaultProperties.createDefaultProperties();
+
+	@Test
+	public void directedDoubleWeightedGraph()
+	{
+		GraphData data = read(DIRECTED);
+		assertEquals(true, data.getGraph() instanceof DirectedGraph);
+		assertEquals(true, data.getGraph() instanceof DoubleWeightedGraph);
+		assertEquals("2=a\n3=b\n5=c\n", XmlStreamGraphReaderTest.describeVertices(data.getGraph()));
+		assertEquals("4 2>3 5.0 2.0\n6 3>5 1.5 -3.0\n7 3>2 2.0 0.0\n",
+				XmlStreamGraphReaderTest.describeEdges(data.getGraph()));
+		assertEquals(3, data.getVertexCounter());
+		Map<Vertex, Point2D> positions = data.getPositions();
+		assertEquals("c=(225.0,125.0) a=(35.5,25.0) b=(65.0,55.0)", describePositions(positions));
+	}
+
+	@Test
+	public void undirectedWeightedGraphWithoutPositions()
+	{
+		GraphData data = read("x\n\nnieskierowany\n\na b 3\nb c 2\n\n");
+		assertEquals(true, data.getGraph() instanceof UndirectedGraph);
+		assertEquals(true, data.getGraph() instanceof WeightedGraph);
+		assertEquals(false, data.getGraph() instanceof DoubleWeightedGraph);
+		assertEquals("2=a\n3=b\n5=c\n", XmlStreamGraphReaderTest.describeVertices(data.getGraph()));
+		assertEquals("4 2>3 3.0\n6 3>5 2.0\n", XmlStreamGraphReaderTest.describeEdges(data.getGraph()));
+		assertEquals(0, data.getPositions().size());
+	}
+
+	@Test
+	public void fileWithCrLfMatchesString() throws IOException
+	{
+		File file = folder.newFile("graph.grf");
+		try (Writer out = new OutputStreamWriter(new FileOutputStream(file), prop.getProperty("file-encoding")))
+		{
+			out.write(DIRECTED.replace("\n", "\r\n"));
+		}
+		GraphData expected = read(DIRECTED);
+		GraphData actual = new GrfGraphReader(prop).read(file);
+		assertEquals(XmlStreamGraphReaderTest.describeVertices(expected.getGraph()),
+				XmlStreamGraphReaderTest.describeVertices(actual.getGraph()));
+		assertEquals(XmlStreamGraphReaderTest.describeEdges(expected.getGraph()),
+				XmlStreamGraphReaderTest.describeEdges(actual.getGraph()));
+		assertEquals(describePositions(expected.getPositions()), describePositions(actual.getPositions()));
+	}
+
+	@Test
+	public void repeatedBordersAreRejected()
+	{
+		assertRejected("x\n\nskierowany\n\na b\nb a\na b\n", "Borders can not be repeated!");
+		assertRejected("x\n\nnieskierowany\n\na b\nb c\nb a\n", "Borders can not be repeated!");
+	}
+
+	@Test
+	public void invalidFilesAreRejected()
+	{
+		assertRejected("x\n\nskierowany\n", "Not enough lines in the file!");
+		assertRejected("x\n\nskierowany\n\n\n", "Incorrect number of the edge parameters!");
+		assertRejected("x\n\nskierowany\n\na b 1 2 3\n", "Incorrect number of the edge parameters!");
+		assertRejected("x\n\nskierowany\n\na b 1\nb c\n", "The edges have a different number of parameters!");
+		assertRejected("x\n\nskierowany\n\na b\n\na 1 2\n", "Invalid number of vertices positions!");
+		assertRejected("x\n\nskierowany\n\na b\n\na 1 2\nb 1 2\na 3 4\n",
+				"Invalid number of vertices positions!");
+		assertRejected("x\n\nskierowany\n\na b\n\na 1 2\nc 1 2\n", "Invalid vertex name!");
+		assertRejected("x\n\nskierowany\n\na b\n\na 1\nb 1 2\n", "Invalid number of vertex positions!");
+	}
+
+	private GraphData read(String grf)
+	{
+		return new GrfGraphReader(prop).read(grf);
+	}
+
+	private void assertRejected(String grf, String message)
+	{
+		try
+		{
+			read(grf);
+			fail("expected: " + message);
+		}
+		catch (IllegalArgumentException e)
+		{
+			assertEquals(message, e.getMessage());
+		}
+	}
+
+	private static String describePositions(Map<Vertex, Point2D> positions)
+	{
+		StringBuilder sb = new StringBuilder();
+		for (Map.Entry<Vertex, Point2D> position : positions.entrySet())
+		{
+			if (sb.length() > 0)
+				sb.append(' ');
+			sb.append(position.getKey().getName()).append("=(").append(position.getValue().getX()).append(',')
+					.append(position.getValue().getY()).append(')');
+		}
+		return sb.toString();
+	}
+}
@@ -0,0 +1,214 @@
+package modgraf.io;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.geom.Point2D;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Random;
+import java.util.Set;
+
+import modgraf.jgrapht.CompactGraph;
+import modgraf.jgrapht.GraphFactory;
+import modgraf.jgrapht.Vertex;
+import modgraf.jgrapht.edge.DoubleWeightedEdge;
+import modgraf.jgrapht.edge.ModgrafEdge;
+import modgraf.jgrapht.edge.WeightedEdge;
+import modgraf.view.properties.DefaultProperties;
+
+import org.jgrapht.Graph;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Zapis i odczyt grafów w formacie mgb.
+ */
+public class MgbGraphTest
+{
+	private static final int VERTEX_COUNTER = 1234;
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private final Properties prop = DefaultProperties.createDefaultProperties();
+
+	@Test
+	public void roundTripPreservesGraph() throws IOException
+	{
+		for (boolean directed : new boolean[] {false, true})
+			for (int degree = 0; degree <= 2; ++degree)
+			{
+				Graph<Vertex, ModgrafEdge> graph = createGraph(directed, degree, 7 + degree);
+				Map<Vertex, Point2D> positions = createPositions(graph);
+				GraphData read = read(write(graph, positions));
+				String message = "directed=" + directed + " degree=" + degree;
+				assertEquals(message, describe(graph, positions), describe(read.getGraph(), read.getPositions()));
+				assertEquals(message, VERTEX_COUNTER, read.getVertexCounter());
+			}
+	}
+
+	@Test
+	public void undirectedAdjacencyListsContainAllNeighbours()
+	{
+		Graph<Vertex, ModgrafEdge> graph = createGraph(false, 1, 3);
+		Vertex[] vertices = graph.vertexSet().toArray(new Vertex[0]);
+		MgbGraph mgb = new MgbGraph(ByteBuffer.wrap(write(graph, new HashMap<Vertex, Point2D>())));
+		assertEquals(2 * graph.edgeSet().size(), mgb.getArcCount());
+		int[] targets = new int[vertices.length];
+		for (int v = 0; v < vertices.length; ++v)
+		{
+			int degree = mgb.getTargets(v, targets);
+			assertEquals(graph.edgesOf(vertices[v]).size(), degree);
+			for (int i = 0; i < degree; ++i)
+				assertTrue(graph.containsEdge(vertices[v], vertices[targets[i]]));
+		}
+	}
+
+	@Test
+	public void compactGraphMatchesSnapshotOfReadGraph()
+	{
+		for (boolean directed : new boolean[] {false, true})
+		{
+			Graph<Vertex, ModgrafEdge> graph = createGraph(directed, 2, 11);
+			GraphData read = read(write(graph, new HashMap<Vertex, Point2D>()));
+			CompactGraph mapped = read.getCompactGraph();
+			CompactGraph snapshot = new CompactGraph(read.getGraph());
+			assertTrue(mapped.contentEquals(snapshot));
+			for (int v = 0; v < snapshot.getVertexCount(); ++v)
+			{
+				assertEquals(snapshot.getOutDegree(v), mapped.getOutDegree(v));
+				assertEquals(snapshot.getInDegree(v), mapped.getInDegree(v));
+			}
+		}
+	}
+
+	@Test
+	public void readerMapsFile() throws IOException
+	{
+		Graph<Vertex, ModgrafEdge> graph = createGraph(true, 1, 5);
+		Map<Vertex, Point2D> positions = createPositions(graph);
+		File file = folder.newFile("graph.mgb");
+		try (OutputStream out = new FileOutputStream(file))
+		{
+			new MgbGraphWriter(graph, positions, VERTEX_COUNTER).write(out);
+		}
+		GraphData read = new MgbGraphReader(prop).read(file);
+		assertEquals(describe(graph, positions), describe(read.getGraph(), read.getPositions()));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void duplicateVertexNamesAreRejected()
+	{
+		Graph<Vertex, ModgrafEdge> graph = GraphFactory.createGraph(false, 0, prop);
+		Vertex first = new Vertex("2", "a");
+		Vertex second = new Vertex("3", "a");
+		graph.addVertex(first);
+		graph.addVertex(second);
+		graph.addEdge(first, second);
+		read(write(graph, new HashMap<Vertex, Point2D>()));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void otherDataIsRejected()
+	{
+		new MgbGraph(ByteBuffer.wrap(new byte[100]));
+	}
+
+	private Graph<Vertex, ModgrafEdge> createGraph(boolean directed, int degree, long seed)
+	{
+		Random random = new Random(seed);
+		Graph<Vertex, ModgrafEdge> graph = GraphFactory.createGraph(directed, degree, prop);
+		int n = 60;
+		Vertex[] vertices = new Vertex[n];
+		for (int i = 0; i < n; ++i)
+		{
+			vertices[i] = new Vertex(Integer.toString(100 + i), (i % 7 == 0 ? "zażółć " : "v") + i);
+			graph.addVertex(vertices[i]);
+		}
+		for (int k = 0; k < 4 * n; ++k)
+		{
+			int u = random.nextInt(n);
+			int v = random.nextInt(n);
+			if (u == v || graph.containsEdge(vertices[u], vertices[v]))
+				continue;
+			ModgrafEdge edge = graph.addEdge(vertices[u], vertices[v]);
+			if (edge instanceof WeightedEdge)
+				((WeightedEdge) edge).setWeight(random.nextInt(100) - 10 + 0.25);
+			if (edge instanceof DoubleWeightedEdge)
+			{
+				((DoubleWeightedEdge) edge).setCapacity(random.nextInt(50));
+				((DoubleWeightedEdge) edge).setCost(random.nextInt(20) - 5);
+			}
+		}
+		return graph;
+	}
+
+	private static Map<Vertex, Point2D> createPositions(Graph<Vertex, ModgrafEdge> graph)
+	{
+		Random random = new Random(1);
+		Map<Vertex, Point2D> positions = new HashMap<>();
+		for (Vertex vertex : graph.vertexSet())
+			positions.put(vertex, new Point2D.Double(random.nextInt(1000) + 0.5, -random.nextDouble()));
+		return positions;
+	}
+
+	private static byte[] write(Graph<Vertex, ModgrafEdge> graph, Map<Vertex, Point2D> positions)
+	{
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try
+		{
+			new MgbGraphWriter(graph, positions, VERTEX_COUNTER).write(out);
+		}
+		catch (IOException e)
+		{
+			throw new AssertionError(e);
+		}
+		return out.toByteArray();
+	}
+
+	private GraphData read(byte[] data)
+	{
+		return new MgbGraph(ByteBuffer.wrap(data)).toGraphData(prop);
+	}
+
+	/**
+	 * Opis grafu niezależny od identyfikatorów i kolejności: nazwy i położenia
+	 * wierzchołków oraz końce i parametry krawędzi.
+	 */
+	private static String describe(Graph<Vertex, ModgrafEdge> graph, Map<Vertex, Point2D> positions)
+	{
+		List<String> lines = new ArrayList<>();
+		Set<String> names = new HashSet<>();
+		for (Vertex vertex : graph.vertexSet())
+		{
+			names.add(vertex.getName());
+			lines.add("v " + vertex.getName() + " " + positions.get(vertex));
+		}
+		assertEquals(graph.vertexSet().size(), names.size());
+		for (ModgrafEdge edge : graph.edgeSet())
+			lines.add("e " + edge.getSource().getName() + " > " + edge.getTarget().getName()
+					+ " " + graph.getEdgeWeight(edge) + " " + describeValues(edge));
+		Collections.sort(lines);
+		return graph.getClass().getSimpleName() + " " + lines;
+	}
+
+	private static String describeValues(ModgrafEdge edge)
+	{
+		if (edge instanceof DoubleWeightedEdge)
+			return ((DoubleWeightedEdge) edge).getCapacity() + " " + ((DoubleWeightedEdge) edge).getCost();
+		return "";
+	}
+}
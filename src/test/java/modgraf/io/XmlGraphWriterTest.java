@@ -0,0 +1,149 @@
+package modgraf.io;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import modgraf.jgrapht.DoubleWeightedGraph;
+import modgraf.jgrapht.GraphFactory;
+import modgraf.jgrapht.Vertex;
+import modgraf.jgrapht.edge.ModgrafEdge;
+import modgraf.view.properties.DefaultProperties;
+
+import org.jgrapht.DirectedGraph;
+import org.jgrapht.Graph;
+import org.jgrapht.UndirectedGraph;
+import org.jgrapht.WeightedGraph;
+import org.junit.Test;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+
+import com.mxgraph.io.mxCodec;
+import com.mxgraph.model.mxCell;
+import com.mxgraph.util.mxPoint;
+import com.mxgraph.util.mxRectangle;
+import com.mxgraph.util.mxXmlUtils;
+import com.mxgraph.view.mxGraph;
+
+/**
+ * Zapis strumieniowy porównywany znak po znaku z dawnym kodowaniem modelu
+ * i stylów przez <code>mxCodec</code> oraz zapis i ponowne wczytanie przez
+ * {@link XmlStreamGraphReader}.
+ */
+public class XmlGraphWriterTest
+{
+	private final Properties prop = DefaultProperties.createDefaultProperties();
+
+	@Test
+	public void sampleMatchesCodec() throws IOException
+	{
+		XmlGraphData data = read(XmlStreamGraphReaderTest.SAMPLE);
+		mxGraph graph = createGraph(data);
+		assertEquals(encode(graph, data.getGraph(), 7),
+				new XmlGraphWriter(graph, data.getGraph(), 7).toXml());
+	}
+
+	@Test
+	public void createdGraphMatchesCodec()
+	{
+		Graph<Vertex, ModgrafEdge> graphT = GraphFactory.createGraph(false, 1, prop);
+		mxGraph graph = new mxGraph();
+		Object parent = graph.getDefaultParent();
+		Object a = graph.insertVertex(parent, "2", "a & b <c>", 10, 20.5, 50, 50, "vertexStyle");
+		Object b = graph.insertVertex(parent, "3", "\"d\"\te\r\nf", -15, 0, 50, 50);
+		mxCell edge = (mxCell) graph.insertEdge(parent, "4", "2.5", a, b, "strokeColor=#00FF00;dashed=1");
+		List<mxPoint> points = new ArrayList<>();
+		points.add(new mxPoint(1, 2));
+		points.add(new mxPoint(3.25, -4));
+		edge.getGeometry().setPoints(points);
+		edge.getGeometry().setTargetPoint(new mxPoint(7, 8));
+		((mxCell) b).getGeometry().setAlternateBounds(new mxRectangle(1, 2, 3, 4));
+		mxCell hidden = (mxCell) graph.insertVertex(parent, "5", null, 0, 0, 0, 0);
+		hidden.setVisible(false);
+		hidden.setConnectable(false);
+		hidden.setCollapsed(true);
+		graph.getStylesheet().getDefaultEdgeStyle().put("fontSize", "12");
+		graph.getStylesheet().getDefaultEdgeStyle().put("rounded", Boolean.TRUE);
+		String xml = new XmlGraphWriter(graph, graphT, 6).toXml();
+		assertEquals(encode(graph, graphT, 6), xml);
+		assertEquals(true, xml.contains(" value=\"a &amp; b &lt;c&gt;\""));
+		assertEquals(true, xml.contains(" value=\"&quot;d&quot;&#9;e&#13;&#10;f\""));
+	}
+
+	@Test
+	public void rewrittenSampleReadsBackUnchanged() throws IOException
+	{
+		XmlGraphData data = read(XmlStreamGraphReaderTest.SAMPLE);
+		String xml = new XmlGraphWriter(createGraph(data), data.getGraph(), data.getVertexCounter()).toXml();
+		XmlGraphData reread = read(xml);
+		assertEquals(XmlStreamGraphReaderTest.describeCells(read(XmlStreamGraphReaderTest.SAMPLE).getRoot()),
+				XmlStreamGraphReaderTest.describeCells(reread.getRoot()));
+		assertEquals(XmlStreamGraphReaderTest.describeEdges(data.getGraph()),
+				XmlStreamGraphReaderTest.describeEdges(reread.getGraph()));
+		assertEquals(data.getStyles(), reread.getStyles());
+		mxGraph graph = createGraph(reread);
+		assertEquals(encode(graph, reread.getGraph(), reread.getVertexCounter()),
+				new XmlGraphWriter(graph, reread.getGraph(), reread.getVertexCounter()).toXml());
+	}
+
+	private XmlGraphData read(String xml) throws IOException
+	{
+		return new XmlStreamGraphReader(prop).read(new StringReader(xml));
+	}
+
+	/**
+	 * Komórki i style ustawiane tak samo jak przy otwieraniu pliku w edytorze.
+	 */
+	private static mxGraph createGraph(XmlGraphData data)
+	{
+		mxGraph graph = new mxGraph();
+		for (Map.Entry<String, Map<String, Object>> style : data.getStyles().entrySet())
+			graph.getStylesheet().putCellStyle(style.getKey(), style.getValue());
+		graph.getModel().setRoot(data.getRoot());
+		return graph;
+	}
+
+	/**
+	 * Dawny zapis pliku xml: kodowanie modelu i stylów przez
+	 * <code>mxCodec</code>, usunięcie stylu <code>defaultVertex</code>
+	 * i rozdzielenie znaczników znakami końca linii.
+	 */
+	private static String encode(mxGraph graph, Graph<Vertex, ModgrafEdge> graphT, int counter)
+	{
+		String type = null;
+		String weighted = "0";
+		if (graphT instanceof DirectedGraph)
+			type = "directed";
+		if (graphT instanceof UndirectedGraph)
+			type = "undirected";
+		if (graphT instanceof WeightedGraph)
+			weighted = "1";
+		if (graphT instanceof DoubleWeightedGraph)
+			weighted = "2";
+		mxCodec codec = new mxCodec();
+		Element graphModel = (Element) codec.encode(graph.getModel());
+		Element stylesheet = (Element) codec.encode(graph.getStylesheet());
+		NodeList list = stylesheet.getElementsByTagName("add");
+		for (int i = 0; i < list.getLength(); ++i)
+		{
+			Node addNode = list.item(i);
+			if (addNode.getNodeType() == Node.ELEMENT_NODE
+					&& "defaultVertex".equals(((Element) addNode).getAttribute("as")))
+			{
+				stylesheet.removeChild(addNode);
+				break;
+			}
+		}
+		graphModel.setAttribute("type", type);
+		graphModel.setAttribute("weighted", weighted);
+		graphModel.setAttribute("vertexCounter", Integer.toString(counter));
+		String xml = "<Modgraf>" + mxXmlUtils.getXml(graphModel) + mxXmlUtils.getXml(stylesheet) + "</Modgraf>";
+		return xml.replace("><", ">\r\n<");
+	}
+}
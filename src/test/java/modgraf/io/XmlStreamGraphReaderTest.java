@@ -0,0 +1,269 @@
+package modgraf.io;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import modgraf.jgrapht.Vertex;
+import modgraf.jgrapht.edge.DoubleWeightedEdge;
+import modgraf.jgrapht.edge.ModgrafEdge;
+import modgraf.view.properties.DefaultProperties;
+
+import org.jgrapht.Graph;
+import org.junit.Test;
+import org.w3c.dom.Document;
+import org.w3c.dom.Node;
+
+import com.mxgraph.io.mxCodec;
+import com.mxgraph.model.mxGeometry;
+import com.mxgraph.model.mxGraphModel;
+import com.mxgraph.model.mxICell;
+import com.mxgraph.util.mxPoint;
+import com.mxgraph.util.mxRectangle;
+import com.mxgraph.util.mxXmlUtils;
+import com.mxgraph.view.mxStylesheet;
+
+/**
+ * Porównanie strumieniowego czytnika plików xml z czytnikiem
+ * {@link XmlGraphReader} (warstwa matematyczna) oraz z dekodowaniem modelu
+ * i stylów przez <code>mxCodec</code> (warstwa wizualna).
+ */
+public class XmlStreamGraphReaderTest
+{
+	/**
+	 * Krawędź i wierzchołek poprzedzają w pliku swoich rodziców i końce,
+	 * nazwy zawierają znaki zastępowane encjami, a krawędź ma punkty
+	 * pośrednie.
+	 */
+	static final String SAMPLE = "<Modgraf>\r\n"
+			+ "<mxGraphModel type=\"directed\" vertexCounter=\"7\" weighted=\"2\">\r\n"
+			+ "<root>\r\n"
+			+ "<mxCell edge=\"1\" id=\"4\" parent=\"1\" source=\"2\" style=\"bold;strokeColor=#FF0000\" target=\"3\" value=\"5.5/2.0\">\r\n"
+			+ "<mxGeometry as=\"geometry\" relative=\"1\">\r\n"
+			+ "<mxPoint as=\"sourcePoint\" x=\"1.5\" y=\"2.0\"/>\r\n"
+			+ "<Array as=\"points\">\r\n"
+			+ "<mxPoint x=\"100.0\" y=\"20.0\"/>\r\n"
+			+ "<mxPoint x=\"130.5\" y=\"-40.0\"/>\r\n"
+			+ "</Array>\r\n"
+			+ "<mxPoint as=\"offset\" x=\"3.0\" y=\"-5.0\"/>\r\n"
+			+ "</mxGeometry>\r\n"
+			+ "</mxCell>\r\n"
+			+ "<mxCell id=\"2\" parent=\"1\" style=\"vertexStyle\" value=\"a &amp; b &lt;c&gt; &quot;d&quot;&#10;e\" vertex=\"1\">\r\n"
+			+ "<mxGeometry as=\"geometry\" height=\"50.0\" width=\"50.0\" x=\"10.0\" y=\"20.0\">\r\n"
+			+ "<mxRectangle as=\"alternateBounds\" height=\"30.0\" width=\"40.0\" x=\"1.0\" y=\"2.0\"/>\r\n"
+			+ "</mxGeometry>\r\n"
+			+ "</mxCell>\r\n"
+			+ "<mxCell id=\"0\"/>\r\n"
+			+ "<mxCell id=\"1\" parent=\"0\"/>\r\n"
+			+ "<mxCell id=\"3\" parent=\"1\" value=\"zażółć\" vertex=\"1\">\r\n"
+			+ "<mxGeometry as=\"geometry\" height=\"50.0\" width=\"50.0\" x=\"200.0\" y=\"75.5\"/>\r\n"
+			+ "</mxCell>\r\n"
+			+ "<mxCell edge=\"1\" id=\"5\" parent=\"1\" source=\"3\" target=\"2\" value=\"1.0/-3.0\">\r\n"
+			+ "<mxGeometry as=\"geometry\" relative=\"1\">\r\n"
+			+ "<Array as=\"points\"/>\r\n"
+			+ "</mxGeometry>\r\n"
+			+ "</mxCell>\r\n"
+			+ "</root>\r\n"
+			+ "</mxGraphModel>\r\n"
+			+ "<mxStylesheet>\r\n"
+			+ "<add as=\"defaultEdge\">\r\n"
+			+ "<add as=\"shape\" value=\"connector\"/>\r\n"
+			+ "<add as=\"fontSize\" value=\"12\"/>\r\n"
+			+ "</add>\r\n"
+			+ "<add as=\"bold\" extend=\"defaultEdge\">\r\n"
+			+ "<add as=\"fontStyle\" value=\"1\"/>\r\n"
+			+ "<remove as=\"fontSize\"/>\r\n"
+			+ "</add>\r\n"
+			+ "<add as=\"vertexStyle\">\r\n"
+			+ "<add as=\"fillColor\" value=\"#C0C0C0\"/>\r\n"
+			+ "</add>\r\n"
+			+ "</mxStylesheet>\r\n"
+			+ "</Modgraf>";
+
+	private final Properties prop = DefaultProperties.createDefaultProperties();
+
+	@Test
+	public void graphMatchesDomReader() throws IOException
+	{
+		XmlGraphData actual = read(SAMPLE);
+		GraphData expected = new XmlGraphReader(prop).read(parse(SAMPLE));
+		assertEquals(true, actual.isDirected());
+		assertEquals(2, actual.getEdgeWeightDegree());
+		assertEquals(7, actual.getVertexCounter());
+		assertEquals(expected.getVertexCounter(), actual.getVertexCounter());
+		assertEquals(expected.getGraph().getClass(), actual.getGraph().getClass());
+		assertEquals(describeVertices(expected.getGraph()), describeVertices(actual.getGraph()));
+		assertEquals("2=a & b <c> \"d\"\ne\n3=zażółć\n", describeVertices(actual.getGraph()));
+		assertEquals(describeEdges(expected.getGraph()), describeEdges(actual.getGraph()));
+		assertEquals("4 2>3 5.5 2.0\n5 3>2 1.0 -3.0\n", describeEdges(actual.getGraph()));
+		assertEquals(expected.getPositions(), actual.getPositions());
+	}
+
+	@Test
+	public void cellsMatchCodec() throws IOException
+	{
+		Document document = parse(SAMPLE);
+		mxGraphModel model = new mxGraphModel();
+		new mxCodec(document).decode(first(document, "mxGraphModel"), model);
+		XmlGraphData actual = read(SAMPLE);
+		assertEquals(describeCells((mxICell) model.getRoot()), describeCells(actual.getRoot()));
+		assertEquals("4 edge parent=1 2>3 value=5.5/2.0 style=bold;strokeColor=#FF0000"
+				+ " geometry=0.0,0.0,0.0,0.0 relative source=1.5,2.0 points=[100.0,20.0 130.5,-40.0]"
+				+ " offset=3.0,-5.0",
+				describeCell(((mxICell) actual.getRoot().getChildAt(0)).getChildAt(0)));
+	}
+
+	@Test
+	public void stylesMatchCodec() throws IOException
+	{
+		Document document = parse(SAMPLE);
+		mxStylesheet stylesheet = new mxStylesheet();
+		new mxCodec(document).decode(first(document, "mxStylesheet"), stylesheet);
+		Map<String, Map<String, Object>> styles = read(SAMPLE).getStyles();
+		assertEquals("[defaultEdge, bold, vertexStyle]", styles.keySet().toString());
+		for (Map.Entry<String, Map<String, Object>> style : styles.entrySet())
+			assertEquals(style.getKey(), stylesheet.getStyles().get(style.getKey()), style.getValue());
+		assertEquals("connector", styles.get("bold").get("shape"));
+		assertEquals(null, styles.get("bold").get("fontSize"));
+	}
+
+	@Test
+	public void repeatedBordersAreRejected() throws IOException
+	{
+		String xml = SAMPLE.replace("source=\"3\" target=\"2\"", "source=\"2\" target=\"3\"");
+		assertRejected(xml, "Borders can not be repeated!");
+	}
+
+	@Test
+	public void edgeWithUnknownVertexIsRejected() throws IOException
+	{
+		assertRejected(SAMPLE.replace("source=\"3\" target=\"2\"", "source=\"3\" target=\"9\""),
+				"Edge with unknown vertex!");
+	}
+
+	@Test
+	public void missingModelIsRejected() throws IOException
+	{
+		assertRejected("<Modgraf>\r\n<mxStylesheet/>\r\n</Modgraf>", "Missing graph definition!");
+	}
+
+	private XmlGraphData read(String xml) throws IOException
+	{
+		return new XmlStreamGraphReader(prop).read(new StringReader(xml));
+	}
+
+	private void assertRejected(String xml, String message) throws IOException
+	{
+		try
+		{
+			read(xml);
+			fail("expected: " + message);
+		}
+		catch (IllegalArgumentException e)
+		{
+			assertEquals(message, e.getMessage());
+		}
+	}
+
+	private static Document parse(String xml)
+	{
+		Document document = mxXmlUtils.parseXml(xml);
+		document.getDocumentElement().normalize();
+		return document;
+	}
+
+	private static Node first(Document document, String name)
+	{
+		return document.getElementsByTagName(name).item(0);
+	}
+
+	static String describeVertices(Graph<Vertex, ModgrafEdge> graph)
+	{
+		StringBuilder sb = new StringBuilder();
+		for (Vertex vertex : graph.vertexSet())
+			sb.append(vertex.getId()).append('=').append(vertex.getName()).append('\n');
+		return sb.toString();
+	}
+
+	static String describeEdges(Graph<Vertex, ModgrafEdge> graph)
+	{
+		StringBuilder sb = new StringBuilder();
+		for (ModgrafEdge edge : graph.edgeSet())
+		{
+			sb.append(edge.getId()).append(' ').append(edge.getSource().getId()).append('>')
+					.append(edge.getTarget().getId()).append(' ').append(graph.getEdgeWeight(edge));
+			if (edge instanceof DoubleWeightedEdge)
+				sb.append(' ').append(((DoubleWeightedEdge) edge).getCost());
+			sb.append('\n');
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * Opisuje drzewo komórek w kolejności przeglądania w głąb.
+	 */
+	static String describeCells(mxICell cell)
+	{
+		StringBuilder sb = new StringBuilder(describeCell(cell)).append('\n');
+		for (int i = 0; i < cell.getChildCount(); ++i)
+			sb.append(describeCells(cell.getChildAt(i)));
+		return sb.toString();
+	}
+
+	static String describeCell(mxICell cell)
+	{
+		StringBuilder sb = new StringBuilder(String.valueOf(cell.getId()));
+		if (cell.isVertex())
+			sb.append(" vertex");
+		if (cell.isEdge())
+			sb.append(" edge");
+		if (cell.getParent() != null)
+			sb.append(" parent=").append(cell.getParent().getId());
+		if (cell.getTerminal(true) != null || cell.getTerminal(false) != null)
+			sb.append(' ').append(getId(cell.getTerminal(true))).append('>').append(getId(cell.getTerminal(false)));
+		if (cell.getValue() != null)
+			sb.append(" value=").append(cell.getValue());
+		if (cell.getStyle() != null)
+			sb.append(" style=").append(cell.getStyle());
+		mxGeometry geometry = cell.getGeometry();
+		if (geometry != null)
+		{
+			sb.append(" geometry=").append(geometry.getX()).append(',').append(geometry.getY()).append(',')
+					.append(geometry.getWidth()).append(',').append(geometry.getHeight());
+			if (geometry.isRelative())
+				sb.append(" relative");
+			mxRectangle bounds = geometry.getAlternateBounds();
+			if (bounds != null)
+				sb.append(" alternateBounds=").append(bounds.getX()).append(',').append(bounds.getY()).append(',')
+						.append(bounds.getWidth()).append(',').append(bounds.getHeight());
+			appendPoint(sb, " source=", geometry.getSourcePoint());
+			appendPoint(sb, " target=", geometry.getTargetPoint());
+			List<mxPoint> points = geometry.getPoints();
+			if (points != null)
+			{
+				sb.append(" points=[");
+				for (int i = 0; i < points.size(); ++i)
+					appendPoint(sb, i == 0 ? "" : " ", points.get(i));
+				sb.append(']');
+			}
+			appendPoint(sb, " offset=", geometry.getOffset());
+		}
+		return sb.toString();
+	}
+
+	private static String getId(mxICell cell)
+	{
+		return cell != null ? cell.getId() : null;
+	}
+
+	private static void appendPoint(StringBuilder sb, String prefix, mxPoint point)
+	{
+		if (point != null)
+			sb.append(prefix).append(point.getX()).append(',').append(point.getY());
+	}
+}